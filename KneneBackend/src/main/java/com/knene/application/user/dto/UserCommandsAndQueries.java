@@ -202,6 +202,7 @@ public class GetUserListQuery {
     private LocalDateTime endTime;
     private int limit = 20;
     private int offset = 0;
+    private String cursor; // 键集分页游标，非空白时忽略offset
 
     // getter和setter方法
     public com.knene.domain.user.entity.User.UserStatus getStatus() { return status; }
@@ -214,4 +215,6 @@ public class GetUserListQuery {
     public void setLimit(int limit) { this.limit = limit; }
     public int getOffset() { return offset; }
     public void setOffset(int offset) { this.offset = offset; }
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+/**
+ * UserListCursor类
+ * 用户列表键集分页游标，负责游标的编码与解码
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.application.user.dto;
+
+import com.knene.domain.user.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+// 用户列表游标 - 记录上一页最后一行的排序键和游标所指页的页码，对客户端保持不透明
+public final class UserListCursor {
+
+    private static final String VERSION = "v2";
+    private static final String SEPARATOR = "|";
+    private static final String NONE = "-";
+
+    private final Mode mode;
+    private final String filterKey; // 筛选条件指纹，防止游标跨筛选条件复用
+    private final LocalDateTime createdAt; // 按状态分页时为null
+    private final Long id;
+    private final int page; // 游标所指页的页码，从0开始
+
+    private UserListCursor(Mode mode, String filterKey, LocalDateTime createdAt, Long id, int page) {
+        this.mode = mode;
+        this.filterKey = filterKey;
+        this.createdAt = createdAt;
+        this.id = id;
+        this.page = page;
+    }
+
+    // 按(status, id)排序的游标，page为游标所指页的页码
+    public static UserListCursor forStatus(User.UserStatus status, Long lastId, int page) {
+        return new UserListCursor(Mode.STATUS, status.name(), null, lastId, page);
+    }
+
+    // 按(created_at, id)排序的游标，page为游标所指页的页码
+    public static UserListCursor forCreatedTime(LocalDateTime startTime, LocalDateTime endTime,
+                                                LocalDateTime lastCreatedAt, Long lastId, int page) {
+        return new UserListCursor(Mode.CREATED_TIME, rangeKey(startTime, endTime), lastCreatedAt, lastId, page);
+    }
+
+    // 编码为URL安全的不透明字符串
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, mode.name(), filterKey,
+                createdAt != null ? createdAt.toString() : NONE, String.valueOf(id), String.valueOf(page));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 解码游标 - 格式错误时抛出InvalidCursorException
+    public static UserListCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("无效的分页游标", e);
+        }
+
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != 6 || !VERSION.equals(parts[0])) {
+            throw new InvalidCursorException("无效的分页游标", null);
+        }
+
+        Mode mode;
+        LocalDateTime createdAt;
+        Long id;
+        int page;
+        try {
+            mode = Mode.valueOf(parts[1]);
+            createdAt = NONE.equals(parts[3]) ? null : LocalDateTime.parse(parts[3]);
+            id = Long.valueOf(parts[4]);
+            page = Integer.parseInt(parts[5]);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("无效的分页游标", e);
+        }
+        if (mode == Mode.CREATED_TIME && createdAt == null || page < 0) {
+            throw new InvalidCursorException("无效的分页游标", null);
+        }
+        return new UserListCursor(mode, parts[2], createdAt, id, page);
+    }
+
+    // 校验游标是否属于当前按状态筛选的查询
+    public boolean matchesStatus(User.UserStatus status) {
+        return mode == Mode.STATUS && status.name().equals(filterKey);
+    }
+
+    // 校验游标是否属于当前按时间范围筛选的查询
+    public boolean matchesCreatedTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
+        return mode == Mode.CREATED_TIME && rangeKey(startTime, endTime).equals(filterKey);
+    }
+
+    private static String rangeKey(LocalDateTime startTime, LocalDateTime endTime) {
+        return (startTime != null ? startTime.toString() : NONE) + "~" + (endTime != null ? endTime.toString() : NONE);
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+    public int getPage() { return page; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserListCursor that)) return false;
+        return mode == that.mode && filterKey.equals(that.filterKey)
+                && Objects.equals(createdAt, that.createdAt) && Objects.equals(id, that.id) && page == that.page;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, filterKey, createdAt, id, page);
+    }
+
+    // 游标无法解码或与当前筛选条件不匹配，调用方按请求参数错误处理
+    public static final class InvalidCursorException extends IllegalArgumentException {
+
+        public InvalidCursorException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    // 游标排序模式
+    private enum Mode {
+        STATUS,
+        CREATED_TIME
+    }
+}
@@ -207,18 +207,29 @@ public class UserListResult {
     private final String message;
     private final List<UserDto> users;
     private final long totalCount;
+    private final String nextCursor; // 下一页游标，null表示没有更多数据
+    private final int currentPage; // 当前页页码，从0开始
 
     public UserListResult(boolean success, String message, List<UserDto> users, long totalCount) {
+        this(success, message, users, totalCount, null, 0);
+    }
+
+    public UserListResult(boolean success, String message, List<UserDto> users, long totalCount, String nextCursor,
+                          int currentPage) {
         this.success = success;
         this.message = message;
         this.users = users;
         this.totalCount = totalCount;
+        this.nextCursor = nextCursor;
+        this.currentPage = currentPage;
     }
 
     public boolean isSuccess() { return success; }
     public String getMessage() { return message; }
     public List<UserDto> getUsers() { return users; }
     public long getTotalCount() { return totalCount; }
+    public String getNextCursor() { return nextCursor; }
+    public int getCurrentPage() { return currentPage; }
 }
 
 // 用户锁定结果
@@ -32,6 +32,7 @@ public class UserApplicationService {
     private final UserSecurityService userSecurityService;
     private final UserProfileService userProfileService;
     private final UserEventPublisher userEventPublisher;
+    private final UserCountService userCountService;
 
     // 构造器注入依赖
     public UserApplicationService(UserRepository userRepository,
@@ -39,13 +40,15 @@ public class UserApplicationService {
                                  UserAuthenticationService userAuthenticationService,
                                  UserSecurityService userSecurityService,
                                  UserProfileService userProfileService,
-                                 UserEventPublisher userEventPublisher) {
+                                 UserEventPublisher userEventPublisher,
+                                 UserCountService userCountService) {
         this.userRepository = userRepository;
         this.userRegistrationService = userRegistrationService;
         this.userAuthenticationService = userAuthenticationService;
         this.userSecurityService = userSecurityService;
         this.userProfileService = userProfileService;
         this.userEventPublisher = userEventPublisher;
+        this.userCountService = userCountService;
     }
 
     // 用户注册应用服务
@@ -335,28 +338,83 @@ public class UserApplicationService {
     @Transactional(readOnly = true)
     public UserListResult getUserList(GetUserListQuery query) {
         try {
+            if (query.getCursor() != null && !query.getCursor().isBlank()) {
+                return getUserListByCursor(query, UserListCursor.decode(query.getCursor()));
+            }
+
             List<User> users;
             long totalCount;
 
             if (query.getStatus() != null) {
                 users = userRepository.findUsersByStatus(query.getStatus(), query.getLimit(), query.getOffset());
-                totalCount = userRepository.countUsersByStatus(query.getStatus());
+                totalCount = userCountService.countByStatus(query.getStatus());
             } else {
                 users = userRepository.findUsersByCreatedTimeRange(
                         query.getStartTime(), query.getEndTime(), query.getLimit(), query.getOffset()
                 );
-                totalCount = userRepository.countUsersByCreatedTimeRange(query.getStartTime(), query.getEndTime());
+                totalCount = userCountService.countRegisteredBetween(query.getStartTime(), query.getEndTime());
             }
 
+            // 浅分页同样返回游标，客户端翻到深页时可无缝切换为键集分页
+            int page = query.getLimit() > 0 ? query.getOffset() / query.getLimit() : 0;
+            String nextCursor = users.size() < query.getLimit() ? null : buildNextCursor(query, users, page + 1);
+
             return new UserListResult(true, "获取成功",
                     users.stream().map(UserDto::fromDomain).toList(),
-                    totalCount);
+                    totalCount, nextCursor, page);
 
+        } catch (UserListCursor.InvalidCursorException e) {
+            return new UserListResult(false, e.getMessage(), null, 0);
         } catch (Exception e) {
             return new UserListResult(false, "获取用户列表失败", null, 0);
         }
     }
 
+    // 键集分页查询 - 通过(排序键, ID)定位，任意深度的页代价与第一页相同
+    private UserListResult getUserListByCursor(GetUserListQuery query, UserListCursor cursor) {
+        List<User> users;
+        long totalCount;
+
+        // 1. 多取一行用于判断是否还有下一页
+        int fetchSize = query.getLimit() + 1;
+        if (query.getStatus() != null) {
+            if (!cursor.matchesStatus(query.getStatus())) {
+                throw new UserListCursor.InvalidCursorException("分页游标与筛选条件不匹配", null);
+            }
+            users = userRepository.findUsersByStatusAfter(query.getStatus(), cursor.getId(), fetchSize);
+            totalCount = userCountService.countByStatus(query.getStatus());
+        } else {
+            if (!cursor.matchesCreatedTimeRange(query.getStartTime(), query.getEndTime())) {
+                throw new UserListCursor.InvalidCursorException("分页游标与筛选条件不匹配", null);
+            }
+            users = userRepository.findUsersByCreatedTimeRangeAfter(query.getStartTime(), query.getEndTime(),
+                    cursor.getCreatedAt(), cursor.getId(), fetchSize);
+            totalCount = userCountService.countRegisteredBetween(query.getStartTime(), query.getEndTime());
+        }
+
+        // 2. 截断多取的一行并生成下一页游标
+        boolean hasNext = users.size() > query.getLimit();
+        List<User> page = hasNext ? users.subList(0, query.getLimit()) : users;
+        String nextCursor = hasNext ? buildNextCursor(query, page, cursor.getPage() + 1) : null;
+
+        return new UserListResult(true, "获取成功",
+                page.stream().map(UserDto::fromDomain).toList(),
+                totalCount, nextCursor, cursor.getPage());
+    }
+
+    // 根据当前页最后一行生成下一页游标，nextPage为下一页的页码
+    private String buildNextCursor(GetUserListQuery query, List<User> page, int nextPage) {
+        if (page.isEmpty()) {
+            return null;
+        }
+        User last = page.get(page.size() - 1);
+        UserListCursor cursor = query.getStatus() != null
+                ? UserListCursor.forStatus(query.getStatus(), last.getId(), nextPage)
+                : UserListCursor.forCreatedTime(query.getStartTime(), query.getEndTime(), last.getCreatedAt(),
+                        last.getId(), nextPage);
+        return cursor.encode();
+    }
+
     // 锁定用户（管理员功能）
     @Transactional(rollbackFor = Exception.class)
     public UserLockResult lockUser(LockUserCommand command) {
@@ -599,6 +657,7 @@ public class UserApplicationService {
         private LocalDateTime endTime;
         private int limit = 20;
         private int offset = 0;
+        private String cursor; // 键集分页游标，非空白时忽略offset
 
         // getter和setter方法
         public User.UserStatus getStatus() { return status; }
@@ -611,6 +670,8 @@ public class UserApplicationService {
         public void setLimit(int limit) { this.limit = limit; }
         public int getOffset() { return offset; }
         public void setOffset(int offset) { this.offset = offset; }
+        public String getCursor() { return cursor; }
+        public void setCursor(String cursor) { this.cursor = cursor; }
     }
 
     // 锁定用户命令
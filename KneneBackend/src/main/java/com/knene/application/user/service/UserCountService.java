@@ -0,0 +1,88 @@
+/**
+ * UserCountService类
+ * 用户计数应用服务，基于增量维护的计数聚合回答计数查询
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.application.user.service;
+
+import com.knene.domain.user.entity.User;
+import com.knene.domain.user.repository.UserCounterRepository;
+import com.knene.domain.user.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+
+// 用户计数应用服务 - 替代列表页和仪表盘上的COUNT(*)全表统计
+@Service
+public class UserCountService {
+
+    private final UserCounterRepository userCounterRepository;
+    private final UserRepository userRepository;
+
+    public UserCountService(UserCounterRepository userCounterRepository, UserRepository userRepository) {
+        this.userCounterRepository = userCounterRepository;
+        this.userRepository = userRepository;
+    }
+
+    // 按状态统计用户数 - 单行主键点查
+    public long countByStatus(User.UserStatus status) {
+        return userCounterRepository.getStatusCount(status);
+    }
+
+    // 统计未删除的用户总数，状态计数本身已排除软删除的用户
+    public long countTotal() {
+        Map<User.UserStatus, Long> counts = userCounterRepository.getAllStatusCounts();
+        long total = 0L;
+        for (Map.Entry<User.UserStatus, Long> entry : counts.entrySet()) {
+            if (entry.getKey() != User.UserStatus.DELETED) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    // 统计[startTime, endTime)内注册的用户数，null表示该端不限
+    public long countRegisteredBetween(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime != null && endTime != null && !startTime.isBefore(endTime)) {
+            return 0L;
+        }
+
+        // 1. 起止落在同一天时，直接做单日范围内的索引计数
+        if (startTime != null && endTime != null && startTime.toLocalDate().equals(endTime.toLocalDate())) {
+            return userRepository.countUsersByCreatedTimeRange(startTime, endTime);
+        }
+
+        long total = 0L;
+        LocalDate fullFrom = null;
+        LocalDate fullTo = null;
+
+        // 2. 起点不在零点时，首日残段单独计数，其余整天走日计数桶
+        if (startTime != null) {
+            LocalDateTime nextDay = startTime.toLocalDate().plusDays(1).atStartOfDay();
+            if (startTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+                fullFrom = startTime.toLocalDate();
+            } else {
+                total += userRepository.countUsersByCreatedTimeRange(startTime, nextDay);
+                fullFrom = nextDay.toLocalDate();
+            }
+        }
+
+        // 3. 终点同理，末日残段单独计数
+        if (endTime != null) {
+            LocalDateTime dayStart = endTime.toLocalDate().atStartOfDay();
+            if (!endTime.equals(dayStart)) {
+                total += userRepository.countUsersByCreatedTimeRange(dayStart, endTime);
+            }
+            fullTo = endTime.toLocalDate().minusDays(1);
+        }
+
+        // 4. 残段最多两天的数据量，整体代价只与日期跨度相关
+        return total + userCounterRepository.sumDailyRegistrations(fullFrom, fullTo);
+    }
+}
@@ -86,8 +86,13 @@ public class User {
         this.version = 1;
     }
 
-    // 静态工厂方法 - 创建新用户
+    // 静态工厂方法 - 创建新用户，主键在入库时分配
     public static User create(String username, String email, String passwordHash) {
+        return create(null, username, email, passwordHash);
+    }
+
+    // 静态工厂方法 - 使用预分配的主键创建新用户，入库前即可被关联实体引用
+    public static User create(Long id, String username, String email, String passwordHash) {
         if (username == null || username.trim().isEmpty()) {
             throw new IllegalArgumentException("用户名不能为空");
         }
@@ -99,6 +104,7 @@ public class User {
         }
 
         User user = new User();
+        user.id = id;
         user.username = username.trim().toLowerCase();
         user.email = email.trim().toLowerCase();
         user.passwordHash = passwordHash;
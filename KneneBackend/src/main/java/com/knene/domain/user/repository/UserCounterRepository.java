@@ -0,0 +1,33 @@
+/**
+ * UserCounterRepository类
+ * 用户计数聚合仓储接口，读取和校正增量维护的用户计数
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.domain.user.repository;
+
+import com.knene.domain.user.entity.User;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// 用户计数聚合仓储接口 - 计数由数据库触发器随用户生命周期增量维护
+public interface UserCounterRepository {
+
+    // 读取指定状态的用户数
+    long getStatusCount(User.UserStatus status);
+
+    // 读取全部状态的用户数
+    Map<User.UserStatus, Long> getAllStatusCounts();
+
+    // 对注册日计数桶求和 - 日期均为闭区间，null表示不限
+    long sumDailyRegistrations(LocalDate fromDate, LocalDate toDate);
+
+    // 按用户表重算状态计数，返回被校正的状态数
+    int reconcileStatusCounters();
+
+    // 按用户表重算指定日期范围的注册日计数，返回被校正的桶数
+    int reconcileDailyRegistrations(LocalDate fromDate, LocalDate toDate);
+}
@@ -23,6 +23,8 @@ import java.util.Optional;
 public interface UserRepository {
 
     // 1. 用户基本操作
+    Long nextId(); // 预分配雪花ID作为用户主键，创建实体时即可确定ID
+
     User save(User user); // 保存用户实体
 
     Optional<User> findById(Long id); // 根据ID查找用户
@@ -43,7 +45,7 @@ public interface UserRepository {
 
     // 2. 用户档案操作
 
-    UserProfile saveProfile(UserProfile profile); // 保存用户档案
+    UserProfile saveProfile(Long userId, UserProfile profile); // 保存指定用户的档案
 
     Optional<UserProfile> findProfileByUserId(Long userId); // 根据用户ID查找用户档案
 
@@ -143,12 +145,19 @@ public interface UserRepository {
 
     // 用户查询操作
 
-    // 根据状态查找用户
+    // 根据状态查找用户 - 按ID倒序，与键集分页保持相同排序
     List<User> findUsersByStatus(User.UserStatus status, int limit, int offset);
 
-    // 根据创建时间范围查找用户
+    // 根据创建时间范围查找用户 - 按(创建时间, ID)倒序，与键集分页保持相同排序
     List<User> findUsersByCreatedTimeRange(LocalDateTime startTime, LocalDateTime endTime, int limit, int offset);
 
+    // 根据状态键集分页查找用户 - 按ID倒序，afterId为null时从第一页开始
+    List<User> findUsersByStatusAfter(User.UserStatus status, Long afterId, int limit);
+
+    // 根据创建时间范围键集分页查找用户 - 按(创建时间, ID)倒序，从游标位置之后继续
+    List<User> findUsersByCreatedTimeRangeAfter(LocalDateTime startTime, LocalDateTime endTime,
+                                                LocalDateTime afterCreatedAt, Long afterId, int limit);
+
     // 根据最后登录时间范围查找用户
     List<User> findUsersByLastLoginTimeRange(LocalDateTime startTime, LocalDateTime endTime, int limit, int offset);
 
@@ -111,7 +111,7 @@ public class UserProfileService {
         }
 
         // 6. 保存档案
-        UserProfile savedProfile = userRepository.saveProfile(profile);
+        UserProfile savedProfile = userRepository.saveProfile(userId, profile);
 
         return new ProfileUpdateResult(ProfileUpdateStatus.SUCCESS, "档案更新成功", savedProfile);
     }
@@ -163,7 +163,7 @@ public class UserProfileService {
                         .build();
             }
 
-            userRepository.saveProfile(profile);
+            userRepository.saveProfile(userId, profile);
 
             return new AvatarUploadResult(AvatarUploadStatus.SUCCESS, "头像上传成功", avatarUrl);
 
@@ -208,7 +208,7 @@ public class UserProfileService {
                     .avatarUrl(null) // 移除头像
                     .build();
 
-            userRepository.saveProfile(updatedProfile);
+            userRepository.saveProfile(userId, updatedProfile);
 
             return new AvatarDeleteResult(AvatarDeleteStatus.SUCCESS, "头像删除成功");
 
@@ -241,10 +241,9 @@ public class UserProfileService {
             return new EmailChangeResult(EmailChangeStatus.USER_NOT_FOUND, "用户不存在");
         }
 
-        User user = userOpt.get();
-
-        // 5. 验证密码
-        if (!cn.hutool.crypto.digest.BCrypt.checkpw(password, user.getPasswordHash())) {
+        // 5. 验证密码，凭据按用户名从数据源读取，缓存中的用户不含密码哈希
+        User user = userRepository.findByIdentifier(userOpt.get().getUsername()).orElse(null);
+        if (user == null || !cn.hutool.crypto.digest.BCrypt.checkpw(password, user.getPasswordHash())) {
             return new EmailChangeResult(EmailChangeStatus.INVALID_PASSWORD, "密码错误");
         }
 
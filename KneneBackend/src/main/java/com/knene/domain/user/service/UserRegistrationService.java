@@ -52,29 +52,30 @@ public class UserRegistrationService {
         // 5. 检查IP地址是否被限制
         validateRegistrationIP(ipAddress);
 
-        // 6. 创建用户实体
+        // 6. 创建用户实体，主键预先分配，档案和验证记录不依赖保存结果
         String passwordHash = BCrypt.hashpw(password, BCrypt.gensalt());
-        User user = User.create(username, email, passwordHash);
+        User user = User.create(userRepository.nextId(), username, email, passwordHash);
         user.setCreatedBy(null); // 系统注册
         user.setUpdatedBy(null);
+        Long userId = user.getId();
 
         // 7. 保存用户
-        User savedUser = userRepository.save(user);
+        userRepository.save(user);
 
         // 8. 创建默认用户档案
         if (StrUtil.isNotBlank(nickname)) {
             UserProfile profile = UserProfile.builder()
                     .nickname(nickname)
                     .build();
-            userRepository.saveProfile(profile);
+            userRepository.saveProfile(userId, profile);
         }
 
         // 9. 发送邮箱验证
-        EmailVerification emailVerification = createEmailVerification(savedUser.getId(), email, ipAddress, userAgent);
+        EmailVerification emailVerification = createEmailVerification(userId, email, ipAddress, userAgent);
         userRepository.saveEmailVerification(emailVerification);
         sendVerificationEmail(email, emailVerification.getVerificationToken());
 
-        return new RegistrationResult(savedUser.getId(), RegistrationStatus.SUCCESS, "注册成功，请查收验证邮件");
+        return new RegistrationResult(userId, RegistrationStatus.SUCCESS, "注册成功，请查收验证邮件");
     }
 
     // 验证邮箱
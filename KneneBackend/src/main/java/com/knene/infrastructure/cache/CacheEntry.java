@@ -0,0 +1,36 @@
+/**
+ * CacheEntry类
+ * 缓存条目，携带写入时间和实际过期时长，用于提前刷新判断
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache;
+
+// 缓存条目 - 一级和二级缓存存放同一结构，回填到本地时保留原始写入时间
+public class CacheEntry<V> {
+
+    private V value;
+    private long writtenAt; // 写入二级缓存的时间戳（毫秒）
+    private long ttlMillis; // 含随机抖动的实际过期时长
+
+    // 反序列化使用
+    CacheEntry() {
+    }
+
+    public CacheEntry(V value, long writtenAt, long ttlMillis) {
+        this.value = value;
+        this.writtenAt = writtenAt;
+        this.ttlMillis = ttlMillis;
+    }
+
+    // 已存活时长
+    public long ageMillis(long now) {
+        return now - writtenAt;
+    }
+
+    public V getValue() { return value; }
+    public long getWrittenAt() { return writtenAt; }
+    public long getTtlMillis() { return ttlMillis; }
+}
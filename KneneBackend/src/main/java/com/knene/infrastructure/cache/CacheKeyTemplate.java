@@ -0,0 +1,49 @@
+/**
+ * CacheKeyTemplate类
+ * 缓存键模板，将user:info:{id}:v1这类模板按参数展开
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 缓存键模板 - 模板末尾的版本段随数据结构变化递增，旧版本键自然过期
+public final class CacheKeyTemplate {
+
+    private final List<String> literals = new ArrayList<>(); // 占位符之间的固定片段
+    private final int placeholders;
+
+    public CacheKeyTemplate(String template) {
+        int count = 0;
+        int start = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("缓存键模板占位符未闭合：" + template);
+            }
+            literals.add(template.substring(start, open));
+            start = close + 1;
+            count++;
+            open = template.indexOf('{', start);
+        }
+        literals.add(template.substring(start));
+        this.placeholders = count;
+    }
+
+    // 按占位符顺序填入参数
+    public String resolve(Object... args) {
+        if (args.length != placeholders) {
+            throw new IllegalArgumentException("缓存键参数个数不匹配，需要" + placeholders + "个");
+        }
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < placeholders; i++) {
+            sb.append(literals.get(i)).append(args[i]);
+        }
+        return sb.append(literals.get(placeholders)).toString();
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * MultiLevelCache类
+ * 两级缓存，Caffeine本地缓存为一级，Redis为二级
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.knene.infrastructure.cache.redis.CacheInvalidationBroadcaster;
+import com.knene.infrastructure.cache.strategy.CacheProtectionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 两级缓存 - 读：L1 -> L2 -> 数据源并逐级回填；失效：删除两级并广播其他节点清理L1
+public class MultiLevelCache<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiLevelCache.class);
+
+    private final String name;
+    private final CacheKeyTemplate keyTemplate;
+    private final Cache<String, CacheEntry<V>> local;
+    private final StringRedisTemplate redis; // 为null时退化为单级本地缓存
+    private final String redisKeyPrefix;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+    private final JavaType entryType;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final CacheProtectionPolicy policy;
+
+    private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>(); // 单飞：同一键同时只有一个回源
+    private final Cache<String, AtomicInteger> accessCounters; // 热点探测窗口内的访问次数，命中和未命中都计入
+    private final Cache<String, CacheEntry<V>> hotReplicas; // 热点键的本地副本，不参与一级缓存的容量淘汰
+
+    public MultiLevelCache(String name, CacheKeyTemplate keyTemplate, Cache<String, CacheEntry<V>> local,
+                           StringRedisTemplate redis, String redisKeyPrefix, Duration ttl,
+                           ObjectMapper objectMapper, JavaType valueType, CacheInvalidationBroadcaster broadcaster,
+                           CacheProtectionPolicy policy) {
+        this.name = name;
+        this.keyTemplate = keyTemplate;
+        this.local = local;
+        this.redis = redis;
+        this.redisKeyPrefix = redisKeyPrefix;
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.entryType = objectMapper.getTypeFactory().constructParametricType(CacheEntry.class, valueType);
+        this.broadcaster = broadcaster;
+        this.policy = policy;
+        this.accessCounters = Caffeine.newBuilder()
+                .expireAfterWrite(policy.getHotKeyExpire())
+                .maximumSize(10_000)
+                .build();
+        this.hotReplicas = Caffeine.newBuilder()
+                .expireAfterWrite(policy.getHotKeyExpire())
+                .maximumSize(1_000)
+                .build();
+    }
+
+    // 读取缓存，未命中时调用loader加载，loader返回null时不缓存
+    public V get(Supplier<V> loader, Object... keyArgs) {
+        String key = keyTemplate.resolve(keyArgs);
+
+        boolean hot = recordAccess(key);
+
+        // 1. 一级缓存及热点副本，一直命中一级缓存的键达到阈值时也补建热点副本
+        CacheEntry<V> entry = local.getIfPresent(key);
+        if (entry == null) {
+            entry = hotReplicas.getIfPresent(key);
+        }
+        if (entry != null) {
+            if (hot) {
+                hotReplicas.asMap().putIfAbsent(key, entry);
+            }
+            refreshIfNeeded(key, entry, loader);
+            return entry.getValue();
+        }
+
+        // 2. 二级缓存，命中后回填一级
+        entry = readRemote(key);
+        if (entry != null) {
+            putLocal(key, entry, hot);
+            refreshIfNeeded(key, entry, loader);
+            return entry.getValue();
+        }
+
+        // 3. 数据源加载，并发请求合并为一次回源
+        return loadSingleFlight(key, loader, hot);
+    }
+
+    // 直接写入两级缓存，预热等批量加载场景使用
+    public void put(V value, Object... keyArgs) {
+        if (value != null) {
+            store(keyTemplate.resolve(keyArgs), value, false);
+        }
+    }
+
+    // 失效两级缓存并通知其他节点
+    public void evict(Object... keyArgs) {
+        String key = keyTemplate.resolve(keyArgs);
+        evictLocal(key);
+        if (redis != null) {
+            try {
+                redis.delete(remoteKey(key));
+            } catch (RuntimeException e) {
+                log.warn("删除二级缓存失败：{} {}", name, key, e);
+            }
+        }
+        if (broadcaster != null) {
+            broadcaster.publish(name, key);
+        }
+    }
+
+    // 只清理本节点一级缓存和热点副本，收到其他节点的失效广播时调用
+    public void evictLocal(String key) {
+        local.invalidate(key);
+        hotReplicas.invalidate(key);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // 按键模板展开后的缓存键，不含Redis前缀，用于日志和统计
+    public String key(Object... keyArgs) {
+        return keyTemplate.resolve(keyArgs);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // 当前正在回源或刷新的键数量
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V loadSingleFlight(String key, Supplier<V> loader, boolean hot) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // 抢到回源权时，上一轮回源可能刚回填完成，先复查一级缓存
+            CacheEntry<V> filled = local.getIfPresent(key);
+            V value = filled != null ? filled.getValue() : loader.get();
+            if (filled == null && value != null) {
+                store(key, value, hot);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // 概率性提前刷新，在后台线程回源，读请求继续返回旧值
+    private void refreshIfNeeded(String key, CacheEntry<V> entry, Supplier<V> loader) {
+        if (!policy.shouldRefreshEarly(entry, System.currentTimeMillis())) {
+            return;
+        }
+        CompletableFuture<V> refresh = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, refresh) != null) {
+            return;
+        }
+
+        try {
+            policy.getRefreshExecutor().execute(() -> {
+                try {
+                    V value = loader.get();
+                    if (value != null) {
+                        store(key, value, hotReplicas.getIfPresent(key) != null);
+                    }
+                    refresh.complete(value);
+                } catch (RuntimeException e) {
+                    log.warn("缓存提前刷新失败：{} {}", name, key, e);
+                    refresh.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, refresh);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 刷新线程池已满时放弃本次刷新，条目过期后由正常回源兜底
+            inFlight.remove(key, refresh);
+            refresh.complete(entry.getValue());
+        }
+    }
+
+    // 统计访问次数，达到阈值的键提升为热点；只统计未命中会漏掉一直命中一级缓存、被容量淘汰前最热的键
+    private boolean recordAccess(String key) {
+        if (!policy.isHotKeyEnabled()) {
+            return false;
+        }
+        AtomicInteger counter = accessCounters.get(key, k -> new AtomicInteger());
+        int accesses = counter.incrementAndGet();
+        if (accesses == policy.getHotKeyThreshold()) {
+            log.info("检测到热点缓存键：{} {}，窗口内访问{}次", name, key, accesses);
+        }
+        return accesses >= policy.getHotKeyThreshold();
+    }
+
+    private void store(String key, V value, boolean hot) {
+        CacheEntry<V> entry = new CacheEntry<>(value, System.currentTimeMillis(), policy.jitteredTtlMillis(ttl));
+        putLocal(key, entry, hot);
+        if (redis == null) {
+            return;
+        }
+        try {
+            redis.opsForValue().set(remoteKey(key), objectMapper.writeValueAsString(entry),
+                    entry.getTtlMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("写入二级缓存失败：{} {}", name, key, e);
+        }
+    }
+
+    private void putLocal(String key, CacheEntry<V> entry, boolean hot) {
+        local.put(key, entry);
+        if (hot) {
+            hotReplicas.put(key, entry);
+        }
+    }
+
+    // Redis异常或反序列化失败按未命中处理，不影响主流程
+    private CacheEntry<V> readRemote(String key) {
+        if (redis == null) {
+            return null;
+        }
+        try {
+            String json = redis.opsForValue().get(remoteKey(key));
+            return json != null ? objectMapper.readValue(json, entryType) : null;
+        } catch (Exception e) {
+            log.warn("读取二级缓存失败：{} {}", name, key, e);
+            return null;
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String remoteKey(String key) {
+        return redisKeyPrefix + ":" + key;
+    }
+}
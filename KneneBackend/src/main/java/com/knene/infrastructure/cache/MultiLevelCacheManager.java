@@ -0,0 +1,103 @@
+/**
+ * MultiLevelCacheManager类
+ * 两级缓存管理器，按app.cache配置创建并登记各业务缓存
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.knene.infrastructure.cache.redis.CacheInvalidationBroadcaster;
+import com.knene.infrastructure.cache.strategy.CacheProtectionPolicy;
+import com.knene.infrastructure.config.properties.AppCacheProperties;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 两级缓存管理器 - 一级缓存过期时间取配置TTL与最大陈旧时长的较小值，保证跨节点陈旧数据有上限
+public class MultiLevelCacheManager implements AutoCloseable {
+
+    private final AppCacheProperties properties;
+    private final StringRedisTemplate redis;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final CacheProtectionPolicy policy;
+    private final Map<String, MultiLevelCache<?>> caches = new ConcurrentHashMap<>();
+
+    public MultiLevelCacheManager(AppCacheProperties properties, StringRedisTemplate redis,
+                                  CacheInvalidationBroadcaster broadcaster, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.redis = redis;
+        this.broadcaster = broadcaster;
+        this.objectMapper = objectMapper;
+
+        // 提前刷新线程池队列有界，积压时直接放弃刷新，由过期回源兜底
+        int threads = Math.max(1, properties.getRefresh().getRefreshThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1024), r -> {
+                    Thread thread = new Thread(r, "cache-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.policy = CacheProtectionPolicy.from(properties, refreshExecutor);
+    }
+
+    // 获取或创建指定名称的缓存，名称须在app.cache.names中配置键模板
+    @SuppressWarnings("unchecked")
+    public <V> MultiLevelCache<V> getCache(String name, Class<V> valueType) {
+        return (MultiLevelCache<V>) caches.computeIfAbsent(name,
+                n -> createCache(n, objectMapper.getTypeFactory().constructType(valueType)));
+    }
+
+    // 清理本节点一级缓存
+    public void evictLocal(String cacheName, String key) {
+        MultiLevelCache<?> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    // 停止失效广播订阅和刷新线程池
+    @Override
+    public void close() {
+        refreshExecutor.shutdown();
+        if (broadcaster != null) {
+            broadcaster.close();
+        }
+    }
+
+    private <V> MultiLevelCache<V> createCache(String name, JavaType valueType) {
+        String template = properties.getNames().get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("未配置缓存键模板：app.cache.names." + name);
+        }
+
+        Duration ttl = properties.ttlOf(name);
+        Duration l1Ttl = min(ttl, properties.getMultiLevel().getL1MaxStaleness());
+        Cache<String, CacheEntry<V>> local = Caffeine.newBuilder()
+                .maximumSize(properties.maxSizeOf(name))
+                .expireAfterWrite(l1Ttl)
+                .recordStats()
+                .build();
+
+        return new MultiLevelCache<>(name, new CacheKeyTemplate(template), local, redis,
+                properties.getRedis().getKeyPrefix(), ttl, objectMapper, valueType, broadcaster, policy);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
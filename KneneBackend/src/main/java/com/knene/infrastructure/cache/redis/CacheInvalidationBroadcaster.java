@@ -0,0 +1,79 @@
+/**
+ * CacheInvalidationBroadcaster类
+ * 缓存失效广播器，通过Redis发布订阅通知其他节点清理本地缓存
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.redis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.UUID;
+
+// 缓存失效广播器 - 消息格式：节点ID\n缓存名称\n缓存键，节点忽略自己发出的消息
+public class CacheInvalidationBroadcaster implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBroadcaster.class);
+
+    private static final String SEPARATOR = "\n";
+
+    private final StringRedisTemplate redis;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString(); // 本节点标识，每次启动重新生成
+    private RedisMessageListenerContainer container;
+
+    public CacheInvalidationBroadcaster(StringRedisTemplate redis, String channel) {
+        this.redis = redis;
+        this.channel = channel;
+    }
+
+    // 订阅失效频道
+    public synchronized void subscribe(MessageListener listener) {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redis.getRequiredConnectionFactory());
+        container.addMessageListener(listener, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (container == null) {
+            return;
+        }
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.warn("关闭缓存失效订阅失败：{}", channel, e);
+        }
+    }
+
+    // 发布失效消息，发布失败时依赖本地缓存过期兜底
+    public void publish(String cacheName, String key) {
+        try {
+            redis.convertAndSend(channel, nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            log.warn("缓存失效广播失败：{} {}", cacheName, key, e);
+        }
+    }
+
+    // 解析失效消息，来自本节点或格式错误时返回null
+    public String[] parse(String message) {
+        String[] parts = message.split(SEPARATOR, 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return null;
+        }
+        return new String[]{parts[1], parts[2]};
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * CacheInvalidationListener类
+ * 缓存失效消息监听器，收到其他节点的广播后清理本地一级缓存
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.redis;
+
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+// 缓存失效消息监听器
+public class CacheInvalidationListener implements MessageListener {
+
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final MultiLevelCacheManager cacheManager;
+
+    public CacheInvalidationListener(CacheInvalidationBroadcaster broadcaster, MultiLevelCacheManager cacheManager) {
+        this.broadcaster = broadcaster;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parsed = broadcaster.parse(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (parsed != null) {
+            cacheManager.evictLocal(parsed[0], parsed[1]);
+        }
+    }
+}
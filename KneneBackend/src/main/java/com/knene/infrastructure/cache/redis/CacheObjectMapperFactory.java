@@ -0,0 +1,66 @@
+/**
+ * CacheObjectMapperFactory类
+ * 二级缓存序列化器工厂，按字段序列化领域对象
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.redis;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.knene.domain.user.entity.User;
+import com.knene.domain.user.valueobject.UserProfile;
+import com.knene.domain.user.valueobject.UserRole;
+
+// 二级缓存序列化器工厂 - 领域对象没有setter，序列化走字段，不可变值对象通过其Builder反序列化
+public final class CacheObjectMapperFactory {
+
+    private CacheObjectMapperFactory() {
+    }
+
+    public static ObjectMapper create() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES); // 新增字段前后的缓存条目可以互相兼容
+
+        // 值对象反序列化混入，避免在领域层引入Jackson注解
+        SimpleModule module = new SimpleModule("cache-domain");
+        module.setMixInAnnotation(User.class, UserMixin.class);
+        module.setMixInAnnotation(UserProfile.class, UserProfileMixin.class);
+        module.setMixInAnnotation(UserProfile.Builder.class, BuilderMixin.class);
+        module.setMixInAnnotation(UserRole.class, UserRoleMixin.class);
+        module.setMixInAnnotation(UserRole.Builder.class, BuilderMixin.class);
+        mapper.registerModule(module);
+        return mapper;
+    }
+
+    // 凭据不写入Redis，需要校验密码的查询直接回源
+    @JsonIgnoreProperties({"passwordHash"})
+    private abstract static class UserMixin {
+    }
+
+    @JsonDeserialize(builder = UserProfile.Builder.class)
+    private abstract static class UserProfileMixin {
+    }
+
+    @JsonDeserialize(builder = UserRole.Builder.class)
+    private abstract static class UserRoleMixin {
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    private abstract static class BuilderMixin {
+    }
+}
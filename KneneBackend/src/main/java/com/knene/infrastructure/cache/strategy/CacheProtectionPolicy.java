@@ -0,0 +1,89 @@
+/**
+ * CacheProtectionPolicy类
+ * 缓存防护策略，统一TTL随机抖动、提前刷新和热点判定参数
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.infrastructure.cache.CacheEntry;
+import com.knene.infrastructure.config.properties.AppCacheProperties;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 缓存防护策略 - 抖动打散同批写入的过期时间，提前刷新让热门条目在过期前被替换
+public class CacheProtectionPolicy {
+
+    private final long ttlJitterMillis;
+    private final double refreshRatio; // 大于等于1表示关闭提前刷新
+    private final int hotKeyThreshold; // 小于等于0表示关闭热点探测
+    private final Duration hotKeyExpire;
+    private final Executor refreshExecutor;
+
+    public CacheProtectionPolicy(long ttlJitterMillis, double refreshRatio, int hotKeyThreshold,
+                                 Duration hotKeyExpire, Executor refreshExecutor) {
+        this.ttlJitterMillis = ttlJitterMillis;
+        this.refreshRatio = refreshRatio;
+        this.hotKeyThreshold = hotKeyThreshold;
+        this.hotKeyExpire = hotKeyExpire;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    // 按app.cache下的refresh、anti-penetration、anti-avalanche配置创建
+    public static CacheProtectionPolicy from(AppCacheProperties properties, Executor refreshExecutor) {
+        AppCacheProperties.AntiAvalanche avalanche = properties.getAntiAvalanche();
+        AppCacheProperties.AntiPenetration penetration = properties.getAntiPenetration();
+        AppCacheProperties.Refresh refresh = properties.getRefresh();
+
+        long jitter = avalanche.isEnabled() && avalanche.isRandomTtl() ? avalanche.getTtlJitter() * 1000L : 0L;
+        double ratio = refresh.isEnabled() && refresh.isBackgroundRefresh() ? refresh.getRefreshRatio() : 1.0;
+        int threshold = penetration.isEnabled() && penetration.isHotKeyProtection() ? penetration.getHotKeyThreshold() : 0;
+        return new CacheProtectionPolicy(jitter, ratio, threshold,
+                Duration.ofSeconds(penetration.getHotKeyExpire()), refreshExecutor);
+    }
+
+    // 不做任何防护，测试和单独使用时的默认策略
+    public static CacheProtectionPolicy none() {
+        return new CacheProtectionPolicy(0L, 1.0, 0, Duration.ofSeconds(60), Runnable::run);
+    }
+
+    // 在基础TTL上叠加[0, jitter]的随机时长
+    public long jitteredTtlMillis(Duration ttl) {
+        long base = ttl.toMillis();
+        return ttlJitterMillis > 0 ? base + ThreadLocalRandom.current().nextLong(ttlJitterMillis + 1) : base;
+    }
+
+    // 概率性提前刷新：存活超过ratio×TTL后，刷新概率随剩余时间线性升至1，避免所有请求同时触发
+    public boolean shouldRefreshEarly(CacheEntry<?> entry, long now) {
+        if (refreshRatio >= 1.0 || entry.getTtlMillis() <= 0) {
+            return false;
+        }
+        long threshold = (long) (entry.getTtlMillis() * refreshRatio);
+        long age = entry.ageMillis(now);
+        if (age < threshold) {
+            return false;
+        }
+        double probability = (double) (age - threshold) / Math.max(1L, entry.getTtlMillis() - threshold);
+        return ThreadLocalRandom.current().nextDouble() < probability;
+    }
+
+    public boolean isHotKeyEnabled() {
+        return hotKeyThreshold > 0;
+    }
+
+    public int getHotKeyThreshold() {
+        return hotKeyThreshold;
+    }
+
+    public Duration getHotKeyExpire() {
+        return hotKeyExpire;
+    }
+
+    public Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * CacheWarmer类
+ * 缓存预热器接口，每个实现负责一类缓存的批量加载
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+
+import java.util.function.ToIntFunction;
+
+// 缓存预热器接口 - 名称与app.cache.warmup.items中的条目对应
+public interface CacheWarmer {
+
+    // 预热项名称
+    String name();
+
+    // 批量加载并写入缓存，返回写入的条目数
+    int warmUp(MultiLevelCacheManager cacheManager);
+
+    // 以函数创建预热器
+    static CacheWarmer of(String name, ToIntFunction<MultiLevelCacheManager> action) {
+        return new CacheWarmer() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int warmUp(MultiLevelCacheManager cacheManager) {
+                return action.applyAsInt(cacheManager);
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * CacheWarmupOrchestrator类
+ * 缓存预热编排器，应用就绪后按配置并行执行各预热项并记录耗时
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+import com.knene.infrastructure.config.properties.AppCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 缓存预热编排器 - 全部预热项结束（成功、失败或超时）后才报告就绪，失败的缓存退回按需加载
+public class CacheWarmupOrchestrator {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmupOrchestrator.class);
+
+    private final MultiLevelCacheManager cacheManager;
+    private final AppCacheProperties.Warmup properties;
+    private final Map<String, CacheWarmer> warmers = new LinkedHashMap<>();
+    private final Map<String, WarmupResult> results = new ConcurrentHashMap<>(); // 预热项 -> 结果
+    private volatile boolean completed;
+
+    public CacheWarmupOrchestrator(MultiLevelCacheManager cacheManager, AppCacheProperties properties,
+                                   List<CacheWarmer> warmers) {
+        this.cacheManager = cacheManager;
+        this.properties = properties.getWarmup();
+        warmers.forEach(warmer -> this.warmers.put(warmer.name(), warmer));
+        this.completed = !this.properties.isEnabled() || this.properties.getItems().isEmpty();
+    }
+
+    // 应用就绪后延迟启动预热，不阻塞启动流程
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (completed) {
+            return;
+        }
+        Thread starter = new Thread(() -> {
+            try {
+                TimeUnit.SECONDS.sleep(properties.getStartupDelay());
+                warmUpAll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                completed = true;
+            }
+        }, "cache-warmup-starter");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    // 并行执行全部配置的预热项
+    public void warmUpAll() {
+        long start = System.currentTimeMillis();
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrentThreads()), r -> {
+            Thread thread = new Thread(r, "cache-warmup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            // 1. 提交预热项，未实现的条目直接记为跳过
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (String item : properties.getItems()) {
+                CacheWarmer warmer = warmers.get(item);
+                if (warmer == null) {
+                    results.put(item, WarmupResult.skipped());
+                    log.warn("缓存预热项{}没有对应的预热器，已跳过", item);
+                    continue;
+                }
+                results.put(item, WarmupResult.running());
+                futures.add(CompletableFuture.runAsync(() -> runWarmer(warmer), executor));
+            }
+
+            // 2. 等待全部完成，超时后不再阻塞就绪，未完成的预热项继续在后台执行
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .get(properties.getTimeout(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("缓存预热超时（{}秒），未完成的预热项转为后台执行", properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("缓存预热异常", e);
+        } finally {
+            executor.shutdown();
+            completed = true;
+            log.info("缓存预热结束，总耗时{}ms，结果：{}", System.currentTimeMillis() - start, results);
+        }
+    }
+
+    private void runWarmer(CacheWarmer warmer) {
+        long start = System.nanoTime();
+        try {
+            int entries = warmer.warmUp(cacheManager);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            results.put(warmer.name(), WarmupResult.success(entries, elapsed));
+            log.info("缓存{}预热完成，写入{}条，耗时{}ms", warmer.name(), entries, elapsed);
+        } catch (RuntimeException e) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            results.put(warmer.name(), WarmupResult.failed(e.getMessage(), elapsed));
+            log.error("缓存{}预热失败，耗时{}ms", warmer.name(), elapsed, e);
+        }
+    }
+
+    // 预热是否已结束，健康检查据此报告就绪
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Map<String, WarmupResult> getResults() {
+        return Collections.unmodifiableMap(results);
+    }
+
+    // 单个预热项结果
+    public static final class WarmupResult {
+
+        private final String status; // RUNNING, SUCCESS, FAILED, SKIPPED
+        private final int entries;
+        private final long elapsedMillis;
+        private final String error;
+
+        private WarmupResult(String status, int entries, long elapsedMillis, String error) {
+            this.status = status;
+            this.entries = entries;
+            this.elapsedMillis = elapsedMillis;
+            this.error = error;
+        }
+
+        static WarmupResult running() { return new WarmupResult("RUNNING", 0, 0L, null); }
+        static WarmupResult skipped() { return new WarmupResult("SKIPPED", 0, 0L, null); }
+        static WarmupResult success(int entries, long elapsedMillis) { return new WarmupResult("SUCCESS", entries, elapsedMillis, null); }
+        static WarmupResult failed(String error, long elapsedMillis) { return new WarmupResult("FAILED", 0, elapsedMillis, error); }
+
+        public String getStatus() { return status; }
+        public int getEntries() { return entries; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public String getError() { return error; }
+
+        @Override
+        public String toString() {
+            return status + "(" + entries + "条, " + elapsedMillis + "ms)";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * IdExistenceFilter类
+ * ID存在性过滤器，基于布隆过滤器快速判定ID一定不存在
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// ID存在性过滤器 - 未完成首次构建前一律放行；重建期间的新增ID同时写入新旧两个过滤器
+public class IdExistenceFilter {
+
+    private final String name;
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter<Long> current; // 对外提供判定的过滤器
+    private volatile BloomFilter<Long> building; // 正在重建的过滤器，重建结束后替换current
+    private final ReentrantLock rebuildLock = new ReentrantLock(); // 重建期间扫描数据库，不用synchronized以免钉住虚拟线程
+
+    public IdExistenceFilter(String name, double falsePositiveProbability) {
+        this.name = name;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    // 返回false表示ID一定不存在，可以直接拒绝而不查缓存和数据库
+    public boolean mightExist(long id) {
+        BloomFilter<Long> filter = current;
+        return filter == null || filter.mightContain(id);
+    }
+
+    // 记录新插入的ID，须在插入事务提交后调用
+    public void add(long id) {
+        BloomFilter<Long> filter = current;
+        if (filter != null) {
+            filter.put(id);
+        }
+        BloomFilter<Long> next = building;
+        if (next != null) {
+            next.put(id);
+        }
+    }
+
+    // 全量重建：先登记新过滤器再扫描，扫描期间提交的插入不会丢失
+    public void rebuild(long expectedInsertions, Consumer<Consumer<Long>> idScanner) {
+        rebuildLock.lock();
+        try {
+            BloomFilter<Long> next = BloomFilter.create(Funnels.longFunnel(), Math.max(1L, expectedInsertions),
+                    falsePositiveProbability);
+            building = next;
+            try {
+                idScanner.accept(next::put);
+                current = next;
+            } finally {
+                building = null;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    // 按当前元素数估算的误判率
+    public double expectedFpp() {
+        BloomFilter<Long> filter = current;
+        return filter != null ? filter.expectedFpp() : 1.0;
+    }
+
+    public long approximateElementCount() {
+        BloomFilter<Long> filter = current;
+        return filter != null ? filter.approximateElementCount() : 0L;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * IdExistenceFilterListener类
+ * ID存在性过滤器广播监听器，将其他节点新增的ID写入本节点过滤器
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.infrastructure.cache.redis.CacheInvalidationBroadcaster;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+// 过滤器广播监听器 - 与缓存失效消息共用频道，非过滤器消息直接忽略
+public class IdExistenceFilterListener implements MessageListener {
+
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final IdExistenceFilterRegistry registry;
+
+    public IdExistenceFilterListener(CacheInvalidationBroadcaster broadcaster, IdExistenceFilterRegistry registry) {
+        this.broadcaster = broadcaster;
+        this.registry = registry;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parsed = broadcaster.parse(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (parsed != null) {
+            registry.applyRemoteInsert(parsed[0], parsed[1]);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * IdExistenceFilterRegistry类
+ * ID存在性过滤器注册表，按配置管理各实体的过滤器及其重建
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.infrastructure.cache.redis.CacheInvalidationBroadcaster;
+import com.knene.infrastructure.config.properties.BloomFilterProperties;
+import com.knene.infrastructure.persistence.mapper.IdScanMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// ID存在性过滤器注册表 - 未配置或未就绪的过滤器一律放行，不会误拒真实数据
+// 新增ID经缓存失效频道广播给其他节点，否则其他节点要到下次重建才认得这些ID；广播丢失时由定时重建兜底
+public class IdExistenceFilterRegistry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(IdExistenceFilterRegistry.class);
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final String MESSAGE_PREFIX = "id-filter:"; // 广播消息的名称段，与缓存名称区分
+
+    private final BloomFilterProperties properties;
+    private final IdScanMapper idScanMapper;
+    private final CacheInvalidationBroadcaster broadcaster; // 为null时新增ID只写入本节点
+    private final Map<String, IdExistenceFilter> filters = new LinkedHashMap<>();
+
+    public IdExistenceFilterRegistry(BloomFilterProperties properties, IdScanMapper idScanMapper) {
+        this(properties, idScanMapper, null);
+    }
+
+    public IdExistenceFilterRegistry(BloomFilterProperties properties, IdScanMapper idScanMapper,
+                                     CacheInvalidationBroadcaster broadcaster) {
+        this.properties = properties;
+        this.idScanMapper = idScanMapper;
+        this.broadcaster = broadcaster;
+        properties.getFilters().forEach((name, config) -> {
+            // 表名和列名直接拼入SQL，启动时校验
+            if (!IDENTIFIER.matcher(String.valueOf(config.getTable())).matches()
+                    || !IDENTIFIER.matcher(String.valueOf(config.getIdColumn())).matches()) {
+                throw new IllegalArgumentException("布隆过滤器" + name + "的表名或列名不合法");
+            }
+            filters.put(name, new IdExistenceFilter(name, config.getFalsePositiveProbability()));
+        });
+    }
+
+    // 判定ID是否可能存在
+    public boolean mightExist(String name, Long id) {
+        if (id == null) {
+            return true;
+        }
+        IdExistenceFilter filter = filters.get(name);
+        return filter == null || filter.mightExist(id);
+    }
+
+    // 登记新插入的ID，处于事务中时等提交后再写入并广播
+    public void recordInsert(String name, Long id) {
+        IdExistenceFilter filter = filters.get(name);
+        if (filter == null || id == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addAndBroadcast(name, filter, id);
+                }
+            });
+        } else {
+            addAndBroadcast(name, filter, id);
+        }
+    }
+
+    // 应用其他节点广播的新增ID，不是过滤器消息时返回false
+    public boolean applyRemoteInsert(String messageName, String key) {
+        if (!messageName.startsWith(MESSAGE_PREFIX)) {
+            return false;
+        }
+        IdExistenceFilter filter = filters.get(messageName.substring(MESSAGE_PREFIX.length()));
+        if (filter != null) {
+            try {
+                filter.add(Long.parseLong(key));
+            } catch (NumberFormatException e) {
+                log.debug("忽略格式错误的布隆过滤器广播：{} {}", messageName, key);
+            }
+        }
+        return true;
+    }
+
+    // 重建全部过滤器，单个失败不影响其他过滤器，失败的过滤器保留旧版本
+    public void rebuildAll() {
+        for (Map.Entry<String, IdExistenceFilter> entry : filters.entrySet()) {
+            try {
+                rebuild(entry.getKey(), entry.getValue(), properties.getFilters().get(entry.getKey()));
+            } catch (RuntimeException e) {
+                log.warn("布隆过滤器{}重建失败，继续使用旧版本：{}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, IdExistenceFilter> getFilters() {
+        return filters;
+    }
+
+    // 停止广播订阅
+    @Override
+    public void close() {
+        if (broadcaster != null) {
+            broadcaster.close();
+        }
+    }
+
+    private void addAndBroadcast(String name, IdExistenceFilter filter, long id) {
+        filter.add(id);
+        if (broadcaster != null) {
+            broadcaster.publish(MESSAGE_PREFIX + name, Long.toString(id));
+        }
+    }
+
+    private void rebuild(String name, IdExistenceFilter filter, BloomFilterProperties.Filter config) {
+        long start = System.currentTimeMillis();
+        String table = config.getTable();
+        String idColumn = config.getIdColumn();
+
+        // 1. 按当前行数估算容量，预留增长空间，避免误判率随插入快速上升
+        long count = idScanMapper.selectCount(table);
+        long expected = Math.max(config.getExpectedInsertions(), (long) (count * config.getGrowthFactor()));
+
+        // 2. 键集分页扫描主键写入新过滤器
+        int batchSize = properties.getBatchSize();
+        filter.rebuild(expected, sink -> {
+            long afterId = 0L;
+            while (true) {
+                List<Long> ids = idScanMapper.selectIdsAfter(table, idColumn, afterId, batchSize);
+                ids.forEach(sink);
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+            }
+        });
+
+        log.info("布隆过滤器{}重建完成，元素约{}个，预估误判率{}，耗时{}ms", name,
+                filter.approximateElementCount(), String.format("%.4f", filter.expectedFpp()),
+                System.currentTimeMillis() - start);
+    }
+}
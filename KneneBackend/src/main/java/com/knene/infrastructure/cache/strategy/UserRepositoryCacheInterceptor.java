@@ -0,0 +1,145 @@
+/**
+ * UserRepositoryCacheInterceptor类
+ * 用户仓储缓存拦截器，为用户读取方法接入两级缓存并在写入后失效
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.domain.user.entity.User;
+import com.knene.domain.user.valueobject.UserProfile;
+import com.knene.infrastructure.cache.MultiLevelCache;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+// 用户仓储缓存拦截器 - 旁路缓存：读未命中回源，写成功后立即失效并在事务提交后再失效一次
+// 二级缓存中的用户不含密码哈希，登录等需要凭据的按用户名/邮箱查询始终回源，不经过缓存
+public class UserRepositoryCacheInterceptor implements MethodInterceptor {
+
+    private static final String USERS_FILTER = "users"; // app.cache.bloom-filter.filters下的用户过滤器名称
+
+    private final MultiLevelCache<User> userInfoCache; // user:info:{id}
+    private final MultiLevelCache<UserProfile> userProfileCache; // user:profile:{id}
+    private final IdExistenceFilterRegistry idFilters; // 为null时不做存在性过滤
+
+    public UserRepositoryCacheInterceptor(MultiLevelCache<User> userInfoCache,
+                                          MultiLevelCache<UserProfile> userProfileCache,
+                                          IdExistenceFilterRegistry idFilters) {
+        this.userInfoCache = userInfoCache;
+        this.userProfileCache = userProfileCache;
+        this.idFilters = idFilters;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object[] args = invocation.getArguments();
+        return switch (invocation.getMethod().getName()) {
+            case "findById" -> findById(invocation, (Long) args[0]);
+            case "findProfileByUserId" -> findProfile(invocation, (Long) args[0]);
+            case "save" -> {
+                Object saved = invocation.proceed();
+                evictUser(((User) args[0]).getId(), saved);
+                // ID可能在保存前就已分配，无法区分新建和更新，每次保存都登记，重复登记不影响过滤器
+                if (idFilters != null && saved instanceof User user) {
+                    idFilters.recordInsert(USERS_FILTER, user.getId());
+                }
+                yield saved;
+            }
+            case "delete" -> {
+                Object result = invocation.proceed();
+                evictUser(((User) args[0]).getId(), args[0]);
+                yield result;
+            }
+            case "deleteById" -> {
+                Object result = invocation.proceed();
+                evictUser((Long) args[0], null);
+                yield result;
+            }
+            case "saveProfile" -> {
+                Object saved = invocation.proceed();
+                evictAfterWrite(userProfileCache, args[0]); // 档案值对象不含用户ID，缓存键取自调用参数
+                yield saved;
+            }
+            case "deleteProfileByUserId" -> {
+                Object result = invocation.proceed();
+                evictAfterWrite(userProfileCache, args[0]);
+                yield result;
+            }
+            default -> invocation.proceed();
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<User> findById(MethodInvocation invocation, Long id) throws Throwable {
+        if (id == null) {
+            return (Optional<User>) invocation.proceed();
+        }
+        // 布隆过滤器判定一定不存在的ID直接返回，不访问Redis和数据库
+        if (idFilters != null && !idFilters.mightExist(USERS_FILTER, id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(userInfoCache.get(() -> unwrap(invocation), id));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<UserProfile> findProfile(MethodInvocation invocation, Long userId) throws Throwable {
+        if (userId == null) {
+            return (Optional<UserProfile>) invocation.proceed();
+        }
+        if (idFilters != null && !idFilters.mightExist(USERS_FILTER, userId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(userProfileCache.get(() -> unwrap(invocation), userId));
+    }
+
+    private void evictUser(Long id, Object saved) {
+        evictAfterWrite(userInfoCache, id);
+        if (saved instanceof User user) {
+            evictAfterWrite(userInfoCache, user.getId()); // 新建用户的ID在保存后才产生
+        }
+    }
+
+    // 立即失效一次，事务提交后再失效一次，防止并发读在提交前把旧值回填
+    private void evictAfterWrite(MultiLevelCache<?> cache, Object key) {
+        if (key == null) {
+            return;
+        }
+        cache.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(key);
+                }
+            });
+        }
+    }
+
+    // 同一次调用可能需要多次回源，每次使用调用的副本
+    private static Object proceed(MethodInvocation invocation) throws Throwable {
+        if (invocation instanceof ProxyMethodInvocation proxyInvocation) {
+            return proxyInvocation.invocableClone().proceed();
+        }
+        return invocation.proceed();
+    }
+
+    // 仓储方法返回Optional，缓存只保存其中的值
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(MethodInvocation invocation) {
+        try {
+            Object result = proceed(invocation);
+            return result instanceof Optional<?> optional ? (T) optional.orElse(null) : (T) result;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("用户仓储调用失败", e);
+        }
+    }
+}
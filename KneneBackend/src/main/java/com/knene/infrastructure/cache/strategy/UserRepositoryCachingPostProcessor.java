@@ -0,0 +1,49 @@
+/**
+ * UserRepositoryCachingPostProcessor类
+ * 用户仓储缓存后置处理器，为UserRepository实现织入两级缓存
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.domain.user.entity.User;
+import com.knene.domain.user.repository.UserRepository;
+import com.knene.domain.user.valueobject.UserProfile;
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+// 用户仓储缓存后置处理器 - 以代理包装仓储实现，调用方和实现类都无需感知缓存
+public class UserRepositoryCachingPostProcessor implements BeanPostProcessor {
+
+    public static final String USER_INFO = "user-info";
+    public static final String USER_PROFILE = "user-profile";
+
+    private final ObjectProvider<MultiLevelCacheManager> cacheManagerProvider; // 延迟获取，避免后置处理器过早初始化依赖
+    private final ObjectProvider<IdExistenceFilterRegistry> idFiltersProvider;
+
+    public UserRepositoryCachingPostProcessor(ObjectProvider<MultiLevelCacheManager> cacheManagerProvider,
+                                              ObjectProvider<IdExistenceFilterRegistry> idFiltersProvider) {
+        this.cacheManagerProvider = cacheManagerProvider;
+        this.idFiltersProvider = idFiltersProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof UserRepository)) {
+            return bean;
+        }
+
+        MultiLevelCacheManager cacheManager = cacheManagerProvider.getObject();
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addInterface(UserRepository.class);
+        proxyFactory.addAdvice(new UserRepositoryCacheInterceptor(
+                cacheManager.getCache(USER_INFO, User.class),
+                cacheManager.getCache(USER_PROFILE, UserProfile.class),
+                idFiltersProvider.getIfAvailable()));
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+}
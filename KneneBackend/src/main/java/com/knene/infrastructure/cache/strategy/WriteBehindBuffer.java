@@ -0,0 +1,235 @@
+/**
+ * WriteBehindBuffer类
+ * 写后缓冲区，合并同一键的多次更新并按批异步落库
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+
+// 写后缓冲区 - 按间隔或积压阈值刷盘；刷盘失败的条目与期间的新更新重新合并，等待下次刷盘
+// 批次写入失败时二分重试定位出错的行，只有单独写入仍失败的行才计入失败次数，同批的正常行照常落库；
+// 同一键连续失败达到上限后转入死信，不再重试。连接失败、超时等瞬时异常与具体行无关，整批放回且不计失败次数
+// 写入器须保证一批要么全部生效要么全部不生效，否则重试会重复累加已落库的行
+public final class WriteBehindBuffer<K, V> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private final String name;
+    private final BinaryOperator<V> merger; // (旧值, 新值) -> 合并值
+    private final BatchWriter<K, V> writer;
+    private final int batchSize;
+    private final int flushThreshold; // 积压键数达到该值时提前刷盘
+    private final int maxAttempts; // 同一键连续刷盘失败的次数上限
+    private final BatchWriter<K, V> deadLetterWriter; // 死信落地位置，为null时死信只记录错误日志
+    private final ConcurrentHashMap<K, V> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Integer> failures = new ConcurrentHashMap<>(); // 键 -> 连续失败次数
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock(); // 刷盘内含JDBC阻塞调用，不用synchronized以免钉住虚拟线程
+
+    private final AtomicLong accepted = new AtomicLong(); // 累计接收的更新次数
+    private final AtomicLong written = new AtomicLong(); // 累计落库的行数
+    private final AtomicLong deadLettered = new AtomicLong(); // 累计转入死信的条目数
+
+    public WriteBehindBuffer(String name, BinaryOperator<V> merger, BatchWriter<K, V> writer,
+                             int batchSize, int flushThreshold, Duration flushInterval) {
+        this(name, merger, writer, batchSize, flushThreshold, flushInterval, DEFAULT_MAX_ATTEMPTS, null);
+    }
+
+    public WriteBehindBuffer(String name, BinaryOperator<V> merger, BatchWriter<K, V> writer,
+                             int batchSize, int flushThreshold, Duration flushInterval,
+                             int maxAttempts, BatchWriter<K, V> deadLetterWriter) {
+        this.name = name;
+        this.merger = merger;
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.flushThreshold = flushThreshold;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.deadLetterWriter = deadLetterWriter;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "write-behind-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 登记一次更新，与同一键尚未落库的更新合并
+    public void submit(K key, V value) {
+        pending.merge(key, value, merger);
+        accepted.incrementAndGet();
+        if (pending.size() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // 关闭过程中不再提前刷盘，由close的最终排空兜底
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    // 读取尚未落库的合并值，调用方据此叠加到数据库读取结果上
+    public V peek(K key) {
+        return pending.get(key);
+    }
+
+    // 刷出当前全部积压，按批写入
+    public int flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+
+            // 1. 逐键摘取，摘取之后到达的更新进入下一轮
+            List<Map.Entry<K, V>> drained = new ArrayList<>(pending.size());
+            for (K key : pending.keySet()) {
+                V value = pending.remove(key);
+                if (value != null) {
+                    drained.add(Map.entry(key, value));
+                }
+            }
+
+            // 2. 按批写入，失败的批次二分定位出错的行，连续失败达到上限的行转入死信
+            int total = 0;
+            List<Map.Entry<K, V>> dead = new ArrayList<>();
+            for (int from = 0; from < drained.size(); from += batchSize) {
+                total += write(drained.subList(from, Math.min(from + batchSize, drained.size())), dead);
+            }
+            deadLetter(dead);
+            written.addAndGet(total);
+            return total;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 停止定时刷盘并排空缓冲区
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int flushed = flush();
+        if (!pending.isEmpty()) {
+            log.error("写后缓冲区{}关闭时仍有{}条更新未能落库", name, pending.size());
+        }
+        log.info("写后缓冲区{}已关闭，最终刷出{}条，累计接收{}次更新、落库{}行、死信{}条", name, flushed,
+                accepted.get(), written.get(), deadLettered.get());
+    }
+
+    public int pendingSize() {
+        return pending.size();
+    }
+
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDeadLettered() {
+        return deadLettered.get();
+    }
+
+    // 写入一批并返回落库行数；非瞬时异常时拆成两半分别重试，直到定位到单行
+    private int write(List<Map.Entry<K, V>> batch, List<Map.Entry<K, V>> dead) {
+        try {
+            writer.write(batch);
+            if (!failures.isEmpty()) {
+                batch.forEach(entry -> failures.remove(entry.getKey()));
+            }
+            return batch.size();
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                log.warn("写后缓冲区{}刷盘遇到瞬时异常，{}条更新放回等待重试：{}", name, batch.size(), e.getMessage());
+                batch.forEach(this::requeue);
+                return 0;
+            }
+            if (batch.size() > 1) {
+                int middle = batch.size() / 2;
+                return write(batch.subList(0, middle), dead) + write(batch.subList(middle, batch.size()), dead);
+            }
+            Map.Entry<K, V> entry = batch.get(0);
+            int attempts = failures.merge(entry.getKey(), 1, Integer::sum);
+            log.error("写后缓冲区{}第{}次写入失败：{}", name, attempts, entry, e);
+            if (attempts >= maxAttempts) {
+                failures.remove(entry.getKey());
+                dead.add(entry);
+            } else {
+                requeue(entry);
+            }
+            return 0;
+        }
+    }
+
+    // 失败的旧值排在新值之前合并，保持更新顺序
+    private void requeue(Map.Entry<K, V> entry) {
+        pending.merge(entry.getKey(), entry.getValue(), (newer, failed) -> merger.apply(failed, newer));
+    }
+
+    private void deadLetter(List<Map.Entry<K, V>> dead) {
+        if (dead.isEmpty()) {
+            return;
+        }
+
+        deadLettered.addAndGet(dead.size());
+        log.error("写后缓冲区{}有{}条更新连续{}次刷盘失败，转入死信：{}", name, dead.size(), maxAttempts, dead);
+        if (deadLetterWriter != null) {
+            try {
+                deadLetterWriter.write(dead);
+            } catch (RuntimeException e) {
+                log.error("写后缓冲区{}写入死信失败", name, e);
+            }
+        }
+    }
+
+    // 数据库不可用、锁超时等与具体行无关的异常
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("写后缓冲区{}刷盘异常", name, e);
+        }
+    }
+
+    // 批量写入器，一批内的键互不相同
+    @FunctionalInterface
+    public interface BatchWriter<K, V> {
+
+        void write(List<Map.Entry<K, V>> batch);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * BloomFilterConfig类
+ * ID存在性布隆过滤器配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.cache;
+
+import com.knene.infrastructure.cache.redis.CacheInvalidationBroadcaster;
+import com.knene.infrastructure.cache.strategy.IdExistenceFilterListener;
+import com.knene.infrastructure.cache.strategy.IdExistenceFilterRegistry;
+import com.knene.infrastructure.config.properties.AppCacheProperties;
+import com.knene.infrastructure.config.properties.BloomFilterProperties;
+import com.knene.infrastructure.persistence.mapper.IdScanMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+// 布隆过滤器配置类 - 仅在app.cache.bloom-filter.enabled=true时生效
+// 有Redis时新增ID经缓存失效频道广播给其他节点，没有Redis时只更新本节点，其他节点等待定时重建
+@Configuration
+@EnableConfigurationProperties({BloomFilterProperties.class, AppCacheProperties.class})
+@ConditionalOnProperty(prefix = "app.cache.bloom-filter", name = "enabled", havingValue = "true")
+public class BloomFilterConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(BloomFilterConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public IdExistenceFilterRegistry idExistenceFilterRegistry(BloomFilterProperties properties,
+                                                               IdScanMapper idScanMapper,
+                                                               AppCacheProperties cacheProperties,
+                                                               ObjectProvider<StringRedisTemplate> redisProvider) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) {
+            log.info("未检测到Redis，布隆过滤器新增ID不做跨节点广播");
+            return new IdExistenceFilterRegistry(properties, idScanMapper);
+        }
+
+        CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(
+                redis, cacheProperties.getMultiLevel().getInvalidationChannel());
+        IdExistenceFilterRegistry registry = new IdExistenceFilterRegistry(properties, idScanMapper, broadcaster);
+        broadcaster.subscribe(new IdExistenceFilterListener(broadcaster, registry));
+        return registry;
+    }
+}
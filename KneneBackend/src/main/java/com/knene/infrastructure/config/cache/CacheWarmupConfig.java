@@ -0,0 +1,114 @@
+/**
+ * CacheWarmupConfig类
+ * 缓存预热配置，登记各预热项的批量加载逻辑和就绪健康检查
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.cache;
+
+import com.knene.infrastructure.cache.MultiLevelCache;
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+import com.knene.infrastructure.cache.strategy.CacheWarmer;
+import com.knene.infrastructure.cache.strategy.CacheWarmupOrchestrator;
+import com.knene.infrastructure.config.properties.AppCacheProperties;
+import com.knene.infrastructure.monitor.CacheWarmupHealthIndicator;
+import com.knene.infrastructure.persistence.mapper.CacheWarmupMapper;
+import com.knene.infrastructure.search.hot.HotSearch;
+import com.knene.infrastructure.search.hot.HotSearchTracker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 缓存预热配置类 - 预热项名称即缓存名称，键模板见app.cache.names
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache.multi-level", name = "enabled", havingValue = "true")
+public class CacheWarmupConfig {
+
+    private static final int HOT_SEARCH_LIMIT = 100;
+
+    @Bean
+    public CacheWarmupOrchestrator cacheWarmupOrchestrator(MultiLevelCacheManager multiLevelCacheManager,
+                                                           AppCacheProperties properties, List<CacheWarmer> warmers) {
+        return new CacheWarmupOrchestrator(multiLevelCacheManager, properties, warmers);
+    }
+
+    // Bean名称决定健康检查组件名cacheWarmup
+    @Bean
+    public CacheWarmupHealthIndicator cacheWarmupHealthIndicator(CacheWarmupOrchestrator cacheWarmupOrchestrator) {
+        return new CacheWarmupHealthIndicator(cacheWarmupOrchestrator);
+    }
+
+    // 系统配置：config:system:{key}
+    @Bean
+    public CacheWarmer systemConfigWarmer(CacheWarmupMapper mapper) {
+        return CacheWarmer.of("system-config", cacheManager -> {
+            MultiLevelCache<String> cache = cacheManager.getCache("system-config", String.class);
+            List<Map<String, Object>> rows = mapper.selectSystemConfigs();
+            for (Map<String, Object> row : rows) {
+                Object value = row.get("config_value");
+                cache.put(value != null ? value.toString() : "", row.get("config_key"));
+            }
+            return rows.size();
+        });
+    }
+
+    // 字典数据：dict:{type}，同类型字典项按排序号组成列表
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CacheWarmer dictionaryDataWarmer(CacheWarmupMapper mapper) {
+        return CacheWarmer.of("dictionary-data", cacheManager -> {
+            MultiLevelCache<ArrayList> cache = cacheManager.getCache("dictionary-data", ArrayList.class);
+            Map<Object, ArrayList<Map<String, Object>>> byType = new LinkedHashMap<>();
+            for (Map<String, Object> row : mapper.selectActiveDictionaries()) {
+                byType.computeIfAbsent(row.remove("dict_type"), k -> new ArrayList<>()).add(row);
+            }
+            byType.forEach((type, items) -> cache.put(items, type));
+            return byType.size();
+        });
+    }
+
+    // 热门搜索：search:hot:daily，按搜索次数降序；启用热搜统计时取其从快照恢复的结果，不再聚合search_logs
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CacheWarmer hotSearchWarmer(CacheWarmupMapper mapper, ObjectProvider<HotSearchTracker> trackerProvider) {
+        return CacheWarmer.of("hot-search", cacheManager -> {
+            MultiLevelCache<ArrayList> cache = cacheManager.getCache("hot-search", ArrayList.class);
+            ArrayList<String> keywords = new ArrayList<>();
+            HotSearchTracker tracker = trackerProvider.getIfAvailable();
+            if (tracker != null) {
+                for (HotSearch hotSearch : tracker.top(null, HOT_SEARCH_LIMIT)) {
+                    keywords.add(hotSearch.keyword());
+                }
+            } else {
+                for (Map<String, Object> row : mapper.selectHotSearchKeywords(HOT_SEARCH_LIMIT)) {
+                    keywords.add(String.valueOf(row.get("keyword")));
+                }
+            }
+            cache.put(keywords);
+            return 1;
+        });
+    }
+
+    // 角色权限：auth:role:permissions:{id}
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CacheWarmer rolePermissionsWarmer(CacheWarmupMapper mapper) {
+        return CacheWarmer.of("role-permissions", cacheManager -> {
+            MultiLevelCache<ArrayList> cache = cacheManager.getCache("role-permissions", ArrayList.class);
+            Map<Object, ArrayList<String>> byRole = new LinkedHashMap<>();
+            for (Map<String, Object> row : mapper.selectActiveRolePermissions()) {
+                byRole.computeIfAbsent(row.get("role_id"), k -> new ArrayList<>()).add(String.valueOf(row.get("permission_name")));
+            }
+            byRole.forEach((roleId, permissions) -> cache.put(permissions, roleId));
+            return byRole.size();
+        });
+    }
+}
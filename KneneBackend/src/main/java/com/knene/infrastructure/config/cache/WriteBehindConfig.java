@@ -0,0 +1,43 @@
+/**
+ * WriteBehindConfig类
+ * 用户低频数据写后缓冲配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.cache;
+
+import com.knene.infrastructure.config.properties.AppCacheProperties;
+import com.knene.infrastructure.persistence.repository.UserWriteBehindStore;
+import com.knene.infrastructure.persistence.repository.WriteBehindDeadLetterStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 写后缓冲配置类 - 仅在app.cache.write-behind.enabled=true时生效，容器关闭时排空缓冲
+@Configuration
+@EnableConfigurationProperties(AppCacheProperties.class)
+@ConditionalOnProperty(prefix = "app.cache.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    @Bean
+    public WriteBehindDeadLetterStore writeBehindDeadLetterStore(JdbcTemplate jdbcTemplate) {
+        return new WriteBehindDeadLetterStore(jdbcTemplate);
+    }
+
+    @Bean(destroyMethod = "close")
+    public UserWriteBehindStore userWriteBehindStore(JdbcTemplate jdbcTemplate,
+                                                     PlatformTransactionManager transactionManager,
+                                                     WriteBehindDeadLetterStore deadLetterStore,
+                                                     AppCacheProperties properties) {
+        AppCacheProperties.WriteBehind writeBehind = properties.getWriteBehind();
+        return new UserWriteBehindStore(jdbcTemplate, new TransactionTemplate(transactionManager), deadLetterStore,
+                writeBehind.getBatchSize(), writeBehind.getFlushThreshold(), writeBehind.getFlushInterval(),
+                writeBehind.getMaxAttempts());
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * ArchiveConfig类
+ * 冷热数据归档配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.database;
+
+import com.knene.infrastructure.config.properties.ArchiveProperties;
+import com.knene.infrastructure.persistence.archive.ArchiveEngine;
+import com.knene.infrastructure.persistence.archive.ArchivePolicy;
+import com.knene.infrastructure.persistence.archive.ArchiveReader;
+import com.knene.infrastructure.persistence.datasource.ReplicaLagMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 冷热数据归档配置类 - 归档表由V3.4.4迁移创建
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.archive", name = "enabled", havingValue = "true")
+public class ArchiveConfig {
+
+    @Bean
+    public ArchiveEngine archiveEngine(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       ObjectProvider<ReplicaLagMonitor> replicaLagMonitorProvider,
+                                       ArchiveProperties properties) {
+        List<ArchivePolicy> policies = new ArrayList<>();
+        for (Map.Entry<String, ArchiveProperties.Table> entry : properties.getTables().entrySet()) {
+            ArchiveProperties.Table table = entry.getValue();
+            policies.add(new ArchivePolicy(entry.getKey(), table.getSoftDeleteGrace(), table.getAgeColumn(),
+                    table.getMaxAge()));
+        }
+        return new ArchiveEngine(jdbcTemplate, new TransactionTemplate(transactionManager),
+                replicaLagMonitorProvider.getIfAvailable(), policies, properties.getBatchSize(),
+                properties.getBatchPause(), properties.getMaxBatchesPerRun());
+    }
+
+    @Bean
+    public ArchiveReader archiveReader(JdbcTemplate jdbcTemplate, ArchiveEngine archiveEngine) {
+        return new ArchiveReader(jdbcTemplate, archiveEngine);
+    }
+}
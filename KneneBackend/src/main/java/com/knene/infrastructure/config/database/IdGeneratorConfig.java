@@ -0,0 +1,62 @@
+/**
+ * IdGeneratorConfig类
+ * 分布式ID生成器配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.database;
+
+import com.knene.infrastructure.config.properties.IdGeneratorProperties;
+import com.knene.infrastructure.persistence.id.NodeIdLease;
+import com.knene.infrastructure.persistence.id.NodeIdLeaseManager;
+import com.knene.infrastructure.persistence.id.SnowflakeIdGenerator;
+import com.knene.infrastructure.persistence.id.SnowflakeIdentifierGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// 分布式ID生成器配置类 - 注册的IdentifierGenerator由MyBatis-Plus自动装配为全局主键生成器
+@Configuration
+@EnableConfigurationProperties(IdGeneratorProperties.class)
+public class IdGeneratorConfig {
+
+    // 默认从租约表分配节点号，只有显式配置固定node-id时才关闭租约；容器关闭时释放节点号
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.datasource.id-generator", name = "node-id", havingValue = "-1",
+            matchIfMissing = true)
+    public NodeIdLeaseManager nodeIdLeaseManager(JdbcTemplate jdbcTemplate, IdGeneratorProperties properties) {
+        return new NodeIdLeaseManager(jdbcTemplate, properties.getLeaseTtl());
+    }
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(IdGeneratorProperties properties,
+                                                     ObjectProvider<NodeIdLeaseManager> leaseManagerProvider) {
+        NodeIdLeaseManager leaseManager = leaseManagerProvider.getIfAvailable();
+        if (leaseManager == null) {
+            // 既没有租约也没有合法的固定节点号时拒绝启动，避免多个实例落到同一节点号上发出重复ID
+            int nodeId = properties.getNodeId();
+            if (nodeId < 0 || nodeId > SnowflakeIdGenerator.MAX_NODE_ID) {
+                throw new IllegalStateException("未启用节点号租约且固定节点号无效：" + nodeId
+                        + "，请配置app.datasource.id-generator.node-id为-1或0到" + SnowflakeIdGenerator.MAX_NODE_ID);
+            }
+            return new SnowflakeIdGenerator(nodeId, properties.getMaxClockBackward());
+        }
+
+        // 租约表中没有空闲节点号时acquire直接抛出，启动失败
+        NodeIdLease lease = leaseManager.acquire();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(lease.getNodeId(),
+                properties.getMaxClockBackward(), lease.getLastTimestamp());
+        leaseManager.keepAlive(generator);
+        return generator;
+    }
+
+    @Bean
+    public SnowflakeIdentifierGenerator snowflakeIdentifierGenerator(SnowflakeIdGenerator snowflakeIdGenerator) {
+        return new SnowflakeIdentifierGenerator(snowflakeIdGenerator);
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * PartitioningConfig类
+ * 日志表时间分区维护配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.database;
+
+import com.knene.infrastructure.config.properties.PartitioningProperties;
+import com.knene.infrastructure.persistence.partition.PartitionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.ZoneId;
+
+// 日志表时间分区配置类 - V3.4.3迁移只建兜底分区，首次维护按当天日期拆出历史分区，之后滚动预建和删除
+@Configuration
+@EnableConfigurationProperties(PartitioningProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.partitioning", name = "enabled", havingValue = "true")
+public class PartitioningConfig {
+
+    @Bean
+    public PartitionManager partitionManager(JdbcTemplate jdbcTemplate, PartitioningProperties properties) {
+        return new PartitionManager(jdbcTemplate, ZoneId.of(properties.getZone()));
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * ReadWriteDataSourceConfig类
+ * 读写分离数据源配置，装配主从数据源和路由数据源
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.database;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.knene.infrastructure.config.properties.ReadWriteSplittingProperties;
+import com.knene.infrastructure.persistence.datasource.ReadWriteRoutingDataSource;
+import com.knene.infrastructure.persistence.datasource.ReadYourWritesFilter;
+import com.knene.infrastructure.persistence.datasource.ReadYourWritesTracker;
+import com.knene.infrastructure.persistence.datasource.ReplicaLagMonitor;
+import com.knene.infrastructure.persistence.datasource.ReplicaLoadBalancer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 读写分离数据源配置类 - 仅在app.datasource.read-write-splitting.enabled=true时生效
+@Configuration
+@EnableConfigurationProperties(ReadWriteSplittingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.read-write-splitting", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    // 按名称从spring.datasource.{name}创建Druid数据源
+    private static DruidDataSource createDruidDataSource(Environment environment, String name) {
+        DruidDataSource dataSource = new DruidDataSource();
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource." + name, Bindable.ofInstance(dataSource));
+        binder.bind("spring.datasource." + name + ".druid", Bindable.ofInstance(dataSource));
+        dataSource.setName(name);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public DruidDataSource masterDataSource(Environment environment, ReadWriteSplittingProperties properties) {
+        return createDruidDataSource(environment, properties.getMasterDataSourceName());
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadWriteSplittingProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow(), properties.getReadYourWritesMaxUsers());
+    }
+
+    // 从库数据源及延迟监控，按配置间隔周期探测
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(Environment environment, ReadWriteSplittingProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String name : properties.getSlaveDataSourceNames()) {
+            replicas.put(name, createDruidDataSource(environment, name));
+        }
+
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicas, properties.getMaxReplicaLag());
+        monitor.start(properties.getLagCheckInterval());
+        return monitor;
+    }
+
+    // 对外暴露的主数据源：懒连接代理 + 读写路由
+    @Bean
+    @Primary
+    public DataSource dataSource(DruidDataSource masterDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 ReadWriteSplittingProperties properties) {
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.replicas());
+        targets.put(properties.getMasterDataSourceName(), masterDataSource);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                properties.getMasterDataSourceName(),
+                new ReplicaLoadBalancer(properties.getLoadBalanceAlgorithm(), properties.getSlaveWeights()),
+                replicaLagMonitor,
+                readYourWritesTracker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(masterDataSource);
+        routing.afterPropertiesSet();
+
+        // 延迟到第一条SQL才取连接，保证@Transactional(readOnly = true)的标记已经生效
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // 读己之写过滤器，排在Spring Security过滤器链之后
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+}
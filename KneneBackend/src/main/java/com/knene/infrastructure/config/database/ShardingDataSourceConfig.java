@@ -0,0 +1,91 @@
+/**
+ * ShardingDataSourceConfig类
+ * 用户维度分库分表配置，创建分库数据源、分片路由和分片ID生成器
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.database;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.knene.infrastructure.config.properties.IdGeneratorProperties;
+import com.knene.infrastructure.config.properties.ShardingProperties;
+import com.knene.infrastructure.persistence.sharding.ShardAwareIdGenerator;
+import com.knene.infrastructure.persistence.sharding.ShardTemplate;
+import com.knene.infrastructure.persistence.sharding.UserShardRouter;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 分库分表配置类 - 仅在app.datasource.sharding.enabled=true时生效，分库数据源不参与主库路由
+@Configuration
+@EnableConfigurationProperties({ShardingProperties.class, IdGeneratorProperties.class})
+@ConditionalOnProperty(prefix = "app.datasource.sharding", name = "enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+    private static final String DATASOURCE_PREFIX = "app.datasource.sharding.datasource.";
+
+    @Bean
+    public UserShardRouter userShardRouter(ShardingProperties properties) {
+        return new UserShardRouter(properties.getDatasource().getNames(), properties.getTablesPerDataSource());
+    }
+
+    @Bean
+    public ShardAwareIdGenerator shardAwareIdGenerator(UserShardRouter userShardRouter, ShardingProperties properties,
+                                                       IdGeneratorProperties idGeneratorProperties) {
+        return new ShardAwareIdGenerator(userShardRouter, properties.getWorkerId(),
+                idGeneratorProperties.getMaxClockBackward());
+    }
+
+    // 分片数据访问模板，分库数据源和扇出线程池由模板独占，随容器关闭释放；创建前对各分库执行分片表迁移
+    @Bean(destroyMethod = "close")
+    public ShardTemplate shardTemplate(Environment environment, UserShardRouter userShardRouter,
+                                       ShardingProperties properties) {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        Binder binder = Binder.get(environment);
+        for (String name : properties.getDatasource().getNames()) {
+            DruidDataSource dataSource = new DruidDataSource();
+            binder.bind(DATASOURCE_PREFIX + name, Bindable.ofInstance(dataSource));
+            dataSource.setName(name);
+            dataSources.put(name, dataSource);
+            migrate(dataSource, properties.getMigrationLocation());
+        }
+
+        // 扇出线程数决定跨分片查询的并行度
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getScatterGatherThreads(), r -> {
+            Thread thread = new Thread(r, "shard-scatter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new ShardTemplate(userShardRouter, new HashSet<>(properties.getShardedTables()), dataSources, executor,
+                properties.getScatterGatherTimeout());
+    }
+
+    // 分库不在主库Flyway的管理范围内，按分库各自维护迁移历史
+    private static void migrate(DataSource dataSource, String location) {
+        if (location == null || location.isBlank()) {
+            return;
+        }
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(location)
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+}
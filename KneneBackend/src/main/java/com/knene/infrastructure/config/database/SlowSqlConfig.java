@@ -0,0 +1,45 @@
+/**
+ * SlowSqlConfig类
+ * 慢SQL记录配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.database;
+
+import com.knene.infrastructure.config.properties.SqlMonitorProperties;
+import com.knene.infrastructure.monitor.SlowSqlEndpoint;
+import com.knene.infrastructure.monitor.sql.SlowSqlRecorder;
+import com.knene.infrastructure.persistence.interceptor.SlowSqlInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// 慢SQL记录配置类 - 拦截器作为Interceptor Bean由MyBatis-Plus自动注册到SqlSessionFactory
+@Configuration
+@EnableConfigurationProperties(SqlMonitorProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowSqlConfig {
+
+    @Bean(destroyMethod = "close")
+    public SlowSqlRecorder slowSqlRecorder(SqlMonitorProperties properties, ObjectProvider<DataSource> dataSource) {
+        return new SlowSqlRecorder(properties.isExplainEnabled() ? dataSource.getIfAvailable() : null,
+                properties.getSlowSqlThreshold(), properties.isLogSlowSql(), properties.getMaxFingerprints(),
+                properties.getSlowSampleCapacity(), properties.getExplainInterval(), properties.getExplainQueueCapacity());
+    }
+
+    @Bean
+    public SlowSqlInterceptor slowSqlInterceptor(SlowSqlRecorder slowSqlRecorder) {
+        return new SlowSqlInterceptor(slowSqlRecorder);
+    }
+
+    @Bean
+    public SlowSqlEndpoint slowSqlEndpoint(SlowSqlRecorder slowSqlRecorder) {
+        return new SlowSqlEndpoint(slowSqlRecorder);
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * AppCacheProperties类
+ * 应用缓存配置属性，绑定app.cache
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 应用缓存配置属性类 - 缓存名称对应键模板、过期时间和本地容量
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProperties {
+
+    private MultiLevel multiLevel = new MultiLevel();
+    private Map<String, String> names = new HashMap<>(); // 缓存名称 -> 键模板，如user:info:{id}:v1
+    private Map<String, Long> ttl = new HashMap<>(); // 缓存名称 -> 过期秒数
+    private Map<String, Long> maxSize = new HashMap<>(); // 缓存名称 -> 本地缓存容量
+    private Redis redis = new Redis();
+    private Refresh refresh = new Refresh();
+    private AntiPenetration antiPenetration = new AntiPenetration();
+    private AntiAvalanche antiAvalanche = new AntiAvalanche();
+    private Warmup warmup = new Warmup();
+    private WriteBehind writeBehind = new WriteBehind();
+
+    // 读取缓存过期时间，未配置时使用Redis默认过期时间
+    public Duration ttlOf(String cacheName) {
+        Long seconds = ttl.get(cacheName);
+        return Duration.ofSeconds(seconds != null ? seconds : redis.getDefaultTtl());
+    }
+
+    // 读取本地缓存容量
+    public long maxSizeOf(String cacheName) {
+        Long size = maxSize.get(cacheName);
+        return size != null ? size : 1000L;
+    }
+
+    public MultiLevel getMultiLevel() { return multiLevel; }
+    public void setMultiLevel(MultiLevel multiLevel) { this.multiLevel = multiLevel; }
+    public Map<String, String> getNames() { return names; }
+    public void setNames(Map<String, String> names) { this.names = names; }
+    public Map<String, Long> getTtl() { return ttl; }
+    public void setTtl(Map<String, Long> ttl) { this.ttl = ttl; }
+    public Map<String, Long> getMaxSize() { return maxSize; }
+    public void setMaxSize(Map<String, Long> maxSize) { this.maxSize = maxSize; }
+    public Redis getRedis() { return redis; }
+    public void setRedis(Redis redis) { this.redis = redis; }
+    public Refresh getRefresh() { return refresh; }
+    public void setRefresh(Refresh refresh) { this.refresh = refresh; }
+    public AntiPenetration getAntiPenetration() { return antiPenetration; }
+    public void setAntiPenetration(AntiPenetration antiPenetration) { this.antiPenetration = antiPenetration; }
+    public AntiAvalanche getAntiAvalanche() { return antiAvalanche; }
+    public void setAntiAvalanche(AntiAvalanche antiAvalanche) { this.antiAvalanche = antiAvalanche; }
+    public Warmup getWarmup() { return warmup; }
+    public void setWarmup(Warmup warmup) { this.warmup = warmup; }
+    public WriteBehind getWriteBehind() { return writeBehind; }
+    public void setWriteBehind(WriteBehind writeBehind) { this.writeBehind = writeBehind; }
+
+    // 多级缓存配置
+    public static class MultiLevel {
+
+        private boolean enabled = true;
+        private Duration l1MaxStaleness = Duration.ofSeconds(60); // 本地缓存最长存活，兜底失效广播丢失
+        private String invalidationChannel = "knene:cache:invalidation";
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public Duration getL1MaxStaleness() { return l1MaxStaleness; }
+        public void setL1MaxStaleness(Duration l1MaxStaleness) { this.l1MaxStaleness = l1MaxStaleness; }
+        public String getInvalidationChannel() { return invalidationChannel; }
+        public void setInvalidationChannel(String invalidationChannel) { this.invalidationChannel = invalidationChannel; }
+    }
+
+    // Redis缓存配置
+    public static class Redis {
+
+        private String keyPrefix = "knene:cache";
+        private long defaultTtl = 1800L;
+
+        public String getKeyPrefix() { return keyPrefix; }
+        public void setKeyPrefix(String keyPrefix) { this.keyPrefix = keyPrefix; }
+        public long getDefaultTtl() { return defaultTtl; }
+        public void setDefaultTtl(long defaultTtl) { this.defaultTtl = defaultTtl; }
+    }
+
+    // 提前刷新配置
+    public static class Refresh {
+
+        private boolean enabled = true;
+        private double refreshRatio = 0.8; // 条目存活超过TTL的该比例后开始概率性后台刷新
+        private boolean backgroundRefresh = true;
+        private int refreshThreads = 2;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public double getRefreshRatio() { return refreshRatio; }
+        public void setRefreshRatio(double refreshRatio) { this.refreshRatio = refreshRatio; }
+        public boolean isBackgroundRefresh() { return backgroundRefresh; }
+        public void setBackgroundRefresh(boolean backgroundRefresh) { this.backgroundRefresh = backgroundRefresh; }
+        public int getRefreshThreads() { return refreshThreads; }
+        public void setRefreshThreads(int refreshThreads) { this.refreshThreads = refreshThreads; }
+    }
+
+    // 缓存击穿防护配置
+    public static class AntiPenetration {
+
+        private boolean enabled = true;
+        private boolean hotKeyProtection = true;
+        private int hotKeyThreshold = 100; // 统计窗口内本节点访问次数达到该值即判定为热点
+        private long hotKeyExpire = 60L; // 热点副本保留秒数，同时作为统计窗口
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public boolean isHotKeyProtection() { return hotKeyProtection; }
+        public void setHotKeyProtection(boolean hotKeyProtection) { this.hotKeyProtection = hotKeyProtection; }
+        public int getHotKeyThreshold() { return hotKeyThreshold; }
+        public void setHotKeyThreshold(int hotKeyThreshold) { this.hotKeyThreshold = hotKeyThreshold; }
+        public long getHotKeyExpire() { return hotKeyExpire; }
+        public void setHotKeyExpire(long hotKeyExpire) { this.hotKeyExpire = hotKeyExpire; }
+    }
+
+    // 缓存雪崩防护配置
+    public static class AntiAvalanche {
+
+        private boolean enabled = true;
+        private boolean randomTtl = true;
+        private long ttlJitter = 300L; // 随机抖动上限（秒）
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public boolean isRandomTtl() { return randomTtl; }
+        public void setRandomTtl(boolean randomTtl) { this.randomTtl = randomTtl; }
+        public long getTtlJitter() { return ttlJitter; }
+        public void setTtlJitter(long ttlJitter) { this.ttlJitter = ttlJitter; }
+    }
+
+    // 缓存预热配置
+    public static class Warmup {
+
+        private boolean enabled = true;
+        private long startupDelay = 30L; // 应用就绪后延迟多少秒开始预热
+        private int concurrentThreads = 5;
+        private long timeout = 300L; // 整体预热超时秒数，超时后不再阻塞就绪
+        private List<String> items = new ArrayList<>();
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public long getStartupDelay() { return startupDelay; }
+        public void setStartupDelay(long startupDelay) { this.startupDelay = startupDelay; }
+        public int getConcurrentThreads() { return concurrentThreads; }
+        public void setConcurrentThreads(int concurrentThreads) { this.concurrentThreads = concurrentThreads; }
+        public long getTimeout() { return timeout; }
+        public void setTimeout(long timeout) { this.timeout = timeout; }
+        public List<String> getItems() { return items; }
+        public void setItems(List<String> items) { this.items = items; }
+    }
+
+    // 写后缓冲配置
+    public static class WriteBehind {
+
+        private boolean enabled = false;
+        private Duration flushInterval = Duration.ofSeconds(5);
+        private int batchSize = 500; // 单条JDBC批处理语句的最大行数
+        private int flushThreshold = 10000; // 待写键数达到该值时提前刷盘
+        private int maxAttempts = 5; // 同一条更新单独写入连续失败的次数上限，超过后转入死信表
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public Duration getFlushInterval() { return flushInterval; }
+        public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public int getFlushThreshold() { return flushThreshold; }
+        public void setFlushThreshold(int flushThreshold) { this.flushThreshold = flushThreshold; }
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    }
+}
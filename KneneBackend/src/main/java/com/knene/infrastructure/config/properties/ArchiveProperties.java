@@ -0,0 +1,55 @@
+/**
+ * ArchiveProperties类
+ * 冷热数据归档配置属性，绑定app.datasource.archive
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 冷热数据归档配置属性类 - 全局控制批大小和限速，每张表单独配置归档条件
+@ConfigurationProperties(prefix = "app.datasource.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = false;
+    private String cron = "0 0 4 * * ?"; // 默认每天凌晨4点执行，避开分区维护和计数对账
+    private int batchSize = 500;
+    private Duration batchPause = Duration.ofMillis(200);
+    private int maxBatchesPerRun = 2000;
+    private Map<String, Table> tables = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getCron() { return cron; }
+    public void setCron(String cron) { this.cron = cron; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public Duration getBatchPause() { return batchPause; }
+    public void setBatchPause(Duration batchPause) { this.batchPause = batchPause; }
+    public int getMaxBatchesPerRun() { return maxBatchesPerRun; }
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) { this.maxBatchesPerRun = maxBatchesPerRun; }
+    public Map<String, Table> getTables() { return tables; }
+    public void setTables(Map<String, Table> tables) { this.tables = tables; }
+
+    // 单表归档条件，两项都为空时该表不归档
+    public static class Table {
+
+        private Duration softDeleteGrace = Duration.ofDays(7); // 软删除超过该时长后归档
+        private String ageColumn = "created_at";
+        private Duration maxAge; // 历史数据保留在热表的时长
+
+        public Duration getSoftDeleteGrace() { return softDeleteGrace; }
+        public void setSoftDeleteGrace(Duration softDeleteGrace) { this.softDeleteGrace = softDeleteGrace; }
+        public String getAgeColumn() { return ageColumn; }
+        public void setAgeColumn(String ageColumn) { this.ageColumn = ageColumn; }
+        public Duration getMaxAge() { return maxAge; }
+        public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * BloomFilterProperties类
+ * ID存在性布隆过滤器配置属性，绑定app.cache.bloom-filter
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 布隆过滤器配置属性类 - 每个过滤器对应一张表的主键列
+@ConfigurationProperties(prefix = "app.cache.bloom-filter")
+public class BloomFilterProperties {
+
+    private boolean enabled = false;
+    private Duration rebuildInterval = Duration.ofHours(6); // 全量重建间隔，清除已删除ID并按当前数据量重新扩容
+    private int batchSize = 10000; // 重建时每批扫描的主键数
+    private Map<String, Filter> filters = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getRebuildInterval() { return rebuildInterval; }
+    public void setRebuildInterval(Duration rebuildInterval) { this.rebuildInterval = rebuildInterval; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public Map<String, Filter> getFilters() { return filters; }
+    public void setFilters(Map<String, Filter> filters) { this.filters = filters; }
+
+    // 单个过滤器配置
+    public static class Filter {
+
+        private String table;
+        private String idColumn = "id";
+        private long expectedInsertions = 1_000_000L; // 下限，实际容量取max(该值, 当前行数 × 增长系数)
+        private double growthFactor = 1.5;
+        private double falsePositiveProbability = 0.01; // 误判率，越低占用内存越多
+
+        public String getTable() { return table; }
+        public void setTable(String table) { this.table = table; }
+        public String getIdColumn() { return idColumn; }
+        public void setIdColumn(String idColumn) { this.idColumn = idColumn; }
+        public long getExpectedInsertions() { return expectedInsertions; }
+        public void setExpectedInsertions(long expectedInsertions) { this.expectedInsertions = expectedInsertions; }
+        public double getGrowthFactor() { return growthFactor; }
+        public void setGrowthFactor(double growthFactor) { this.growthFactor = growthFactor; }
+        public double getFalsePositiveProbability() { return falsePositiveProbability; }
+        public void setFalsePositiveProbability(double falsePositiveProbability) { this.falsePositiveProbability = falsePositiveProbability; }
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * IdGeneratorProperties类
+ * 分布式ID生成器配置属性，绑定app.datasource.id-generator
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// 分布式ID生成器配置属性类 - 默认通过租约表自动分配节点号，单实例或固定部署可显式配置0到1023的节点号
+@ConfigurationProperties(prefix = "app.datasource.id-generator")
+public class IdGeneratorProperties {
+
+    private int nodeId = -1; // -1表示自动租约，否则为固定节点号
+    private Duration leaseTtl = Duration.ofSeconds(30);
+    private long maxClockBackward = 1000L; // 可容忍的时钟回拨毫秒数，期间沿用逻辑时钟发号
+
+    public int getNodeId() { return nodeId; }
+    public void setNodeId(int nodeId) { this.nodeId = nodeId; }
+    public Duration getLeaseTtl() { return leaseTtl; }
+    public void setLeaseTtl(Duration leaseTtl) { this.leaseTtl = leaseTtl; }
+    public long getMaxClockBackward() { return maxClockBackward; }
+    public void setMaxClockBackward(long maxClockBackward) { this.maxClockBackward = maxClockBackward; }
+}
@@ -0,0 +1,50 @@
+/**
+ * PartitioningProperties类
+ * 日志表时间分区配置属性，绑定app.datasource.partitioning
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import com.knene.infrastructure.persistence.partition.PartitionGranularity;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 日志表时间分区配置属性类 - 每张表独立配置分区粒度、保留周期数和预建周期数
+// 默认配置见application.yml，V3.4.3迁移分区的五张表均已列出；关闭后新数据全部落入兜底分区
+@ConfigurationProperties(prefix = "app.datasource.partitioning")
+public class PartitioningProperties {
+
+    private boolean enabled = false;
+    private String zone = "Asia/Shanghai"; // 分区边界按该时区的零点计算，上线后不应修改
+    private String maintenanceCron = "0 10 0 * * ?"; // 每天零点过后预建新分区并删除过期分区
+    private Map<String, Table> tables = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getZone() { return zone; }
+    public void setZone(String zone) { this.zone = zone; }
+    public String getMaintenanceCron() { return maintenanceCron; }
+    public void setMaintenanceCron(String maintenanceCron) { this.maintenanceCron = maintenanceCron; }
+    public Map<String, Table> getTables() { return tables; }
+    public void setTables(Map<String, Table> tables) { this.tables = tables; }
+
+    // 单表分区策略
+    public static class Table {
+
+        private PartitionGranularity granularity = PartitionGranularity.DAY;
+        private int retention = 30; // 保留的周期数，早于该范围的分区整体删除，0表示不删除
+        private int precreate = 7; // 提前建好的未来周期数
+
+        public PartitionGranularity getGranularity() { return granularity; }
+        public void setGranularity(PartitionGranularity granularity) { this.granularity = granularity; }
+        public int getRetention() { return retention; }
+        public void setRetention(int retention) { this.retention = retention; }
+        public int getPrecreate() { return precreate; }
+        public void setPrecreate(int precreate) { this.precreate = precreate; }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * ReadWriteSplittingProperties类
+ * 读写分离配置属性，绑定app.datasource.read-write-splitting
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 读写分离配置属性类
+@ConfigurationProperties(prefix = "app.datasource.read-write-splitting")
+public class ReadWriteSplittingProperties {
+
+    private boolean enabled = false;
+    private String loadBalanceAlgorithm = "round_robin"; // round_robin, random, weighted
+    private String masterDataSourceName = "master";
+    private List<String> slaveDataSourceNames = new ArrayList<>();
+    private Map<String, Integer> slaveWeights = new HashMap<>(); // weighted算法使用，缺省权重为1
+    private Duration maxReplicaLag = Duration.ofSeconds(5); // 超过该延迟的从库暂停读流量
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+    private Duration readYourWritesWindow = Duration.ofSeconds(3); // 用户写入后固定走主库的时长
+    private int readYourWritesMaxUsers = 100000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getLoadBalanceAlgorithm() { return loadBalanceAlgorithm; }
+    public void setLoadBalanceAlgorithm(String loadBalanceAlgorithm) { this.loadBalanceAlgorithm = loadBalanceAlgorithm; }
+    public String getMasterDataSourceName() { return masterDataSourceName; }
+    public void setMasterDataSourceName(String masterDataSourceName) { this.masterDataSourceName = masterDataSourceName; }
+    public List<String> getSlaveDataSourceNames() { return slaveDataSourceNames; }
+    public void setSlaveDataSourceNames(List<String> slaveDataSourceNames) { this.slaveDataSourceNames = slaveDataSourceNames; }
+    public Map<String, Integer> getSlaveWeights() { return slaveWeights; }
+    public void setSlaveWeights(Map<String, Integer> slaveWeights) { this.slaveWeights = slaveWeights; }
+    public Duration getMaxReplicaLag() { return maxReplicaLag; }
+    public void setMaxReplicaLag(Duration maxReplicaLag) { this.maxReplicaLag = maxReplicaLag; }
+    public Duration getLagCheckInterval() { return lagCheckInterval; }
+    public void setLagCheckInterval(Duration lagCheckInterval) { this.lagCheckInterval = lagCheckInterval; }
+    public Duration getReadYourWritesWindow() { return readYourWritesWindow; }
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) { this.readYourWritesWindow = readYourWritesWindow; }
+    public int getReadYourWritesMaxUsers() { return readYourWritesMaxUsers; }
+    public void setReadYourWritesMaxUsers(int readYourWritesMaxUsers) { this.readYourWritesMaxUsers = readYourWritesMaxUsers; }
+}
@@ -0,0 +1,321 @@
+/**
+ * SearchProperties类
+ * 检索相关配置属性，绑定app.search
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import com.knene.infrastructure.search.QualityRanking;
+import com.knene.infrastructure.search.SearchField;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// 检索配置属性类 - 内嵌检索引擎用于没有Elasticsearch集群的小规模部署和测试
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    private Embedded embedded = new Embedded();
+    private Indexer indexer = new Indexer();
+    private Ranking ranking = new Ranking();
+    private Facet facet = new Facet();
+    private ResultCache resultCache = new ResultCache();
+    private Suggest suggest = new Suggest();
+    private Spell spell = new Spell();
+    private Hot hot = new Hot();
+    private Log log = new Log();
+
+    public Embedded getEmbedded() { return embedded; }
+    public void setEmbedded(Embedded embedded) { this.embedded = embedded; }
+    public Indexer getIndexer() { return indexer; }
+    public void setIndexer(Indexer indexer) { this.indexer = indexer; }
+    public Ranking getRanking() { return ranking; }
+    public void setRanking(Ranking ranking) { this.ranking = ranking; }
+    public Facet getFacet() { return facet; }
+    public void setFacet(Facet facet) { this.facet = facet; }
+    public ResultCache getResultCache() { return resultCache; }
+    public void setResultCache(ResultCache resultCache) { this.resultCache = resultCache; }
+    public Suggest getSuggest() { return suggest; }
+    public void setSuggest(Suggest suggest) { this.suggest = suggest; }
+    public Spell getSpell() { return spell; }
+    public void setSpell(Spell spell) { this.spell = spell; }
+    public Hot getHot() { return hot; }
+    public void setHot(Hot hot) { this.hot = hot; }
+    public Log getLog() { return log; }
+    public void setLog(Log log) { this.log = log; }
+
+    // 内嵌检索引擎配置
+    public static class Embedded {
+
+        private boolean enabled = false;
+        private float k1 = 1.2f; // BM25词频饱和参数
+        private float b = 0.75f; // BM25长度归一化参数
+        private Map<SearchField, Float> boosts = new EnumMap<>(SearchField.class); // 未配置的字段使用默认权重
+        private int maxDescriptionChars = 1024;
+        private int flushThreshold = 20_000;
+        private Duration refreshInterval = Duration.ofSeconds(1);
+        private int maxSegments = 10;
+        private int maxSegmentDocs = 1_000_000; // 单段倒排须小于2GB
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public float getK1() { return k1; }
+        public void setK1(float k1) { this.k1 = k1; }
+        public float getB() { return b; }
+        public void setB(float b) { this.b = b; }
+        public Map<SearchField, Float> getBoosts() { return boosts; }
+        public void setBoosts(Map<SearchField, Float> boosts) { this.boosts = boosts; }
+        public int getMaxDescriptionChars() { return maxDescriptionChars; }
+        public void setMaxDescriptionChars(int maxDescriptionChars) { this.maxDescriptionChars = maxDescriptionChars; }
+        public int getFlushThreshold() { return flushThreshold; }
+        public void setFlushThreshold(int flushThreshold) { this.flushThreshold = flushThreshold; }
+        public Duration getRefreshInterval() { return refreshInterval; }
+        public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+        public int getMaxSegments() { return maxSegments; }
+        public void setMaxSegments(int maxSegments) { this.maxSegments = maxSegments; }
+        public int getMaxSegmentDocs() { return maxSegmentDocs; }
+        public void setMaxSegmentDocs(int maxSegmentDocs) { this.maxSegmentDocs = maxSegmentDocs; }
+    }
+
+    // 检索索引同步配置，增量按updated_at追踪torrent_files
+    public static class Indexer {
+
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private Duration settle = Duration.ofSeconds(1); // 只同步该时长之前更新的行，updated_at精度为秒
+        private int batchSize = 1_000;
+        private int maxBatchesPerPoll = 10; // 单次轮询最多读取的批数，追赶积压时分多次轮询完成
+        private int maxRetries = 3;
+        private Duration retryBackoff = Duration.ofMillis(200); // 首次重试间隔，之后逐次翻倍
+        private String fullReindexCron = "0 30 4 * * ?"; // 定时全量重建，兜底增量漏掉的长事务
+
+        public Duration getPollInterval() { return pollInterval; }
+        public void setPollInterval(Duration pollInterval) { this.pollInterval = pollInterval; }
+        public Duration getSettle() { return settle; }
+        public void setSettle(Duration settle) { this.settle = settle; }
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public int getMaxBatchesPerPoll() { return maxBatchesPerPoll; }
+        public void setMaxBatchesPerPoll(int maxBatchesPerPoll) { this.maxBatchesPerPoll = maxBatchesPerPoll; }
+        public int getMaxRetries() { return maxRetries; }
+        public void setMaxRetries(int maxRetries) { this.maxRetries = maxRetries; }
+        public Duration getRetryBackoff() { return retryBackoff; }
+        public void setRetryBackoff(Duration retryBackoff) { this.retryBackoff = retryBackoff; }
+        public String getFullReindexCron() { return fullReindexCron; }
+        public void setFullReindexCron(String fullReindexCron) { this.fullReindexCron = fullReindexCron; }
+    }
+
+    // 质量感知排序配置，先验分在写入索引时计算，信号权重调整后需全量重建生效
+    public static class Ranking {
+
+        private boolean enabled = false;
+        private int window = 100; // 按相关度取前若干名参与重排
+        private QualityRanking.Fusion fusion = QualityRanking.Fusion.MULTIPLY;
+        private float weight = 0.3f; // 先验分在融合得分中的权重
+        private float qualityWeight = 0.4f; // quality_scores.overall_score
+        private float healthWeight = 0.3f; // torrent_files.health_score
+        private float seedWeight = 0.2f; // torrent_files.seed_count
+        private float hotWeight = 0.1f; // torrent_files.hot_level
+        private int seedSaturation = 100; // 做种数达到该值后不再加分
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getWindow() { return window; }
+        public void setWindow(int window) { this.window = window; }
+        public QualityRanking.Fusion getFusion() { return fusion; }
+        public void setFusion(QualityRanking.Fusion fusion) { this.fusion = fusion; }
+        public float getWeight() { return weight; }
+        public void setWeight(float weight) { this.weight = weight; }
+        public float getQualityWeight() { return qualityWeight; }
+        public void setQualityWeight(float qualityWeight) { this.qualityWeight = qualityWeight; }
+        public float getHealthWeight() { return healthWeight; }
+        public void setHealthWeight(float healthWeight) { this.healthWeight = healthWeight; }
+        public float getSeedWeight() { return seedWeight; }
+        public void setSeedWeight(float seedWeight) { this.seedWeight = seedWeight; }
+        public float getHotWeight() { return hotWeight; }
+        public void setHotWeight(float hotWeight) { this.hotWeight = hotWeight; }
+        public int getSeedSaturation() { return seedSaturation; }
+        public void setSeedSaturation(int seedSaturation) { this.seedSaturation = seedSaturation; }
+    }
+
+    // 属性筛选索引配置，依赖内嵌检索引擎的索引同步
+    public static class Facet {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    }
+
+    // 检索结果缓存配置，缓存键模板和TTL沿用app.cache的search-result
+    public static class ResultCache {
+
+        private boolean enabled = false;
+        private int minWindow = 100; // 回源时至少缓存的结果条数
+        private int maxWindow = 1_000; // 结果前缀上限，更深的分页不走缓存
+        private int prefetchThreads = 2;
+        private String generationKeyPrefix = "knene:search:generation";
+        private Duration generationCacheTtl = Duration.ofSeconds(1); // 其他节点推进的代数最多延迟该时长生效
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getMinWindow() { return minWindow; }
+        public void setMinWindow(int minWindow) { this.minWindow = minWindow; }
+        public int getMaxWindow() { return maxWindow; }
+        public void setMaxWindow(int maxWindow) { this.maxWindow = maxWindow; }
+        public int getPrefetchThreads() { return prefetchThreads; }
+        public void setPrefetchThreads(int prefetchThreads) { this.prefetchThreads = prefetchThreads; }
+        public String getGenerationKeyPrefix() { return generationKeyPrefix; }
+        public void setGenerationKeyPrefix(String generationKeyPrefix) { this.generationKeyPrefix = generationKeyPrefix; }
+        public Duration getGenerationCacheTtl() { return generationCacheTtl; }
+        public void setGenerationCacheTtl(Duration generationCacheTtl) { this.generationCacheTtl = generationCacheTtl; }
+    }
+
+    // 搜索联想配置
+    public static class Suggest {
+
+        private boolean enabled = false;
+        private int topK = 10; // 每个前缀节点预存的补全条数，也是单次返回的上限
+        private int maxKeyLength = 32; // 键超过该长度的部分不建节点
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+        private int maxTitles = 200_000; // 按做种数取前N个种子的片名
+        private double titleWeight = 1.0;
+        private int maxQueries = 50_000;
+        private double queryWeight = 1.0;
+        private Duration queryWindow = Duration.ofDays(7); // 只统计窗口内的搜索日志
+        private Duration queryHalfLife = Duration.ofDays(1); // 搜索次数按该半衰期衰减，近期热词靠前
+        private int minQueryCount = 3; // 窗口内出现次数不足的搜索词不作为候选，避免暴露个别用户的搜索
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getTopK() { return topK; }
+        public void setTopK(int topK) { this.topK = topK; }
+        public int getMaxKeyLength() { return maxKeyLength; }
+        public void setMaxKeyLength(int maxKeyLength) { this.maxKeyLength = maxKeyLength; }
+        public Duration getRebuildInterval() { return rebuildInterval; }
+        public void setRebuildInterval(Duration rebuildInterval) { this.rebuildInterval = rebuildInterval; }
+        public int getMaxTitles() { return maxTitles; }
+        public void setMaxTitles(int maxTitles) { this.maxTitles = maxTitles; }
+        public double getTitleWeight() { return titleWeight; }
+        public void setTitleWeight(double titleWeight) { this.titleWeight = titleWeight; }
+        public int getMaxQueries() { return maxQueries; }
+        public void setMaxQueries(int maxQueries) { this.maxQueries = maxQueries; }
+        public double getQueryWeight() { return queryWeight; }
+        public void setQueryWeight(double queryWeight) { this.queryWeight = queryWeight; }
+        public Duration getQueryWindow() { return queryWindow; }
+        public void setQueryWindow(Duration queryWindow) { this.queryWindow = queryWindow; }
+        public Duration getQueryHalfLife() { return queryHalfLife; }
+        public void setQueryHalfLife(Duration queryHalfLife) { this.queryHalfLife = queryHalfLife; }
+        public int getMinQueryCount() { return minQueryCount; }
+        public void setMinQueryCount(int minQueryCount) { this.minQueryCount = minQueryCount; }
+    }
+
+    // 拼写纠错配置
+    public static class Spell {
+
+        private boolean enabled = false;
+        private int maxEditDistance = 2; // 不超过2，再大删除变体数量膨胀且误纠增多
+        private int prefixLength = 7; // 只对词的前若干字符生成删除变体，控制词典体积
+        private int minTermLength = 3; // 更短的词不纠正
+        private int shortTermLength = 4; // 不超过该长度的词最多纠正一处编辑
+        private int maxTermLength = 24;
+        private long minFrequency = 2; // 词频低于该值的词不收入词典
+        private Duration rebuildInterval = Duration.ofHours(1);
+        private int loadBatchSize = 5_000;
+        private Duration queryWindow = Duration.ofDays(30);
+        private int minQueryCount = 3;
+        private int maxQueries = 100_000;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getMaxEditDistance() { return maxEditDistance; }
+        public void setMaxEditDistance(int maxEditDistance) { this.maxEditDistance = maxEditDistance; }
+        public int getPrefixLength() { return prefixLength; }
+        public void setPrefixLength(int prefixLength) { this.prefixLength = prefixLength; }
+        public int getMinTermLength() { return minTermLength; }
+        public void setMinTermLength(int minTermLength) { this.minTermLength = minTermLength; }
+        public int getShortTermLength() { return shortTermLength; }
+        public void setShortTermLength(int shortTermLength) { this.shortTermLength = shortTermLength; }
+        public int getMaxTermLength() { return maxTermLength; }
+        public void setMaxTermLength(int maxTermLength) { this.maxTermLength = maxTermLength; }
+        public long getMinFrequency() { return minFrequency; }
+        public void setMinFrequency(long minFrequency) { this.minFrequency = minFrequency; }
+        public Duration getRebuildInterval() { return rebuildInterval; }
+        public void setRebuildInterval(Duration rebuildInterval) { this.rebuildInterval = rebuildInterval; }
+        public int getLoadBatchSize() { return loadBatchSize; }
+        public void setLoadBatchSize(int loadBatchSize) { this.loadBatchSize = loadBatchSize; }
+        public Duration getQueryWindow() { return queryWindow; }
+        public void setQueryWindow(Duration queryWindow) { this.queryWindow = queryWindow; }
+        public int getMinQueryCount() { return minQueryCount; }
+        public void setMinQueryCount(int minQueryCount) { this.minQueryCount = minQueryCount; }
+        public int getMaxQueries() { return maxQueries; }
+        public void setMaxQueries(int maxQueries) { this.maxQueries = maxQueries; }
+    }
+
+    // 热门搜索配置，由检索结果缓存的检索回调驱动
+    public static class Hot {
+
+        private boolean enabled = false;
+        private Duration halfLife = Duration.ofHours(6); // 该时长前的一次搜索按一半计入
+        private int capacity = 200; // 每个视图跟踪的关键词数，应明显大于展示条数
+        private int sketchWidth = 16_384;
+        private int categorySketchWidth = 2_048; // 分类视图流量小，草图更窄
+        private int sketchDepth = 4;
+        private int maxCategories = 128;
+        private int snapshotSize = 100; // 每个视图写入快照的条数
+        private Duration snapshotInterval = Duration.ofSeconds(30);
+        private Duration snapshotTtl = Duration.ofDays(1);
+        private String snapshotKeyPrefix = "knene:search:hot";
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public Duration getHalfLife() { return halfLife; }
+        public void setHalfLife(Duration halfLife) { this.halfLife = halfLife; }
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public int getSketchWidth() { return sketchWidth; }
+        public void setSketchWidth(int sketchWidth) { this.sketchWidth = sketchWidth; }
+        public int getCategorySketchWidth() { return categorySketchWidth; }
+        public void setCategorySketchWidth(int categorySketchWidth) { this.categorySketchWidth = categorySketchWidth; }
+        public int getSketchDepth() { return sketchDepth; }
+        public void setSketchDepth(int sketchDepth) { this.sketchDepth = sketchDepth; }
+        public int getMaxCategories() { return maxCategories; }
+        public void setMaxCategories(int maxCategories) { this.maxCategories = maxCategories; }
+        public int getSnapshotSize() { return snapshotSize; }
+        public void setSnapshotSize(int snapshotSize) { this.snapshotSize = snapshotSize; }
+        public Duration getSnapshotInterval() { return snapshotInterval; }
+        public void setSnapshotInterval(Duration snapshotInterval) { this.snapshotInterval = snapshotInterval; }
+        public Duration getSnapshotTtl() { return snapshotTtl; }
+        public void setSnapshotTtl(Duration snapshotTtl) { this.snapshotTtl = snapshotTtl; }
+        public String getSnapshotKeyPrefix() { return snapshotKeyPrefix; }
+        public void setSnapshotKeyPrefix(String snapshotKeyPrefix) { this.snapshotKeyPrefix = snapshotKeyPrefix; }
+    }
+
+    // 检索日志配置，由检索结果缓存的检索回调驱动，异步批量写入search_logs
+    public static class Log {
+
+        private boolean enabled = false;
+        private int queueCapacity = 10_000; // 队列满时直接丢弃，检索线程不等待
+        private int batchSize = 200;
+        private Duration flushInterval = Duration.ofSeconds(1); // 不足一批时最长等待时间
+        private double anonymousSampleRate = 0.2; // 未登录检索按会话采样的比例，登录用户全量记录
+        private int userAgentCacheSize = 1_024;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public Duration getFlushInterval() { return flushInterval; }
+        public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+        public double getAnonymousSampleRate() { return anonymousSampleRate; }
+        public void setAnonymousSampleRate(double anonymousSampleRate) { this.anonymousSampleRate = anonymousSampleRate; }
+        public int getUserAgentCacheSize() { return userAgentCacheSize; }
+        public void setUserAgentCacheSize(int userAgentCacheSize) { this.userAgentCacheSize = userAgentCacheSize; }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * ShardingProperties类
+ * 分库分表配置属性，绑定app.datasource.sharding
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// 分库分表配置属性类 - 按user_id分片，分片槽数 = 库数 × 每库表数
+@ConfigurationProperties(prefix = "app.datasource.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+    private int tablesPerDataSource = 4; // 每个分库内的物理表数
+    private List<String> shardedTables = new ArrayList<>(List.of("browse_history")); // 分库中建有物理表的逻辑表
+    private String migrationLocation = "classpath:db/sharding"; // 分库Flyway脚本位置，为空时不自动迁移
+    private int workerId = 0; // 分片ID生成器的节点号，集群内唯一
+    private int scatterGatherThreads = 8; // 跨分片并行查询线程数
+    private Duration scatterGatherTimeout = Duration.ofSeconds(5);
+    private Datasource datasource = new Datasource();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getTablesPerDataSource() { return tablesPerDataSource; }
+    public void setTablesPerDataSource(int tablesPerDataSource) { this.tablesPerDataSource = tablesPerDataSource; }
+    public List<String> getShardedTables() { return shardedTables; }
+    public void setShardedTables(List<String> shardedTables) { this.shardedTables = shardedTables; }
+    public String getMigrationLocation() { return migrationLocation; }
+    public void setMigrationLocation(String migrationLocation) { this.migrationLocation = migrationLocation; }
+    public int getWorkerId() { return workerId; }
+    public void setWorkerId(int workerId) { this.workerId = workerId; }
+    public int getScatterGatherThreads() { return scatterGatherThreads; }
+    public void setScatterGatherThreads(int scatterGatherThreads) { this.scatterGatherThreads = scatterGatherThreads; }
+    public Duration getScatterGatherTimeout() { return scatterGatherTimeout; }
+    public void setScatterGatherTimeout(Duration scatterGatherTimeout) { this.scatterGatherTimeout = scatterGatherTimeout; }
+    public Datasource getDatasource() { return datasource; }
+    public void setDatasource(Datasource datasource) { this.datasource = datasource; }
+
+    // 分库数据源名称列表，各数据源连接配置按名称挂在同级节点下
+    public static class Datasource {
+
+        private List<String> names = new ArrayList<>(List.of("ds_0", "ds_1"));
+
+        public List<String> getNames() { return names; }
+        public void setNames(List<String> names) { this.names = names; }
+    }
+}
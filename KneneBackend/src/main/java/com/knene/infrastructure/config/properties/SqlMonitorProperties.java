@@ -0,0 +1,44 @@
+/**
+ * SqlMonitorProperties类
+ * 数据库监控配置属性，绑定app.datasource.monitor
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// 数据库监控配置属性类 - 慢SQL阈值及记录器容量
+@ConfigurationProperties(prefix = "app.datasource.monitor")
+public class SqlMonitorProperties {
+
+    private boolean enabled = true;
+    private Duration slowSqlThreshold = Duration.ofMillis(1000);
+    private boolean logSlowSql = true;
+    private int maxFingerprints = 2000; // 最多统计的SQL指纹数
+    private int slowSampleCapacity = 256; // 慢SQL样本环形缓冲容量
+    private boolean explainEnabled = true;
+    private Duration explainInterval = Duration.ofMinutes(10); // 同一指纹两次EXPLAIN的最小间隔
+    private int explainQueueCapacity = 64;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getSlowSqlThreshold() { return slowSqlThreshold; }
+    public void setSlowSqlThreshold(Duration slowSqlThreshold) { this.slowSqlThreshold = slowSqlThreshold; }
+    public boolean isLogSlowSql() { return logSlowSql; }
+    public void setLogSlowSql(boolean logSlowSql) { this.logSlowSql = logSlowSql; }
+    public int getMaxFingerprints() { return maxFingerprints; }
+    public void setMaxFingerprints(int maxFingerprints) { this.maxFingerprints = maxFingerprints; }
+    public int getSlowSampleCapacity() { return slowSampleCapacity; }
+    public void setSlowSampleCapacity(int slowSampleCapacity) { this.slowSampleCapacity = slowSampleCapacity; }
+    public boolean isExplainEnabled() { return explainEnabled; }
+    public void setExplainEnabled(boolean explainEnabled) { this.explainEnabled = explainEnabled; }
+    public Duration getExplainInterval() { return explainInterval; }
+    public void setExplainInterval(Duration explainInterval) { this.explainInterval = explainInterval; }
+    public int getExplainQueueCapacity() { return explainQueueCapacity; }
+    public void setExplainQueueCapacity(int explainQueueCapacity) { this.explainQueueCapacity = explainQueueCapacity; }
+}
@@ -0,0 +1,60 @@
+/**
+ * MultiLevelCacheConfig类
+ * 两级缓存配置，装配Caffeine本地缓存、Redis二级缓存和失效广播
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.redis;
+
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+import com.knene.infrastructure.cache.redis.CacheInvalidationBroadcaster;
+import com.knene.infrastructure.cache.redis.CacheInvalidationListener;
+import com.knene.infrastructure.cache.redis.CacheObjectMapperFactory;
+import com.knene.infrastructure.cache.strategy.IdExistenceFilterRegistry;
+import com.knene.infrastructure.cache.strategy.UserRepositoryCachingPostProcessor;
+import com.knene.infrastructure.config.properties.AppCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+// 两级缓存配置类 - 没有可用的Redis时退化为单级本地缓存，不影响启动
+@Configuration
+@EnableConfigurationProperties(AppCacheProperties.class)
+@ConditionalOnProperty(prefix = "app.cache.multi-level", name = "enabled", havingValue = "true")
+public class MultiLevelCacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiLevelCacheConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public MultiLevelCacheManager multiLevelCacheManager(AppCacheProperties properties,
+                                                         ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+        if (redis == null) {
+            log.info("未检测到Redis，两级缓存仅启用本地缓存");
+            return new MultiLevelCacheManager(properties, null, null, CacheObjectMapperFactory.create());
+        }
+
+        // 二级缓存和失效广播共用同一个Redis连接工厂
+        CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(
+                redis, properties.getMultiLevel().getInvalidationChannel());
+        MultiLevelCacheManager cacheManager = new MultiLevelCacheManager(
+                properties, redis, broadcaster, CacheObjectMapperFactory.create());
+        broadcaster.subscribe(new CacheInvalidationListener(broadcaster, cacheManager));
+        return cacheManager;
+    }
+
+    // 后置处理器须声明为静态方法，保证在普通Bean之前注册
+    @Bean
+    public static UserRepositoryCachingPostProcessor userRepositoryCachingPostProcessor(
+            ObjectProvider<MultiLevelCacheManager> cacheManagerProvider,
+            ObjectProvider<IdExistenceFilterRegistry> idFiltersProvider) {
+        return new UserRepositoryCachingPostProcessor(cacheManagerProvider, idFiltersProvider);
+    }
+}
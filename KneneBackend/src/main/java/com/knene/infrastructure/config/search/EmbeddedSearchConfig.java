@@ -0,0 +1,129 @@
+/**
+ * EmbeddedSearchConfig类
+ * 内嵌检索引擎配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.search;
+
+import com.knene.infrastructure.cache.MultiLevelCache;
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+import com.knene.infrastructure.config.properties.SearchProperties;
+import com.knene.infrastructure.persistence.repository.TorrentSearchSourceRepository;
+import com.knene.infrastructure.search.EmbeddedSearchIndex;
+import com.knene.infrastructure.search.QualityRanking;
+import com.knene.infrastructure.search.cache.CachedResultIds;
+import com.knene.infrastructure.search.cache.SearchGenerations;
+import com.knene.infrastructure.search.cache.SearchResultCache;
+import com.knene.infrastructure.search.facet.FacetIndex;
+import com.knene.infrastructure.search.hot.HotSearchTracker;
+import com.knene.infrastructure.search.indexer.SearchIndexer;
+import com.knene.infrastructure.search.indexer.UpdatedAtChangeSource;
+import com.knene.infrastructure.search.log.SearchLogListener;
+import com.knene.infrastructure.search.log.SearchLogPipeline;
+import com.knene.infrastructure.search.spell.SpellCorrector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+// 内嵌检索引擎配置类 - 开启后索引常驻内存，启动时由SearchIndexJob从torrent_files全量加载，之后增量同步
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+@ConditionalOnProperty(prefix = "app.search.embedded", name = "enabled", havingValue = "true")
+public class EmbeddedSearchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedSearchConfig.class);
+
+    // 启用属性筛选时检索可带筛选条件；全量重建只替换筛选索引的内容，检索持有的引用不变
+    @Bean(destroyMethod = "close")
+    public EmbeddedSearchIndex embeddedSearchIndex(SearchProperties properties,
+                                                   ObjectProvider<FacetIndex> facetIndexProvider) {
+        EmbeddedSearchIndex index = newIndex(properties);
+        facetIndexProvider.ifAvailable(index::setFacetIndex);
+        return index;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.search.facet", name = "enabled", havingValue = "true")
+    public FacetIndex facetIndex() {
+        return new FacetIndex();
+    }
+
+    // 全量重建写入同参数的临时索引，完成后整体切换到embeddedSearchIndex；启用属性筛选时同步写入筛选索引
+    @Bean
+    public SearchIndexer searchIndexer(EmbeddedSearchIndex searchIndex, TorrentSearchSourceRepository sourceRepository,
+                                       SearchProperties properties, ObjectProvider<FacetIndex> facetIndexProvider) {
+        SearchProperties.Indexer indexer = properties.getIndexer();
+        SearchIndexer searchIndexer = new SearchIndexer(new UpdatedAtChangeSource(sourceRepository,
+                indexer.getSettle()), searchIndex, () -> newIndex(properties), indexer.getBatchSize(),
+                indexer.getMaxBatchesPerPoll(), indexer.getMaxRetries(), indexer.getRetryBackoff());
+        facetIndexProvider.ifAvailable(searchIndexer::setFacetIndex);
+        return searchIndexer;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.search.result-cache", name = "enabled", havingValue = "true")
+    public SearchGenerations searchGenerations(SearchProperties properties,
+                                               ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        SearchProperties.ResultCache resultCache = properties.getResultCache();
+        return new SearchGenerations(redisTemplateProvider.getIfAvailable(), resultCache.getGenerationKeyPrefix(),
+                resultCache.getGenerationCacheTtl());
+    }
+
+    // 索引每次refresh把变化的分类交给代数计数器；两级缓存未启用时结果缓存退化为直接检索
+    // 启用拼写纠错时，首页无结果的查询用纠正后的关键词重试；启用热搜统计时，有结果的首页查询计入热搜
+    // 启用检索日志时，每次检索交给日志管道异步写入search_logs
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.search.result-cache", name = "enabled", havingValue = "true")
+    public SearchResultCache searchResultCache(EmbeddedSearchIndex searchIndex, SearchGenerations generations,
+                                               SearchProperties properties,
+                                               ObjectProvider<MultiLevelCacheManager> cacheManagerProvider,
+                                               ObjectProvider<SpellCorrector> spellCorrectorProvider,
+                                               ObjectProvider<HotSearchTracker> hotSearchTrackerProvider,
+                                               ObjectProvider<SearchLogPipeline> searchLogPipelineProvider) {
+        MultiLevelCacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        MultiLevelCache<CachedResultIds> cache = null;
+        if (cacheManager != null) {
+            cache = cacheManager.getCache("search-result", CachedResultIds.class);
+        } else {
+            log.info("两级缓存未启用，检索结果不缓存");
+        }
+        searchIndex.setChangeListener(generations::bump);
+
+        SearchProperties.ResultCache resultCache = properties.getResultCache();
+        SearchResultCache searchResultCache = new SearchResultCache(cache, generations, searchIndex::search,
+                resultCache.getMinWindow(), resultCache.getMaxWindow(), resultCache.getPrefetchThreads());
+        spellCorrectorProvider.ifAvailable(corrector -> searchResultCache.setCorrector(corrector::correct));
+        hotSearchTrackerProvider.ifAvailable(tracker -> searchResultCache.addListener((query, page, elapsed) -> {
+            if (query.from() == 0 && page.hits().total() > 0) {
+                tracker.record(page.correctedKeyword() != null ? page.correctedKeyword() : page.normalizedKeyword(),
+                        query.categoryId());
+            }
+        }));
+        searchLogPipelineProvider.ifAvailable(pipeline ->
+                searchResultCache.addListener(new SearchLogListener(pipeline)));
+        return searchResultCache;
+    }
+
+    // 启用质量排序时写入索引即计算先验分，全量重建的临时索引使用同样的排序参数
+    private static EmbeddedSearchIndex newIndex(SearchProperties properties) {
+        SearchProperties.Embedded embedded = properties.getEmbedded();
+        EmbeddedSearchIndex index = new EmbeddedSearchIndex(embedded.getK1(), embedded.getB(), embedded.getBoosts(),
+                embedded.getMaxDescriptionChars(), embedded.getFlushThreshold(), embedded.getMaxSegments(),
+                embedded.getMaxSegmentDocs());
+        SearchProperties.Ranking ranking = properties.getRanking();
+        if (ranking.isEnabled()) {
+            index.setRanking(new QualityRanking(ranking.getQualityWeight(), ranking.getHealthWeight(),
+                    ranking.getSeedWeight(), ranking.getHotWeight(), ranking.getSeedSaturation(), ranking.getFusion(),
+                    ranking.getWeight(), ranking.getWindow()));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * HotSearchConfig类
+ * 热门搜索统计配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.search;
+
+import com.knene.infrastructure.config.properties.SearchProperties;
+import com.knene.infrastructure.search.hot.HotSearchSnapshot;
+import com.knene.infrastructure.search.hot.HotSearchTracker;
+import com.knene.infrastructure.search.hot.RedisHotSearchSnapshots;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+// 热门搜索统计配置类 - 检索事件由SearchResultCache回调写入，HotSearchSnapshotJob定期把各视图写入Redis
+// 启动时从Redis快照恢复热度，Redis不可用时从零开始统计
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+@ConditionalOnProperty(prefix = "app.search.hot", name = "enabled", havingValue = "true")
+public class HotSearchConfig {
+
+    @Bean
+    public RedisHotSearchSnapshots hotSearchSnapshots(SearchProperties properties,
+                                                      ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        SearchProperties.Hot hot = properties.getHot();
+        return new RedisHotSearchSnapshots(redisTemplateProvider.getIfAvailable(), hot.getSnapshotKeyPrefix(),
+                hot.getSnapshotTtl());
+    }
+
+    @Bean
+    public HotSearchTracker hotSearchTracker(SearchProperties properties, RedisHotSearchSnapshots hotSearchSnapshots) {
+        SearchProperties.Hot hot = properties.getHot();
+        HotSearchTracker tracker = new HotSearchTracker(hot.getHalfLife(), hot.getCapacity(), hot.getSketchWidth(),
+                hot.getCategorySketchWidth(), hot.getSketchDepth(), hot.getMaxCategories(), System::currentTimeMillis);
+        HotSearchSnapshot snapshot = hotSearchSnapshots.load(hot.getSnapshotSize());
+        if (snapshot != null) {
+            tracker.restore(snapshot);
+        }
+        return tracker;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * SearchLogConfig类
+ * 检索日志异步写入配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.search;
+
+import com.knene.infrastructure.config.properties.SearchProperties;
+import com.knene.infrastructure.persistence.repository.SearchLogRepository;
+import com.knene.infrastructure.search.log.SearchLogPipeline;
+import com.knene.infrastructure.search.log.UserAgentInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 检索日志配置类 - 检索事件由SearchResultCache回调投递到管道，后台线程批量写入search_logs
+// 关闭时等待队列中的事件写完
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+@ConditionalOnProperty(prefix = "app.search.log", name = "enabled", havingValue = "true")
+public class SearchLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public SearchLogPipeline searchLogPipeline(SearchProperties properties, SearchLogRepository searchLogRepository) {
+        SearchProperties.Log log = properties.getLog();
+        return new SearchLogPipeline(searchLogRepository::insertBatch, UserAgentInfo::parse, log.getQueueCapacity(),
+                log.getBatchSize(), log.getFlushInterval(), log.getAnonymousSampleRate(), log.getUserAgentCacheSize());
+    }
+}
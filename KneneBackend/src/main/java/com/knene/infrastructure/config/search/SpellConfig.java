@@ -0,0 +1,43 @@
+/**
+ * SpellConfig类
+ * 拼写纠错配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.search;
+
+import com.knene.infrastructure.config.properties.SearchProperties;
+import com.knene.infrastructure.persistence.repository.SpellVocabularyRepository;
+import com.knene.infrastructure.search.TextAnalyzer;
+import com.knene.infrastructure.search.spell.SpellCorrector;
+import com.knene.infrastructure.search.spell.SpellDictionary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 拼写纠错配置类 - 词汇来自torrent_files标题和search_logs搜索词，词典由SpellDictionaryJob定期重建
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+@ConditionalOnProperty(prefix = "app.search.spell", name = "enabled", havingValue = "true")
+public class SpellConfig {
+
+    private static final int MAX_TEXT_CHARS = 1_000;
+
+    @Bean
+    public SpellCorrector spellCorrector(SpellVocabularyRepository vocabularyRepository, SearchProperties properties) {
+        SearchProperties.Spell spell = properties.getSpell();
+        return new SpellCorrector(() -> {
+            SpellDictionary.Builder builder = SpellDictionary.builder(spell.getMaxEditDistance(),
+                    spell.getPrefixLength(), spell.getMaxTermLength());
+            vocabularyRepository.forEachTitle(spell.getLoadBatchSize(),
+                    text -> TextAnalyzer.analyze(text, MAX_TEXT_CHARS, term -> builder.add(term, 1L)));
+            vocabularyRepository.forEachKeyword(spell.getQueryWindow(), spell.getMinQueryCount(),
+                    spell.getMaxQueries(), (keyword, count) ->
+                            TextAnalyzer.analyze(keyword, MAX_TEXT_CHARS, term -> builder.add(term, count)));
+            return builder.build(spell.getMinFrequency());
+        }, spell.getMaxEditDistance(), spell.getMinTermLength(), spell.getShortTermLength());
+    }
+}
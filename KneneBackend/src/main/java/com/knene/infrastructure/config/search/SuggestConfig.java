@@ -0,0 +1,42 @@
+/**
+ * SuggestConfig类
+ * 搜索联想配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.search;
+
+import com.knene.infrastructure.config.properties.SearchProperties;
+import com.knene.infrastructure.persistence.repository.SuggestSourceRepository;
+import com.knene.infrastructure.search.suggest.HutoolPinyinTranscriber;
+import com.knene.infrastructure.search.suggest.SuggestCandidate;
+import com.knene.infrastructure.search.suggest.SuggestService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 搜索联想配置类 - 候选来自torrent_files和search_logs，不依赖内嵌检索引擎；索引由SuggestIndexJob定期重建
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+@ConditionalOnProperty(prefix = "app.search.suggest", name = "enabled", havingValue = "true")
+public class SuggestConfig {
+
+    @Bean
+    public SuggestService suggestService(SuggestSourceRepository sourceRepository, SearchProperties properties) {
+        SearchProperties.Suggest suggest = properties.getSuggest();
+        return new SuggestService(() -> {
+            List<SuggestCandidate> candidates = new ArrayList<>(
+                    sourceRepository.findTitleCandidates(suggest.getMaxTitles(), suggest.getTitleWeight()));
+            candidates.addAll(sourceRepository.findQueryCandidates(suggest.getQueryWindow(),
+                    suggest.getQueryHalfLife(), suggest.getMinQueryCount(), suggest.getMaxQueries(),
+                    suggest.getQueryWeight()));
+            return candidates;
+        }, HutoolPinyinTranscriber.createOrNull(), suggest.getTopK(), suggest.getMaxKeyLength());
+    }
+}
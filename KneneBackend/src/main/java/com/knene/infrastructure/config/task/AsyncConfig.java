@@ -0,0 +1,19 @@
+/**
+ * AsyncConfig类
+ * 异步任务配置，启用@Async支持
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.task;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// 异步任务配置类 - @Async方法与异步事件监听使用Spring Boot提供的applicationTaskExecutor
+// 开启虚拟线程后该执行器为每个任务创建一个虚拟线程，否则为有界线程池
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
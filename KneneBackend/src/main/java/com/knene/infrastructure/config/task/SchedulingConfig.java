@@ -0,0 +1,18 @@
+/**
+ * SchedulingConfig类
+ * 定时任务配置，启用Spring调度支持
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.task;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// 定时任务配置类 - 为infrastructure.task.job下的后台任务启用调度
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,55 @@
+/**
+ * VirtualThreadConfig类
+ * 虚拟线程执行模式配置，spring.threads.virtual.enabled=true时生效
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.task;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.knene.infrastructure.persistence.datasource.JdbcConcurrencyFilter;
+import com.knene.infrastructure.persistence.datasource.ReplicaLagMonitor;
+import com.knene.infrastructure.persistence.sharding.ShardTemplate;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+
+// 虚拟线程配置类 - Tomcat请求线程、applicationTaskExecutor和调度器由Spring Boot切换为虚拟线程
+// 这里为所有Druid连接池加上JDBC并发闸门，使线程数不再受限时连接等待仍然有界
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // 覆盖容器中的Druid数据源，以及读写分离、分库组件内部持有的连接池
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyFilterInstaller() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DruidDataSource dataSource) {
+                    JdbcConcurrencyFilter.install(dataSource);
+                } else if (bean instanceof ReplicaLagMonitor monitor) {
+                    installAll(monitor.replicas().values());
+                } else if (bean instanceof ShardTemplate shardTemplate) {
+                    installAll(shardTemplate.dataSources().values());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void installAll(Collection<DataSource> dataSources) {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof DruidDataSource druid) {
+                JdbcConcurrencyFilter.install(druid);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * JacksonConfig类
+ * 接口JSON序列化配置
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.config.web;
+
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Jackson配置类 - 雪花ID超过JS的2^53安全整数范围，Long统一按字符串输出，反序列化仍接受数字和字符串
+// 只作用于Spring管理的接口ObjectMapper，Redis缓存使用CacheObjectMapperFactory创建的独立实例，不受影响
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer longToStringCustomizer() {
+        return builder -> builder
+                .serializerByType(Long.class, ToStringSerializer.instance)
+                .serializerByType(Long.TYPE, ToStringSerializer.instance);
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * CacheWarmupHealthIndicator类
+ * 缓存预热健康检查，预热结束前报告OUT_OF_SERVICE
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.monitor;
+
+import com.knene.infrastructure.cache.strategy.CacheWarmupOrchestrator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 缓存预热健康检查 - 纳入readiness分组，负载均衡在预热结束后才把流量切到本节点
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupOrchestrator orchestrator;
+
+    public CacheWarmupHealthIndicator(CacheWarmupOrchestrator orchestrator) {
+        this.orchestrator = orchestrator;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        orchestrator.getResults().forEach((name, result) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("status", result.getStatus());
+            item.put("entries", result.getEntries());
+            item.put("elapsedMillis", result.getElapsedMillis());
+            if (result.getError() != null) {
+                item.put("error", result.getError());
+            }
+            details.put(name, item);
+        });
+
+        Health.Builder builder = orchestrator.isCompleted() ? Health.up() : Health.outOfService();
+        return builder.withDetails(details).build();
+    }
+}
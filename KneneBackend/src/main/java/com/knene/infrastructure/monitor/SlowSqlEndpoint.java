@@ -0,0 +1,46 @@
+/**
+ * SlowSqlEndpoint类
+ * 慢SQL管理端点，暴露在/actuator/slowsql
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.monitor;
+
+import com.knene.infrastructure.monitor.sql.SlowSqlRecorder;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 慢SQL管理端点 - GET按总耗时降序列出SQL指纹及最近的慢样本，DELETE清空统计
+@Endpoint(id = "slowsql")
+public class SlowSqlEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SlowSqlRecorder recorder;
+
+    public SlowSqlEndpoint(SlowSqlRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report(@Nullable Integer limit) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("thresholdMillis", recorder.getThresholdMillis());
+        report.put("droppedFingerprints", recorder.getDroppedFingerprints());
+        report.put("statements", recorder.topByTotalTime(limit != null && limit > 0 ? limit : DEFAULT_LIMIT));
+        report.put("recentSlow", recorder.recentSlow());
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * SlowSqlRecorder类
+ * 慢SQL记录器，按指纹聚合执行耗时，超过阈值的执行进入环形缓冲并异步捕获执行计划
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.monitor.sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+// 慢SQL记录器 - 内存占用有界：指纹数有上限，慢样本为固定容量环形缓冲，EXPLAIN队列满时直接丢弃
+public class SlowSqlRecorder implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowSqlRecorder.class);
+
+    private final DataSource dataSource; // 执行EXPLAIN的数据源，为null时不捕获执行计划
+    private final long thresholdMicros;
+    private final boolean logSlowSql;
+    private final int maxFingerprints;
+    private final long explainIntervalMillis; // 同一指纹两次EXPLAIN的最小间隔
+
+    private final Cache<String, String> fingerprintCache; // 原始SQL -> 指纹，避免重复归一化
+    private final ConcurrentHashMap<String, SqlStatementStats> stats = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<SlowSqlSample> ring;
+    private final AtomicLong ringCursor = new AtomicLong();
+    private final AtomicLong droppedFingerprints = new AtomicLong(); // 指纹数达到上限后未统计的执行次数
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowSqlRecorder(DataSource dataSource, Duration threshold, boolean logSlowSql, int maxFingerprints,
+                           int sampleCapacity, Duration explainInterval, int explainQueueCapacity) {
+        this.dataSource = dataSource;
+        this.thresholdMicros = threshold.toNanos() / 1000L;
+        this.logSlowSql = logSlowSql;
+        this.maxFingerprints = maxFingerprints;
+        this.explainIntervalMillis = explainInterval.toMillis();
+        this.fingerprintCache = Caffeine.newBuilder().maximumSize(maxFingerprints * 2L).build();
+        this.ring = new AtomicReferenceArray<>(sampleCapacity);
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(explainQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "slow-sql-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    // 记录一次执行；参数值只在慢查询需要EXPLAIN时才解析
+    public void record(String statementId, String sql, long elapsedNanos, Supplier<List<Object>> parameters) {
+        long micros = elapsedNanos / 1000L;
+        String fingerprint = fingerprintCache.get(sql, SqlFingerprint::of);
+
+        // 1. 按指纹累计，达到上限后的新指纹只计数不统计
+        SqlStatementStats statementStats = stats.get(fingerprint);
+        if (statementStats == null) {
+            if (stats.size() >= maxFingerprints) {
+                droppedFingerprints.incrementAndGet();
+                return;
+            }
+            statementStats = stats.computeIfAbsent(fingerprint, fp -> new SqlStatementStats(fp, statementId));
+        }
+        boolean slow = micros >= thresholdMicros;
+        statementStats.record(micros, slow);
+        if (!slow) {
+            return;
+        }
+
+        // 2. 慢查询写入环形缓冲，覆盖最旧的样本
+        statementStats.setSampleSql(sql);
+        SlowSqlSample sample = new SlowSqlSample(fingerprint, statementId, sql, micros);
+        ring.set((int) (ringCursor.getAndIncrement() % ring.length()), sample);
+        if (logSlowSql) {
+            log.warn("慢SQL：{} 耗时{}ms，{}", statementId, micros / 1000.0, fingerprint);
+        }
+
+        // 3. 按指纹限频提交EXPLAIN
+        if (dataSource != null && isExplainable(sql)
+                && statementStats.tryClaimExplain(System.currentTimeMillis(), explainIntervalMillis)) {
+            List<Object> values = parameters.get();
+            SqlStatementStats target = statementStats;
+            explainExecutor.execute(() -> explain(sample, target, values));
+        }
+    }
+
+    // 按总耗时降序返回前limit个指纹
+    public List<Map<String, Object>> topByTotalTime(int limit) {
+        List<SqlStatementStats> all = new ArrayList<>(stats.values());
+        all.sort(Comparator.comparingLong(SqlStatementStats::getTotalMicros).reversed());
+        List<Map<String, Object>> result = new ArrayList<>(Math.min(limit, all.size()));
+        for (int i = 0; i < all.size() && i < limit; i++) {
+            result.add(all.get(i).snapshot());
+        }
+        return result;
+    }
+
+    // 最近的慢样本，新的在前
+    public List<Map<String, Object>> recentSlow() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        long end = ringCursor.get();
+        for (long i = end - 1; i >= 0 && i >= end - ring.length(); i--) {
+            SlowSqlSample sample = ring.get((int) (i % ring.length()));
+            if (sample != null) {
+                result.add(sample.snapshot());
+            }
+        }
+        return result;
+    }
+
+    public long getDroppedFingerprints() {
+        return droppedFingerprints.get();
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMicros / 1000L;
+    }
+
+    // 清空统计，便于压测前后对比
+    public void reset() {
+        stats.clear();
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+        droppedFingerprints.set(0L);
+    }
+
+    @Override
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void explain(SlowSqlSample sample, SqlStatementStats target, List<Object> values) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sample.getSql())) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            List<Map<String, Object>> plan = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int c = 1; c <= meta.getColumnCount(); c++) {
+                        row.put(meta.getColumnLabel(c), rs.getObject(c));
+                    }
+                    plan.add(row);
+                }
+            }
+            sample.setPlan(plan);
+            target.setLastPlan(plan);
+        } catch (SQLException | RuntimeException e) {
+            log.debug("捕获执行计划失败：{}", sample.getSql(), e);
+            sample.setExplainError(e.getMessage());
+        }
+    }
+
+    // 只对查询和单表修改语句做EXPLAIN，EXPLAIN本身不会执行修改
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading();
+        head = head.substring(0, Math.min(head.length(), 7)).toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("update") || head.startsWith("delete");
+    }
+}
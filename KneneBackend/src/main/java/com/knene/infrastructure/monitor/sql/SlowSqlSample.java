@@ -0,0 +1,58 @@
+/**
+ * SlowSqlSample类
+ * 慢SQL样本，记录一次超过阈值的执行
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.monitor.sql;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 慢SQL样本 - 执行计划由后台线程异步补充
+public class SlowSqlSample {
+
+    private final String fingerprint;
+    private final String statementId;
+    private final String sql;
+    private final long elapsedMicros;
+    private final LocalDateTime executedAt;
+    private volatile List<Map<String, Object>> plan;
+    private volatile String explainError;
+
+    public SlowSqlSample(String fingerprint, String statementId, String sql, long elapsedMicros) {
+        this.fingerprint = fingerprint;
+        this.statementId = statementId;
+        this.sql = sql;
+        this.elapsedMicros = elapsedMicros;
+        this.executedAt = LocalDateTime.now();
+    }
+
+    public void setPlan(List<Map<String, Object>> plan) {
+        this.plan = plan;
+    }
+
+    public void setExplainError(String explainError) {
+        this.explainError = explainError;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("fingerprint", fingerprint);
+        view.put("statementId", statementId);
+        view.put("sql", sql);
+        view.put("elapsedMillis", elapsedMicros / 1000.0);
+        view.put("executedAt", executedAt.toString());
+        view.put("plan", plan);
+        view.put("explainError", explainError);
+        return view;
+    }
+}
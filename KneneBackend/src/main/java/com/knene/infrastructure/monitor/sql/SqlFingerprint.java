@@ -0,0 +1,90 @@
+/**
+ * SqlFingerprint类
+ * SQL指纹工具，将字面量和参数列表归一化，使同一语句模板的不同执行归为一类
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.monitor.sql;
+
+import java.util.regex.Pattern;
+
+// SQL指纹 - 单遍扫描：字符串和数字字面量替换为?，空白压缩，关键字小写；再把IN列表和多行VALUES折叠
+public final class SqlFingerprint {
+
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\?(?:, ?\\?)*\\)");
+    private static final Pattern REPEATED_ROWS = Pattern.compile("\\(\\?\\+\\)(?:, ?\\(\\?\\+\\))+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+
+            // 1. 空白压缩为一个空格
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+
+            // 2. 字符串字面量整体替换，支持''和反斜杠转义
+            if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i, c);
+                out.append('?');
+                continue;
+            }
+
+            // 3. 独立的数字字面量替换，标识符中的数字（如分表后缀）保留
+            if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i + 1 < length && (Character.isLetterOrDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                out.append('?');
+                continue;
+            }
+
+            out.append(Character.toLowerCase(c));
+        }
+
+        String normalized = PLACEHOLDER_LIST.matcher(out).replaceAll("(?+)");
+        return REPEATED_ROWS.matcher(normalized).replaceAll("(?+)");
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return sql.length() - 1;
+    }
+
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '`';
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * SqlStatementStats类
+ * 单个SQL指纹的执行统计
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.monitor.sql;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// SQL指纹统计 - 延迟直方图、慢查询次数和最近一次捕获的执行计划
+public class SqlStatementStats {
+
+    private final String fingerprint;
+    private final String statementId; // 首次出现时的Mapper方法
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder slowCount = new LongAdder();
+    private final AtomicLong lastExplainAt = new AtomicLong(); // 上次提交EXPLAIN的时间，用于限频
+    private volatile String sampleSql;
+    private volatile List<Map<String, Object>> lastPlan;
+
+    public SqlStatementStats(String fingerprint, String statementId) {
+        this.fingerprint = fingerprint;
+        this.statementId = statementId;
+    }
+
+    public void record(long micros, boolean slow) {
+        histogram.record(micros);
+        if (slow) {
+            slowCount.increment();
+        }
+    }
+
+    // 距上次EXPLAIN超过间隔时抢占本次捕获权
+    public boolean tryClaimExplain(long nowMillis, long intervalMillis) {
+        long last = lastExplainAt.get();
+        return nowMillis - last >= intervalMillis && lastExplainAt.compareAndSet(last, nowMillis);
+    }
+
+    public void setSampleSql(String sampleSql) {
+        this.sampleSql = sampleSql;
+    }
+
+    public void setLastPlan(List<Map<String, Object>> lastPlan) {
+        this.lastPlan = lastPlan;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getTotalMicros() {
+        return histogram.getTotalMicros();
+    }
+
+    // 管理端点输出的快照，时间单位为毫秒
+    public Map<String, Object> snapshot() {
+        long count = histogram.getCount();
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("fingerprint", fingerprint);
+        view.put("statementId", statementId);
+        view.put("count", count);
+        view.put("totalMillis", histogram.getTotalMicros() / 1000.0);
+        view.put("avgMillis", count > 0 ? histogram.getTotalMicros() / 1000.0 / count : 0.0);
+        view.put("p50Millis", histogram.percentileMicros(0.50) / 1000.0);
+        view.put("p95Millis", histogram.percentileMicros(0.95) / 1000.0);
+        view.put("p99Millis", histogram.percentileMicros(0.99) / 1000.0);
+        view.put("maxMillis", histogram.getMaxMicros() / 1000.0);
+        view.put("slowCount", slowCount.sum());
+        view.put("sampleSql", sampleSql);
+        view.put("plan", lastPlan);
+        return view;
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * ArchiveEngine类
+ * 冷热数据归档引擎，分批把软删除和超龄的行搬到压缩归档表
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.archive;
+
+import com.knene.infrastructure.persistence.datasource.ReplicaLagMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+// 冷热数据归档引擎 - 每批在一个短事务内完成锁定、复制、删除，批间按间隔和从库延迟限速
+// 热表只保留活跃数据，二级索引和缓冲池里不再堆积墓碑行
+public class ArchiveEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveEngine.class);
+
+    private static final String COLUMNS_SQL =
+            "SELECT COLUMN_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? "
+                    + "ORDER BY ORDINAL_POSITION";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReplicaLagMonitor replicaLagMonitor; // 为null时不按从库延迟限速
+    private final Map<String, ArchivePolicy> policies = new LinkedHashMap<>();
+    private final int batchSize;
+    private final Duration batchPause; // 两批之间的间隔
+    private final int maxBatchesPerRun; // 单次执行每类条件最多搬迁的批数，剩余的留给下次
+    private final Map<String, List<String>> columnCache = new ConcurrentHashMap<>();
+
+    public ArchiveEngine(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                         ReplicaLagMonitor replicaLagMonitor, Collection<ArchivePolicy> policies,
+                         int batchSize, Duration batchPause, int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.replicaLagMonitor = replicaLagMonitor;
+        for (ArchivePolicy policy : policies) {
+            this.policies.put(policy.getTable(), policy);
+        }
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    // 依次归档全部配置的表，返回各表搬迁的行数
+    public Map<String, Long> archiveAll() {
+        Map<String, Long> moved = new LinkedHashMap<>();
+        for (ArchivePolicy policy : policies.values()) {
+            try {
+                moved.put(policy.getTable(), archive(policy));
+            } catch (RuntimeException e) {
+                // 单表失败不影响其他表，已提交的批次不会回滚
+                log.error("表{}归档失败", policy.getTable(), e);
+            }
+        }
+        return moved;
+    }
+
+    public long archive(ArchivePolicy policy) {
+        List<String> columns = commonColumns(policy);
+        long total = 0L;
+        for (ArchivePolicy.Criterion criterion : policy.criteria()) {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer moved = transactionTemplate.execute(status -> moveBatch(policy, criterion, columns));
+                int count = moved != null ? moved : 0;
+                total += count;
+                if (count < batchSize || Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                throttle();
+            }
+        }
+        if (total > 0) {
+            log.info("表{}归档{}行到{}", policy.getTable(), total, policy.getArchiveTable());
+        }
+        return total;
+    }
+
+    // 把指定ID的行从归档表移回热表，返回恢复的行数
+    public int restore(String table, List<?> ids) {
+        ArchivePolicy policy = policy(table);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<String> columns = commonColumns(policy);
+        Integer restored = transactionTemplate.execute(status -> {
+            int inserted = jdbcTemplate.update(policy.restoreSql(columns, ids.size()), ids.toArray());
+            jdbcTemplate.update(policy.deleteArchivedSql(ids.size()), ids.toArray());
+            return inserted;
+        });
+        return restored != null ? restored : 0;
+    }
+
+    public ArchivePolicy policy(String table) {
+        ArchivePolicy policy = policies.get(table);
+        if (policy == null) {
+            throw new IllegalArgumentException("表未配置归档：" + table);
+        }
+        return policy;
+    }
+
+    // 源表与归档表共有的列，按源表列顺序；归档表多出的archived_at由默认值填充
+    public List<String> commonColumns(ArchivePolicy policy) {
+        return columnCache.computeIfAbsent(policy.getTable(), table -> {
+            List<String> source = jdbcTemplate.queryForList(COLUMNS_SQL, String.class, table);
+            Set<String> archive = new HashSet<>(
+                    jdbcTemplate.queryForList(COLUMNS_SQL, String.class, policy.getArchiveTable()));
+            if (archive.isEmpty()) {
+                throw new IllegalStateException("归档表不存在：" + policy.getArchiveTable());
+            }
+            List<String> common = new ArrayList<>(source.size());
+            for (String column : source) {
+                if (archive.contains(column)) {
+                    common.add(column);
+                } else {
+                    log.warn("归档表{}缺少列{}，该列不会被归档", policy.getArchiveTable(), column);
+                }
+            }
+            return List.copyOf(common);
+        });
+    }
+
+    private int moveBatch(ArchivePolicy policy, ArchivePolicy.Criterion criterion, List<String> columns) {
+        // 1. 锁定一批满足条件的行，被业务占用的行留到下一批
+        List<Long> ids = jdbcTemplate.queryForList(policy.lockBatchSql(criterion), Long.class,
+                criterion.olderThanSeconds(), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 复制到归档表后从热表删除，两步在同一事务内
+        Object[] args = ids.toArray();
+        jdbcTemplate.update(policy.copySql(columns, ids.size()), args);
+        return jdbcTemplate.update(policy.deleteSql(ids.size()), args);
+    }
+
+    // 批间暂停；有从库延迟超限时放慢到十倍间隔，等待从库追上
+    private void throttle() {
+        long pauseNanos = batchPause.toNanos();
+        if (replicaLagMonitor != null
+                && replicaLagMonitor.healthyReplicas().size() < replicaLagMonitor.replicas().size()) {
+            pauseNanos *= 10;
+        }
+        if (pauseNanos > 0) {
+            LockSupport.parkNanos(pauseNanos);
+        }
+    }
+}
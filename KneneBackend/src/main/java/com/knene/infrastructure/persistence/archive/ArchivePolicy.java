@@ -0,0 +1,105 @@
+/**
+ * ArchivePolicy类
+ * 单表归档策略，描述哪些行转入归档表并生成对应的SQL
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.archive;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// 单表归档策略 - 软删除超过宽限期的行和创建时间超过保留期的行分别按各自的索引列扫描
+public final class ArchivePolicy {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,63}");
+
+    private final String table;
+    private final String archiveTable;
+    private final Duration softDeleteGrace; // 软删除后保留在热表的时间，便于撤销；null表示不归档软删除行
+    private final String ageColumn;
+    private final Duration maxAge; // 超过该时长的历史行归档；null表示不按时间归档
+
+    public ArchivePolicy(String table, Duration softDeleteGrace, String ageColumn, Duration maxAge) {
+        this.table = requireIdentifier(table);
+        this.archiveTable = table + "_archive";
+        this.softDeleteGrace = softDeleteGrace;
+        this.ageColumn = ageColumn != null ? requireIdentifier(ageColumn) : "created_at";
+        this.maxAge = maxAge;
+    }
+
+    // 一类待归档行：扫描条件及其按数据库时间计算的秒数参数
+    public record Criterion(String name, String column, long olderThanSeconds) {
+
+        String where() {
+            String condition = column + " < NOW() - INTERVAL ? SECOND";
+            return "deleted_at".equals(column) ? "deleted_at IS NOT NULL AND " + condition : condition;
+        }
+    }
+
+    public List<Criterion> criteria() {
+        List<Criterion> criteria = new ArrayList<>(2);
+        if (softDeleteGrace != null) {
+            criteria.add(new Criterion("soft-deleted", "deleted_at", softDeleteGrace.toSeconds()));
+        }
+        if (maxAge != null) {
+            criteria.add(new Criterion("aged", ageColumn, maxAge.toSeconds()));
+        }
+        return Collections.unmodifiableList(criteria);
+    }
+
+    // 锁定一批待归档行，SKIP LOCKED避免与业务更新互相等待
+    String lockBatchSql(Criterion criterion) {
+        return "SELECT id FROM " + table + " WHERE " + criterion.where()
+                + " ORDER BY " + criterion.column() + " LIMIT ? FOR UPDATE SKIP LOCKED";
+    }
+
+    // columns为源表和归档表共有的列，按名称对齐复制
+    String copySql(List<String> columns, int batchSize) {
+        String columnList = String.join(", ", columns);
+        return "INSERT INTO " + archiveTable + " (" + columnList + ") SELECT " + columnList
+                + " FROM " + table + " WHERE id IN (" + placeholders(batchSize) + ")";
+    }
+
+    String deleteSql(int batchSize) {
+        return "DELETE FROM " + table + " WHERE id IN (" + placeholders(batchSize) + ")";
+    }
+
+    String restoreSql(List<String> columns, int batchSize) {
+        String columnList = String.join(", ", columns);
+        return "INSERT INTO " + table + " (" + columnList + ") SELECT " + columnList
+                + " FROM " + archiveTable + " WHERE id IN (" + placeholders(batchSize) + ")";
+    }
+
+    String deleteArchivedSql(int batchSize) {
+        return "DELETE FROM " + archiveTable + " WHERE id IN (" + placeholders(batchSize) + ")";
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getArchiveTable() {
+        return archiveTable;
+    }
+
+    static String requireIdentifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("非法的表名或列名：" + name);
+        }
+        return name;
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        return sql.toString();
+    }
+}
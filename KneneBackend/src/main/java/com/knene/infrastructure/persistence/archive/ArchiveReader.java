@@ -0,0 +1,61 @@
+/**
+ * ArchiveReader类
+ * 归档感知的查询入口，显式要求包含归档数据时回查归档表
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.archive;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+// 归档感知查询 - 默认只查热表；includeArchived为true时合并归档表，归档行带archived_at
+public class ArchiveReader {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveEngine archiveEngine;
+
+    public ArchiveReader(JdbcTemplate jdbcTemplate, ArchiveEngine archiveEngine) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveEngine = archiveEngine;
+    }
+
+    // 按主键查询，热表未命中且允许时再查归档表
+    public Map<String, Object> findById(String table, Object id, boolean includeArchived) {
+        ArchivePolicy policy = archiveEngine.policy(table);
+        String columns = String.join(", ", archiveEngine.commonColumns(policy));
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT " + columns + " FROM " + table + " WHERE id = ?", id);
+        if (rows.isEmpty() && includeArchived) {
+            rows = jdbcTemplate.queryForList("SELECT " + columns + ", archived_at FROM "
+                    + policy.getArchiveTable() + " WHERE id = ?", id);
+        }
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // where为调用方拼好的条件片段，只能使用?占位符传参；包含归档时两侧条件相同，参数重复一次
+    public List<Map<String, Object>> query(String table, String where, String orderBy, int limit,
+                                           boolean includeArchived, Object... args) {
+        ArchivePolicy policy = archiveEngine.policy(table);
+        String columns = String.join(", ", archiveEngine.commonColumns(policy));
+        String order = orderBy != null ? " ORDER BY " + orderBy : "";
+        if (!includeArchived) {
+            return jdbcTemplate.queryForList("SELECT " + columns + " FROM " + table + " WHERE " + where
+                    + order + " LIMIT " + limit, args);
+        }
+
+        // 每侧各取limit行再合并排序，归档表只在显式请求时才被访问
+        String sql = "(SELECT " + columns + ", NULL AS archived_at FROM " + table + " WHERE " + where
+                + order + " LIMIT " + limit + ") UNION ALL (SELECT " + columns + ", archived_at FROM "
+                + policy.getArchiveTable() + " WHERE " + where + order + " LIMIT " + limit + ")"
+                + order + " LIMIT " + limit;
+        Object[] doubled = new Object[args.length * 2];
+        System.arraycopy(args, 0, doubled, 0, args.length);
+        System.arraycopy(args, 0, doubled, args.length, args.length);
+        return jdbcTemplate.queryForList(sql, doubled);
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * DataSourceRouteContext类
+ * 数据源路由上下文，保存当前线程的请求用户标识
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+// 数据源路由上下文 - 读己之写需要知道本次请求属于哪个用户
+public final class DataSourceRouteContext {
+
+    private static final ThreadLocal<String> USER_KEY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRouteContext() {
+    }
+
+    // 绑定当前请求的用户标识
+    public static void bindUser(String userKey) {
+        USER_KEY.set(userKey);
+    }
+
+    public static String currentUser() {
+        return USER_KEY.get();
+    }
+
+    // 强制当前线程后续读取走主库，用于刚写完就要读的后台流程
+    public static void forcePrimary() {
+        FORCE_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(FORCE_PRIMARY.get());
+    }
+
+    // 请求结束时清理，避免线程池复用时串号
+    public static void clear() {
+        USER_KEY.remove();
+        FORCE_PRIMARY.remove();
+    }
+}
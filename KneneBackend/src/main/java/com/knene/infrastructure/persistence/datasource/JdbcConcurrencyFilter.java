@@ -0,0 +1,127 @@
+/**
+ * JdbcConcurrencyFilter类
+ * JDBC并发闸门，以信号量限制同时持有连接的线程数
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+import com.alibaba.druid.filter.Filter;
+import com.alibaba.druid.filter.FilterAdapter;
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.DruidPooledConnection;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// JDBC并发闸门 - 虚拟线程模式下请求线程数不再受Tomcat线程池约束，大量线程直接争抢连接池锁会放大等待
+// 许可数等于连接池maxActive，取连接前先在公平信号量上排队，连接归还时释放许可
+// 排队和连接池等待共用一个maxWait预算；许可按连接登记，被removeAbandoned回收或因致命错误禁用的连接，
+// 业务线程的close()不再经过过滤器，由新线程排队前和有线程排队时的归还顺带清理，归还其许可
+public class JdbcConcurrencyFilter extends FilterAdapter {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final Set<DruidPooledConnection> holders = ConcurrentHashMap.newKeySet(); // 持有许可的连接，防止重复释放
+
+    public JdbcConcurrencyFilter(int maxPermits) {
+        this.maxPermits = maxPermits;
+        this.permits = new Semaphore(maxPermits, true);
+    }
+
+    // 为连接池安装闸门，已安装时直接返回
+    public static void install(DruidDataSource dataSource) {
+        for (Filter filter : dataSource.getProxyFilters()) {
+            if (filter instanceof JdbcConcurrencyFilter) {
+                return;
+            }
+        }
+        dataSource.getProxyFilters().add(new JdbcConcurrencyFilter(dataSource.getMaxActive()));
+    }
+
+    @Override
+    public DruidPooledConnection dataSource_getConnection(FilterChain chain, DruidDataSource dataSource,
+                                                          long maxWaitMillis) throws SQLException {
+        // 1. 在信号量上排队，最多等待maxWait
+        long startedAt = System.nanoTime();
+        acquire(dataSource, maxWaitMillis);
+
+        // 2. 用剩余预算从连接池取连接，失败时归还许可；许可数等于maxActive，拿到许可时池中通常已有空闲连接，
+        // 预算已耗尽时仍给连接池1ms，避免把0传给连接池变成无限等待
+        long remainingMillis = maxWaitMillis;
+        if (maxWaitMillis > 0) {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            remainingMillis = Math.max(1L, maxWaitMillis - elapsedMillis);
+        }
+        DruidPooledConnection connection;
+        try {
+            connection = chain.dataSource_connect(dataSource, remainingMillis);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        holders.add(connection);
+        return connection;
+    }
+
+    @Override
+    public void dataSource_releaseConnection(FilterChain chain, DruidPooledConnection connection) throws SQLException {
+        try {
+            chain.dataSource_recycle(connection);
+        } finally {
+            if (holders.remove(connection)) {
+                permits.release();
+            }
+            if (permits.hasQueuedThreads()) {
+                reclaimDisabled();
+            }
+        }
+    }
+
+    // 正在排队等待连接的线程数估计值
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    public int getInUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    // 归还已被连接池回收或禁用的连接占用的许可，返回归还数；与正常归还并发时由holders.remove保证只释放一次
+    int reclaimDisabled() {
+        int reclaimed = 0;
+        for (DruidPooledConnection connection : holders) {
+            if ((connection.isAbandonded() || connection.isDisable()) && holders.remove(connection)) {
+                permits.release();
+                reclaimed++;
+            }
+        }
+        return reclaimed;
+    }
+
+    private void acquire(DruidDataSource dataSource, long maxWaitMillis) throws SQLException {
+        try {
+            // 带超时的tryAcquire遵守公平顺序；许可用尽时先清理失效连接的许可，持有许可的连接不超过maxActive个
+            if (permits.tryAcquire(0L, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            reclaimDisabled();
+            if (maxWaitMillis <= 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("等待JDBC并发许可超时" + maxWaitMillis + "ms，数据源："
+                        + dataSource.getName() + "，排队线程约" + permits.getQueueLength() + "个");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("等待JDBC并发许可时被中断", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * ReadWriteRoutingDataSource类
+ * 读写分离路由数据源，只读事务路由到从库，其余路由到主库
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// 读写分离路由数据源 - 需包在LazyConnectionDataSourceProxy内，确保取连接时只读标记已生效
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final String masterName;
+    private final ReplicaLoadBalancer loadBalancer;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(String masterName,
+                                      ReplicaLoadBalancer loadBalancer,
+                                      ReplicaLagMonitor lagMonitor,
+                                      ReadYourWritesTracker readYourWritesTracker) {
+        this.masterName = masterName;
+        this.loadBalancer = loadBalancer;
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // 1. 非只读事务或显式要求时走主库，并登记写入以便后续读己之写
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || DataSourceRouteContext.isPrimaryForced()) {
+            trackWriteTransaction();
+            return masterName;
+        }
+
+        // 2. 刚写过数据的用户在窗口期内继续读主库
+        if (readYourWritesTracker.isPinned(DataSourceRouteContext.currentUser())) {
+            return masterName;
+        }
+
+        // 3. 在延迟达标的从库间负载均衡，全部不可用时降级到主库
+        List<String> healthy = lagMonitor.healthyReplicas();
+        if (healthy.isEmpty()) {
+            return masterName;
+        }
+        return loadBalancer.choose(healthy);
+    }
+
+    // 每个写事务只注册一次同步回调，提交成功后标记当前用户
+    private void trackWriteTransaction() {
+        String userKey = DataSourceRouteContext.currentUser();
+        if (userKey == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(this, userKey);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.markWritten(userKey);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * ReadYourWritesFilter类
+ * 读己之写请求过滤器，把已认证用户绑定到数据源路由上下文
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 读己之写请求过滤器 - 排在Spring Security之后执行，此时认证信息已就绪
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            DataSourceRouteContext.bindUser(authentication.getName());
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataSourceRouteContext.clear();
+        }
+    }
+}
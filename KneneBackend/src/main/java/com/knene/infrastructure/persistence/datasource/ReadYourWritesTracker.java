@@ -0,0 +1,39 @@
+/**
+ * ReadYourWritesTracker类
+ * 读己之写跟踪器，记录最近发生写入的用户
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+// 读己之写跟踪器 - 用户提交写事务后的一小段时间内，其读请求固定走主库
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, int maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    // 记录用户刚完成写入
+    public void markWritten(String userKey) {
+        if (userKey != null) {
+            recentWriters.put(userKey, Boolean.TRUE);
+        }
+    }
+
+    // 判断用户是否仍在固定主库的窗口内
+    public boolean isPinned(String userKey) {
+        return userKey != null && recentWriters.getIfPresent(userKey) != null;
+    }
+}
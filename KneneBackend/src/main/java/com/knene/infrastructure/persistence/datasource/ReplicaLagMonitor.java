@@ -0,0 +1,137 @@
+/**
+ * ReplicaLagMonitor类
+ * 从库复制延迟监控，定期探测各从库延迟并维护可读从库列表
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 从库复制延迟监控 - 延迟超阈值或复制中断的从库暂时摘除，恢复后自动加回
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final long UNAVAILABLE = -1L;
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final Map<String, Long> lagSeconds = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.healthyReplicas = List.copyOf(replicas.keySet()); // 首次探测前先信任全部从库
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 启动周期探测
+    public void start(Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // 被监控的从库数据源
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    // 当前可以承接读流量的从库
+    public List<String> healthyReplicas() {
+        return healthyReplicas;
+    }
+
+    // 最近一次探测到的各从库延迟（秒），-1表示不可用
+    public Map<String, Long> currentLag() {
+        return Collections.unmodifiableMap(lagSeconds);
+    }
+
+    // 探测全部从库并刷新可读列表
+    public void refresh() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            long lag = probe(entry.getKey(), entry.getValue());
+            lagSeconds.put(entry.getKey(), lag);
+            if (lag != UNAVAILABLE && lag <= maxLagSeconds) {
+                healthy.add(entry.getKey());
+            }
+        }
+
+        if (!healthy.equals(healthyReplicas)) {
+            log.warn("可读从库变化：{} -> {}，延迟：{}", healthyReplicas, healthy, lagSeconds);
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("从库延迟探测异常", e);
+        }
+    }
+
+    // 停止探测并关闭从库连接池
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.forEach((name, dataSource) -> {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("关闭从库数据源失败: {}", name, e);
+                }
+            }
+        });
+    }
+
+    // 读取复制延迟，兼容MySQL 8.0.22前后的语句和列名
+    private long probe(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return readLag(rs, "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                try (ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    return readLag(rs, "Seconds_Behind_Master");
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("从库{}延迟探测失败：{}", name, e.getMessage());
+            return UNAVAILABLE;
+        }
+    }
+
+    private long readLag(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) {
+            return 0L; // 未配置复制（如开发环境直连主库）视为无延迟
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? UNAVAILABLE : lag; // NULL表示复制线程已停止
+    }
+}
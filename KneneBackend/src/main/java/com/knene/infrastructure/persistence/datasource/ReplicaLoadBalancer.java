@@ -0,0 +1,75 @@
+/**
+ * ReplicaLoadBalancer类
+ * 从库负载均衡器，按配置算法在健康从库间分配读流量
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 从库负载均衡器 - 支持round_robin、random、weighted三种算法
+public class ReplicaLoadBalancer {
+
+    private final Algorithm algorithm;
+    private final Map<String, Integer> weights;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public ReplicaLoadBalancer(String algorithm, Map<String, Integer> weights) {
+        this.algorithm = Algorithm.of(algorithm);
+        this.weights = weights;
+    }
+
+    // 从候选从库中选择一个，候选列表不能为空
+    public String choose(List<String> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        return switch (algorithm) {
+            case RANDOM -> candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+            case WEIGHTED -> chooseWeighted(candidates);
+            default -> candidates.get(Math.floorMod(sequence.getAndIncrement(), candidates.size()));
+        };
+    }
+
+    // 按权重随机选择，权重未配置或非法时按1处理
+    private String chooseWeighted(List<String> candidates) {
+        int total = 0;
+        for (String name : candidates) {
+            total += weightOf(name);
+        }
+        int point = ThreadLocalRandom.current().nextInt(total);
+        for (String name : candidates) {
+            point -= weightOf(name);
+            if (point < 0) {
+                return name;
+            }
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    private int weightOf(String name) {
+        Integer weight = weights.get(name);
+        return weight != null && weight > 0 ? weight : 1;
+    }
+
+    // 负载均衡算法
+    enum Algorithm {
+        ROUND_ROBIN,
+        RANDOM,
+        WEIGHTED;
+
+        static Algorithm of(String value) {
+            if (value == null || value.isBlank()) {
+                return ROUND_ROBIN;
+            }
+            return Algorithm.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
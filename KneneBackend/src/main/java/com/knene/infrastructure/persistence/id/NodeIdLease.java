@@ -0,0 +1,35 @@
+/**
+ * NodeIdLease类
+ * 节点号租约，记录本实例持有的节点号及上一任持有者最后使用的时间戳
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.id;
+
+// 节点号租约 - lastTimestamp用于跨实例的时钟回拨保护
+public class NodeIdLease {
+
+    private final int nodeId;
+    private final String instanceId;
+    private final long lastTimestamp; // 该节点号上一任持有者最后发号的时间戳（毫秒）
+
+    public NodeIdLease(int nodeId, String instanceId, long lastTimestamp) {
+        this.nodeId = nodeId;
+        this.instanceId = instanceId;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * NodeIdLeaseManager类
+ * 节点号租约管理器，基于数据库租约表为每个实例分配集群内唯一的雪花节点号
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 节点号租约管理器 - 租约到期时间统一取数据库时间，避免各实例时钟不一致导致重复持有
+// 本地发号期限比数据库租约提前一个安全余量结束，续约失败时生成器先于租约过期停止发号
+public class NodeIdLeaseManager implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeIdLeaseManager.class);
+
+    private static final String CLAIM_EXPIRED_SQL =
+            "UPDATE id_node_leases SET instance_id = ?, acquired_at = NOW(3), "
+                    + "lease_expires_at = DATE_ADD(NOW(3), INTERVAL ? MICROSECOND) "
+                    + "WHERE node_id = ? AND lease_expires_at < NOW(3)";
+    private static final String CLAIM_NEW_SQL =
+            "INSERT IGNORE INTO id_node_leases (node_id, instance_id, last_timestamp, acquired_at, lease_expires_at) "
+                    + "VALUES (?, ?, 0, NOW(3), DATE_ADD(NOW(3), INTERVAL ? MICROSECOND))";
+    private static final String RENEW_SQL =
+            "UPDATE id_node_leases SET lease_expires_at = DATE_ADD(NOW(3), INTERVAL ? MICROSECOND), "
+                    + "last_timestamp = GREATEST(last_timestamp, ?) WHERE node_id = ? AND instance_id = ?";
+    private static final String RELEASE_SQL =
+            "UPDATE id_node_leases SET lease_expires_at = NOW(3), last_timestamp = GREATEST(last_timestamp, ?) "
+                    + "WHERE node_id = ? AND instance_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration leaseTtl;
+    private final long safetyMarginMillis; // 本地发号期限相对数据库租约的提前量
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile NodeIdLease lease;
+    private volatile SnowflakeIdGenerator generator;
+    private long leaseStartedAt; // 获取租约时发起请求的本地时间
+
+    public NodeIdLeaseManager(JdbcTemplate jdbcTemplate, Duration leaseTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTtl = leaseTtl;
+        this.safetyMarginMillis = leaseTtl.toMillis() / 5;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "id-node-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 申请节点号：优先接管已过期的租约，其次占用未使用过的节点号
+    public NodeIdLease acquire() {
+        long ttlMicros = leaseTtl.toMillis() * 1000L;
+        long startedAt = System.currentTimeMillis();
+
+        // 1. 接管过期租约，最久未续约的优先
+        List<Integer> expired = jdbcTemplate.queryForList(
+                "SELECT node_id FROM id_node_leases WHERE lease_expires_at < NOW(3) ORDER BY lease_expires_at LIMIT 16",
+                Integer.class);
+        for (Integer nodeId : expired) {
+            if (jdbcTemplate.update(CLAIM_EXPIRED_SQL, instanceId, ttlMicros, nodeId) == 1) {
+                return granted(nodeId, startedAt);
+            }
+        }
+
+        // 2. 从当前最大节点号之后顺序占用，并发冲突时继续尝试下一个
+        Integer max = jdbcTemplate.queryForObject("SELECT MAX(node_id) FROM id_node_leases", Integer.class);
+        for (int nodeId = max != null ? max + 1 : 0; nodeId <= SnowflakeIdGenerator.MAX_NODE_ID; nodeId++) {
+            if (jdbcTemplate.update(CLAIM_NEW_SQL, nodeId, instanceId, ttlMicros) == 1) {
+                return granted(nodeId, startedAt);
+            }
+        }
+        throw new IllegalStateException("没有可用的雪花节点号，" + (SnowflakeIdGenerator.MAX_NODE_ID + 1) + "个节点号均在租约期内");
+    }
+
+    // 启动后台续约，续约间隔为租约时长的三分之一
+    public void keepAlive(SnowflakeIdGenerator generator) {
+        this.generator = generator;
+        generator.setLeaseDeadline(localDeadline(leaseStartedAt));
+        long interval = Math.max(leaseTtl.toMillis() / 3, 1L);
+        scheduler.scheduleWithFixedDelay(this::renewQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // 续约一次，同时持久化最近发号时间戳；返回false表示租约已被其他实例接管
+    public boolean renew() {
+        NodeIdLease current = lease;
+        if (current == null) {
+            return false;
+        }
+        long startedAt = System.currentTimeMillis();
+        SnowflakeIdGenerator target = generator;
+        long lastTimestamp = target != null ? target.getLastTimestamp() : 0L;
+        int updated = jdbcTemplate.update(RENEW_SQL, leaseTtl.toMillis() * 1000L, lastTimestamp,
+                current.getNodeId(), instanceId);
+        if (updated != 1) {
+            log.error("雪花节点号{}的租约已丢失，停止发号", current.getNodeId());
+            if (target != null) {
+                target.setLeaseDeadline(0L);
+            }
+            return false;
+        }
+        if (target != null) {
+            target.setLeaseDeadline(localDeadline(startedAt));
+        }
+        return true;
+    }
+
+    public NodeIdLease getLease() {
+        return lease;
+    }
+
+    // 停止续约并释放租约，释放时写入最后发号时间戳供下一任持有者参考
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        NodeIdLease current = lease;
+        if (current == null) {
+            return;
+        }
+        SnowflakeIdGenerator target = generator;
+        try {
+            jdbcTemplate.update(RELEASE_SQL, target != null ? target.getLastTimestamp() : 0L,
+                    current.getNodeId(), instanceId);
+            log.info("已释放雪花节点号{}", current.getNodeId());
+        } catch (RuntimeException e) {
+            log.warn("释放雪花节点号{}失败，等待租约自然过期", current.getNodeId(), e);
+        }
+    }
+
+    private NodeIdLease granted(int nodeId, long startedAt) {
+        Long lastTimestamp = jdbcTemplate.queryForObject(
+                "SELECT last_timestamp FROM id_node_leases WHERE node_id = ?", Long.class, nodeId);
+        this.leaseStartedAt = startedAt;
+        this.lease = new NodeIdLease(nodeId, instanceId, lastTimestamp != null ? lastTimestamp : 0L);
+        log.info("已获取雪花节点号{}，租约时长{}", nodeId, leaseTtl);
+        return lease;
+    }
+
+    // 以发起请求前的本地时间为起点计算，保证本地期限不晚于数据库中的租约到期时间
+    private long localDeadline(long startedAt) {
+        return startedAt + leaseTtl.toMillis() - safetyMarginMillis;
+    }
+
+    private void renewQuietly() {
+        try {
+            renew();
+        } catch (RuntimeException e) {
+            log.warn("雪花节点号续约失败，将在下个周期重试", e);
+        }
+    }
+}
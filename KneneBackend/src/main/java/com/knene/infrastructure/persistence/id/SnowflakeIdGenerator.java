@@ -0,0 +1,122 @@
+/**
+ * SnowflakeIdGenerator类
+ * 雪花算法ID生成器，无锁生成按时间递增的64位ID
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.id;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// 雪花ID生成器 - 布局：符号位 | 时间戳41位 | 节点号10位 | 序列号12位
+// 时间戳与序列号打包在一个AtomicLong中用CAS推进，序列号用尽时最多向未来借用1毫秒，持续超速时等待时钟
+// 时钟回拨不超过容忍值时沿用逻辑时钟发号并等待追平，超过则拒绝，保证同一节点内ID严格递增
+public class SnowflakeIdGenerator {
+
+    public static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    public static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits; // 已左移到位的节点号
+    private final long maxBackwardMillis; // 逻辑时钟允许领先物理时钟的最大毫秒数
+    private final AtomicLong state; // (时间戳偏移 << 12) | 序列号，即去掉节点号的上一个ID
+    private volatile long leaseDeadline = Long.MAX_VALUE; // 节点号租约到期时间，到期后停止发号
+
+    public SnowflakeIdGenerator(int nodeId, long maxBackwardMillis) {
+        this(nodeId, maxBackwardMillis, 0L);
+    }
+
+    // lastTimestamp为该节点号上一任持有者最后使用的时间戳，新实例从其之后开始发号
+    public SnowflakeIdGenerator(int nodeId, long maxBackwardMillis, long lastTimestamp) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("节点号必须在0到" + MAX_NODE_ID + "之间：" + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.maxBackwardMillis = maxBackwardMillis;
+        long offset = Math.max(lastTimestamp - EPOCH, 0L);
+        this.state = new AtomicLong(offset > 0 ? (offset + 1) << SEQUENCE_BITS : 0L);
+    }
+
+    // 生成下一个ID
+    public long nextId() {
+        while (true) {
+            long now = currentTimeMillis();
+            if (now >= leaseDeadline) {
+                throw new IllegalStateException("节点号租约已失效，拒绝生成ID");
+            }
+            long nowOffset = now - EPOCH;
+            long current = state.get();
+            long lastOffset = current >>> SEQUENCE_BITS;
+
+            // 1. 物理时钟已前进，序列号归零
+            long next;
+            if (nowOffset > lastOffset) {
+                next = nowOffset << SEQUENCE_BITS;
+            } else {
+                // 2. 同一毫秒或时钟回拨：在逻辑时钟上加一，序列号溢出时进位到时间戳
+                long ahead = lastOffset - nowOffset;
+                if (ahead > maxBackwardMillis) {
+                    throw new IllegalStateException("系统时钟回拨" + ahead + "ms，超过容忍值" + maxBackwardMillis + "ms，拒绝生成ID");
+                }
+                if (ahead > 0 && (current & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                    // 已领先物理时钟且本毫秒序列号用尽，不再继续借用，等待物理时钟追上
+                    awaitClock(ahead);
+                    continue;
+                }
+                next = current + 1;
+            }
+
+            // 3. CAS失败说明其他线程刚发过号，重读状态重试
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    // 最近一次发号使用的时间戳（毫秒），用于续约时持久化
+    public long getLastTimestamp() {
+        return (state.get() >>> SEQUENCE_BITS) + EPOCH;
+    }
+
+    public int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+
+    // 续约成功后延长发号期限
+    public void setLeaseDeadline(long leaseDeadline) {
+        this.leaseDeadline = leaseDeadline;
+    }
+
+    // 从ID中解析生成时间
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> TIMESTAMP_SHIFT) + EPOCH);
+    }
+
+    // 从ID中解析节点号
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    // 领先不足1毫秒时自旋，否则让出CPU
+    private void awaitClock(long aheadMillis) {
+        if (aheadMillis > 1) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(aheadMillis - 1));
+        } else {
+            Thread.onSpinWait();
+        }
+    }
+
+    // 时间来源，测试时可覆盖
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * SnowflakeIdentifierGenerator类
+ * MyBatis-Plus主键生成器，插入前由雪花生成器分配主键
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.id;
+
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+
+// MyBatis-Plus主键生成器 - 主键类型为ASSIGN_ID的实体插入时调用，不再依赖数据库自增回填
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    private final SnowflakeIdGenerator generator;
+
+    public SnowflakeIdentifierGenerator(SnowflakeIdGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public Long nextId(Object entity) {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * SlowSqlInterceptor类
+ * 慢SQL拦截器，统计每条语句在数据库侧的执行耗时
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.interceptor;
+
+import com.knene.infrastructure.monitor.sql.SlowSqlRecorder;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// 慢SQL拦截器 - 拦截StatementHandler，计时范围只包含语句执行，SQL为分页等插件改写后的最终语句
+// 批处理执行器的batch只做addBatch，真正的数据库往返在刷出时的executeBatch，因此在prepare时包装语句对其计时
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}),
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class SlowSqlInterceptor implements Interceptor {
+
+    private final SlowSqlRecorder recorder;
+
+    public SlowSqlInterceptor(SlowSqlRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        if ("prepare".equals(invocation.getMethod().getName())) {
+            Statement statement = (Statement) invocation.proceed();
+            MetaObject routing = routingMetaOf(handler);
+            return routing.getValue("delegate.executor") instanceof BatchExecutor
+                    ? timeBatch(statement, handler, routing) : statement;
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            record(handler, routingMetaOf(handler), System.nanoTime() - start);
+        }
+    }
+
+    // 包装批处理语句，executeBatch一次计为一条记录；同一语句合并的多行共用首行的SQL和参数
+    private Statement timeBatch(Statement statement, StatementHandler handler, MetaObject routing) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    boolean batch = "executeBatch".equals(method.getName())
+                            || "executeLargeBatch".equals(method.getName());
+                    long start = System.nanoTime();
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (Throwable e) {
+                        throw ExceptionUtil.unwrapThrowable(e);
+                    } finally {
+                        if (batch) {
+                            record(handler, routing, System.nanoTime() - start);
+                        }
+                    }
+                });
+    }
+
+    private void record(StatementHandler handler, MetaObject routing, long elapsed) {
+        BoundSql boundSql = handler.getBoundSql();
+        MappedStatement mappedStatement = (MappedStatement) routing.getValue("delegate.mappedStatement");
+        recorder.record(mappedStatement.getId(), boundSql.getSql(), elapsed,
+                () -> parameterValues(mappedStatement.getConfiguration(), boundSql));
+    }
+
+    // 其他插件包装的StatementHandler是JDK代理，逐层剥开后得到RoutingStatementHandler
+    private static MetaObject routingMetaOf(StatementHandler handler) {
+        MetaObject meta = SystemMetaObject.forObject(handler);
+        while (meta.hasGetter("h")) {
+            meta = SystemMetaObject.forObject(meta.getValue("h.target"));
+        }
+        return meta;
+    }
+
+    // 按DefaultParameterHandler的规则解析占位符参数值，供EXPLAIN重放
+    private static List<Object> parameterValues(Configuration configuration, BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        Object parameterObject = boundSql.getParameterObject();
+        List<Object> values = new ArrayList<>(mappings.size());
+        MetaObject parameterMeta = null;
+        for (ParameterMapping mapping : mappings) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (parameterMeta == null) {
+                    parameterMeta = configuration.newMetaObject(parameterObject);
+                }
+                value = parameterMeta.getValue(property);
+            }
+            values.add(value instanceof Enum<?> e ? e.name() : value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * CacheWarmupMapper类
+ * 缓存预热批量查询MyBatis映射接口
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+import java.util.Map;
+
+// 缓存预热Mapper - 每类缓存一条批量查询，避免预热时逐键回源
+@Mapper
+public interface CacheWarmupMapper {
+
+    // 全部有效系统配置
+    @Select("SELECT config_key, config_value FROM system_configs WHERE deleted_at IS NULL")
+    List<Map<String, Object>> selectSystemConfigs();
+
+    // 全部启用的字典项，按类型和排序号排列
+    @Select("SELECT dict_type, dict_key, dict_value, dict_label, sort_order FROM dictionaries "
+            + "WHERE is_active = 1 AND deleted_at IS NULL ORDER BY dict_type, sort_order, id")
+    List<Map<String, Object>> selectActiveDictionaries();
+
+    // 最近一天的热门搜索词
+    @Select("SELECT COALESCE(search_keyword_normalized, search_keyword) AS keyword, COUNT(*) AS search_count "
+            + "FROM search_logs WHERE created_at >= NOW() - INTERVAL 1 DAY "
+            + "GROUP BY keyword ORDER BY search_count DESC LIMIT #{limit}")
+    List<Map<String, Object>> selectHotSearchKeywords(@Param("limit") int limit);
+
+    // 全部角色的有效权限
+    @Select("SELECT rp.role_id, p.name AS permission_name FROM role_permissions rp "
+            + "JOIN permissions p ON p.id = rp.permission_id "
+            + "WHERE rp.status = 'active' AND rp.deleted_at IS NULL AND p.deleted_at IS NULL "
+            + "ORDER BY rp.role_id")
+    List<Map<String, Object>> selectActiveRolePermissions();
+}
@@ -0,0 +1,29 @@
+/**
+ * IdScanMapper类
+ * 主键扫描MyBatis映射接口，为布隆过滤器重建按主键分批读取
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+// 主键扫描Mapper - 表名和列名来自配置且已做标识符校验，只走主键索引
+@Mapper
+public interface IdScanMapper {
+
+    // 读取当前行数，用于估算过滤器容量；主键可能是雪花ID，不能按最大主键估算
+    @Select("SELECT COUNT(*) FROM ${table}")
+    long selectCount(@Param("table") String table);
+
+    // 键集分页扫描主键
+    @Select("SELECT ${idColumn} FROM ${table} WHERE ${idColumn} > #{afterId} ORDER BY ${idColumn} LIMIT #{limit}")
+    List<Long> selectIdsAfter(@Param("table") String table, @Param("idColumn") String idColumn,
+                              @Param("afterId") long afterId, @Param("limit") int limit);
+}
@@ -0,0 +1,65 @@
+/**
+ * UserCounterMapper类
+ * 用户计数聚合表的MyBatis映射接口
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// 用户计数聚合Mapper - 读取走主键点查和日期桶范围扫描，不触碰users表
+@Mapper
+public interface UserCounterMapper {
+
+    // 读取单个状态计数
+    @Select("SELECT user_count FROM user_status_counters WHERE status = #{status}")
+    Long selectStatusCount(@Param("status") String status);
+
+    // 读取全部状态计数
+    @Select("SELECT status, user_count FROM user_status_counters")
+    List<Map<String, Object>> selectAllStatusCounts();
+
+    // 对注册日计数桶求和，代价与日期跨度成正比
+    @Select("<script>"
+            + "SELECT COALESCE(SUM(registered_count), 0) FROM user_registration_daily_counters"
+            + "<where>"
+            + "<if test='fromDate != null'>stat_date &gt;= #{fromDate}</if>"
+            + "<if test='toDate != null'>AND stat_date &lt;= #{toDate}</if>"
+            + "</where>"
+            + "</script>")
+    long sumDailyRegistrations(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    // 按users表重算状态计数，只统计未软删除的用户，只改写存在偏差的行
+    // 子查询走(status, deleted_at)索引，每个状态只扫描索引范围
+    @Update("UPDATE user_status_counters c "
+            + "SET c.user_count = (SELECT COUNT(*) FROM users u WHERE u.status = c.status AND u.deleted_at IS NULL) "
+            + "WHERE c.user_count <> "
+            + "(SELECT COUNT(*) FROM users u WHERE u.status = c.status AND u.deleted_at IS NULL)")
+    int reconcileStatusCounters();
+
+    // 按users表重算指定日期范围内有注册记录的日计数桶
+    @Update("INSERT INTO user_registration_daily_counters (stat_date, registered_count) "
+            + "SELECT DATE(created_at), COUNT(*) FROM users "
+            + "WHERE deleted_at IS NULL AND created_at >= #{fromDate} "
+            + "AND created_at < DATE_ADD(#{toDate}, INTERVAL 1 DAY) "
+            + "GROUP BY DATE(created_at) "
+            + "ON DUPLICATE KEY UPDATE registered_count = VALUES(registered_count)")
+    int upsertDailyRegistrations(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    // 将指定日期范围内已无注册记录的日计数桶清零
+    @Update("UPDATE user_registration_daily_counters c SET c.registered_count = 0 "
+            + "WHERE c.stat_date BETWEEN #{fromDate} AND #{toDate} AND c.registered_count <> 0 "
+            + "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.deleted_at IS NULL "
+            + "AND u.created_at >= c.stat_date AND u.created_at < DATE_ADD(c.stat_date, INTERVAL 1 DAY))")
+    int resetEmptyDailyRegistrations(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+}
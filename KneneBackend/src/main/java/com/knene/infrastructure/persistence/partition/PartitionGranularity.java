@@ -0,0 +1,39 @@
+/**
+ * PartitionGranularity枚举
+ * 时间分区粒度
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.partition;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// 时间分区粒度 - 决定周期起点、步长和分区命名
+public enum PartitionGranularity {
+
+    DAY(DateTimeFormatter.ofPattern("'p'yyyyMMdd")),
+    MONTH(DateTimeFormatter.ofPattern("'p'yyyyMM"));
+
+    private final DateTimeFormatter nameFormat;
+
+    PartitionGranularity(DateTimeFormatter nameFormat) {
+        this.nameFormat = nameFormat;
+    }
+
+    // 包含该日期的周期起点
+    public LocalDate periodStart(LocalDate date) {
+        return this == DAY ? date : date.withDayOfMonth(1);
+    }
+
+    public LocalDate plus(LocalDate periodStart, long periods) {
+        return this == DAY ? periodStart.plusDays(periods) : periodStart.plusMonths(periods);
+    }
+
+    // 分区名由周期起点生成，如p20261019、p202610
+    public String partitionName(LocalDate periodStart) {
+        return nameFormat.format(periodStart);
+    }
+}
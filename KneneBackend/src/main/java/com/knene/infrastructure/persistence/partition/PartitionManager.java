@@ -0,0 +1,151 @@
+/**
+ * PartitionManager类
+ * 时间分区维护器，按规划结果预建未来分区并整体删除过期分区
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// 时间分区维护器 - 删除分区是元数据操作，代替按时间DELETE，不产生大事务和碎片
+// 多实例同时维护时用MySQL命名锁互斥，GET_LOCK与DDL在同一连接上执行
+public class PartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionManager.class);
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,63}");
+    private static final String LOCK_NAME = "knene_partition_maintenance";
+    private static final String LIST_SQL =
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                    + "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId zone;
+
+    public PartitionManager(JdbcTemplate jdbcTemplate, ZoneId zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.zone = zone;
+    }
+
+    // 维护单张表，未取得锁或表未分区时返回null
+    public PartitionPlanner.Plan maintain(String table, PartitionGranularity granularity, int retention,
+                                          int precreate, LocalDate today) {
+        if (!IDENTIFIER.matcher(table).matches()) {
+            throw new IllegalArgumentException("非法的表名：" + table);
+        }
+        return jdbcTemplate.execute((ConnectionCallback<PartitionPlanner.Plan>) connection -> {
+            if (!tryLock(connection)) {
+                log.info("分区维护锁被其他实例持有，跳过：{}", table);
+                return null;
+            }
+            try {
+                return maintain(connection, table, granularity, retention, precreate, today);
+            } finally {
+                unlock(connection);
+            }
+        });
+    }
+
+    private PartitionPlanner.Plan maintain(Connection connection, String table, PartitionGranularity granularity,
+                                           int retention, int precreate, LocalDate today) throws SQLException {
+        // 1. 读取现有分区，未分区的表不做处理
+        List<PartitionPlanner.Partition> existing = listPartitions(connection, table);
+        if (existing.isEmpty()) {
+            log.warn("表{}未按时间分区，跳过分区维护", table);
+            return null;
+        }
+        PartitionPlanner.Plan plan = PartitionPlanner.plan(existing, granularity, retention, precreate, zone, today);
+
+        try (Statement statement = connection.createStatement()) {
+            // 2. 预建未来分区：有兜底分区时拆分兜底分区，其中只有未来时间的数据，拆分代价很小
+            if (!plan.create().isEmpty()) {
+                PartitionPlanner.Partition last = existing.get(existing.size() - 1);
+                statement.execute(last.isCatchAll()
+                        ? reorganizeSql(table, last.name(), plan.create())
+                        : addSql(table, plan.create()));
+            }
+
+            // 3. 删除过期分区，即时释放空间
+            if (!plan.drop().isEmpty()) {
+                statement.execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", plan.drop()));
+            }
+        }
+        if (!plan.isEmpty()) {
+            log.info("表{}分区维护完成，新建{}个，删除{}", table, plan.create().size(), plan.drop());
+        }
+        return plan;
+    }
+
+    private List<PartitionPlanner.Partition> listPartitions(Connection connection, String table) throws SQLException {
+        List<PartitionPlanner.Partition> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(LIST_SQL)) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String description = rs.getString(2);
+                    long lessThan = "MAXVALUE".equalsIgnoreCase(description)
+                            ? PartitionPlanner.MAXVALUE
+                            : Long.parseLong(description.trim());
+                    partitions.add(new PartitionPlanner.Partition(rs.getString(1), lessThan));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    static String reorganizeSql(String table, String catchAll, List<PartitionPlanner.Partition> create) {
+        return "ALTER TABLE " + table + " REORGANIZE PARTITION " + catchAll + " INTO ("
+                + definitions(create) + ", PARTITION " + catchAll + " VALUES LESS THAN MAXVALUE)";
+    }
+
+    static String addSql(String table, List<PartitionPlanner.Partition> create) {
+        return "ALTER TABLE " + table + " ADD PARTITION (" + definitions(create) + ")";
+    }
+
+    private static String definitions(List<PartitionPlanner.Partition> create) {
+        StringBuilder sql = new StringBuilder();
+        for (PartitionPlanner.Partition partition : create) {
+            sql.append(sql.length() > 0 ? ", " : "")
+                    .append("PARTITION ").append(partition.name())
+                    .append(" VALUES LESS THAN (").append(partition.lessThan()).append(')');
+        }
+        return sql.toString();
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void unlock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.execute();
+        } catch (SQLException e) {
+            // 连接关闭时命名锁会自动释放
+            log.warn("释放分区维护锁失败", e);
+        }
+    }
+}
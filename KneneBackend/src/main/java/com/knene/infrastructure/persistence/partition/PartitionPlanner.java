@@ -0,0 +1,90 @@
+/**
+ * PartitionPlanner类
+ * 时间分区滚动规划，根据现有分区计算需要预建和删除的分区
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.partition;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+// 时间分区规划器 - 纯计算，不访问数据库；分区上界为UNIX_TIMESTAMP(created_at)的秒数
+public final class PartitionPlanner {
+
+    public static final long MAXVALUE = Long.MAX_VALUE; // 兜底分区VALUES LESS THAN MAXVALUE的上界
+    public static final String HISTORY = "p_history"; // 首次拆分兜底分区时收纳当前周期之前的存量数据
+
+    private PartitionPlanner() {
+    }
+
+    // 现有或待建分区：名称及上界（不含）
+    public record Partition(String name, long lessThan) {
+
+        public boolean isCatchAll() {
+            return lessThan == MAXVALUE;
+        }
+    }
+
+    // 规划结果，create按上界升序排列
+    public record Plan(List<Partition> create, List<String> drop) {
+
+        public boolean isEmpty() {
+            return create.isEmpty() && drop.isEmpty();
+        }
+    }
+
+    // existing须按上界升序排列，与information_schema.PARTITIONS的分区序号一致
+    public static Plan plan(List<Partition> existing, PartitionGranularity granularity, int retention,
+                            int precreate, ZoneId zone, LocalDate today) {
+        LocalDate currentPeriod = granularity.periodStart(today);
+
+        // 1. 从最后一个有界分区的上界开始，逐周期补齐到当前周期之后precreate个周期
+        long lastBound = Long.MIN_VALUE;
+        for (Partition partition : existing) {
+            if (!partition.isCatchAll()) {
+                lastBound = Math.max(lastBound, partition.lessThan());
+            }
+        }
+        LocalDate cursor = lastBound == Long.MIN_VALUE
+                ? currentPeriod
+                : granularity.periodStart(LocalDate.ofInstant(Instant.ofEpochSecond(lastBound), zone));
+        if (lastBound != Long.MIN_VALUE && epochSecond(cursor, zone) < lastBound) {
+            // 上界不在周期起点时，从下一个周期起点开始，避免与已有分区重叠
+            cursor = granularity.plus(cursor, 1);
+        }
+        LocalDate horizon = granularity.plus(currentPeriod, Math.max(precreate, 0) + 1L);
+        List<Partition> create = new ArrayList<>();
+        if (lastBound == Long.MIN_VALUE) {
+            // 只有兜底分区（迁移刚建好）时，当前周期之前的数据整体归入历史分区，随保留期到期整体删除
+            create.add(new Partition(HISTORY, epochSecond(currentPeriod, zone)));
+        }
+        while (cursor.isBefore(horizon)) {
+            LocalDate next = granularity.plus(cursor, 1);
+            create.add(new Partition(granularity.partitionName(cursor), epochSecond(next, zone)));
+            cursor = next;
+        }
+
+        // 2. 上界不晚于保留起点的分区整体删除，兜底分区始终保留
+        List<String> drop = new ArrayList<>();
+        if (retention > 0) {
+            long cutoff = epochSecond(granularity.plus(currentPeriod, -retention), zone);
+            for (Partition partition : existing) {
+                if (!partition.isCatchAll() && partition.lessThan() <= cutoff) {
+                    drop.add(partition.name());
+                }
+            }
+        }
+        return new Plan(create, drop);
+    }
+
+    // 周期起点零点对应的秒级时间戳
+    public static long epochSecond(LocalDate date, ZoneId zone) {
+        return date.atStartOfDay(zone).toEpochSecond();
+    }
+}
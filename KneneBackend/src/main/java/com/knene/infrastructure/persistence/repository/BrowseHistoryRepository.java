@@ -0,0 +1,102 @@
+/**
+ * BrowseHistoryRepository类
+ * 浏览历史分片存储，按user_id路由到分库分表
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.knene.infrastructure.persistence.sharding.ShardAwareIdGenerator;
+import com.knene.infrastructure.persistence.sharding.ShardTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+// 浏览历史分片存储 - 写入和按用户查询只访问用户所在分片，按主键查询凭ID低位的槽号定位分片
+// 主键由分片感知ID生成器产生，时间有序，各分片按id倒序即按时间倒序，管理端跨分片归并后截取
+@Repository
+@ConditionalOnProperty(prefix = "app.datasource.sharding", name = "enabled", havingValue = "true")
+public class BrowseHistoryRepository {
+
+    private static final String TABLE = "browse_history";
+    private static final String COLUMNS = "id, user_id, resource_id, browse_type, browse_url, page_title, created_at";
+    private static final Comparator<BrowseRecord> NEWEST_FIRST = Comparator.comparingLong(BrowseRecord::id).reversed();
+
+    private static final RowMapper<BrowseRecord> ROW_MAPPER = (rs, rowNum) -> new BrowseRecord(
+            rs.getLong("id"), rs.getLong("user_id"), rs.getObject("resource_id", Long.class),
+            rs.getString("browse_type"), rs.getString("browse_url"), rs.getString("page_title"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private final ShardTemplate shardTemplate;
+    private final ShardAwareIdGenerator idGenerator;
+
+    public BrowseHistoryRepository(ShardTemplate shardTemplate, ShardAwareIdGenerator idGenerator) {
+        this.shardTemplate = shardTemplate;
+        this.idGenerator = idGenerator;
+    }
+
+    // 记录一次浏览，返回新记录的ID
+    public long record(long userId, Long resourceId, String browseType, String browseUrl, String pageTitle) {
+        long id = idGenerator.nextId(userId);
+        shardTemplate.executeForUser(TABLE, userId, (route, jdbc) -> jdbc.update("INSERT INTO " + route.table(TABLE)
+                        + " (id, user_id, resource_id, browse_type, browse_url, page_title, created_by) "
+                        + "VALUES (:id, :userId, :resourceId, :browseType, :browseUrl, :pageTitle, :userId)",
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("userId", userId)
+                        .addValue("resourceId", resourceId)
+                        .addValue("browseType", browseType)
+                        .addValue("browseUrl", browseUrl)
+                        .addValue("pageTitle", pageTitle)));
+        return id;
+    }
+
+    // 用户最近的浏览记录，单分片查询
+    public List<BrowseRecord> findRecentByUser(long userId, int limit) {
+        return shardTemplate.executeForUser(TABLE, userId, (route, jdbc) -> jdbc.query("SELECT " + COLUMNS + " FROM "
+                        + route.table(TABLE) + " WHERE user_id = :userId AND deleted_at IS NULL "
+                        + "ORDER BY id DESC LIMIT :limit",
+                new MapSqlParameterSource("userId", userId).addValue("limit", limit), ROW_MAPPER));
+    }
+
+    public Optional<BrowseRecord> findById(long id) {
+        List<BrowseRecord> records = shardTemplate.executeForId(TABLE, id, (route, jdbc) -> jdbc.query("SELECT "
+                + COLUMNS + " FROM " + route.table(TABLE) + " WHERE id = :id AND deleted_at IS NULL",
+                new MapSqlParameterSource("id", id), ROW_MAPPER));
+        return records.stream().findFirst();
+    }
+
+    // 清空用户的浏览历史（软删除），返回影响行数
+    public int clearByUser(long userId) {
+        return shardTemplate.executeForUser(TABLE, userId, (route, jdbc) -> jdbc.update("UPDATE " + route.table(TABLE)
+                        + " SET deleted_at = NOW(), updated_by = :userId "
+                        + "WHERE user_id = :userId AND deleted_at IS NULL",
+                new MapSqlParameterSource("userId", userId)));
+    }
+
+    // 全站最近的浏览记录，管理端使用；各分片各取limit条后归并
+    public List<BrowseRecord> findRecent(int limit) {
+        return shardTemplate.scatterGather(TABLE, (route, jdbc) -> jdbc.query("SELECT " + COLUMNS + " FROM "
+                        + route.table(TABLE) + " WHERE deleted_at IS NULL ORDER BY id DESC LIMIT :limit",
+                new MapSqlParameterSource("limit", limit), ROW_MAPPER), NEWEST_FIRST, limit);
+    }
+
+    // 全站浏览记录数，管理端统计使用
+    public long countAll() {
+        return shardTemplate.sum(TABLE, (route, jdbc) -> jdbc.queryForObject("SELECT COUNT(*) FROM "
+                + route.table(TABLE) + " WHERE deleted_at IS NULL", new MapSqlParameterSource(), Long.class));
+    }
+
+    // 浏览记录
+    public record BrowseRecord(long id, long userId, Long resourceId, String browseType, String browseUrl,
+                               String pageTitle, LocalDateTime createdAt) {
+    }
+}
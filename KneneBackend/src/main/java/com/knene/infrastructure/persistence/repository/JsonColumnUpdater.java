@@ -0,0 +1,50 @@
+/**
+ * JsonColumnUpdater类
+ * JSON列局部更新执行器
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.knene.infrastructure.persistence.typehandler.JsonColumnUpdate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// JSON列局部更新执行器 - 同一行的多个JSON列在一条UPDATE中完成
+@Repository
+public class JsonColumnUpdater {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,63}");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JsonColumnUpdater(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 按主键更新，返回受影响行数
+    public int update(String table, String idColumn, Object id, JsonColumnUpdate... updates) {
+        if (!IDENTIFIER.matcher(table).matches() || !IDENTIFIER.matcher(idColumn).matches()) {
+            throw new IllegalArgumentException("非法的表名或主键列名：" + table + "." + idColumn);
+        }
+        if (updates.length == 0) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+        List<Object> parameters = new ArrayList<>();
+        for (int i = 0; i < updates.length; i++) {
+            sql.append(i > 0 ? ", " : "").append(updates[i].toSetClause());
+            parameters.addAll(updates[i].getParameters());
+        }
+        sql.append(" WHERE ").append(idColumn).append(" = ?");
+        parameters.add(id);
+        return jdbcTemplate.update(sql.toString(), parameters.toArray());
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * SearchLogRepository类
+ * 检索日志写入，按多行VALUES批量插入search_logs
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.knene.infrastructure.search.log.SearchEvent;
+import com.knene.infrastructure.search.log.SearchLogRow;
+import com.knene.infrastructure.search.log.UserAgentInfo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 检索日志写入 - 只写检索时已知的列，其余分析列保持默认值由离线任务回填
+// search_keyword和search_keyword_normalized写实际检索的关键词，纠错时为纠正后的词，热搜和联想统计据此聚合
+// 连接串未开启rewriteBatchedStatements，一批拼成一条多行INSERT一次往返写完，语句按行数缓存
+@Repository
+public class SearchLogRepository {
+
+    private static final String COLUMNS = "session_id, user_id, user_type, search_type, search_keyword, "
+            + "search_keyword_original, search_keyword_normalized, search_category_id, page_number, page_size, "
+            + "result_count, search_time_seconds, cache_hit, cache_key, cache_ttl_seconds, auto_correct_applied, "
+            + "original_keyword, corrected_keyword, ip_address, user_agent, device_type, browser_type, os_type, "
+            + "referrer_url, search_success, no_results_found, created_at";
+    private static final int COLUMN_COUNT = 27;
+    private static final String ROW_PLACEHOLDERS = "(" + "?, ".repeat(COLUMN_COUNT - 1) + "?)";
+
+    private static final int USER_TYPE_NORMAL = 1;
+    private static final int USER_TYPE_GUEST = 3;
+    private static final int SEARCH_TYPE_NORMAL = 1;
+    private static final int SEARCH_TYPE_CATEGORY = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<Integer, String> insertSql = new ConcurrentHashMap<>();
+
+    public SearchLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertBatch(List<SearchLogRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = insertSql.computeIfAbsent(rows.size(), count -> "INSERT INTO search_logs (" + COLUMNS
+                + ") VALUES " + String.join(", ", Collections.nCopies(count, ROW_PLACEHOLDERS)));
+        jdbcTemplate.update(sql, ps -> {
+            int index = 1;
+            for (SearchLogRow row : rows) {
+                index = bind(ps, index, row);
+            }
+        });
+    }
+
+    private static int bind(PreparedStatement ps, int index, SearchLogRow row) throws SQLException {
+        SearchEvent event = row.event();
+        UserAgentInfo userAgent = row.userAgent();
+        String keyword = event.correctedKeyword() != null ? event.correctedKeyword() : row.normalizedKeyword();
+        boolean found = event.resultCount() > 0;
+        ps.setString(index++, truncate(event.sessionId(), 100));
+        setLong(ps, index++, event.userId());
+        ps.setInt(index++, event.authenticated() ? USER_TYPE_NORMAL : USER_TYPE_GUEST);
+        ps.setInt(index++, event.categoryId() != null ? SEARCH_TYPE_CATEGORY : SEARCH_TYPE_NORMAL);
+        ps.setString(index++, truncate(keyword, 500));
+        ps.setString(index++, truncate(event.keyword(), 500));
+        ps.setString(index++, truncate(keyword, 500));
+        setInt(ps, index++, event.categoryId());
+        ps.setInt(index++, event.size() > 0 ? event.from() / event.size() + 1 : 1);
+        ps.setInt(index++, event.size());
+        ps.setLong(index++, Math.min(event.resultCount(), Integer.MAX_VALUE));
+        ps.setBigDecimal(index++, BigDecimal.valueOf(event.elapsedNanos(), 9).setScale(4, RoundingMode.HALF_UP));
+        ps.setBoolean(index++, event.cacheHit());
+        ps.setString(index++, truncate(event.cacheKey(), 200));
+        ps.setLong(index++, event.cacheTtlSeconds());
+        ps.setBoolean(index++, event.correctedKeyword() != null);
+        ps.setString(index++, event.correctedKeyword() != null ? truncate(row.normalizedKeyword(), 500) : null);
+        ps.setString(index++, truncate(event.correctedKeyword(), 500));
+        ps.setString(index++, truncate(event.ipAddress(), 45));
+        ps.setString(index++, truncate(event.userAgent(), 500));
+        ps.setString(index++, truncate(userAgent.deviceType(), 50));
+        ps.setString(index++, truncate(userAgent.browser(), 50));
+        ps.setString(index++, truncate(userAgent.os(), 50));
+        ps.setString(index++, truncate(event.referrer(), 500));
+        ps.setBoolean(index++, found);
+        ps.setBoolean(index++, !found);
+        ps.setTimestamp(index++, new Timestamp(event.timestamp()));
+        return index;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static void setInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static String truncate(String value, int maxChars) {
+        return value != null && value.length() > maxChars ? value.substring(0, maxChars) : value;
+    }
+}
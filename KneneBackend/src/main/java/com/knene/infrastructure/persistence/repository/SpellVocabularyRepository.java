@@ -0,0 +1,60 @@
+/**
+ * SpellVocabularyRepository类
+ * 拼写纠错词汇数据源，读取种子标题和近期有结果的搜索词
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// 纠错词汇数据源 - 标题按主键游标分批读取，不持有长事务；搜索词只取有结果且出现多次的，避免把错拼写收进词典
+@Repository
+public class SpellVocabularyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SpellVocabularyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 逐条回调全部可检索种子的标题和副标题，返回读取的种子数
+    public long forEachTitle(int batchSize, Consumer<String> consumer) {
+        long[] state = new long[2]; // 本批最后一个ID、本批行数
+        long loaded = 0L;
+        do {
+            long afterId = state[0];
+            state[1] = 0L;
+            jdbcTemplate.query("SELECT id, title, subtitle FROM torrent_files "
+                    + "WHERE id > ? AND deleted_at IS NULL AND status <> 3 ORDER BY id LIMIT ?", rs -> {
+                consumer.accept(rs.getString("title"));
+                String subtitle = rs.getString("subtitle");
+                if (subtitle != null) {
+                    consumer.accept(subtitle);
+                }
+                state[0] = rs.getLong("id");
+                state[1]++;
+            }, afterId, batchSize);
+            loaded += state[1];
+        } while (state[1] == batchSize);
+        return loaded;
+    }
+
+    // 窗口内有结果的搜索词及其次数
+    public void forEachKeyword(Duration window, int minCount, int limit, BiConsumer<String, Long> consumer) {
+        jdbcTemplate.query("SELECT COALESCE(search_keyword_normalized, search_keyword) AS keyword, "
+                        + "COUNT(*) AS search_count FROM search_logs "
+                        + "WHERE created_at >= NOW() - INTERVAL ? MINUTE AND result_count > 0 "
+                        + "GROUP BY keyword HAVING COUNT(*) >= ? ORDER BY search_count DESC LIMIT ?",
+                rs -> {
+                    consumer.accept(rs.getString("keyword"), rs.getLong("search_count"));
+                }, window.toMinutes(), minCount, limit);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * SuggestSourceRepository类
+ * 搜索联想数据源，读取热门种子标题和近期热门搜索词
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.knene.infrastructure.search.release.ReleaseInfo;
+import com.knene.infrastructure.search.release.ReleaseNameParser;
+import com.knene.infrastructure.search.suggest.SuggestCandidate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// 搜索联想数据源 - 种子标题按做种数取前N条并解析出片名；搜索词按时间衰减加权，只取有结果且出现多次的词
+@Repository
+public class SuggestSourceRepository {
+
+    private static final int MAX_SUBTITLE_NAME_LENGTH = 40;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SuggestSourceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 热门种子的片名，发布名解析出的片名和副标题中的中文名各作一个候选，权重取做种与完成数的对数
+    public List<SuggestCandidate> findTitleCandidates(int limit, double titleWeight) {
+        List<SuggestCandidate> candidates = new ArrayList<>();
+        jdbcTemplate.query("SELECT title, subtitle, seed_count, snatch_count FROM torrent_files "
+                + "WHERE status = 1 AND deleted_at IS NULL ORDER BY seed_count DESC LIMIT ?", rs -> {
+            double weight = titleWeight * Math.log1p(Math.max(0, rs.getInt("seed_count"))
+                    + Math.max(0, rs.getInt("snatch_count")));
+            ReleaseInfo info = ReleaseNameParser.parse(rs.getString("title"));
+            if (info.title() != null) {
+                candidates.add(new SuggestCandidate(info.title(), weight));
+            }
+            String subtitleName = subtitleName(rs.getString("subtitle"));
+            if (subtitleName != null) {
+                candidates.add(new SuggestCandidate(subtitleName, weight));
+            }
+        }, limit);
+        return candidates;
+    }
+
+    // 窗口内的热门搜索词，每条记录按距今时长指数衰减后累加，半衰期为halfLife
+    public List<SuggestCandidate> findQueryCandidates(Duration window, Duration halfLife, int minCount, int limit,
+                                                      double queryWeight) {
+        return jdbcTemplate.query("SELECT COALESCE(search_keyword_normalized, search_keyword) AS keyword, "
+                        + "SUM(POW(0.5, TIMESTAMPDIFF(MINUTE, created_at, NOW()) / ?)) AS weight "
+                        + "FROM search_logs WHERE created_at >= NOW() - INTERVAL ? MINUTE AND result_count > 0 "
+                        + "GROUP BY keyword HAVING COUNT(*) >= ? ORDER BY weight DESC LIMIT ?",
+                (rs, rowNum) -> new SuggestCandidate(rs.getString("keyword"), queryWeight * rs.getDouble("weight")),
+                Math.max(1L, halfLife.toMinutes()), window.toMinutes(), minCount, limit);
+    }
+
+    // 副标题通常以"中文片名 / 其他说明"开头，取第一个分隔符前含汉字的部分
+    static String subtitleName(String subtitle) {
+        if (subtitle == null) {
+            return null;
+        }
+        int end = subtitle.length();
+        for (int i = 0; i < subtitle.length(); i++) {
+            char c = subtitle.charAt(i);
+            if (c == '/' || c == '|' || c == '[' || c == '【' || c == '(' || c == '（') {
+                end = i;
+                break;
+            }
+        }
+        String name = subtitle.substring(0, end).strip();
+        if (name.isEmpty() || name.length() > MAX_SUBTITLE_NAME_LENGTH
+                || name.codePoints().noneMatch(cp -> Character.UnicodeScript.of(cp) == Character.UnicodeScript.HAN)) {
+            return null;
+        }
+        return name;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * TorrentSearchSourceRepository类
+ * 检索索引数据源，从torrent_files读取可检索字段
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.knene.infrastructure.persistence.typehandler.JsonCodecs;
+import com.knene.infrastructure.persistence.typehandler.JsonStringList;
+import com.knene.infrastructure.search.TorrentFacets;
+import com.knene.infrastructure.search.TorrentSearchDocument;
+import com.knene.infrastructure.search.TorrentSignals;
+import com.knene.infrastructure.search.indexer.ChangeCursor;
+import com.knene.infrastructure.search.indexer.DocumentChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 检索索引数据源 - 全量用服务端流式结果集逐行读取，内存占用与表大小无关；增量按(updated_at, id)游标分页
+// 质量评分按uk_target_type_id逐行取子查询；评分变化不更新torrent_files.updated_at，由每日全量重建带上
+@Repository
+public class TorrentSearchSourceRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(TorrentSearchSourceRepository.class);
+
+    private static final String DOCUMENT_COLUMNS = "id, title, subtitle, description, tags, category_id, "
+            + "quality_level, resolution, source_type, is_freeleech, vip_only, health_score, seed_count, hot_level, "
+            + "(SELECT q.overall_score FROM quality_scores q "
+            + "WHERE q.target_type = 1 AND q.target_id = torrent_files.id AND q.deleted_at IS NULL) AS overall_score";
+    private static final String SELECT_COLUMNS = "SELECT " + DOCUMENT_COLUMNS + " FROM torrent_files ";
+    private static final String SELECT_CHANGE_COLUMNS = "SELECT " + DOCUMENT_COLUMNS
+            + ", updated_at, deleted_at, status FROM torrent_files ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RowMapper<TorrentSearchDocument> rowMapper = (rs, rowNum) -> new TorrentSearchDocument(
+            rs.getLong("id"), rs.getString("title"), rs.getString("subtitle"), rs.getString("description"),
+            parseTags(rs.getLong("id"), rs.getBytes("tags")), rs.getObject("category_id", Integer.class),
+            new TorrentFacets(rs.getObject("quality_level", Integer.class), rs.getString("resolution"),
+                    rs.getString("source_type"), rs.getBoolean("is_freeleech"), rs.getBoolean("vip_only")),
+            new TorrentSignals(toDouble(rs.getBigDecimal("overall_score")), toDouble(rs.getBigDecimal("health_score")),
+                    rs.getInt("seed_count"), rs.getInt("hot_level")));
+
+    public TorrentSearchSourceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 流式读取全部可检索种子，已删除（软删除或状态为删除）的不返回；返回读取条数
+    // fetchSize为Integer.MIN_VALUE时MySQL驱动逐行从服务端拉取，读取期间占用一个连接
+    public long streamAll(Consumer<TorrentSearchDocument> consumer) {
+        long[] count = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_COLUMNS + "WHERE deleted_at IS NULL AND status <> 3",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, rs -> {
+            consumer.accept(rowMapper.mapRow(rs, (int) count[0]));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    // 游标之后的变更，包括已删除的种子；只读取settle之前的行，updated_at精度为秒，避免同一秒内后写入的行被跳过
+    public List<DocumentChange> findChangesAfter(ChangeCursor cursor, Duration settle, int limit) {
+        Timestamp updatedAt = Timestamp.valueOf(cursor.updatedAt());
+        return jdbcTemplate.query(SELECT_CHANGE_COLUMNS
+                        + "WHERE (updated_at > ? OR (updated_at = ? AND id > ?)) "
+                        + "AND updated_at < NOW() - INTERVAL ? SECOND ORDER BY updated_at, id LIMIT ?",
+                (rs, rowNum) -> {
+                    long id = rs.getLong("id");
+                    ChangeCursor position = new ChangeCursor(rs.getTimestamp("updated_at").toLocalDateTime(), id);
+                    boolean searchable = rs.getTimestamp("deleted_at") == null && rs.getInt("status") != 3;
+                    return new DocumentChange(id, position, searchable ? rowMapper.mapRow(rs, rowNum) : null);
+                }, updatedAt, updatedAt, cursor.id(), settle.toSeconds(), limit);
+    }
+
+    // 数据库当前时间减去settle，作为全量重建开始时的位点
+    public ChangeCursor currentPosition(Duration settle) {
+        LocalDateTime now = jdbcTemplate.queryForObject("SELECT NOW() - INTERVAL ? SECOND", LocalDateTime.class,
+                settle.toSeconds());
+        return new ChangeCursor(now, 0L);
+    }
+
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    // 标签列格式异常时忽略标签，不影响标题检索
+    private static List<String> parseTags(long id, byte[] json) {
+        if (json == null || json.length == 0) {
+            return List.of();
+        }
+        try {
+            JsonStringList tags = JsonCodecs.readerFor(JsonStringList.class).readValue(json);
+            return tags != null ? tags.values() : List.of();
+        } catch (IOException e) {
+            log.warn("种子{}的标签不是字符串数组，已忽略", id);
+            return List.of();
+        }
+    }
+}
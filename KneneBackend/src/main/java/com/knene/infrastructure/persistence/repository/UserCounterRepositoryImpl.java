@@ -0,0 +1,83 @@
+/**
+ * UserCounterRepositoryImpl类
+ * 用户计数聚合仓储的MyBatis实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.knene.domain.user.entity.User;
+import com.knene.domain.user.repository.UserCounterRepository;
+import com.knene.infrastructure.persistence.mapper.UserCounterMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// 用户计数聚合仓储实现
+@Repository
+public class UserCounterRepositoryImpl implements UserCounterRepository {
+
+    private final UserCounterMapper userCounterMapper;
+
+    public UserCounterRepositoryImpl(UserCounterMapper userCounterMapper) {
+        this.userCounterMapper = userCounterMapper;
+    }
+
+    @Override
+    public long getStatusCount(User.UserStatus status) {
+        Long count = userCounterMapper.selectStatusCount(status.getCode());
+        return count != null ? Math.max(count, 0L) : 0L; // 对账前的瞬时负值按0处理
+    }
+
+    @Override
+    public Map<User.UserStatus, Long> getAllStatusCounts() {
+        Map<User.UserStatus, Long> counts = new EnumMap<>(User.UserStatus.class);
+        for (User.UserStatus status : User.UserStatus.values()) {
+            counts.put(status, 0L);
+        }
+
+        List<Map<String, Object>> rows = userCounterMapper.selectAllStatusCounts();
+        for (Map<String, Object> row : rows) {
+            String code = String.valueOf(row.get("status"));
+            long count = ((Number) row.get("user_count")).longValue();
+            for (User.UserStatus status : User.UserStatus.values()) {
+                if (status.getCode().equals(code)) {
+                    counts.put(status, Math.max(count, 0L));
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public long sumDailyRegistrations(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            return 0L;
+        }
+        return Math.max(userCounterMapper.sumDailyRegistrations(fromDate, toDate), 0L);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int reconcileStatusCounters() {
+        return userCounterMapper.reconcileStatusCounters();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int reconcileDailyRegistrations(LocalDate fromDate, LocalDate toDate) {
+        // 1. 先用实际分组结果覆盖有数据的桶
+        int upserted = userCounterMapper.upsertDailyRegistrations(fromDate, toDate);
+
+        // 2. 再清零已经没有用户的桶（用户被全部删除的日期）
+        int reset = userCounterMapper.resetEmptyDailyRegistrations(fromDate, toDate);
+
+        return upserted + reset;
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * UserWriteBehindStore类
+ * 用户低频数据写后存储，合并用户设置、偏好和资料浏览计数的更新后批量落库
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.knene.infrastructure.cache.strategy.WriteBehindBuffer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// 用户写后存储 - 突发的偏好和设置修改在缓冲区内合并，每个键每轮最多落库一次
+public class UserWriteBehindStore implements AutoCloseable {
+
+    // 允许写后更新的user_settings列，列名直接拼入SQL
+    private static final Set<String> SETTING_COLUMNS = Set.of(
+            "theme", "language", "timezone", "date_format", "time_format", "currency",
+            "email_notifications", "sms_notifications", "push_notifications", "auto_play_video",
+            "video_quality", "subtitle_language", "download_quality", "auto_download", "auto_subtitle",
+            "playback_speed", "volume_level", "show_download_progress", "auto_delete_downloaded",
+            "content_filter_level", "auto_next_episode", "remember_position", "cache_size_mb",
+            "data_usage_warning", "max_download_concurrent", "upload_bandwidth_limit", "download_bandwidth_limit");
+
+    private static final String UPSERT_PREFERENCE_SQL =
+            "INSERT INTO user_preferences (user_id, preference_type, preference_key, preference_value, "
+                    + "interaction_count, last_interaction_at, created_by) VALUES (?, ?, ?, COALESCE(?, ''), ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE "
+                    + "preference_value = IF(? IS NULL, preference_value, VALUES(preference_value)), "
+                    + "interaction_count = interaction_count + VALUES(interaction_count), "
+                    + "last_interaction_at = GREATEST(COALESCE(last_interaction_at, VALUES(last_interaction_at)), "
+                    + "COALESCE(VALUES(last_interaction_at), last_interaction_at)), "
+                    + "updated_by = VALUES(created_by)";
+
+    // 用户尚无详细资料行时插入一行，避免UPDATE影响0行导致计数静默丢失
+    private static final String UPSERT_PROFILE_VIEWS_SQL =
+            "INSERT INTO user_profiles_detailed (user_id, profile_views, created_by) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE profile_views = profile_views + VALUES(profile_views)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WriteBehindBuffer<PreferenceKey, PreferenceUpdate> preferences;
+    private final WriteBehindBuffer<Long, Map<String, Object>> settings;
+    private final WriteBehindBuffer<Long, Long> profileViews;
+
+    // 每批在一个事务内写入，失败时整批回滚，缓冲区拆批重试不会重复累加已落库的行
+    // 单独写入连续失败maxAttempts次的条目转入死信表
+    public UserWriteBehindStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                WriteBehindDeadLetterStore deadLetters, int batchSize, int flushThreshold,
+                                Duration flushInterval, int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.preferences = new WriteBehindBuffer<>("user-preferences", PreferenceUpdate::merge,
+                inTransaction(transactionTemplate, this::writePreferences), batchSize, flushThreshold,
+                flushInterval, maxAttempts, deadLetters.writerFor("user-preferences"));
+        this.settings = new WriteBehindBuffer<>("user-settings", UserWriteBehindStore::mergeSettings,
+                inTransaction(transactionTemplate, this::writeSettings), batchSize, flushThreshold,
+                flushInterval, maxAttempts, deadLetters.writerFor("user-settings"));
+        this.profileViews = new WriteBehindBuffer<>("profile-views", Long::sum,
+                inTransaction(transactionTemplate, this::writeProfileViews), batchSize, flushThreshold,
+                flushInterval, maxAttempts, deadLetters.writerFor("profile-views"));
+    }
+
+    // 修改偏好值，同一偏好的多次修改只保留最后一次
+    public void updatePreference(Long userId, String type, String key, String value) {
+        preferences.submit(new PreferenceKey(userId, type, key), new PreferenceUpdate(value, 0L, null));
+    }
+
+    // 记录一次偏好交互，交互次数累加
+    public void recordPreferenceInteraction(Long userId, String type, String key) {
+        preferences.submit(new PreferenceKey(userId, type, key), new PreferenceUpdate(null, 1L, LocalDateTime.now()));
+    }
+
+    // 修改用户设置，多次修改按列合并
+    public void updateSettings(Long userId, Map<String, Object> changes) {
+        for (String column : changes.keySet()) {
+            if (!SETTING_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("不支持写后更新的设置项：" + column);
+            }
+        }
+        settings.submit(userId, new LinkedHashMap<>(changes));
+    }
+
+    // 资料浏览计数加一
+    public void incrementProfileViews(Long userId) {
+        profileViews.submit(userId, 1L);
+    }
+
+    // 尚未落库的设置修改，读取设置时叠加到数据库结果上
+    public Map<String, Object> pendingSettings(Long userId) {
+        Map<String, Object> pending = settings.peek(userId);
+        return pending != null ? Collections.unmodifiableMap(pending) : Map.of();
+    }
+
+    // 尚未落库的浏览增量
+    public long pendingProfileViews(Long userId) {
+        Long pending = profileViews.peek(userId);
+        return pending != null ? pending : 0L;
+    }
+
+    // 立即刷出全部缓冲区
+    public void flushAll() {
+        preferences.flush();
+        settings.flush();
+        profileViews.flush();
+    }
+
+    // 关闭时排空全部缓冲区
+    @Override
+    public void close() {
+        preferences.close();
+        settings.close();
+        profileViews.close();
+    }
+
+    private void writePreferences(List<Map.Entry<PreferenceKey, PreferenceUpdate>> batch) {
+        jdbcTemplate.batchUpdate(UPSERT_PREFERENCE_SQL, batch, batch.size(), (ps, entry) -> {
+            PreferenceKey key = entry.getKey();
+            PreferenceUpdate update = entry.getValue();
+            ps.setLong(1, key.userId());
+            ps.setString(2, key.type());
+            ps.setString(3, key.key());
+            ps.setString(4, update.value());
+            ps.setLong(5, update.interactions());
+            ps.setObject(6, update.lastInteractionAt());
+            ps.setLong(7, key.userId());
+            ps.setString(8, update.value());
+        });
+    }
+
+    // 按修改的列集合分组，同组共用一条预编译语句走JDBC批处理
+    // 按uk_user_settings_user_id插入或更新，用户尚无设置行时以修改的列建行，其余列取表默认值
+    private void writeSettings(List<Map.Entry<Long, Map<String, Object>>> batch) {
+        Map<String, List<Map.Entry<Long, Map<String, Object>>>> groups = new TreeMap<>();
+        for (Map.Entry<Long, Map<String, Object>> entry : batch) {
+            String columns = String.join(",", new TreeMap<>(entry.getValue()).keySet());
+            groups.computeIfAbsent(columns, k -> new ArrayList<>()).add(entry);
+        }
+
+        for (Map.Entry<String, List<Map.Entry<Long, Map<String, Object>>>> group : groups.entrySet()) {
+            List<String> columns = List.of(group.getKey().split(","));
+            String sql = "INSERT INTO user_settings (user_id, " + String.join(", ", columns) + ", created_by) "
+                    + "VALUES (?, " + "?, ".repeat(columns.size()) + "?) ON DUPLICATE KEY UPDATE "
+                    + columns.stream().map(c -> c + " = VALUES(" + c + ")").collect(Collectors.joining(", "))
+                    + ", updated_by = VALUES(created_by)";
+
+            List<Map.Entry<Long, Map<String, Object>>> rows = group.getValue();
+            jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, entry) -> {
+                int index = 1;
+                ps.setLong(index++, entry.getKey());
+                for (String column : columns) {
+                    ps.setObject(index++, entry.getValue().get(column));
+                }
+                ps.setLong(index, entry.getKey());
+            });
+        }
+    }
+
+    private void writeProfileViews(List<Map.Entry<Long, Long>> batch) {
+        jdbcTemplate.batchUpdate(UPSERT_PROFILE_VIEWS_SQL, batch, batch.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getKey());
+            ps.setLong(2, entry.getValue());
+            ps.setLong(3, entry.getKey());
+        });
+    }
+
+    private static <K, V> WriteBehindBuffer.BatchWriter<K, V> inTransaction(TransactionTemplate transactionTemplate,
+                                                                          WriteBehindBuffer.BatchWriter<K, V> writer) {
+        return batch -> transactionTemplate.executeWithoutResult(status -> writer.write(batch));
+    }
+
+    private static Map<String, Object> mergeSettings(Map<String, Object> older, Map<String, Object> newer) {
+        Map<String, Object> merged = new LinkedHashMap<>(older);
+        merged.putAll(newer);
+        return merged;
+    }
+
+    // 偏好唯一键，对应uk_user_preferences_user_type_key
+    record PreferenceKey(Long userId, String type, String key) {
+    }
+
+    // 偏好合并值 - value为null表示本轮只有交互计数变化
+    record PreferenceUpdate(String value, long interactions, LocalDateTime lastInteractionAt) {
+
+        static PreferenceUpdate merge(PreferenceUpdate older, PreferenceUpdate newer) {
+            String value = newer.value != null ? newer.value : older.value;
+            LocalDateTime last = older.lastInteractionAt == null ? newer.lastInteractionAt
+                    : newer.lastInteractionAt == null ? older.lastInteractionAt
+                    : newer.lastInteractionAt.isAfter(older.lastInteractionAt) ? newer.lastInteractionAt : older.lastInteractionAt;
+            return new PreferenceUpdate(value, older.interactions + newer.interactions, last);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * WriteBehindDeadLetterStore类
+ * 写后缓冲死信存储，保存连续刷盘失败后不再重试的更新
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.knene.infrastructure.cache.strategy.WriteBehindBuffer;
+import com.knene.infrastructure.persistence.typehandler.JsonCodecs;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// 写后死信存储 - 键和合并后的值以JSON写入write_behind_dead_letters，排查原因后按缓冲区名称人工重放
+public class WriteBehindDeadLetterStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO write_behind_dead_letters (buffer_name, entry_key, entry_value) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WriteBehindDeadLetterStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 指定缓冲区的死信写入器
+    public <K, V> WriteBehindBuffer.BatchWriter<K, V> writerFor(String bufferName) {
+        return entries -> jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, bufferName);
+            ps.setString(2, toJson(entry.getKey()));
+            ps.setString(3, toJson(entry.getValue()));
+        });
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return JsonCodecs.valueWriter().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("死信序列化失败：" + value, e);
+        }
+    }
+}
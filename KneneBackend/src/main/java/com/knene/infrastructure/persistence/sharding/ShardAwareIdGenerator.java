@@ -0,0 +1,41 @@
+/**
+ * ShardAwareIdGenerator类
+ * 分片感知ID生成器，在ID低位嵌入所属用户的分片槽号
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.sharding;
+
+import com.knene.infrastructure.persistence.id.SnowflakeIdGenerator;
+
+// 分片感知ID生成器 - 布局：时间戳41位 | 节点号 | 序列号12位 | 槽号，只凭ID即可定位分片
+// 时间戳、序列号和时钟回拨处理复用雪花ID生成器，节点号与序列号整体左移腾出低位放槽号
+public class ShardAwareIdGenerator {
+
+    private static final long NODE_AND_SEQUENCE_MASK = (1L << SnowflakeIdGenerator.TIMESTAMP_SHIFT) - 1;
+
+    private final int slotBits;
+    private final long slotMask;
+    private final SnowflakeIdGenerator generator;
+
+    // maxClockBackward为可容忍的时钟回拨毫秒数，与全局雪花ID生成器共用配置
+    public ShardAwareIdGenerator(UserShardRouter router, int workerId, long maxClockBackward) {
+        this.slotBits = router.getSlotBits();
+        int workerBits = SnowflakeIdGenerator.NODE_BITS - slotBits; // 节点号与槽号共用雪花ID的节点号位
+        if (workerBits < 0 || workerId < 0 || workerId >= (1 << workerBits)) {
+            throw new IllegalArgumentException("节点号超出范围，当前槽位数下最多支持" + (1 << Math.max(workerBits, 0)) + "个节点");
+        }
+        this.slotMask = (1L << slotBits) - 1;
+        this.generator = new SnowflakeIdGenerator(workerId, maxClockBackward);
+    }
+
+    // 为指定用户生成新ID，ID与user_id落在同一分片
+    public long nextId(long userId) {
+        long id = generator.nextId();
+        return (id & ~NODE_AND_SEQUENCE_MASK)
+                | ((id & NODE_AND_SEQUENCE_MASK) << slotBits)
+                | (userId & slotMask);
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * ShardCallback类
+ * 单个分片上执行的数据访问回调
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.sharding;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+// 分片回调 - 通过route.table(逻辑表名)拼出物理表名，jdbc已绑定到该分片所在的库
+@FunctionalInterface
+public interface ShardCallback<T> {
+
+    T doInShard(ShardRoute route, NamedParameterJdbcTemplate jdbc);
+}
@@ -0,0 +1,51 @@
+/**
+ * ShardRoute类
+ * 分片路由结果，描述一条记录所在的分库和物理表
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.sharding;
+
+import java.util.Objects;
+
+// 分片路由结果 - 逻辑表名加上表序号后缀即为物理表名，如browse_history_2
+public final class ShardRoute {
+
+    private final int slot; // 全局分片槽号
+    private final String dataSourceName; // 分库数据源名称
+    private final int tableIndex; // 库内物理表序号
+
+    public ShardRoute(int slot, String dataSourceName, int tableIndex) {
+        this.slot = slot;
+        this.dataSourceName = dataSourceName;
+        this.tableIndex = tableIndex;
+    }
+
+    // 逻辑表名转物理表名
+    public String table(String logicalTable) {
+        return logicalTable + "_" + tableIndex;
+    }
+
+    public int getSlot() { return slot; }
+    public String getDataSourceName() { return dataSourceName; }
+    public int getTableIndex() { return tableIndex; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ShardRoute that)) return false;
+        return slot == that.slot && tableIndex == that.tableIndex && Objects.equals(dataSourceName, that.dataSourceName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(slot, dataSourceName, tableIndex);
+    }
+
+    @Override
+    public String toString() {
+        return dataSourceName + ".t_" + tableIndex;
+    }
+}
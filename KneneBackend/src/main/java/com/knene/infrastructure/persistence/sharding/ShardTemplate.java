@@ -0,0 +1,169 @@
+/**
+ * ShardTemplate类
+ * 分片数据访问模板，提供单分片快速路径和跨分片并行查询
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 分片数据访问模板 - 带user_id或分片感知ID的请求只访问一个分片，管理端查询才并行扇出
+// 只接受配置为分片表的逻辑表，未配置的表仍在主库，误经模板访问时直接拒绝而不是拼出不存在的物理表
+public class ShardTemplate implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardTemplate.class);
+
+    private final UserShardRouter router;
+    private final Set<String> shardedTables; // app.datasource.sharding.sharded-tables
+    private final Map<String, DataSource> dataSources;
+    private final Map<String, NamedParameterJdbcTemplate> templates; // 数据源名称 -> 模板
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public ShardTemplate(UserShardRouter router, Set<String> shardedTables, Map<String, DataSource> dataSources,
+                         ExecutorService executor, Duration timeout) {
+        this.router = router;
+        this.shardedTables = Set.copyOf(shardedTables);
+        this.dataSources = dataSources;
+        this.templates = new HashMap<>();
+        dataSources.forEach((name, ds) -> templates.put(name, new NamedParameterJdbcTemplate(ds)));
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    // 单分片快速路径 - 按用户ID定位，在调用线程内直接执行
+    public <T> T executeForUser(String table, long userId, ShardCallback<T> callback) {
+        checkSharded(table);
+        return execute(router.routeByUserId(userId), callback);
+    }
+
+    // 单分片快速路径 - 按分片感知ID定位
+    public <T> T executeForId(String table, long id, ShardCallback<T> callback) {
+        checkSharded(table);
+        return execute(router.routeById(id), callback);
+    }
+
+    // 跨分片查询并归并排序 - 回调须按order排序并自行带上LIMIT limit，合并后再截取前limit条
+    public <T> List<T> scatterGather(String table, ShardCallback<List<T>> callback, Comparator<? super T> order,
+                                     int limit) {
+        checkSharded(table);
+        List<List<T>> partials = fanOut(callback);
+        return mergeSorted(partials, order, limit);
+    }
+
+    // 跨分片求和，用于计数类统计
+    public long sum(String table, ShardCallback<Long> callback) {
+        checkSharded(table);
+        long total = 0L;
+        for (Long value : fanOut(callback)) {
+            total += value != null ? value : 0L;
+        }
+        return total;
+    }
+
+    // 逻辑表是否按用户分片
+    public boolean isSharded(String table) {
+        return shardedTables.contains(table);
+    }
+
+    // 各分库数据源
+    public Map<String, DataSource> dataSources() {
+        return dataSources;
+    }
+
+    // 关闭查询线程池和分库连接池
+    @Override
+    public void close() {
+        executor.shutdown();
+        dataSources.forEach((name, dataSource) -> {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("关闭分库数据源失败: {}", name, e);
+                }
+            }
+        });
+    }
+
+    private void checkSharded(String table) {
+        if (!shardedTables.contains(table)) {
+            throw new IllegalArgumentException("表" + table + "未配置为分片表：app.datasource.sharding.sharded-tables");
+        }
+    }
+
+    private <T> T execute(ShardRoute route, ShardCallback<T> callback) {
+        return callback.doInShard(route, templates.get(route.getDataSourceName()));
+    }
+
+    // 并行在全部分片上执行回调，任一分片失败或超时则整体失败
+    private <T> List<T> fanOut(ShardCallback<T> callback) {
+        List<ShardRoute> routes = router.allRoutes();
+        List<CompletableFuture<T>> futures = new ArrayList<>(routes.size());
+        for (ShardRoute route : routes) {
+            futures.add(CompletableFuture.supplyAsync(() -> execute(route, callback), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("跨分片查询超时（" + timeout.toMillis() + "ms）", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("跨分片查询被中断", e);
+        } catch (ExecutionException e) {
+            log.error("跨分片查询失败", e.getCause());
+            throw new IllegalStateException("跨分片查询失败", e.getCause());
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    // K路归并：各分片结果已有序，堆里只放每路的当前元素
+    static <T> List<T> mergeSorted(List<List<T>> partials, Comparator<? super T> order, int limit) {
+        PriorityQueue<int[]> heap = new PriorityQueue<>(
+                (a, b) -> order.compare(partials.get(a[0]).get(a[1]), partials.get(b[0]).get(b[1])));
+        for (int i = 0; i < partials.size(); i++) {
+            if (partials.get(i) != null && !partials.get(i).isEmpty()) {
+                heap.add(new int[]{i, 0});
+            }
+        }
+
+        List<T> merged = new ArrayList<>(Math.max(limit, 0));
+        while (!heap.isEmpty() && merged.size() < limit) {
+            int[] cursor = heap.poll();
+            List<T> partial = partials.get(cursor[0]);
+            merged.add(partial.get(cursor[1]));
+            if (cursor[1] + 1 < partial.size()) {
+                heap.add(new int[]{cursor[0], cursor[1] + 1});
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * UserShardRouter类
+ * 用户维度分片路由器，按user_id或分片感知ID计算所在分片
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 用户维度分片路由器 - 槽号 = user_id % 槽数，库号 = 槽号 % 库数，表号 = 槽号 / 库数
+public class UserShardRouter {
+
+    private final List<ShardRoute> routes; // 下标即槽号
+    private final int slotCount;
+    private final int slotMask;
+
+    public UserShardRouter(List<String> dataSourceNames, int tablesPerDataSource) {
+        if (dataSourceNames.isEmpty() || tablesPerDataSource <= 0) {
+            throw new IllegalArgumentException("分库数量和每库表数必须大于0");
+        }
+        int slots = dataSourceNames.size() * tablesPerDataSource;
+        if (Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("分片槽数必须是2的幂，当前为" + slots);
+        }
+
+        // 槽号的低位决定库、高位决定表，保证同一用户的数据始终落在同一张物理表
+        List<ShardRoute> list = new ArrayList<>(slots);
+        for (int slot = 0; slot < slots; slot++) {
+            int dsIndex = slot % dataSourceNames.size();
+            list.add(new ShardRoute(slot, dataSourceNames.get(dsIndex), slot / dataSourceNames.size()));
+        }
+        this.routes = List.copyOf(list);
+        this.slotCount = slots;
+        this.slotMask = slots - 1;
+    }
+
+    // 按用户ID路由
+    public ShardRoute routeByUserId(long userId) {
+        return routes.get((int) (userId & slotMask));
+    }
+
+    // 按分片感知ID路由，ID低位内嵌了所属用户的槽号
+    public ShardRoute routeById(long id) {
+        return routes.get((int) (id & slotMask));
+    }
+
+    // 全部分片，跨分片查询使用
+    public List<ShardRoute> allRoutes() {
+        return routes;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    // 槽号占用的ID低位位数
+    public int getSlotBits() {
+        return Integer.numberOfTrailingZeros(slotCount);
+    }
+}
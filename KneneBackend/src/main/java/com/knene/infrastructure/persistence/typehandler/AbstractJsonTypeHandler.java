@@ -0,0 +1,83 @@
+/**
+ * AbstractJsonTypeHandler类
+ * JSON列类型处理器基类，将JSON列绑定为强类型对象
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.io.IOException;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// JSON列类型处理器基类 - 目标类型取自子类的泛型参数；读取直接解析列的UTF-8字节，不经过中间String
+// 子类须标注@MappedTypes，放在type-handlers-package下即自动注册；抽象类不会被包扫描注册
+public abstract class AbstractJsonTypeHandler<T> extends BaseTypeHandler<T> {
+
+    // 首次读写时才按泛型参数创建，构造期间不调用实例方法；并发下重复创建的实例等价，以volatile发布
+    private volatile ObjectReader reader;
+    private volatile ObjectWriter writer;
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, T parameter, JdbcType jdbcType) throws SQLException {
+        try {
+            ps.setString(i, writer().writeValueAsString(parameter));
+        } catch (JsonProcessingException e) {
+            throw new SQLException("JSON序列化失败：" + getRawType().getTypeName(), e);
+        }
+    }
+
+    @Override
+    public T getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return parse(rs.getBytes(columnName));
+    }
+
+    @Override
+    public T getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return parse(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public T getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return parse(cs.getBytes(columnIndex));
+    }
+
+    private T parse(byte[] json) throws SQLException {
+        if (json == null || json.length == 0) {
+            return null;
+        }
+        try {
+            return reader().readValue(json);
+        } catch (IOException e) {
+            throw new SQLException("JSON反序列化失败：" + getRawType().getTypeName(), e);
+        }
+    }
+
+    private ObjectReader reader() {
+        ObjectReader current = reader;
+        if (current == null) {
+            current = JsonCodecs.readerFor(getRawType());
+            reader = current;
+        }
+        return current;
+    }
+
+    private ObjectWriter writer() {
+        ObjectWriter current = writer;
+        if (current == null) {
+            current = JsonCodecs.writerFor(getRawType());
+            writer = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * JsonCodecs类
+ * JSON列编解码器缓存，按Java类型复用Jackson的ObjectReader和ObjectWriter
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+// JSON列编解码器缓存 - ObjectReader/ObjectWriter不可变且线程安全，按类型构建一次后复用，省去每次查找序列化器
+public final class JsonCodecs {
+
+    private static final ObjectMapper MAPPER = createMapper();
+    private static final ConcurrentHashMap<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Type, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private JsonCodecs() {
+    }
+
+    public static ObjectReader readerFor(Type type) {
+        return READERS.computeIfAbsent(type, t -> MAPPER.readerFor(javaType(t)));
+    }
+
+    public static ObjectWriter writerFor(Type type) {
+        return WRITERS.computeIfAbsent(type, t -> MAPPER.writerFor(javaType(t)));
+    }
+
+    // 局部更新时把单个值序列化为JSON片段
+    public static ObjectWriter valueWriter() {
+        return WRITERS.computeIfAbsent(Object.class, t -> MAPPER.writer());
+    }
+
+    public static JavaType javaType(Type type) {
+        return MAPPER.getTypeFactory().constructType(type);
+    }
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES); // 文档中多出的字段不影响读取
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL); // 空字段不写入，减小文档体积
+        return mapper;
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * JsonColumnUpdate类
+ * JSON列局部更新表达式构建器，生成JSON_SET/JSON_REMOVE/JSON_MERGE_PATCH而不是整列覆盖
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// JSON列局部更新 - 多个操作嵌套成一个表达式，在服务端就地修改文档，网络上只传变化的片段
+// 列名和路径经过白名单校验后才拼入SQL，值一律以?绑定
+// 同一路径的操作先在Java中合并：重复累加合为一个增量，设置后的累加折算进设置值，每个路径只生成一个JSON_SET；
+// 累加的旧值直接取自列本身，表达式和参数随操作数线性增长。合并补丁之后的累加无法确定旧值，直接拒绝
+// JSON_SET在父节点不存在时静默不生效，set和increment会先用JSON_INSERT补齐缺失的对象父节点；
+// 路径中出现数组下标时，下标及其后的父节点不自动创建，父节点不是对象（如标量）时同样不生效
+public final class JsonColumnUpdate {
+
+    private static final Pattern COLUMN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,63}");
+    private static final Pattern PATH = Pattern.compile("\\$(\\.[A-Za-z_][A-Za-z0-9_]*|\\[\\d+])+");
+    private static final Pattern SEGMENT = Pattern.compile("\\.[A-Za-z_][A-Za-z0-9_]*|\\[\\d+]");
+
+    private final String column;
+    private final List<Operation> operations = new ArrayList<>(); // 按调用顺序生成表达式
+    private final Map<String, Operation> pending = new HashMap<>(); // 最近一次合并补丁之后各路径上的操作
+    private boolean patched; // 是否已有合并补丁
+
+    private JsonColumnUpdate(String column) {
+        if (!COLUMN.matcher(column).matches()) {
+            throw new IllegalArgumentException("非法的JSON列名：" + column);
+        }
+        this.column = column;
+    }
+
+    public static JsonColumnUpdate of(String column) {
+        return new JsonColumnUpdate(column);
+    }
+
+    // 设置路径上的值，路径不存在时创建；覆盖此前对该路径及其子路径的操作
+    public JsonColumnUpdate set(String path, Object value) {
+        String checked = checkPath(path);
+        put(checked, new SetValue(checked, value, toJson(value)));
+        return this;
+    }
+
+    // 数值字段原地累加，字段不存在时从0开始
+    public JsonColumnUpdate increment(String path, long delta) {
+        String checked = checkPath(path);
+        Operation previous = pending.get(checked);
+        if (previous instanceof SetValue set) {
+            Object sum = add(set.value(), delta, checked);
+            put(checked, new SetValue(checked, sum, toJson(sum)));
+        } else if (previous instanceof Increment increment) {
+            put(checked, new Increment(checked, Math.addExact(increment.delta(), delta)));
+        } else if (previous instanceof Remove || ancestorRemoved(checked)) {
+            put(checked, new SetValue(checked, delta, toJson(delta)));
+        } else if (patched) {
+            throw new IllegalStateException("合并补丁之后无法确定旧值，累加须放在mergePatch之前：" + checked);
+        } else {
+            put(checked, new Increment(checked, delta));
+        }
+        return this;
+    }
+
+    // 删除路径上的值
+    public JsonColumnUpdate remove(String path) {
+        String checked = checkPath(path);
+        put(checked, new Remove(checked));
+        return this;
+    }
+
+    // 按RFC 7396合并补丁，补丁中为null的字段会被删除；之后的操作不再与之前的合并
+    public JsonColumnUpdate mergePatch(Object patch) {
+        operations.add(new MergePatch(toJson(patch)));
+        pending.clear();
+        patched = true;
+        return this;
+    }
+
+    // SET子句片段，形如 column = JSON_SET(...)
+    public String toSetClause() {
+        return column + " = " + render(new ArrayList<>());
+    }
+
+    public List<Object> getParameters() {
+        List<Object> parameters = new ArrayList<>();
+        render(parameters);
+        return Collections.unmodifiableList(parameters);
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    // 记录路径上的操作：已有操作原位替换，子路径上的操作已被覆盖，一并移除
+    private void put(String path, Operation operation) {
+        Iterator<Map.Entry<String, Operation>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Operation> entry = iterator.next();
+            if (isAncestor(path, entry.getKey())) {
+                operations.remove(indexOf(entry.getValue()));
+                iterator.remove();
+            }
+        }
+        Operation previous = pending.put(path, operation);
+        if (previous != null) {
+            operations.set(indexOf(previous), operation);
+        } else {
+            operations.add(operation);
+        }
+    }
+
+    // 祖先路径被删除时累加从0开始；祖先路径被设置或累加时无法确定旧值
+    private boolean ancestorRemoved(String path) {
+        boolean removed = false;
+        for (Map.Entry<String, Operation> entry : pending.entrySet()) {
+            if (!isAncestor(entry.getKey(), path)) {
+                continue;
+            }
+            if (!(entry.getValue() instanceof Remove)) {
+                throw new IllegalStateException("父路径" + entry.getKey() + "已被覆盖，无法累加：" + path);
+            }
+            removed = true;
+        }
+        return removed;
+    }
+
+    // 按引用查找，相同内容的操作可能分别位于合并补丁前后
+    private int indexOf(Operation operation) {
+        for (int i = operations.size() - 1; i >= 0; i--) {
+            if (operations.get(i) == operation) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("操作不在队列中");
+    }
+
+    private String render(List<Object> parameters) {
+        String expression = "COALESCE(" + column + ", JSON_OBJECT())";
+        for (Operation operation : operations) {
+            expression = switch (operation) {
+                case SetValue set -> {
+                    parameters.add(set.json());
+                    yield "JSON_SET(" + withParents(expression, set.path()) + ", '" + set.path()
+                            + "', CAST(? AS JSON))";
+                }
+                case Increment increment -> {
+                    parameters.add(increment.delta());
+                    yield "JSON_SET(" + withParents(expression, increment.path()) + ", '" + increment.path()
+                            + "', COALESCE(JSON_EXTRACT(" + column + ", '" + increment.path() + "'), 0) + ?)";
+                }
+                case Remove remove -> "JSON_REMOVE(" + expression + ", '" + remove.path() + "')";
+                case MergePatch patch -> {
+                    parameters.add(patch.json());
+                    yield "JSON_MERGE_PATCH(" + expression + ", CAST(? AS JSON))";
+                }
+            };
+        }
+        return expression;
+    }
+
+    // 由外到内为缺失的对象父节点插入空对象，已存在的父节点JSON_INSERT不做修改
+    private static String withParents(String document, String path) {
+        Matcher matcher = SEGMENT.matcher(path);
+        StringBuilder parent = new StringBuilder("$");
+        String wrapped = document;
+        while (matcher.find()) {
+            String segment = matcher.group();
+            if (segment.startsWith("[")) {
+                break;
+            }
+            if (parent.length() > 1) {
+                wrapped = "JSON_INSERT(" + wrapped + ", '" + parent + "', JSON_OBJECT())";
+            }
+            parent.append(segment);
+        }
+        return wrapped;
+    }
+
+    // ancestor是否为path的真祖先路径
+    private static boolean isAncestor(String ancestor, String path) {
+        if (path.length() <= ancestor.length() || !path.startsWith(ancestor)) {
+            return false;
+        }
+        char next = path.charAt(ancestor.length());
+        return next == '.' || next == '[';
+    }
+
+    // 设置值与增量相加，整数保持整数，其余数值按十进制精确相加
+    private static Object add(Object value, long delta, String path) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return Math.addExact(((Number) value).longValue(), delta);
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString()).add(BigDecimal.valueOf(delta));
+        }
+        throw new IllegalArgumentException("路径上设置的值不是数值，不能累加：" + path);
+    }
+
+    private static String checkPath(String path) {
+        if (!PATH.matcher(path).matches()) {
+            throw new IllegalArgumentException("非法的JSON路径：" + path);
+        }
+        return path;
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return JsonCodecs.valueWriter().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON序列化失败：" + value.getClass().getName(), e);
+        }
+    }
+
+    private sealed interface Operation permits SetValue, Increment, Remove, MergePatch {
+    }
+
+    private record SetValue(String path, Object value, String json) implements Operation {
+    }
+
+    private record Increment(String path, long delta) implements Operation {
+    }
+
+    private record Remove(String path) implements Operation {
+    }
+
+    private record MergePatch(String json) implements Operation {
+    }
+}
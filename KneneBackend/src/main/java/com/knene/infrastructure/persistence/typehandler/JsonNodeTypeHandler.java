@@ -0,0 +1,17 @@
+/**
+ * JsonNodeTypeHandler类
+ * JsonNode类型处理器，结构不固定的JSON列按树模型读写
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.ibatis.type.MappedTypes;
+
+// JsonNode类型处理器 - 用于尚未定义强类型记录的JSON列
+@MappedTypes(JsonNode.class)
+public class JsonNodeTypeHandler extends AbstractJsonTypeHandler<JsonNode> {
+}
@@ -0,0 +1,32 @@
+/**
+ * JsonStringList类
+ * 字符串数组JSON列的值类型，对应tags、subtitle_languages等列
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.List;
+
+// 字符串数组JSON值 - 序列化为JSON数组；单独成类是为了注册类型处理器时不影响普通List参数
+public record JsonStringList(List<String> values) {
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public JsonStringList {
+        values = values != null ? List.copyOf(values) : List.of();
+    }
+
+    @JsonValue
+    public List<String> values() {
+        return values;
+    }
+
+    public static JsonStringList of(String... values) {
+        return new JsonStringList(List.of(values));
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * JsonStringListTypeHandler类
+ * 字符串数组JSON列类型处理器
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import org.apache.ibatis.type.MappedTypes;
+
+// 字符串数组JSON列类型处理器
+@MappedTypes(JsonStringList.class)
+public class JsonStringListTypeHandler extends AbstractJsonTypeHandler<JsonStringList> {
+}
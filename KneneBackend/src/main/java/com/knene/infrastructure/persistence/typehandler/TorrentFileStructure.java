@@ -0,0 +1,23 @@
+/**
+ * TorrentFileStructure类
+ * 种子文件结构，对应torrent_files.file_structure列
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import java.util.List;
+
+// 种子文件结构 - 文件相对路径及字节数
+public record TorrentFileStructure(List<FileEntry> files, Long totalSize) {
+
+    public TorrentFileStructure {
+        files = files != null ? List.copyOf(files) : List.of();
+    }
+
+    // 种子内的单个文件
+    public record FileEntry(String path, long size) {
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * TorrentFileStructureTypeHandler类
+ * 种子文件结构JSON列类型处理器
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import org.apache.ibatis.type.MappedTypes;
+
+// 种子文件结构JSON列类型处理器
+@MappedTypes(TorrentFileStructure.class)
+public class TorrentFileStructureTypeHandler extends AbstractJsonTypeHandler<TorrentFileStructure> {
+}
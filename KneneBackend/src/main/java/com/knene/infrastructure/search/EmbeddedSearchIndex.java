@@ -0,0 +1,513 @@
+/**
+ * EmbeddedSearchIndex类
+ * 内嵌全文检索引擎，在无Elasticsearch的部署中提供种子标题检索
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import com.knene.infrastructure.search.facet.FacetFilter;
+import com.knene.infrastructure.search.facet.FacetIndex;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// 内嵌全文检索引擎 - 写入先进内存缓冲，refresh后生成新段对检索可见（近实时，与Elasticsearch的refresh语义一致）
+// 检索读取段列表快照，无锁；段数超过上限时后台合并最小的若干段，合并期间的删除在替换时补齐
+// 相关度为BM25F：各字段BM25得分乘字段权重后求和，IDF和平均长度取全部段的汇总值
+// 设置质量排序后，写入时为每篇文档算好先验分，检索只对相关度前若干名按先验分重排
+// 带属性筛选条件的检索先由筛选索引求出满足条件的ID位图，打分时跳过位图外的文档
+public class EmbeddedSearchIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedSearchIndex.class);
+
+    private static final SearchField[] FIELDS = SearchField.values();
+    private static final int MAX_QUERY_TERMS = 32; // 查询词项上限，命中词项用int位图记录
+
+    private final float k1;
+    private final float b;
+    private final float[] boosts;
+    private final int maxDescriptionChars; // 描述字段只索引前若干字符，控制倒排体积
+    private final int flushThreshold; // 缓冲文档数达到该值时自动refresh
+    private final int maxSegments;
+    private final int maxSegmentDocs; // 合并产生的段文档数上限
+
+    private volatile List<IndexSegment> segments = List.of();
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final ReentrantLock refreshLock = new ReentrantLock(); // 发布新段、删除标记和合并替换互斥
+    private final ReentrantLock mergeLock = new ReentrantLock(); // 后台合并与forceMerge互斥，避免同一段被重复合并
+    private LinkedHashMap<Long, TorrentSearchDocument> pendingDocs = new LinkedHashMap<>();
+    private Set<Long> pendingDeletes = new HashSet<>();
+    private final ExecutorService mergeExecutor;
+    private final AtomicBoolean merging = new AtomicBoolean();
+    private volatile Consumer<Set<Integer>> changeListener; // refresh后接收发生变化的分类，检索结果缓存据此失效
+    private volatile QualityRanking ranking; // 为null时只按文本相关度排序
+    private volatile FacetIndex facetIndex; // 未启用属性筛选时为null
+
+    public EmbeddedSearchIndex(float k1, float b, Map<SearchField, Float> boosts, int maxDescriptionChars,
+                               int flushThreshold, int maxSegments, int maxSegmentDocs) {
+        this.k1 = k1;
+        this.b = b;
+        this.boosts = new float[FIELDS.length];
+        for (SearchField field : FIELDS) {
+            this.boosts[field.ordinal()] = boosts.getOrDefault(field, field.getDefaultBoost());
+        }
+        this.maxDescriptionChars = maxDescriptionChars;
+        this.flushThreshold = flushThreshold;
+        this.maxSegments = Math.max(2, maxSegments);
+        this.maxSegmentDocs = maxSegmentDocs;
+        this.mergeExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "search-segment-merge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 写入或覆盖文档，refresh后对检索可见
+    public void index(TorrentSearchDocument document) {
+        boolean flush;
+        bufferLock.lock();
+        try {
+            pendingDocs.put(document.id(), document);
+            pendingDeletes.add(document.id());
+            flush = pendingDocs.size() >= flushThreshold;
+        } finally {
+            bufferLock.unlock();
+        }
+        if (flush) {
+            refresh();
+        }
+    }
+
+    public void delete(long id) {
+        bufferLock.lock();
+        try {
+            pendingDocs.remove(id);
+            pendingDeletes.add(id);
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    // 注册变更监听，每次refresh有文档新增、删除或检索字段变化时回调一次，参数为涉及的分类ID
+    public void setChangeListener(Consumer<Set<Integer>> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    // 设置质量排序，需在写入文档前设置；之前写入的段先验分为0
+    public void setRanking(QualityRanking ranking) {
+        this.ranking = ranking;
+    }
+
+    // 设置属性筛选索引，筛选索引由同一个索引器同步写入；筛选索引写入即生效，与段的近实时可见存在短暂差异
+    public void setFacetIndex(FacetIndex facetIndex) {
+        this.facetIndex = facetIndex;
+    }
+
+    // 把缓冲区写成新段并应用删除，返回本次新写入的文档数
+    public int refresh() {
+        Set<Integer> changedCategories = new HashSet<>();
+        int written = refreshSegments(changedCategories);
+        notifyChanged(changedCategories);
+        return written;
+    }
+
+    // 用全量重建的索引整体替换当前全部段，相当于别名切换；staging之后不再使用
+    // 缓冲区中尚未refresh的写入保留，下次refresh时覆盖新段中的旧版本
+    public void swapFrom(EmbeddedSearchIndex staging) {
+        staging.refresh();
+        Set<Integer> changedCategories = new HashSet<>();
+        mergeLock.lock();
+        try {
+            refreshLock.lock();
+            try {
+                // 后台合并的源段不在新段列表中，合并结果会被丢弃
+                List<IndexSegment> previous = segments;
+                segments = staging.segments;
+                staging.segments = List.of();
+                collectCategories(previous, changedCategories);
+                collectCategories(segments, changedCategories);
+            } finally {
+                refreshLock.unlock();
+            }
+        } finally {
+            mergeLock.unlock();
+        }
+        notifyChanged(changedCategories);
+    }
+
+    private void notifyChanged(Set<Integer> changedCategories) {
+        Consumer<Set<Integer>> listener = changeListener;
+        if (listener != null && !changedCategories.isEmpty()) {
+            try {
+                listener.accept(changedCategories);
+            } catch (RuntimeException e) {
+                log.warn("检索索引变更回调失败", e);
+            }
+        }
+    }
+
+    private static void collectCategories(List<IndexSegment> segments, Set<Integer> categories) {
+        for (IndexSegment segment : segments) {
+            for (int ordinal = 0; ordinal < segment.maxDoc(); ordinal++) {
+                categories.add(segment.category(ordinal));
+            }
+        }
+    }
+
+    private int refreshSegments(Set<Integer> changedCategories) {
+        refreshLock.lock();
+        try {
+            // 1. 取出缓冲区，之后的写入进入新缓冲区
+            LinkedHashMap<Long, TorrentSearchDocument> docs;
+            Set<Long> deletes;
+            bufferLock.lock();
+            try {
+                docs = pendingDocs;
+                deletes = pendingDeletes;
+                pendingDocs = new LinkedHashMap<>();
+                pendingDeletes = new HashSet<>();
+            } finally {
+                bufferLock.unlock();
+            }
+            if (docs.isEmpty() && deletes.isEmpty()) {
+                return 0;
+            }
+
+            // 2. 先在内存中构建新段，记下各文档的检索字段指纹
+            SegmentBuilder builder = null;
+            Map<Long, Long> fingerprints = new HashMap<>();
+            if (!docs.isEmpty()) {
+                builder = new SegmentBuilder(maxDescriptionChars, ranking);
+                for (TorrentSearchDocument doc : docs.values()) {
+                    fingerprints.put(doc.id(), builder.add(doc));
+                }
+            }
+
+            // 3. 旧段上的覆盖和删除先打标记，再发布新段；期间的检索最多短暂缺少被更新的文档
+            // 覆盖前后指纹相同的更新（如只改了种子详情中不参与检索的字段）不计入变化的分类，检索缓存继续有效
+            List<IndexSegment> current = segments;
+            Set<Long> unchanged = new HashSet<>();
+            for (Long id : deletes) {
+                for (IndexSegment segment : current) {
+                    int ordinal = segment.ordinalOf(id);
+                    if (ordinal >= 0 && segment.delete(ordinal)) {
+                        Long fingerprint = fingerprints.get(id);
+                        if (fingerprint != null && fingerprint == segment.fingerprint(ordinal)) {
+                            unchanged.add(id);
+                        } else {
+                            changedCategories.add(segment.category(ordinal));
+                        }
+                        break;
+                    }
+                }
+            }
+            if (builder != null) {
+                for (TorrentSearchDocument doc : docs.values()) {
+                    if (!unchanged.contains(doc.id())) {
+                        changedCategories.add(doc.categoryId() != null ? doc.categoryId() : 0);
+                    }
+                }
+                List<IndexSegment> next = new ArrayList<>(current);
+                next.add(builder.build());
+                segments = List.copyOf(next);
+            }
+            maybeMerge();
+            return docs.size();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public SearchHits search(SearchQuery query) {
+        List<String> terms = TextAnalyzer.queryTerms(query.text());
+        if (terms.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        Roaring64NavigableMap allowed = allowedIds(query.filter());
+        if (allowed != null && allowed.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+        List<IndexSegment> snapshot = segments;
+        QualityRanking ranking = this.ranking;
+
+        // 1. 汇总全部段的文档数、字段平均长度和各词项在各字段的文档频率
+        long docCount = 0L;
+        long[] totalLengths = new long[FIELDS.length];
+        long[][] docFreqs = new long[terms.size()][FIELDS.length];
+        for (IndexSegment segment : snapshot) {
+            docCount += segment.maxDoc();
+            for (int f = 0; f < FIELDS.length; f++) {
+                totalLengths[f] += segment.totalFieldLength(f);
+                IndexSegment.FieldTerms fieldTerms = segment.terms(f);
+                for (int t = 0; t < terms.size(); t++) {
+                    int index = fieldTerms.find(terms.get(t));
+                    if (index >= 0) {
+                        docFreqs[t][f] += fieldTerms.docFreqs()[index];
+                    }
+                }
+            }
+        }
+        if (docCount == 0L) {
+            return SearchHits.EMPTY;
+        }
+        float[] averageLengths = new float[FIELDS.length];
+        for (int f = 0; f < FIELDS.length; f++) {
+            averageLengths[f] = Math.max(1f, (float) totalLengths[f] / docCount);
+        }
+        float[][] weights = new float[terms.size()][FIELDS.length];
+        for (int t = 0; t < terms.size(); t++) {
+            for (int f = 0; f < FIELDS.length; f++) {
+                long df = docFreqs[t][f];
+                double idf = Math.log(1.0 + (docCount - df + 0.5) / (df + 0.5));
+                weights[t][f] = (float) (boosts[f] * idf * (k1 + 1f));
+            }
+        }
+
+        // 2. 逐段按文档顺序归并各词项倒排并打分，得分最高的from + size条进入小顶堆，启用质量排序时至少收集重排窗口
+        int limit = query.from() + query.size();
+        TopKCollector collector = new TopKCollector(ranking != null ? Math.max(limit, ranking.window()) : limit);
+        long total = 0L;
+        for (IndexSegment segment : snapshot) {
+            total += searchSegment(segment, terms, weights, averageLengths, query, allowed, collector);
+        }
+        return new SearchHits(total, collector.drain(query.from(), query.size(), ranking));
+    }
+
+    // 满足属性筛选条件的ID集合，没有条件时为null
+    private Roaring64NavigableMap allowedIds(FacetFilter filter) {
+        if (filter.isEmpty()) {
+            return null;
+        }
+        FacetIndex facets = facetIndex;
+        if (facets == null) {
+            throw new IllegalStateException("未启用属性筛选索引，不支持按属性筛选检索");
+        }
+        return facets.filter(filter);
+    }
+
+    private long searchSegment(IndexSegment segment, List<String> terms, float[][] weights, float[] averageLengths,
+                               SearchQuery query, Roaring64NavigableMap allowed, TopKCollector collector) {
+        List<TermScorer> scorers = new ArrayList<>();
+        int presentTerms = 0;
+        for (int t = 0; t < terms.size(); t++) {
+            boolean present = false;
+            for (int f = 0; f < FIELDS.length; f++) {
+                IndexSegment.FieldTerms fieldTerms = segment.terms(f);
+                int index = fieldTerms.find(terms.get(t));
+                if (index >= 0) {
+                    scorers.add(new TermScorer(fieldTerms.postings(index), t, f, weights[t][f],
+                            k1 * (1f - b), k1 * b / averageLengths[f]));
+                    present = true;
+                }
+            }
+            presentTerms |= present ? 1 << t : 0;
+        }
+        int allTerms = terms.size() == Integer.SIZE ? -1 : (1 << terms.size()) - 1;
+        if (scorers.isEmpty() || (query.requireAll() && presentTerms != allTerms)) {
+            return 0L;
+        }
+
+        TermScorer[] active = scorers.toArray(new TermScorer[0]);
+        for (TermScorer scorer : active) {
+            scorer.postings.nextDoc();
+        }
+        long matched = 0L;
+        while (true) {
+            int doc = PostingsIterator.NO_MORE_DOCS;
+            for (TermScorer scorer : active) {
+                doc = Math.min(doc, scorer.postings.doc());
+            }
+            if (doc == PostingsIterator.NO_MORE_DOCS) {
+                return matched;
+            }
+
+            float score = 0f;
+            int matchedTerms = 0;
+            for (TermScorer scorer : active) {
+                if (scorer.postings.doc() == doc) {
+                    score += scorer.score(segment.fieldLength(scorer.field, doc));
+                    matchedTerms |= 1 << scorer.termIndex;
+                    scorer.postings.nextDoc();
+                }
+            }
+            if (segment.isDeleted(doc)
+                    || (query.categoryId() != null && segment.category(doc) != query.categoryId())
+                    || (query.requireAll() && matchedTerms != allTerms)
+                    || (allowed != null && !allowed.contains(segment.id(doc)))) {
+                continue;
+            }
+            matched++;
+            collector.collect(segment.id(doc), score, segment.prior(doc));
+        }
+    }
+
+    // 一个词项在一个字段上的打分器：weight * tf / (tf + k1 * (1 - b + b * len / avgLen))
+    private static final class TermScorer {
+
+        final PostingsIterator postings;
+        final int termIndex;
+        final int field;
+        final float weight;
+        final float normBase;
+        final float normPerLength;
+
+        TermScorer(PostingsIterator postings, int termIndex, int field, float weight, float normBase,
+                   float normPerLength) {
+            this.postings = postings;
+            this.termIndex = termIndex;
+            this.field = field;
+            this.weight = weight;
+            this.normBase = normBase;
+            this.normPerLength = normPerLength;
+        }
+
+        float score(int fieldLength) {
+            float tf = postings.freq();
+            return weight * tf / (tf + normBase + normPerLength * fieldLength);
+        }
+    }
+
+    // 段数超过上限时在后台合并文档数最少的若干段，同一时间只有一个合并任务
+    private void maybeMerge() {
+        if (segments.size() <= maxSegments || !merging.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            mergeExecutor.execute(() -> {
+                int merged = 0;
+                try {
+                    merged = mergeSmallest(segments.size() - maxSegments + 1);
+                } catch (RuntimeException e) {
+                    log.error("索引段合并失败", e);
+                } finally {
+                    merging.set(false);
+                }
+                // 本轮有进展且仍超出上限时继续；小段都已达到段大小上限时不再重试
+                if (merged > 0) {
+                    maybeMerge();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            merging.set(false);
+        }
+    }
+
+    // 把全部段尽量合并到段大小上限，全量重建后调用
+    public void forceMerge() {
+        refresh();
+        int merged;
+        do {
+            merged = mergeSmallest(segments.size());
+        } while (merged > 0);
+    }
+
+    // 合并文档数最少的若干段，合并后不超过段大小上限；返回参与合并的段数，不足两段时不合并
+    private int mergeSmallest(int count) {
+        mergeLock.lock();
+        try {
+            List<IndexSegment> candidates = new ArrayList<>(segments);
+            candidates.sort(Comparator.comparingInt(IndexSegment::liveDocs));
+            List<IndexSegment> selected = new ArrayList<>();
+            long docs = 0L;
+            for (IndexSegment candidate : candidates) {
+                if (selected.size() >= Math.max(2, count) || docs + candidate.liveDocs() > maxSegmentDocs) {
+                    break;
+                }
+                selected.add(candidate);
+                docs += candidate.liveDocs();
+            }
+            if (selected.size() < 2) {
+                return 0;
+            }
+
+            SegmentMerger.MergeResult result = SegmentMerger.merge(selected);
+            replaceMerged(result);
+            log.debug("合并{}个索引段，得到{}篇文档", selected.size(), result.segment().maxDoc());
+            return selected.size();
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    // 合并期间源段上新增的删除按序号映射补到新段，再用新段替换源段
+    private void replaceMerged(SegmentMerger.MergeResult result) {
+        refreshLock.lock();
+        try {
+            IndexSegment merged = result.segment();
+            for (int s = 0; s < result.sources().size(); s++) {
+                IndexSegment source = result.sources().get(s);
+                long[] before = result.snapshots()[s];
+                long[] after = source.deletedSnapshot();
+                for (int word = 0; word < after.length; word++) {
+                    long added = after[word] & ~before[word];
+                    while (added != 0) {
+                        int ordinal = (word << 6) + Long.numberOfTrailingZeros(added);
+                        merged.delete(result.docMaps()[s][ordinal]);
+                        added &= added - 1;
+                    }
+                }
+            }
+
+            List<IndexSegment> next = new ArrayList<>(segments.size());
+            boolean inserted = false;
+            for (IndexSegment segment : segments) {
+                if (!result.sources().contains(segment)) {
+                    next.add(segment);
+                } else if (!inserted) {
+                    if (merged.maxDoc() > 0) {
+                        next.add(merged);
+                    }
+                    inserted = true;
+                }
+            }
+            segments = List.copyOf(next);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    // 可检索的文档数，不含未refresh的缓冲
+    public long liveDocs() {
+        long live = 0L;
+        for (IndexSegment segment : segments) {
+            live += segment.liveDocs();
+        }
+        return live;
+    }
+
+    @Override
+    public void close() {
+        mergeExecutor.shutdownNow();
+        try {
+            mergeExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * IndexSegment类
+ * 不可变索引段，包含各字段的词典、压缩倒排表和文档长度
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 不可变索引段 - 除删除标记外构建后不再修改，检索线程无锁读取
+// 段内文档序号从0连续编号，倒排按序号递增存放，文档更新表现为旧段删除加新段写入
+final class IndexSegment {
+
+    private final long[] ids; // 序号 -> 种子ID
+    private final int[] categories; // 序号 -> 分类ID
+    private final float[] priors; // 序号 -> 静态质量先验分，未启用质量排序时为0
+    private final long[] fingerprints; // 序号 -> 参与检索的字段指纹，更新前后相同时不失效检索缓存
+    private final long[] sortedIds; // 按ID排序，用于按ID定位序号
+    private final int[] sortedOrdinals;
+    private final short[][] fieldLengths; // [字段][序号] 词项数，超过short上限时截断
+    private final long[] totalFieldLengths; // 各字段词项总数，用于计算平均长度
+    private final FieldTerms[] fieldTerms;
+    private final AtomicLongArray deleted; // 删除位图
+    private final AtomicInteger deletedCount = new AtomicInteger();
+
+    // 单个字段的词典与倒排，第i个词项的倒排位于postings[offsets[i], offsets[i + 1])
+    record FieldTerms(String[] terms, int[] docFreqs, int[] offsets, byte[] postings) {
+
+        static final FieldTerms EMPTY = new FieldTerms(new String[0], new int[0], new int[]{0}, new byte[0]);
+
+        int find(String term) {
+            return Arrays.binarySearch(terms, term);
+        }
+
+        PostingsIterator postings(int termIndex) {
+            return new PostingsIterator(postings, offsets[termIndex], offsets[termIndex + 1]);
+        }
+    }
+
+    IndexSegment(long[] ids, int[] categories, float[] priors, long[] fingerprints, short[][] fieldLengths,
+                 FieldTerms[] fieldTerms) {
+        this.ids = ids;
+        this.categories = categories;
+        this.priors = priors;
+        this.fingerprints = fingerprints;
+        this.fieldLengths = fieldLengths;
+        this.fieldTerms = fieldTerms;
+        this.totalFieldLengths = new long[fieldLengths.length];
+        for (int f = 0; f < fieldLengths.length; f++) {
+            long total = 0L;
+            for (short length : fieldLengths[f]) {
+                total += length & 0xFFFF;
+            }
+            totalFieldLengths[f] = total;
+        }
+
+        // 按ID排序的序号表，避免为每个文档维护全局哈希表；全量加载按ID递增写入，通常无需排序
+        this.sortedIds = ids.clone();
+        this.sortedOrdinals = new int[ids.length];
+        boolean ascending = true;
+        for (int i = 0; i < ids.length; i++) {
+            sortedOrdinals[i] = i;
+            ascending &= i == 0 || ids[i - 1] < ids[i];
+        }
+        if (!ascending) {
+            Integer[] order = new Integer[ids.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+            for (int i = 0; i < order.length; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedOrdinals[i] = order[i];
+            }
+        }
+        this.deleted = new AtomicLongArray((ids.length + 63) >>> 6);
+    }
+
+    int maxDoc() {
+        return ids.length;
+    }
+
+    int liveDocs() {
+        return ids.length - deletedCount.get();
+    }
+
+    long id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    int category(int ordinal) {
+        return categories[ordinal];
+    }
+
+    float prior(int ordinal) {
+        return priors[ordinal];
+    }
+
+    long fingerprint(int ordinal) {
+        return fingerprints[ordinal];
+    }
+
+    int fieldLength(int field, int ordinal) {
+        return fieldLengths[field][ordinal] & 0xFFFF;
+    }
+
+    long totalFieldLength(int field) {
+        return totalFieldLengths[field];
+    }
+
+    FieldTerms terms(int field) {
+        return fieldTerms[field];
+    }
+
+    boolean isDeleted(int ordinal) {
+        return (deleted.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+    }
+
+    // 标记删除，返回是否由本次调用完成删除
+    boolean delete(int ordinal) {
+        long mask = 1L << ordinal;
+        long previous = deleted.getAndAccumulate(ordinal >>> 6, mask, (current, bit) -> current | bit);
+        if ((previous & mask) != 0) {
+            return false;
+        }
+        deletedCount.incrementAndGet();
+        return true;
+    }
+
+    // 按种子ID查段内序号，不存在时返回-1
+    int ordinalOf(long id) {
+        int index = Arrays.binarySearch(sortedIds, id);
+        return index >= 0 ? sortedOrdinals[index] : -1;
+    }
+
+    // 按种子ID删除，段内不存在或已删除时返回false
+    boolean deleteId(long id) {
+        int ordinal = ordinalOf(id);
+        return ordinal >= 0 && delete(ordinal);
+    }
+
+    // 删除位图快照，段合并时用于识别合并期间新增的删除
+    long[] deletedSnapshot() {
+        long[] snapshot = new long[deleted.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = deleted.get(i);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * PostingsBuffer类
+ * 倒排表编码缓冲区，文档序号差值和词频按变长整数写入
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import java.util.Arrays;
+
+// 倒排表编码缓冲区 - 每条倒排为(序号差值, 词频)两个变长整数，常见词频1只占一个字节
+final class PostingsBuffer {
+
+    static final int MAX_SIZE = Integer.MAX_VALUE - 8; // 数组长度上限
+
+    private byte[] bytes;
+    private int size;
+
+    PostingsBuffer(int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeVInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // 把已写内容复制到target的offset处
+    void copyTo(byte[] target, int offset) {
+        System.arraycopy(bytes, 0, target, offset, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        long required = (long) size + extra;
+        if (required <= bytes.length) {
+            return;
+        }
+        if (required > MAX_SIZE) {
+            throw new IllegalStateException("单个字段的倒排超过2GB，请调小段大小上限");
+        }
+        bytes = Arrays.copyOf(bytes, (int) Math.min(MAX_SIZE, Math.max((long) bytes.length << 1, required)));
+    }
+}
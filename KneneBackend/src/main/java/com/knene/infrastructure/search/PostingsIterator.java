@@ -0,0 +1,55 @@
+/**
+ * PostingsIterator类
+ * 倒排表顺序读取器
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+// 倒排表顺序读取器 - 直接在段内字节数组上解码，不产生中间对象
+final class PostingsIterator {
+
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    private final byte[] bytes;
+    private final int end;
+    private int position;
+    private int doc = -1;
+    private int freq;
+
+    PostingsIterator(byte[] bytes, int start, int end) {
+        this.bytes = bytes;
+        this.position = start;
+        this.end = end;
+    }
+
+    // 前进到下一条倒排，没有更多时doc变为NO_MORE_DOCS
+    int nextDoc() {
+        if (position >= end) {
+            return doc = NO_MORE_DOCS;
+        }
+        doc += readVInt();
+        freq = readVInt();
+        return doc;
+    }
+
+    int doc() {
+        return doc;
+    }
+
+    int freq() {
+        return freq;
+    }
+
+    private int readVInt() {
+        byte b = bytes[position++];
+        int value = b & 0x7F;
+        for (int shift = 7; b < 0; shift += 7) {
+            b = bytes[position++];
+            value |= (b & 0x7F) << shift;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * QualityRanking类
+ * 质量感知排序，把文本相关度与静态质量先验分融合
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+// 质量感知排序 - 先验分在文档写入索引时按信号权重算好，存放在段内按序号索引的数组中，检索时不回表
+// 检索只对文本相关度前window名按融合公式重排，之后的命中保持相关度顺序，分页在window内外都稳定
+// 先验分为各信号归一化到[0, 1]后的加权平均；修改信号权重需全量重建索引，修改融合公式即时生效
+public class QualityRanking {
+
+    private static final int MAX_HOT_LEVEL = 2; // hot_level：0-普通，1-热门，2-超热门
+    private static final float UNSCORED = 0.5f; // 尚未评分的信号按中间值计入
+
+    // 融合公式：MULTIPLY为相关度 * (1 + weight * 先验分)；LINEAR为(1 - weight) * 相关度 / 窗口内最高相关度 + weight * 先验分
+    public enum Fusion {
+        MULTIPLY,
+        LINEAR
+    }
+
+    private final float qualityWeight;
+    private final float healthWeight;
+    private final float seedWeight;
+    private final float hotWeight;
+    private final double seedSaturationLog; // 做种数达到饱和值时信号为1，按对数增长
+    private final Fusion fusion;
+    private final float weight;
+    private final int window;
+
+    public QualityRanking(float qualityWeight, float healthWeight, float seedWeight, float hotWeight,
+                          int seedSaturation, Fusion fusion, float weight, int window) {
+        this.qualityWeight = Math.max(0f, qualityWeight);
+        this.healthWeight = Math.max(0f, healthWeight);
+        this.seedWeight = Math.max(0f, seedWeight);
+        this.hotWeight = Math.max(0f, hotWeight);
+        this.seedSaturationLog = Math.log1p(Math.max(1, seedSaturation));
+        this.fusion = fusion;
+        this.weight = Math.max(0f, fusion == Fusion.LINEAR ? Math.min(1f, weight) : weight);
+        this.window = Math.max(0, window);
+    }
+
+    // 静态先验分，取值[0, 1]；全部信号权重为0时为0
+    public float prior(TorrentSignals signals) {
+        float totalWeight = qualityWeight + healthWeight + seedWeight + hotWeight;
+        if (totalWeight <= 0f) {
+            return 0f;
+        }
+        float quality = signals.overallScore() != null ? clamp(signals.overallScore() / 100.0) : UNSCORED;
+        float health = signals.healthScore() != null ? clamp(signals.healthScore() / 100.0) : UNSCORED;
+        float seeds = clamp(Math.log1p(Math.max(0, signals.seedCount())) / seedSaturationLog);
+        float hot = clamp((double) signals.hotLevel() / MAX_HOT_LEVEL);
+        return (qualityWeight * quality + healthWeight * health + seedWeight * seeds + hotWeight * hot) / totalWeight;
+    }
+
+    // 融合后的得分，topRelevance为重排窗口内的最高相关度
+    public float fuse(float relevance, float topRelevance, float prior) {
+        return switch (fusion) {
+            case MULTIPLY -> relevance * (1f + weight * prior);
+            case LINEAR -> (1f - weight) * (topRelevance > 0f ? relevance / topRelevance : 0f) + weight * prior;
+        };
+    }
+
+    // 参与重排的候选数，检索至少收集这么多条
+    public int window() {
+        return window;
+    }
+
+    private static float clamp(double value) {
+        return (float) Math.min(1.0, Math.max(0.0, value));
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * SearchField枚举
+ * 内嵌搜索引擎的可检索字段
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+// 可检索字段 - 与Elasticsearch资源映射中的text字段对应，默认权重可由配置覆盖
+public enum SearchField {
+
+    TITLE(3.0f),
+    SUBTITLE(2.0f),
+    TAGS(1.5f),
+    DESCRIPTION(0.5f);
+
+    private final float defaultBoost;
+
+    SearchField(float defaultBoost) {
+        this.defaultBoost = defaultBoost;
+    }
+
+    public float getDefaultBoost() {
+        return defaultBoost;
+    }
+}
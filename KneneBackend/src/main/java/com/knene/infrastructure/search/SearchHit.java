@@ -0,0 +1,13 @@
+/**
+ * SearchHit类
+ * 单条检索命中
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+// 单条检索命中 - 只返回种子ID和相关度得分，详情由调用方回表或走缓存读取
+public record SearchHit(long id, float score) {
+}
@@ -0,0 +1,17 @@
+/**
+ * SearchHits类
+ * 检索结果页
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import java.util.List;
+
+// 检索结果页 - total为全部命中数，hits为按得分降序的当前页
+public record SearchHits(long total, List<SearchHit> hits) {
+
+    public static final SearchHits EMPTY = new SearchHits(0L, List.of());
+}
@@ -0,0 +1,39 @@
+/**
+ * SearchQuery类
+ * 种子全文检索请求
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import com.knene.infrastructure.search.facet.FacetFilter;
+
+// 种子全文检索请求 - 语义对应Elasticsearch的multi_match，requireAll对应operator=and
+// filter为属性筛选条件，对应bool查询的filter子句，只过滤不影响得分
+public record SearchQuery(String text, Integer categoryId, boolean requireAll, FacetFilter filter, int from,
+                          int size) {
+
+    public static final int MAX_RESULT_WINDOW = 10_000; // 与Elasticsearch默认的max_result_window一致
+
+    public SearchQuery {
+        if (from < 0 || size < 0 || from + size > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("分页超出范围：from=" + from + ", size=" + size);
+        }
+        filter = filter != null ? filter : FacetFilter.ALL;
+    }
+
+    public SearchQuery(String text, Integer categoryId, boolean requireAll, int from, int size) {
+        this(text, categoryId, requireAll, FacetFilter.ALL, from, size);
+    }
+
+    public static SearchQuery of(String text, int from, int size) {
+        return new SearchQuery(text, null, false, from, size);
+    }
+
+    // 同一查询的另一段结果，关键词和条件不变
+    public SearchQuery page(int from, int size) {
+        return new SearchQuery(text, categoryId, requireAll, filter, from, size);
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * SegmentBuilder类
+ * 索引段构建器，把内存中缓冲的文档写成不可变索引段
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 索引段构建器 - 文档按加入顺序编号，倒排边写边编码，构建时只需对词典排序
+final class SegmentBuilder {
+
+    private static final int FIELD_COUNT = SearchField.values().length;
+
+    private final int maxDescriptionChars;
+    private final QualityRanking ranking; // 为null时先验分全部为0
+    private long[] ids = new long[64];
+    private int[] categories = new int[64];
+    private float[] priors = new float[64];
+    private long[] fingerprints = new long[64];
+    private short[][] fieldLengths = new short[FIELD_COUNT][64];
+    private final List<Map<String, TermPostings>> dictionaries; // 按字段序号排列的词典
+    private int docCount;
+
+    // 构建中的单个词项倒排
+    static final class TermPostings {
+
+        final PostingsBuffer buffer = new PostingsBuffer(16);
+        int lastOrdinal = -1;
+        int docFreq;
+
+        void add(int ordinal, int freq) {
+            buffer.writeVInt(ordinal - lastOrdinal);
+            buffer.writeVInt(freq);
+            lastOrdinal = ordinal;
+            docFreq++;
+        }
+    }
+
+    SegmentBuilder(int maxDescriptionChars, QualityRanking ranking) {
+        this.maxDescriptionChars = maxDescriptionChars;
+        this.ranking = ranking;
+        this.dictionaries = new ArrayList<>(FIELD_COUNT);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            dictionaries.add(new HashMap<>());
+        }
+    }
+
+    // 加入文档，返回文档的检索字段指纹
+    long add(TorrentSearchDocument document) {
+        int ordinal = docCount++;
+        ensureCapacity(ordinal + 1);
+        ids[ordinal] = document.id();
+        categories[ordinal] = document.categoryId() != null ? document.categoryId() : 0;
+        priors[ordinal] = ranking != null ? ranking.prior(document.signals()) : 0f;
+        fingerprints[ordinal] = fingerprint(document, categories[ordinal], priors[ordinal]);
+
+        // 每个字段先在文档内统计词频，再追加到对应词项的倒排末尾
+        Map<String, int[]> frequencies = new HashMap<>();
+        for (SearchField field : SearchField.values()) {
+            int limit = field == SearchField.DESCRIPTION ? maxDescriptionChars : Integer.MAX_VALUE;
+            int[] length = new int[1];
+            TextAnalyzer.analyze(document.text(field), limit, token -> {
+                frequencies.computeIfAbsent(token, t -> new int[1])[0]++;
+                length[0]++;
+            });
+            fieldLengths[field.ordinal()][ordinal] = (short) Math.min(length[0], 0xFFFF);
+            Map<String, TermPostings> dictionary = dictionaries.get(field.ordinal());
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                dictionary.computeIfAbsent(entry.getKey(), t -> new TermPostings()).add(ordinal, entry.getValue()[0]);
+            }
+            frequencies.clear();
+        }
+        return fingerprints[ordinal];
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    IndexSegment build() {
+        IndexSegment.FieldTerms[] fieldTerms = new IndexSegment.FieldTerms[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            fieldTerms[f] = buildField(dictionaries.get(f));
+        }
+        short[][] lengths = new short[FIELD_COUNT][];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            lengths[f] = Arrays.copyOf(fieldLengths[f], docCount);
+        }
+        return new IndexSegment(Arrays.copyOf(ids, docCount), Arrays.copyOf(categories, docCount),
+                Arrays.copyOf(priors, docCount), Arrays.copyOf(fingerprints, docCount), lengths, fieldTerms);
+    }
+
+    // 检索字段指纹 - 覆盖文本字段、标签、分类、筛选属性和先验分；质量信号只以先验分计入，
+    // 未启用质量排序或做种数已超过饱和值时，信号变化不改变指纹
+    // 64位FNV-1a，字段之间插入分隔值，避免相邻字段拼接后相同
+    static long fingerprint(TorrentSearchDocument document, int category, float prior) {
+        long hash = 0xCBF29CE484222325L;
+        for (SearchField field : SearchField.values()) {
+            hash = mix(hash, document.text(field));
+        }
+        hash = mix(hash, category);
+        hash = mix(hash, Float.floatToIntBits(prior));
+        TorrentFacets facets = document.facets();
+        hash = mix(hash, facets.qualityLevel() != null ? facets.qualityLevel() : -1);
+        hash = mix(hash, facets.resolution());
+        hash = mix(hash, facets.sourceType());
+        return mix(hash, (facets.freeleech() ? 1 : 0) | (facets.vipOnly() ? 2 : 0));
+    }
+
+    private static long mix(long hash, String text) {
+        if (text == null) {
+            return mix(hash, -1);
+        }
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash, text.length());
+    }
+
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // 词典排序后把各词项的倒排拼接成一个字节数组
+    private static IndexSegment.FieldTerms buildField(Map<String, TermPostings> dictionary) {
+        if (dictionary.isEmpty()) {
+            return IndexSegment.FieldTerms.EMPTY;
+        }
+        String[] terms = dictionary.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[] docFreqs = new int[terms.length];
+        int[] offsets = new int[terms.length + 1];
+        long total = 0L;
+        for (int i = 0; i < terms.length; i++) {
+            TermPostings postings = dictionary.get(terms[i]);
+            docFreqs[i] = postings.docFreq;
+            offsets[i] = (int) total;
+            total += postings.buffer.size();
+            if (total > PostingsBuffer.MAX_SIZE) {
+                throw new IllegalStateException("单个字段的倒排超过2GB，请调小段大小上限");
+            }
+        }
+        offsets[terms.length] = (int) total;
+
+        byte[] bytes = new byte[(int) total];
+        for (int i = 0; i < terms.length; i++) {
+            dictionary.get(terms[i]).buffer.copyTo(bytes, offsets[i]);
+        }
+        return new IndexSegment.FieldTerms(terms, docFreqs, offsets, bytes);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(ids.length << 1, required);
+        ids = Arrays.copyOf(ids, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        priors = Arrays.copyOf(priors, capacity);
+        fingerprints = Arrays.copyOf(fingerprints, capacity);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            fieldLengths[f] = Arrays.copyOf(fieldLengths[f], capacity);
+        }
+    }
+}
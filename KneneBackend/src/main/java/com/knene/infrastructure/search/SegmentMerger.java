@@ -0,0 +1,151 @@
+/**
+ * SegmentMerger类
+ * 索引段合并器，把多个小段合并成一个段并清除已删除文档
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 索引段合并器 - 按删除位图快照重新编号，词典多路归并，倒排直接按新序号重新编码
+// 合并期间源段上新增的删除由调用方按docMaps补到合并结果上
+final class SegmentMerger {
+
+    private static final int FIELD_COUNT = SearchField.values().length;
+
+    private SegmentMerger() {
+    }
+
+    // 合并结果：docMaps[i][旧序号]为合并后的新序号，-1表示快照时已删除
+    record MergeResult(IndexSegment segment, List<IndexSegment> sources, int[][] docMaps, long[][] snapshots) {
+    }
+
+    static MergeResult merge(List<IndexSegment> sources) {
+        int sourceCount = sources.size();
+
+        // 1. 按删除快照为存活文档重新编号，各源段首尾相接，新序号保持递增
+        long[][] snapshots = new long[sourceCount][];
+        int[][] docMaps = new int[sourceCount][];
+        int liveCount = 0;
+        for (int s = 0; s < sourceCount; s++) {
+            IndexSegment source = sources.get(s);
+            snapshots[s] = source.deletedSnapshot();
+            docMaps[s] = new int[source.maxDoc()];
+            for (int ordinal = 0; ordinal < source.maxDoc(); ordinal++) {
+                docMaps[s][ordinal] = isDeleted(snapshots[s], ordinal) ? -1 : liveCount++;
+            }
+        }
+
+        // 2. 复制存活文档的ID、分类、先验分、指纹和字段长度
+        long[] ids = new long[liveCount];
+        int[] categories = new int[liveCount];
+        float[] priors = new float[liveCount];
+        long[] fingerprints = new long[liveCount];
+        short[][] lengths = new short[FIELD_COUNT][liveCount];
+        for (int s = 0; s < sourceCount; s++) {
+            IndexSegment source = sources.get(s);
+            for (int ordinal = 0; ordinal < source.maxDoc(); ordinal++) {
+                int target = docMaps[s][ordinal];
+                if (target < 0) {
+                    continue;
+                }
+                ids[target] = source.id(ordinal);
+                categories[target] = source.category(ordinal);
+                priors[target] = source.prior(ordinal);
+                fingerprints[target] = source.fingerprint(ordinal);
+                for (int f = 0; f < FIELD_COUNT; f++) {
+                    lengths[f][target] = (short) source.fieldLength(f, ordinal);
+                }
+            }
+        }
+
+        // 3. 逐字段归并词典和倒排
+        IndexSegment.FieldTerms[] fieldTerms = new IndexSegment.FieldTerms[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            fieldTerms[f] = mergeField(sources, f, docMaps);
+        }
+        return new MergeResult(new IndexSegment(ids, categories, priors, fingerprints, lengths, fieldTerms),
+                List.copyOf(sources), docMaps, snapshots);
+    }
+
+    private static IndexSegment.FieldTerms mergeField(List<IndexSegment> sources, int field, int[][] docMaps) {
+        int sourceCount = sources.size();
+        IndexSegment.FieldTerms[] inputs = new IndexSegment.FieldTerms[sourceCount];
+        int[] heads = new int[sourceCount]; // 各源段当前待归并的词项下标
+        for (int s = 0; s < sourceCount; s++) {
+            inputs[s] = sources.get(s).terms(field);
+        }
+
+        List<String> terms = new ArrayList<>();
+        int[] docFreqs = new int[16];
+        int[] offsets = new int[16];
+        PostingsBuffer out = new PostingsBuffer(1 << 16);
+        while (true) {
+            // 1. 取各源段当前词项中最小的一个
+            String term = null;
+            for (int s = 0; s < sourceCount; s++) {
+                if (heads[s] < inputs[s].terms().length) {
+                    String candidate = inputs[s].terms()[heads[s]];
+                    if (term == null || candidate.compareTo(term) < 0) {
+                        term = candidate;
+                    }
+                }
+            }
+            if (term == null) {
+                break;
+            }
+
+            // 2. 按源段顺序拼接该词项的倒排，跳过已删除文档
+            int start = out.size();
+            int lastOrdinal = -1;
+            int docFreq = 0;
+            for (int s = 0; s < sourceCount; s++) {
+                if (heads[s] >= inputs[s].terms().length || !inputs[s].terms()[heads[s]].equals(term)) {
+                    continue;
+                }
+                PostingsIterator postings = inputs[s].postings(heads[s]++);
+                for (int doc = postings.nextDoc(); doc != PostingsIterator.NO_MORE_DOCS; doc = postings.nextDoc()) {
+                    int target = docMaps[s][doc];
+                    if (target >= 0) {
+                        out.writeVInt(target - lastOrdinal);
+                        out.writeVInt(postings.freq());
+                        lastOrdinal = target;
+                        docFreq++;
+                    }
+                }
+            }
+
+            // 3. 文档全部删除的词项不再进入词典
+            if (docFreq > 0) {
+                int index = terms.size();
+                if (index == docFreqs.length) {
+                    docFreqs = Arrays.copyOf(docFreqs, docFreqs.length << 1);
+                    offsets = Arrays.copyOf(offsets, offsets.length << 1);
+                }
+                terms.add(term);
+                docFreqs[index] = docFreq;
+                offsets[index] = start;
+            }
+        }
+        if (terms.isEmpty()) {
+            return IndexSegment.FieldTerms.EMPTY;
+        }
+
+        int termCount = terms.size();
+        offsets = Arrays.copyOf(offsets, termCount + 1);
+        offsets[termCount] = out.size();
+        byte[] bytes = new byte[out.size()];
+        out.copyTo(bytes, 0);
+        return new IndexSegment.FieldTerms(terms.toArray(new String[0]), Arrays.copyOf(docFreqs, termCount),
+                offsets, bytes);
+    }
+
+    static boolean isDeleted(long[] bits, int ordinal) {
+        return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * TextAnalyzer类
+ * 中英文混合分词器，拉丁字母和数字按词切分，中日韩文字切成二元组
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 中英文混合分词器 - 单次扫描，全角转半角并转小写；种子标题里的点、下划线、括号都按分隔符处理
+// 连续中日韩字符输出相邻二元组，孤立的单个字符输出单字，不依赖词典
+public final class TextAnalyzer {
+
+    private static final int MAX_TOKEN_LENGTH = 64; // 超长的拉丁串截断，多为哈希或链接
+
+    private TextAnalyzer() {
+    }
+
+    // 分词并逐个交给sink，词项可重复，顺序与原文一致
+    public static void analyze(CharSequence text, int maxChars, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        int end = Math.min(text.length(), maxChars);
+        StringBuilder latin = new StringBuilder(16);
+        char previousCjk = 0; // 上一个中日韩字符，0表示不在中日韩连续段内
+        boolean cjkEmitted = false; // 当前连续段是否已输出过二元组
+
+        for (int i = 0; i < end; i++) {
+            char c = normalize(text.charAt(i));
+            if (isCjk(c)) {
+                flushLatin(latin, sink);
+                if (previousCjk != 0) {
+                    sink.accept(new String(new char[]{previousCjk, c}));
+                    cjkEmitted = true;
+                }
+                previousCjk = c;
+                continue;
+            }
+
+            // 离开中日韩连续段时，单字段补一个单字词项
+            if (previousCjk != 0 && !cjkEmitted) {
+                sink.accept(String.valueOf(previousCjk));
+            }
+            previousCjk = 0;
+            cjkEmitted = false;
+
+            if (Character.isLetterOrDigit(c)) {
+                if (latin.length() < MAX_TOKEN_LENGTH) {
+                    latin.append(c);
+                }
+            } else {
+                flushLatin(latin, sink);
+            }
+        }
+        flushLatin(latin, sink);
+        if (previousCjk != 0 && !cjkEmitted) {
+            sink.accept(String.valueOf(previousCjk));
+        }
+    }
+
+    public static List<String> tokens(CharSequence text) {
+        List<String> tokens = new ArrayList<>();
+        analyze(text, Integer.MAX_VALUE, tokens::add);
+        return tokens;
+    }
+
+    // 查询词去重，保持原有顺序
+    public static List<String> queryTerms(CharSequence text) {
+        LinkedHashSet<String> terms = new LinkedHashSet<>();
+        analyze(text, Integer.MAX_VALUE, terms::add);
+        return new ArrayList<>(terms);
+    }
+
+    // 查询串标准化：全角转半角、转小写，标点和连续空白压成单个空格；中文保持原样不切二元组
+    // 结果用于缓存键、search_logs.search_keyword_normalized和热搜统计，超出maxChars的部分截断
+    public static String normalizeQuery(CharSequence text, int maxChars) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(Math.min(text.length(), maxChars));
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length() && normalized.length() < maxChars; i++) {
+            char c = normalize(text.charAt(i));
+            if (Character.isLetterOrDigit(c) || isCjk(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.length() <= maxChars ? normalized.toString() : normalized.substring(0, maxChars);
+    }
+
+    private static void flushLatin(StringBuilder latin, Consumer<String> sink) {
+        if (latin.length() > 0) {
+            sink.accept(latin.toString());
+            latin.setLength(0);
+        }
+    }
+
+    // 全角ASCII转半角，大写转小写
+    private static char normalize(char c) {
+        if (c >= '\uFF01' && c <= '\uFF5E') {
+            c = (char) (c - 0xFEE0);
+        } else if (c == '\u3000') {
+            return ' ';
+        }
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    static boolean isCjk(char c) {
+        return (c >= '\u4E00' && c <= '\u9FFF') // 中日韩统一表意文字
+                || (c >= '\u3400' && c <= '\u4DBF') // 扩展A
+                || (c >= '\u3040' && c <= '\u30FF') // 平假名、片假名
+                || (c >= '\uAC00' && c <= '\uD7AF') // 韩文音节
+                || (c >= '\uF900' && c <= '\uFAFF'); // 兼容表意文字
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * TopKCollector类
+ * 定长小顶堆，收集得分最高的K条命中
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 定长小顶堆 - 得分相同时ID大的（新发布的）排前；堆顶是当前第K名，低于它的命中直接丢弃
+// 先验分随命中一起保存，取出时只对前window名做质量融合重排，不需要再按ID查段
+final class TopKCollector {
+
+    private final int capacity;
+    private final float[] scores;
+    private final long[] ids;
+    private final float[] priors;
+    private int size;
+
+    TopKCollector(int capacity) {
+        this.capacity = capacity;
+        this.scores = new float[capacity];
+        this.ids = new long[capacity];
+        this.priors = new float[capacity];
+    }
+
+    void collect(long id, float score, float prior) {
+        if (size < capacity) {
+            scores[size] = score;
+            ids[size] = id;
+            priors[size] = prior;
+            siftUp(size++);
+        } else if (capacity > 0 && ranksBefore(score, id, scores[0], ids[0])) {
+            scores[0] = score;
+            ids[0] = id;
+            priors[0] = prior;
+            siftDown(0);
+        }
+    }
+
+    // 按得分降序取出第from名起的size条命中，调用后收集器清空
+    // ranking不为null时前window名按融合得分重排，之后的命中保持原得分和顺序
+    List<SearchHit> drain(int from, int size, QualityRanking ranking) {
+        // 1. 逐个弹出堆顶，得到按相关度降序的数组
+        int count = this.size;
+        long[] sortedIds = new long[count];
+        float[] sortedScores = new float[count];
+        float[] sortedPriors = new float[count];
+        for (int i = count - 1; i >= 0; i--) {
+            sortedIds[i] = ids[0];
+            sortedScores[i] = scores[0];
+            sortedPriors[i] = priors[0];
+            this.size--;
+            move(this.size, 0);
+            siftDown(0);
+        }
+
+        // 2. 前window名用同样的小顶堆按融合得分重新排序
+        List<SearchHit> sorted = new ArrayList<>(count);
+        int reranked = ranking != null ? Math.min(ranking.window(), count) : 0;
+        if (reranked > 0) {
+            TopKCollector window = new TopKCollector(reranked);
+            for (int i = 0; i < reranked; i++) {
+                window.collect(sortedIds[i], ranking.fuse(sortedScores[i], sortedScores[0], sortedPriors[i]), 0f);
+            }
+            sorted.addAll(window.drain(0, reranked, null));
+        }
+        for (int i = reranked; i < count; i++) {
+            sorted.add(new SearchHit(sortedIds[i], sortedScores[i]));
+        }
+        int end = (int) Math.min(count, (long) from + size);
+        return from < end ? new ArrayList<>(sorted.subList(from, end)) : new ArrayList<>();
+    }
+
+    private static boolean ranksBefore(float score, long id, float otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id > otherId);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(scores[parent], ids[parent], scores[index], ids[index])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && ranksBefore(scores[child], ids[child], scores[child + 1], ids[child + 1])) {
+                child++;
+            }
+            if (!ranksBefore(scores[index], ids[index], scores[child], ids[child])) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float prior = priors[a];
+        priors[a] = priors[b];
+        priors[b] = prior;
+    }
+
+    private void move(int from, int to) {
+        scores[to] = scores[from];
+        ids[to] = ids[from];
+        priors[to] = priors[from];
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * TorrentFacets类
+ * 种子的可筛选属性
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+// 种子可筛选属性 - 对应torrent_files的quality_level、resolution、source_type、is_freeleech、vip_only
+public record TorrentFacets(Integer qualityLevel, String resolution, String sourceType, boolean freeleech,
+                            boolean vipOnly) {
+
+    public static final TorrentFacets NONE = new TorrentFacets(null, null, null, false, false);
+}
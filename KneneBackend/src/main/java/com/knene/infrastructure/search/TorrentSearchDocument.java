@@ -0,0 +1,44 @@
+/**
+ * TorrentSearchDocument类
+ * 种子检索文档，取自torrent_files的可检索字段
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import java.util.List;
+
+// 种子检索文档 - categoryId为null时按0处理，不参与分类过滤命中；facets只用于筛选索引，不参与全文检索
+// signals在写入索引时折算为先验分，只影响排序，不影响命中
+public record TorrentSearchDocument(long id, String title, String subtitle, String description,
+                                    List<String> tags, Integer categoryId, TorrentFacets facets,
+                                    TorrentSignals signals) {
+
+    public TorrentSearchDocument {
+        tags = tags != null ? List.copyOf(tags) : List.of();
+        facets = facets != null ? facets : TorrentFacets.NONE;
+        signals = signals != null ? signals : TorrentSignals.NONE;
+    }
+
+    public TorrentSearchDocument(long id, String title, String subtitle, String description, List<String> tags,
+                                 Integer categoryId, TorrentFacets facets) {
+        this(id, title, subtitle, description, tags, categoryId, facets, TorrentSignals.NONE);
+    }
+
+    public TorrentSearchDocument(long id, String title, String subtitle, String description, List<String> tags,
+                                 Integer categoryId) {
+        this(id, title, subtitle, description, tags, categoryId, TorrentFacets.NONE, TorrentSignals.NONE);
+    }
+
+    // 取字段原文，标签以空格拼接后统一分词
+    String text(SearchField field) {
+        return switch (field) {
+            case TITLE -> title;
+            case SUBTITLE -> subtitle;
+            case TAGS -> tags.isEmpty() ? null : String.join(" ", tags);
+            case DESCRIPTION -> description;
+        };
+    }
+}
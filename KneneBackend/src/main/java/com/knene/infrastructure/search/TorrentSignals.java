@@ -0,0 +1,16 @@
+/**
+ * TorrentSignals类
+ * 种子静态质量信号，用于计算排序先验分
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+// 种子质量信号 - 对应quality_scores.overall_score、torrent_files的health_score、seed_count、hot_level
+// 评分为null表示尚未评分，计算先验分时按中间值处理
+public record TorrentSignals(Double overallScore, Double healthScore, int seedCount, int hotLevel) {
+
+    public static final TorrentSignals NONE = new TorrentSignals(null, null, 0, 0);
+}
@@ -0,0 +1,72 @@
+/**
+ * CachedResultIds类
+ * 缓存的检索结果，只保存按得分排序的种子ID和得分
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.cache;
+
+import com.knene.infrastructure.search.SearchHit;
+import com.knene.infrastructure.search.SearchHits;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 缓存的检索结果 - 不保存种子详情，详情由调用方按ID批量读取；索引按检索字段指纹判断更新，
+// 只改了不参与检索的种子信息时不推进代数，检索缓存继续有效
+// ids为结果前缀，长度可能小于total；翻页超出前缀时由预取或回源把前缀加长
+public final class CachedResultIds {
+
+    private long total;
+    private long[] ids;
+    private float[] scores;
+
+    private CachedResultIds() {
+        // 反序列化使用
+    }
+
+    public CachedResultIds(long total, long[] ids, float[] scores) {
+        this.total = total;
+        this.ids = ids;
+        this.scores = scores;
+    }
+
+    public static CachedResultIds from(SearchHits hits) {
+        List<SearchHit> list = hits.hits();
+        long[] ids = new long[list.size()];
+        float[] scores = new float[list.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = list.get(i).id();
+            scores[i] = list.get(i).score();
+        }
+        return new CachedResultIds(hits.total(), ids, scores);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // 前缀是否覆盖[from, from + size)，结果总数不足一页时同样视为覆盖
+    public boolean covers(int from, int size) {
+        return from + size <= ids.length || ids.length >= total;
+    }
+
+    // 从前缀中截取一页
+    public SearchHits page(int from, int size) {
+        int end = Math.min(ids.length, from + size);
+        if (from >= end) {
+            return new SearchHits(total, List.of());
+        }
+        List<SearchHit> hits = new ArrayList<>(end - from);
+        for (int i = from; i < end; i++) {
+            hits.add(new SearchHit(ids[i], scores[i]));
+        }
+        return new SearchHits(total, hits);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * SearchCacheKey类
+ * 检索结果缓存键，由标准化关键词、排序后的过滤条件和排序方式组成
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.cache;
+
+import com.google.common.hash.Hashing;
+import com.knene.infrastructure.search.SearchQuery;
+import com.knene.infrastructure.search.TextAnalyzer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// 检索结果缓存键 - 分页参数不参与，同一查询的所有页共用一份排序后的ID列表
+// 过滤条件按名称排序后拼接，"分类=1,免费=1"与"免费=1,分类=1"落到同一个键
+public record SearchCacheKey(String normalizedKeyword, Integer categoryId, boolean requireAll,
+                             SortedMap<String, String> filters, String sort, String sortOrder) {
+
+    public static final int MAX_KEYWORD_LENGTH = 500; // 与search_logs.search_keyword_normalized一致
+    public static final String DEFAULT_SORT = "relevance";
+    public static final String DEFAULT_SORT_ORDER = "desc";
+    private static final String FACET_PREFIX = "facet.";
+
+    public SearchCacheKey {
+        filters = Collections.unmodifiableSortedMap(new TreeMap<>(filters));
+        sort = sort != null && !sort.isBlank() ? sort.trim().toLowerCase() : DEFAULT_SORT;
+        sortOrder = sortOrder != null && !sortOrder.isBlank() ? sortOrder.trim().toLowerCase() : DEFAULT_SORT_ORDER;
+    }
+
+    // 按相关度排序的普通检索
+    public static SearchCacheKey of(SearchQuery query) {
+        return of(query, Map.of(), null, null);
+    }
+
+    // filters为检索引擎之外的附加过滤条件，值为null的条目忽略；属性筛选条件以facet.字段名为名称并入，取值排序后拼接
+    public static SearchCacheKey of(SearchQuery query, Map<String, ?> filters, String sort, String sortOrder) {
+        SortedMap<String, String> sorted = new TreeMap<>();
+        filters.forEach((name, value) -> {
+            if (value != null) {
+                sorted.put(name, String.valueOf(value));
+            }
+        });
+        query.filter().selections().forEach((field, values) ->
+                sorted.put(FACET_PREFIX + field.name().toLowerCase(), String.join("|", new TreeSet<>(values))));
+        return new SearchCacheKey(TextAnalyzer.normalizeQuery(query.text(), MAX_KEYWORD_LENGTH), query.categoryId(),
+                query.requireAll(), sorted, sort, sortOrder);
+    }
+
+    // 规范化文本，相同语义的查询得到相同字符串
+    public String canonical() {
+        StringBuilder sb = new StringBuilder(normalizedKeyword.length() + 64);
+        sb.append("q=").append(normalizedKeyword)
+                .append("|c=").append(categoryId != null ? categoryId : "*")
+                .append("|m=").append(requireAll ? "all" : "any")
+                .append("|f=");
+        filters.forEach((name, value) -> sb.append(name).append(':').append(value).append(','));
+        return sb.append("|s=").append(sort).append(' ').append(sortOrder).toString();
+    }
+
+    // 规范化文本的128位摘要，作为缓存键模板中的{query_hash}
+    public String hash() {
+        return Hashing.murmur3_128().hashString(canonical(), StandardCharsets.UTF_8).toString();
+    }
+}
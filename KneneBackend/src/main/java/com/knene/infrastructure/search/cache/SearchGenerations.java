@@ -0,0 +1,101 @@
+/**
+ * SearchGenerations类
+ * 检索结果缓存的分类代数计数器
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 分类代数计数器 - 分类下有种子新增、删除或检索字段变化时代数加一，代数写进缓存键，旧键不再被读到，随TTL自然过期
+// 不带分类的查询读全局代数，任何分类变化都会推进全局代数；Redis可用时各节点共享代数
+public class SearchGenerations {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchGenerations.class);
+
+    static final int ALL_CATEGORIES = -1;
+
+    private final StringRedisTemplate redis; // 为null时只在本节点计数
+    private final String keyPrefix;
+    private final ConcurrentMap<Integer, AtomicLong> localGenerations = new ConcurrentHashMap<>();
+    private final Cache<Integer, Long> remoteGenerations; // Redis代数的本地快照，避免每次检索都访问Redis
+
+    public SearchGenerations(StringRedisTemplate redis, String keyPrefix, Duration remoteCacheTtl) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.remoteGenerations = Caffeine.newBuilder()
+                .expireAfterWrite(remoteCacheTtl)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    // 查询适用的代数，categoryId为null表示不限分类
+    public long current(Integer categoryId) {
+        int category = categoryId != null ? categoryId : ALL_CATEGORIES;
+        if (redis == null) {
+            return local(category).get();
+        }
+        Long cached = remoteGenerations.getIfPresent(category);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            String value = redis.opsForValue().get(key(category));
+            long generation = value != null ? Long.parseLong(value) : 0L;
+            remoteGenerations.put(category, generation);
+            return generation;
+        } catch (RuntimeException e) {
+            log.warn("读取检索缓存代数失败，使用本地代数：{}", category, e);
+            return local(category).get();
+        }
+    }
+
+    // 推进指定分类及全局代数，本节点随后的检索立即使用新代数
+    public void bump(Collection<Integer> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+        for (Integer categoryId : categoryIds) {
+            if (categoryId != null && categoryId != ALL_CATEGORIES) {
+                advance(categoryId);
+            }
+        }
+        advance(ALL_CATEGORIES);
+    }
+
+    private void advance(int category) {
+        long localValue = local(category).incrementAndGet();
+        if (redis == null) {
+            return;
+        }
+        try {
+            Long generation = redis.opsForValue().increment(key(category));
+            remoteGenerations.put(category, generation != null ? generation : localValue);
+        } catch (RuntimeException e) {
+            // Redis不可用时只保证本节点失效，其他节点的旧结果在TTL内仍可能被读到
+            remoteGenerations.invalidate(category);
+            log.warn("推进检索缓存代数失败：{}", category, e);
+        }
+    }
+
+    private AtomicLong local(int category) {
+        return localGenerations.computeIfAbsent(category, c -> new AtomicLong());
+    }
+
+    private String key(int category) {
+        return keyPrefix + ":" + (category == ALL_CATEGORIES ? "all" : String.valueOf(category));
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * SearchListener类
+ * 检索完成回调接口
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.cache;
+
+import com.knene.infrastructure.search.SearchQuery;
+
+// 检索完成回调 - 每次检索返回前在请求线程上调用，翻页也会回调；实现不得阻塞，异常只记录日志不影响检索
+@FunctionalInterface
+public interface SearchListener {
+
+    // elapsedNanos为本次检索耗时，含缓存读取和纠错重试
+    void onSearch(SearchQuery query, SearchResultPage page, long elapsedNanos);
+}
@@ -0,0 +1,188 @@
+/**
+ * SearchResultCache类
+ * 检索结果缓存，按规范化查询缓存排序后的ID列表并预取下一页
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.cache;
+
+import com.knene.infrastructure.cache.MultiLevelCache;
+import com.knene.infrastructure.search.SearchHits;
+import com.knene.infrastructure.search.SearchQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// 检索结果缓存 - 缓存的是结果前缀的ID和得分，任意落在前缀内的页都直接截取返回
+// 回源至少取minWindow条；翻到前缀末页时后台把前缀加长到覆盖下一页，前缀不超过maxWindow
+// 缓存键带分类代数，分类有种子新增、删除或检索字段变化时代数推进，旧结果不再命中
+// 配置了拼写纠错时，首页无结果的查询在本地纠正关键词后重试一次
+public class SearchResultCache implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private final MultiLevelCache<CachedResultIds> cache; // 为null时直接回源
+    private final SearchGenerations generations;
+    private final Function<SearchQuery, SearchHits> searcher;
+    private final int minWindow;
+    private final int maxWindow;
+    private final ThreadPoolExecutor prefetchExecutor;
+    private final Set<String> prefetching = ConcurrentHashMap.newKeySet(); // 同一查询同时只有一个预取
+    private final List<SearchListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile UnaryOperator<String> corrector; // 返回纠正后的关键词，无需纠正时返回null
+
+    public SearchResultCache(MultiLevelCache<CachedResultIds> cache, SearchGenerations generations,
+                             Function<SearchQuery, SearchHits> searcher, int minWindow, int maxWindow,
+                             int prefetchThreads) {
+        this.cache = cache;
+        this.generations = generations;
+        this.searcher = searcher;
+        this.maxWindow = Math.min(Math.max(1, maxWindow), SearchQuery.MAX_RESULT_WINDOW);
+        this.minWindow = Math.min(Math.max(1, minWindow), this.maxWindow);
+
+        // 预取队列有界，积压时放弃预取，翻页时同步回源兜底
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, prefetchThreads);
+        this.prefetchExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(256), r -> {
+                    Thread thread = new Thread(r, "search-prefetch-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SearchResultPage search(SearchQuery query) {
+        return search(query, Map.of(), null, null);
+    }
+
+    public void setCorrector(UnaryOperator<String> corrector) {
+        this.corrector = corrector;
+    }
+
+    public void addListener(SearchListener listener) {
+        listeners.add(listener);
+    }
+
+    // query中的属性筛选条件由检索引擎执行并计入缓存键；filters、sort、sortOrder只参与缓存键，由searcher负责实际过滤和排序
+    public SearchResultPage search(SearchQuery query, Map<String, ?> filters, String sort, String sortOrder) {
+        long startedAt = System.nanoTime();
+        SearchResultPage page = searchCorrected(query, filters, sort, sortOrder);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        for (SearchListener listener : listeners) {
+            try {
+                listener.onSearch(query, page, elapsedNanos);
+            } catch (RuntimeException e) {
+                log.warn("检索回调失败：{}", listener, e);
+            }
+        }
+        return page;
+    }
+
+    private SearchResultPage searchCorrected(SearchQuery query, Map<String, ?> filters, String sort,
+                                             String sortOrder) {
+        SearchResultPage page = searchPage(query, filters, sort, sortOrder);
+        UnaryOperator<String> corrector = this.corrector;
+        if (corrector == null || query.from() > 0 || page.hits().total() > 0) {
+            return page;
+        }
+
+        // 纠正后的查询同样走缓存；纠正后仍无结果时返回原结果
+        String corrected = corrector.apply(query.text());
+        if (corrected == null || corrected.equals(page.normalizedKeyword())) {
+            return page;
+        }
+        SearchQuery retry = new SearchQuery(corrected, query.categoryId(), query.requireAll(), query.filter(), 0,
+                query.size());
+        SearchResultPage retried = searchPage(retry, filters, sort, sortOrder);
+        if (retried.hits().total() == 0) {
+            return page;
+        }
+        return new SearchResultPage(retried.hits(), page.normalizedKeyword(), retried.cacheKey(),
+                retried.cacheHit(), retried.cacheTtlSeconds(), retried.normalizedKeyword());
+    }
+
+    private SearchResultPage searchPage(SearchQuery query, Map<String, ?> filters, String sort, String sortOrder) {
+        SearchCacheKey key = SearchCacheKey.of(query, filters, sort, sortOrder);
+        int from = query.from();
+        int size = query.size();
+
+        // 1. 缓存未启用或深分页超出缓存窗口时直接回源
+        if (cache == null || from + size > maxWindow) {
+            return new SearchResultPage(searcher.apply(query), key.normalizedKeyword(), null, false, 0L, null);
+        }
+        String queryHash = key.hash() + ":g" + generations.current(query.categoryId());
+
+        // 2. 读缓存，未命中时回源取覆盖当前页的前缀
+        AtomicBoolean loaded = new AtomicBoolean();
+        CachedResultIds ids = cache.get(() -> {
+            loaded.set(true);
+            return load(query, window(from + size));
+        }, queryHash);
+        boolean hit = !loaded.get();
+
+        // 3. 已缓存的前缀比当前页短（此前只翻到较浅的页且预取未完成），同步加长
+        if (!ids.covers(from, size)) {
+            ids = load(query, window(from + size));
+            cache.put(ids, queryHash);
+            hit = false;
+        }
+
+        // 4. 当前页已是前缀末页时后台预取下一页
+        prefetchNext(query, queryHash, ids);
+        return new SearchResultPage(ids.page(from, size), key.normalizedKeyword(), cache.key(queryHash), hit,
+                cache.getTtl().toSeconds(), null);
+    }
+
+    @Override
+    public void close() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private void prefetchNext(SearchQuery query, String queryHash, CachedResultIds ids) {
+        int nextEnd = query.from() + 2 * query.size();
+        if (query.size() == 0 || ids.covers(query.from() + query.size(), query.size()) || nextEnd > maxWindow) {
+            return;
+        }
+        if (!prefetching.add(queryHash)) {
+            return;
+        }
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    cache.put(load(query, window(nextEnd)), queryHash);
+                } catch (RuntimeException e) {
+                    log.warn("检索结果预取失败：{}", queryHash, e);
+                } finally {
+                    prefetching.remove(queryHash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            prefetching.remove(queryHash);
+        }
+    }
+
+    private CachedResultIds load(SearchQuery query, int window) {
+        SearchQuery prefix = query.page(0, window);
+        return CachedResultIds.from(searcher.apply(prefix));
+    }
+
+    // 回源条数，首次至少取minWindow条，避免前几页各回源一次
+    private int window(int end) {
+        return Math.min(Math.max(end, minWindow), maxWindow);
+    }
+}
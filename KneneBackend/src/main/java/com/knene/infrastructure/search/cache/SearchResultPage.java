@@ -0,0 +1,17 @@
+/**
+ * SearchResultPage类
+ * 经结果缓存的检索页，附带search_logs需要的缓存信息
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.cache;
+
+import com.knene.infrastructure.search.SearchHits;
+
+// 检索页 - cacheKey为null表示本次检索未经过缓存（缓存未启用或分页超出缓存窗口）
+// correctedKeyword非null表示原查询无结果，hits为按纠正后关键词重新检索的结果
+public record SearchResultPage(SearchHits hits, String normalizedKeyword, String cacheKey, boolean cacheHit,
+                               long cacheTtlSeconds, String correctedKeyword) {
+}
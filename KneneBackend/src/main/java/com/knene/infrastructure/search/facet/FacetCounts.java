@@ -0,0 +1,16 @@
+/**
+ * FacetCounts类
+ * 属性筛选结果计数
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.facet;
+
+import java.util.Map;
+
+// 属性筛选结果计数 - total为满足全部条件的文档数；counts中每个字段的计数忽略该字段自身的条件，
+// 前端据此展示"选中其他取值后会有多少结果"，取值按计数降序，计数为0的取值不返回
+public record FacetCounts(long total, Map<FacetField, Map<String, Long>> counts) {
+}
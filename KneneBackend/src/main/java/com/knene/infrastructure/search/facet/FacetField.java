@@ -0,0 +1,47 @@
+/**
+ * FacetField枚举
+ * 筛选索引的属性字段
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.facet;
+
+import com.knene.infrastructure.search.TorrentFacets;
+import com.knene.infrastructure.search.TorrentSearchDocument;
+
+import java.util.Locale;
+
+// 筛选属性字段 - 取值统一为字符串：数值取十进制，文本去空白后转小写，布尔为1或0；为null的文档不计入该字段
+public enum FacetField {
+
+    CATEGORY,
+    QUALITY,
+    RESOLUTION,
+    SOURCE,
+    FREELEECH,
+    VIP_ONLY;
+
+    // 取文档在该字段上的取值
+    String valueOf(TorrentSearchDocument document) {
+        TorrentFacets facets = document.facets();
+        return switch (this) {
+            case CATEGORY -> document.categoryId() != null ? document.categoryId().toString() : null;
+            case QUALITY -> facets.qualityLevel() != null ? facets.qualityLevel().toString() : null;
+            case RESOLUTION -> normalize(facets.resolution());
+            case SOURCE -> normalize(facets.sourceType());
+            case FREELEECH -> facets.freeleech() ? "1" : "0";
+            case VIP_ONLY -> facets.vipOnly() ? "1" : "0";
+        };
+    }
+
+    // 筛选条件中的取值按写入时同样的规则规范化，1080P与1080p视为同一取值
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.strip().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
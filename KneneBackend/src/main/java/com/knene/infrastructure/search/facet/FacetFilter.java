@@ -0,0 +1,47 @@
+/**
+ * FacetFilter类
+ * 属性筛选条件
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.facet;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+// 属性筛选条件 - 同一字段的多个取值为或，不同字段之间为与；没有任何字段时匹配全部文档
+public record FacetFilter(Map<FacetField, Set<String>> selections) {
+
+    public static final FacetFilter ALL = new FacetFilter(Map.of());
+
+    public FacetFilter {
+        EnumMap<FacetField, Set<String>> copy = new EnumMap<>(FacetField.class);
+        selections.forEach((field, values) -> copy.put(field, Set.copyOf(values)));
+        selections = Collections.unmodifiableMap(copy);
+    }
+
+    // 没有任何字段条件
+    public boolean isEmpty() {
+        return selections.isEmpty();
+    }
+
+    // 追加一个字段的取值，返回新的条件；该字段已有取值时替换
+    public FacetFilter with(FacetField field, String... values) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String value : values) {
+            String v = FacetField.normalize(value);
+            if (v != null) {
+                normalized.add(v);
+            }
+        }
+        EnumMap<FacetField, Set<String>> next = new EnumMap<>(FacetField.class);
+        next.putAll(selections);
+        next.put(field, normalized);
+        return new FacetFilter(next);
+    }
+}
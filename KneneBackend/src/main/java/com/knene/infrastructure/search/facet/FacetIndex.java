@@ -0,0 +1,250 @@
+/**
+ * FacetIndex类
+ * 属性筛选索引，按取值维护种子ID的位图
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.facet;
+
+import com.knene.infrastructure.search.TorrentSearchDocument;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 属性筛选索引 - 每个字段的每个取值对应一个Roaring位图，位为种子ID；条件求值为位图的或与，计数用交集基数
+// 更新时从该字段全部取值的位图中移除再加入新取值，取值个数很少，不需要保存每篇文档的旧取值
+// 位图为64位，按ID高32位分桶；自增ID都落在同一个桶内，压缩率与32位位图相同
+public class FacetIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private EnumMap<FacetField, Map<String, Roaring64NavigableMap>> postings = newPostings();
+    private Roaring64NavigableMap all = new Roaring64NavigableMap(); // 全部已索引文档，没有条件时的匹配集合
+
+    // 写入或覆盖文档的全部属性
+    public void index(TorrentSearchDocument document) {
+        long id = document.id();
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<FacetField, Map<String, Roaring64NavigableMap>> entry : postings.entrySet()) {
+                Map<String, Roaring64NavigableMap> values = entry.getValue();
+                values.values().forEach(bitmap -> bitmap.removeLong(id));
+                String value = entry.getKey().valueOf(document);
+                if (value != null) {
+                    values.computeIfAbsent(value, v -> new Roaring64NavigableMap()).addLong(id);
+                }
+            }
+            all.addLong(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(long id) {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(values -> values.values().forEach(bitmap -> bitmap.removeLong(id)));
+            all.removeLong(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 用全量重建的索引整体替换当前内容，staging之后不再使用
+    public void swapFrom(FacetIndex staging) {
+        staging.optimize();
+        lock.writeLock().lock();
+        try {
+            postings = staging.postings;
+            all = staging.all;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 压缩连续区间并清理空位图，全量加载完成后调用一次
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            for (Map<String, Roaring64NavigableMap> values : postings.values()) {
+                values.values().removeIf(Roaring64NavigableMap::isEmpty);
+                values.values().forEach(Roaring64NavigableMap::runOptimize);
+            }
+            all.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 满足条件的种子ID集合，返回的位图归调用方所有
+    public Roaring64NavigableMap filter(FacetFilter filter) {
+        lock.readLock().lock();
+        try {
+            return copyOf(intersect(union(filter).values()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 按条件列表浏览，满足条件的种子ID按ID倒序（即按发布先后倒序）分页；总数和各取值计数由count给出
+    public List<Long> list(FacetFilter filter, int from, int size) {
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap matched = intersect(union(filter).values());
+            List<Long> ids = new ArrayList<>(Math.max(0, size));
+            LongIterator iterator = matched.getReverseLongIterator();
+            for (int skipped = 0; skipped < from && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (ids.size() < size && iterator.hasNext()) {
+                ids.add(iterator.next());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 满足条件的文档数，以及fields中每个字段各取值的计数
+    public FacetCounts count(FacetFilter filter, Set<FacetField> fields) {
+        lock.readLock().lock();
+        try {
+            // 1. 每个有条件的字段先求取值的并集，再求全部字段的交集
+            EnumMap<FacetField, Roaring64NavigableMap> selected = union(filter);
+            Roaring64NavigableMap matched = intersect(selected.values());
+
+            // 2. 字段自身有条件时，计数基于其他字段条件的交集
+            EnumMap<FacetField, Map<String, Long>> counts = new EnumMap<>(FacetField.class);
+            for (FacetField field : fields) {
+                Roaring64NavigableMap base = matched;
+                if (selected.containsKey(field)) {
+                    EnumMap<FacetField, Roaring64NavigableMap> others = new EnumMap<>(selected);
+                    others.remove(field);
+                    base = intersect(others.values());
+                }
+                counts.put(field, countValues(postings.get(field), base));
+            }
+            return new FacetCounts(matched.getLongCardinality(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 已索引的文档数
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return all.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = all.getLongSizeInBytes();
+            for (Map<String, Roaring64NavigableMap> values : postings.values()) {
+                for (Roaring64NavigableMap bitmap : values.values()) {
+                    bytes += bitmap.getLongSizeInBytes();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 每个有条件字段的取值并集；只选一个取值时直接引用索引中的位图，调用方不得修改
+    private EnumMap<FacetField, Roaring64NavigableMap> union(FacetFilter filter) {
+        EnumMap<FacetField, Roaring64NavigableMap> selected = new EnumMap<>(FacetField.class);
+        filter.selections().forEach((field, values) -> {
+            Map<String, Roaring64NavigableMap> bitmaps = postings.get(field);
+            Roaring64NavigableMap union = null;
+            boolean shared = false; // union仍引用索引中的位图，再合并前需先复制
+            for (String value : values) {
+                Roaring64NavigableMap bitmap = bitmaps.get(value);
+                if (bitmap == null) {
+                    continue;
+                }
+                if (union == null) {
+                    union = bitmap;
+                    shared = true;
+                } else {
+                    if (shared) {
+                        union = copyOf(union);
+                        shared = false;
+                    }
+                    union.or(bitmap);
+                }
+            }
+            selected.put(field, union != null ? union : new Roaring64NavigableMap());
+        });
+        return selected;
+    }
+
+    // 从基数最小的位图开始求交集，中间结果尽早变小；没有位图时为全部文档
+    private Roaring64NavigableMap intersect(Iterable<Roaring64NavigableMap> bitmaps) {
+        List<Roaring64NavigableMap> sorted = new ArrayList<>();
+        bitmaps.forEach(sorted::add);
+        if (sorted.isEmpty()) {
+            return all;
+        }
+        if (sorted.size() == 1) {
+            return sorted.get(0);
+        }
+        sorted.sort(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality));
+        Roaring64NavigableMap result = copyOf(sorted.get(0));
+        for (int i = 1; i < sorted.size() && !result.isEmpty(); i++) {
+            result.and(sorted.get(i));
+        }
+        return result;
+    }
+
+    // 各取值与基准集合的交集基数，按计数降序
+    private Map<String, Long> countValues(Map<String, Roaring64NavigableMap> values, Roaring64NavigableMap base) {
+        Map<String, Long> counts = new HashMap<>();
+        values.forEach((value, bitmap) -> {
+            long count = base == all ? bitmap.getLongCardinality() : andCardinality(base, bitmap);
+            if (count > 0) {
+                counts.put(value, count);
+            }
+        });
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    // 64位位图没有不分配内存的交集基数，复制较小的一方求交
+    private static long andCardinality(Roaring64NavigableMap a, Roaring64NavigableMap b) {
+        boolean aSmaller = a.getLongCardinality() <= b.getLongCardinality();
+        Roaring64NavigableMap intersection = copyOf(aSmaller ? a : b);
+        intersection.and(aSmaller ? b : a);
+        return intersection.getLongCardinality();
+    }
+
+    private static Roaring64NavigableMap copyOf(Roaring64NavigableMap bitmap) {
+        Roaring64NavigableMap copy = new Roaring64NavigableMap();
+        copy.or(bitmap);
+        return copy;
+    }
+
+    private static EnumMap<FacetField, Map<String, Roaring64NavigableMap>> newPostings() {
+        EnumMap<FacetField, Map<String, Roaring64NavigableMap>> postings = new EnumMap<>(FacetField.class);
+        for (FacetField field : FacetField.values()) {
+            postings.put(field, new HashMap<>());
+        }
+        return postings;
+    }
+}
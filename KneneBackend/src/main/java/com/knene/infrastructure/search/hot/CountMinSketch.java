@@ -0,0 +1,72 @@
+/**
+ * CountMinSketch类
+ * 计数草图，以固定内存估计任意关键词的累计权重
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.hot;
+
+// 计数草图 - depth行、每行width个计数器，关键词在每行映射到一个计数器，估计值取各行的最小值，只会高估不会低估
+// 采用保守更新：只抬高不足新估计值的计数器，其余不变，热度较低的词高估显著减少
+// 计数器为带衰减权重的浮点数，整体缩放不改变估计值之间的大小关系
+final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final double[] counters;
+
+    CountMinSketch(int width, int depth) {
+        this.depth = Math.max(1, depth);
+        int w = Integer.highestOneBit(Math.max(16, width) - 1) << 1; // 向上取2的幂，行内下标用位与
+        this.mask = w - 1;
+        this.counters = new double[this.depth * w];
+    }
+
+    // 累加权重并返回新的估计值
+    double add(long hash, double weight) {
+        // 1. 定位各行计数器并求当前估计值
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        double estimate = Double.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            estimate = Math.min(estimate, counters[slot(i, h1, h2)]);
+        }
+
+        // 2. 保守更新，只把低于新估计值的计数器抬到新估计值
+        double updated = estimate + weight;
+        for (int i = 0; i < depth; i++) {
+            int slot = slot(i, h1, h2);
+            if (counters[slot] < updated) {
+                counters[slot] = updated;
+            }
+        }
+        return updated;
+    }
+
+    double estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        double estimate = Double.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            estimate = Math.min(estimate, counters[slot(i, h1, h2)]);
+        }
+        return estimate;
+    }
+
+    void scale(double factor) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] *= factor;
+        }
+    }
+
+    int width() {
+        return mask + 1;
+    }
+
+    // 双重散列：第i行取h1 + i * h2，h2为奇数保证各行落点不同
+    private int slot(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * HotSearch类
+ * 热门搜索词及其热度
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.hot;
+
+// 热门搜索词 - score为按时间衰减后的搜索次数，一个半衰期前的一次搜索计0.5
+public record HotSearch(String keyword, double score) {
+}
@@ -0,0 +1,26 @@
+/**
+ * HotSearchSnapshot类
+ * 热门搜索快照
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.hot;
+
+import java.util.List;
+import java.util.Map;
+
+// 热门搜索快照 - views的键为视图名，全站为all，分类为分类ID；热度为takenAt时刻的衰减后计数
+public record HotSearchSnapshot(long takenAt, Map<String, List<HotSearch>> views) {
+
+    public static final String ALL_VIEW = "all";
+
+    public HotSearchSnapshot {
+        views = Map.copyOf(views);
+    }
+
+    public static String view(Integer categoryId) {
+        return categoryId != null ? categoryId.toString() : ALL_VIEW;
+    }
+}
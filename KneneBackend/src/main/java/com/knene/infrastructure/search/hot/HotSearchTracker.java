@@ -0,0 +1,166 @@
+/**
+ * HotSearchTracker类
+ * 热门搜索统计，按搜索事件流式计算带时间衰减的全站和分类热搜
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.hot;
+
+import com.knene.infrastructure.search.TextAnalyzer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// 热门搜索统计 - 每个视图是一个计数草图加Space-Saving小顶堆，内存与搜索量无关，不读取search_logs
+// 时间衰减用前向衰减：t时刻的一次搜索计exp(λ(t - landmark))，只增不减，读取时再除以当前权重
+// 权重过大时把全部计数整体缩小并移动landmark，均摊下每次记录仍是常数开销
+public class HotSearchTracker {
+
+    private static final int MAX_KEYWORD_LENGTH = 100;
+    private static final double RESCALE_THRESHOLD = 1e12;
+
+    private final double lambda; // 每毫秒的衰减率，ln2 / 半衰期
+    private final int capacity;
+    private final int categorySketchWidth;
+    private final int sketchDepth;
+    private final int maxCategories; // 超出后新分类只计入全站视图
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SpaceSavingTopK global;
+    private final Map<Integer, SpaceSavingTopK> categories = new HashMap<>();
+    private long landmark;
+
+    public HotSearchTracker(Duration halfLife, int capacity, int sketchWidth, int categorySketchWidth, int sketchDepth,
+                            int maxCategories, LongSupplier clock) {
+        this.lambda = Math.log(2) / Math.max(1L, halfLife.toMillis());
+        this.capacity = capacity;
+        this.categorySketchWidth = categorySketchWidth;
+        this.sketchDepth = sketchDepth;
+        this.maxCategories = maxCategories;
+        this.clock = clock;
+        this.global = new SpaceSavingTopK(capacity, sketchWidth, sketchDepth);
+        this.landmark = clock.getAsLong();
+    }
+
+    // 记录一次搜索，关键词按检索关键词同样的规则规范化；categoryId为null时只计入全站
+    public void record(String keyword, Integer categoryId) {
+        String normalized = TextAnalyzer.normalizeQuery(keyword, MAX_KEYWORD_LENGTH);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        long hash = hash(normalized);
+        lock.lock();
+        try {
+            double weight = weight(clock.getAsLong());
+            global.offer(normalized, hash, weight);
+            SpaceSavingTopK view = categoryId != null ? categoryView(categoryId) : null;
+            if (view != null) {
+                view.offer(normalized, hash, weight);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 当前热度降序的前limit个词，分类没有记录时返回空列表
+    public List<HotSearch> top(Integer categoryId, int limit) {
+        lock.lock();
+        try {
+            SpaceSavingTopK view = categoryId != null ? categories.get(categoryId) : global;
+            if (view == null) {
+                return List.of();
+            }
+            return view.top(limit, 1.0 / weight(clock.getAsLong()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public HotSearchSnapshot snapshot(int limit) {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            double scale = 1.0 / weight(now);
+            Map<String, List<HotSearch>> views = new HashMap<>();
+            views.put(HotSearchSnapshot.ALL_VIEW, global.top(limit, scale));
+            categories.forEach((categoryId, view) ->
+                    views.put(HotSearchSnapshot.view(categoryId), view.top(limit, scale)));
+            return new HotSearchSnapshot(now, views);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 用快照恢复热度，快照中的热度按距今时长衰减后计入；启动时调用，之后的搜索在此基础上累加
+    public void restore(HotSearchSnapshot snapshot) {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            double weight = weight(now) * Math.exp(-lambda * Math.max(0L, now - snapshot.takenAt()));
+            snapshot.views().forEach((name, entries) -> {
+                SpaceSavingTopK view = HotSearchSnapshot.ALL_VIEW.equals(name)
+                        ? global : categoryView(parseCategory(name));
+                if (view == null) {
+                    return;
+                }
+                for (HotSearch entry : entries) {
+                    view.offer(entry.keyword(), hash(entry.keyword()), entry.score() * weight);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 当前时刻一次搜索的权重，超过阈值时整体缩放
+    private double weight(long now) {
+        double weight = Math.exp(lambda * (now - landmark));
+        if (weight > RESCALE_THRESHOLD) {
+            double factor = 1.0 / weight;
+            global.scale(factor);
+            categories.values().forEach(view -> view.scale(factor));
+            landmark = now;
+            weight = 1.0;
+        }
+        return weight;
+    }
+
+    private SpaceSavingTopK categoryView(Integer categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        SpaceSavingTopK view = categories.get(categoryId);
+        if (view == null && categories.size() < maxCategories) {
+            view = new SpaceSavingTopK(capacity, categorySketchWidth, sketchDepth);
+            categories.put(categoryId, view);
+        }
+        return view;
+    }
+
+    private static Integer parseCategory(String name) {
+        try {
+            return Integer.valueOf(name);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // FNV-1a后再做一次混合，低32位和高32位分别用作计数草图的两个散列
+    static long hash(String keyword) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < keyword.length(); i++) {
+            h ^= keyword.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * RedisHotSearchSnapshots类
+ * 热门搜索快照的Redis存储
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.hot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// 热门搜索快照存储 - 每个视图一个有序集合{keyPrefix}:{视图}，成员为关键词、分值为热度，其他服务可直接按分值倒序读取
+// 先写临时键再RENAME替换，读取方不会看到写了一半的集合；视图名单和快照时间分别存在:views和:taken-at
+public class RedisHotSearchSnapshots {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisHotSearchSnapshots.class);
+
+    private final StringRedisTemplate redis; // 为null时不保存快照，重启后从零开始统计
+    private final String keyPrefix;
+    private final Duration ttl; // 快照长时间未刷新时自动过期，避免重启后恢复过旧的热度
+    private final String tmpSuffix = ":tmp:" + UUID.randomUUID(); // 多个节点同时写快照时各用各的临时键
+
+    public RedisHotSearchSnapshots(StringRedisTemplate redis, String keyPrefix, Duration ttl) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+    }
+
+    public void save(HotSearchSnapshot snapshot) {
+        if (redis == null) {
+            return;
+        }
+        snapshot.views().forEach((view, entries) -> {
+            if (entries.isEmpty()) {
+                return;
+            }
+            Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+            for (HotSearch entry : entries) {
+                tuples.add(ZSetOperations.TypedTuple.of(entry.keyword(), entry.score()));
+            }
+            replace(key(view), tmp -> redis.opsForZSet().add(tmp, tuples));
+        });
+        String[] views = snapshot.views().keySet().toArray(new String[0]);
+        if (views.length > 0) {
+            replace(keyPrefix + ":views", tmp -> redis.opsForSet().add(tmp, views));
+        }
+        redis.opsForValue().set(keyPrefix + ":taken-at", Long.toString(snapshot.takenAt()), ttl);
+    }
+
+    // 读取最近一次快照，没有快照或Redis不可用时返回null
+    public HotSearchSnapshot load(int limit) {
+        if (redis == null) {
+            return null;
+        }
+        try {
+            String takenAt = redis.opsForValue().get(keyPrefix + ":taken-at");
+            Set<String> views = redis.opsForSet().members(keyPrefix + ":views");
+            if (takenAt == null || views == null || views.isEmpty()) {
+                return null;
+            }
+            Map<String, List<HotSearch>> snapshot = new HashMap<>();
+            for (String view : views) {
+                Set<ZSetOperations.TypedTuple<String>> tuples =
+                        redis.opsForZSet().reverseRangeWithScores(key(view), 0, limit - 1);
+                if (tuples == null || tuples.isEmpty()) {
+                    continue;
+                }
+                List<HotSearch> entries = new ArrayList<>(tuples.size());
+                for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                    if (tuple.getValue() != null && tuple.getScore() != null) {
+                        entries.add(new HotSearch(tuple.getValue(), tuple.getScore()));
+                    }
+                }
+                snapshot.put(view, entries);
+            }
+            return new HotSearchSnapshot(Long.parseLong(takenAt), snapshot);
+        } catch (RuntimeException e) {
+            log.warn("读取热门搜索快照失败，从零开始统计", e);
+            return null;
+        }
+    }
+
+    private void replace(String key, Consumer<String> writer) {
+        String tmp = key + tmpSuffix;
+        redis.delete(tmp);
+        writer.accept(tmp);
+        redis.expire(tmp, ttl);
+        redis.rename(tmp, key);
+    }
+
+    private String key(String view) {
+        return keyPrefix + ":" + view;
+    }
+}
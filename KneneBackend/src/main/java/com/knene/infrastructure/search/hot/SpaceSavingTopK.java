@@ -0,0 +1,139 @@
+/**
+ * SpaceSavingTopK类
+ * 基于Space-Saving的热门关键词统计
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.hot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Space-Saving热门统计 - 最多跟踪capacity个关键词，按热度组成小顶堆；新词热度超过堆顶时替换堆顶
+// 与经典算法不同，新词的计数取计数草图的估计值而不是堆顶计数加一，不继承被替换词的误差
+// 非线程安全，由HotSearchTracker加锁访问
+final class SpaceSavingTopK {
+
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+
+    SpaceSavingTopK(int capacity, int sketchWidth, int sketchDepth) {
+        this.capacity = Math.max(1, capacity);
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+        this.counters = new HashMap<>(this.capacity * 2);
+        this.heap = new Counter[this.capacity];
+    }
+
+    void offer(String keyword, long hash, double weight) {
+        double estimate = sketch.add(hash, weight);
+
+        // 1. 已跟踪的词更新计数，计数只增不减，在小顶堆中下沉
+        Counter counter = counters.get(keyword);
+        if (counter != null) {
+            counter.count = estimate;
+            siftDown(counter.position);
+            return;
+        }
+
+        // 2. 未满时直接加入，已满时只有热度超过堆顶才替换
+        if (size < capacity) {
+            counter = new Counter(keyword, estimate, size);
+            heap[size++] = counter;
+            counters.put(keyword, counter);
+            siftUp(counter.position);
+            return;
+        }
+        Counter min = heap[0];
+        if (estimate <= min.count) {
+            return;
+        }
+        counters.remove(min.keyword);
+        min.keyword = keyword;
+        min.count = estimate;
+        counters.put(keyword, min);
+        siftDown(0);
+    }
+
+    // 热度降序的前limit个词，scale为热度换算到当前时刻的系数
+    List<HotSearch> top(int limit, double scale) {
+        Counter[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, Comparator.comparingDouble((Counter c) -> c.count).reversed()
+                .thenComparing(c -> c.keyword));
+        List<HotSearch> top = new ArrayList<>(Math.min(limit, size));
+        for (int i = 0; i < sorted.length && i < limit; i++) {
+            top.add(new HotSearch(sorted[i].keyword, sorted[i].count * scale));
+        }
+        return top;
+    }
+
+    // 整体缩放计数，相对大小不变，堆序不需要调整
+    void scale(double factor) {
+        sketch.scale(factor);
+        for (int i = 0; i < size; i++) {
+            heap[i].count *= factor;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void siftUp(int position) {
+        Counter counter = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(counter, position);
+    }
+
+    private void siftDown(int position) {
+        Counter counter = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(counter, position);
+    }
+
+    private void place(Counter counter, int position) {
+        heap[position] = counter;
+        counter.position = position;
+    }
+
+    private static final class Counter {
+
+        private String keyword;
+        private double count;
+        private int position; // 在堆数组中的下标
+
+        private Counter(String keyword, double count, int position) {
+            this.keyword = keyword;
+            this.count = count;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * ChangeCursor类
+ * 变更捕获位点
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.indexer;
+
+import java.time.LocalDateTime;
+
+// 变更捕获位点 - 按(updatedAt, id)排序，同一秒内的多行按ID区分；位点之后的变更尚未应用到索引
+public record ChangeCursor(LocalDateTime updatedAt, long id) implements Comparable<ChangeCursor> {
+
+    @Override
+    public int compareTo(ChangeCursor other) {
+        int compared = updatedAt.compareTo(other.updatedAt);
+        return compared != 0 ? compared : Long.compare(id, other.id);
+    }
+}
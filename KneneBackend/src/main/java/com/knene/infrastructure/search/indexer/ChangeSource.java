@@ -0,0 +1,27 @@
+/**
+ * ChangeSource类
+ * 检索索引变更来源接口
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.indexer;
+
+import com.knene.infrastructure.search.TorrentSearchDocument;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// 检索索引变更来源 - 当前实现按updated_at追踪torrent_files，之后可替换为binlog订阅
+public interface ChangeSource {
+
+    // 当前位点，全量重建开始前记录，重建完成后从这里重放期间的变更
+    ChangeCursor position();
+
+    // 位点之后按位点顺序的至多limit条变更
+    List<DocumentChange> fetchAfter(ChangeCursor cursor, int limit);
+
+    // 流式读取全部可检索文档，返回读取条数；实现不得把整表读入内存
+    long streamAll(Consumer<TorrentSearchDocument> consumer);
+}
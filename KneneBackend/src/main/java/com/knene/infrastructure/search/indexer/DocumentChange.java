@@ -0,0 +1,19 @@
+/**
+ * DocumentChange类
+ * 单条文档变更
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.indexer;
+
+import com.knene.infrastructure.search.TorrentSearchDocument;
+
+// 单条文档变更 - document为null表示文档已删除或不再可检索，应从索引中删除
+public record DocumentChange(long id, ChangeCursor cursor, TorrentSearchDocument document) {
+
+    public boolean isDelete() {
+        return document == null;
+    }
+}
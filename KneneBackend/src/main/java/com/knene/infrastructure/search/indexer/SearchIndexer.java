@@ -0,0 +1,186 @@
+/**
+ * SearchIndexer类
+ * 检索索引同步器，增量追踪变更并支持全量重建后整体切换
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.indexer;
+
+import com.knene.infrastructure.search.EmbeddedSearchIndex;
+import com.knene.infrastructure.search.facet.FacetIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 检索索引同步器 - 增量：每次从位点起最多读取若干批变更，按文档去重后一次性写入索引，写入成功才推进位点
+// 写入与读取在同一线程串行进行，索引写不动时不会继续读取，失败时按指数退避重试，用尽后下次轮询从原位点重来
+// 全量：流式读入一个新索引，完成后整体替换当前索引的全部段，并把位点回退到重建开始时重放期间的变更
+public class SearchIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexer.class);
+
+    private final ChangeSource source;
+    private final EmbeddedSearchIndex index;
+    private final Supplier<EmbeddedSearchIndex> stagingFactory; // 全量重建用的空索引，参数与当前索引一致
+    private final int batchSize;
+    private final int maxBatchesPerPoll; // 单次轮询读取的批数上限，追赶积压时控制单次写入量
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final ReentrantLock applyLock = new ReentrantLock(); // 增量写入与全量切换互斥
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+    private volatile ChangeCursor cursor; // 首次全量重建完成前为null，此时不做增量同步
+    private volatile FacetIndex facetIndex; // 未启用属性筛选时为null
+
+    public SearchIndexer(ChangeSource source, EmbeddedSearchIndex index, Supplier<EmbeddedSearchIndex> stagingFactory,
+                         int batchSize, int maxBatchesPerPoll, int maxRetries, Duration retryBackoff) {
+        this.source = source;
+        this.index = index;
+        this.stagingFactory = stagingFactory;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerPoll = Math.max(1, maxBatchesPerPoll);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoff = retryBackoff;
+    }
+
+    // 读取并应用位点之后的变更，返回去重后写入的文档数；上一次轮询或全量切换未结束时跳过
+    public int poll() {
+        ChangeCursor from = cursor;
+        if (from == null || !applyLock.tryLock()) {
+            return 0;
+        }
+        try {
+            // 1. 读取至多maxBatchesPerPoll批，同一文档只保留最后一次变更
+            LinkedHashMap<Long, DocumentChange> changes = new LinkedHashMap<>();
+            ChangeCursor next = from;
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                List<DocumentChange> batch = source.fetchAfter(next, batchSize);
+                for (DocumentChange change : batch) {
+                    changes.remove(change.id());
+                    changes.put(change.id(), change);
+                }
+                if (!batch.isEmpty()) {
+                    next = batch.get(batch.size() - 1).cursor();
+                }
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            if (changes.isEmpty()) {
+                return 0;
+            }
+
+            // 2. 写入成功后才推进位点，写入失败时同一批变更下次轮询重读
+            applyWithRetry(changes.values());
+            cursor = next;
+            return changes.size();
+        } catch (RuntimeException e) {
+            log.warn("检索索引增量同步失败，位点保持在{}", cursor, e);
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    // 全量重建，返回读取的文档数；已有重建在进行时返回-1
+    public long fullReindex() {
+        if (!reindexing.compareAndSet(false, true)) {
+            log.info("检索索引正在全量重建，跳过本次");
+            return -1L;
+        }
+        long startedAt = System.currentTimeMillis();
+        EmbeddedSearchIndex staging = stagingFactory.get();
+        FacetIndex facets = facetIndex;
+        FacetIndex facetStaging = facets != null ? new FacetIndex() : null;
+        try {
+            // 1. 先记位点再开始读，读取期间的变更在切换后重放，写入是幂等覆盖
+            ChangeCursor start = source.position();
+            long loaded = source.streamAll(document -> {
+                staging.index(document);
+                if (facetStaging != null) {
+                    facetStaging.index(document);
+                }
+            });
+            staging.forceMerge();
+
+            // 2. 整体切换，位点回退到重建开始时；增量落后于该位点时保持原位点
+            applyLock.lock();
+            try {
+                index.swapFrom(staging);
+                if (facets != null) {
+                    facets.swapFrom(facetStaging);
+                }
+                ChangeCursor current = cursor;
+                cursor = current == null || current.compareTo(start) > 0 ? start : current;
+            } finally {
+                applyLock.unlock();
+            }
+            log.info("检索索引全量重建完成，{}篇文档，{}个段，耗时{}ms", loaded, index.segmentCount(),
+                    System.currentTimeMillis() - startedAt);
+            return loaded;
+        } catch (RuntimeException e) {
+            log.error("检索索引全量重建失败，继续使用当前索引", e);
+            return 0L;
+        } finally {
+            closeQuietly(staging);
+            reindexing.set(false);
+        }
+    }
+
+    public ChangeCursor getCursor() {
+        return cursor;
+    }
+
+    // 属性筛选索引与检索索引同步写入，需在首次全量重建前设置
+    public void setFacetIndex(FacetIndex facetIndex) {
+        this.facetIndex = facetIndex;
+    }
+
+    private void applyWithRetry(Collection<DocumentChange> changes) throws InterruptedException {
+        FacetIndex facets = facetIndex;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                for (DocumentChange change : changes) {
+                    if (change.isDelete()) {
+                        index.delete(change.id());
+                        if (facets != null) {
+                            facets.delete(change.id());
+                        }
+                    } else {
+                        index.index(change.document());
+                        if (facets != null) {
+                            facets.index(change.document());
+                        }
+                    }
+                }
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                long backoff = retryBackoff.toMillis() << Math.min(attempt, 10);
+                log.warn("检索索引写入失败，{}ms后第{}次重试", backoff, attempt + 1, e);
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    private static void closeQuietly(EmbeddedSearchIndex staging) {
+        try {
+            staging.close();
+        } catch (Exception e) {
+            log.warn("关闭全量重建临时索引失败", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * UpdatedAtChangeSource类
+ * 按updated_at追踪torrent_files的变更来源
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.indexer;
+
+import com.knene.infrastructure.persistence.repository.TorrentSearchSourceRepository;
+import com.knene.infrastructure.search.TorrentSearchDocument;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 按updated_at追踪的变更来源 - 只读取settle之前的行，给同一秒内的写入留出提交时间
+// 提交耗时超过settle的长事务可能被跳过，由定时全量重建兜底
+public class UpdatedAtChangeSource implements ChangeSource {
+
+    private final TorrentSearchSourceRepository repository;
+    private final Duration settle;
+
+    public UpdatedAtChangeSource(TorrentSearchSourceRepository repository, Duration settle) {
+        this.repository = repository;
+        this.settle = settle;
+    }
+
+    @Override
+    public ChangeCursor position() {
+        return repository.currentPosition(settle);
+    }
+
+    @Override
+    public List<DocumentChange> fetchAfter(ChangeCursor cursor, int limit) {
+        return repository.findChangesAfter(cursor, settle, limit);
+    }
+
+    @Override
+    public long streamAll(Consumer<TorrentSearchDocument> consumer) {
+        return repository.streamAll(consumer);
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * SearchEvent类
+ * 检索事件，请求线程上采集的精简检索记录
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.log;
+
+// 检索事件 - 请求线程只拷贝已有的值，解析、规范化和截断都留给后台写入线程
+// userId为null表示匿名用户；authenticated为true但userId为null表示认证主体不是数字ID
+public record SearchEvent(long timestamp, Long userId, boolean authenticated, String sessionId, String ipAddress,
+                          String userAgent, String referrer, String keyword, String normalizedKeyword,
+                          String correctedKeyword, Integer categoryId, int from, int size, long resultCount,
+                          long elapsedNanos, boolean cacheHit, String cacheKey, long cacheTtlSeconds) {
+}
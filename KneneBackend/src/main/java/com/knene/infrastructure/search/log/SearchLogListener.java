@@ -0,0 +1,86 @@
+/**
+ * SearchLogListener类
+ * 检索日志采集回调，在请求线程上把检索结果和客户端信息拼成检索事件
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.log;
+
+import com.knene.infrastructure.search.SearchQuery;
+import com.knene.infrastructure.search.cache.SearchListener;
+import com.knene.infrastructure.search.cache.SearchResultPage;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+// 检索日志采集回调 - 只读取请求头和认证信息，不创建会话；不在Web请求中的检索（如任务预热）客户端字段为空
+public class SearchLogListener implements SearchListener {
+
+    private final SearchLogPipeline pipeline;
+
+    public SearchLogListener(SearchLogPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public void onSearch(SearchQuery query, SearchResultPage page, long elapsedNanos) {
+        // 1. 认证主体为数字时作为用户ID，否则只标记为已登录
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        Long userId = authenticated ? parseUserId(authentication.getName()) : null;
+
+        // 2. 客户端信息取自当前请求
+        HttpServletRequest request = currentRequest();
+        String sessionId = request != null ? request.getRequestedSessionId() : null;
+        String ipAddress = request != null ? clientIp(request) : null;
+        String userAgent = request != null ? request.getHeader("User-Agent") : null;
+        String referrer = request != null ? request.getHeader("Referer") : null;
+
+        pipeline.offer(new SearchEvent(System.currentTimeMillis(), userId, authenticated, sessionId, ipAddress,
+                userAgent, referrer, query.text(), page.normalizedKeyword(), page.correctedKeyword(),
+                query.categoryId(), query.from(), query.size(), page.hits().total(), elapsedNanos, page.cacheHit(),
+                page.cacheKey(), page.cacheTtlSeconds()));
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+
+    // 与登录接口相同的取法：X-Forwarded-For首个地址、X-Real-IP、连接地址依次兜底
+    private static String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(forwardedFor)) {
+            int comma = forwardedFor.indexOf(',');
+            return (comma >= 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+        }
+        String realIp = request.getHeader("X-Real-IP");
+        if (realIp != null && !realIp.isEmpty() && !"unknown".equalsIgnoreCase(realIp)) {
+            return realIp;
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static Long parseUserId(String name) {
+        if (name == null || name.isEmpty() || name.length() > 19) {
+            return null;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            return Long.valueOf(name);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * SearchLogPipeline类
+ * 检索日志写入管道，有界队列缓冲检索事件，后台线程补全后批量写入search_logs
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.log;
+
+import com.knene.infrastructure.search.TextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// 检索日志管道 - 请求线程只做采样判断和一次非阻塞入队，队列满时丢弃并计数，检索不会被日志拖慢
+// 后台单线程攒批：拿到第一条后最多等flushInterval或攒满batchSize，再解析User-Agent、规范化关键词并整批写入
+// 写入失败的批次丢弃并计数，不重试，避免数据库故障时积压拖垮内存
+public class SearchLogPipeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchLogPipeline.class);
+
+    private static final int MAX_KEYWORD_CHARS = 500;
+    private static final int SAMPLE_SCALE = 1 << 16;
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final BlockingQueue<SearchEvent> queue;
+    private final Consumer<List<SearchLogRow>> writer;
+    private final Function<String, UserAgentInfo> userAgentParser;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int anonymousSampleThreshold; // 匿名事件的会话散列低16位小于该值时保留
+    private final Map<String, UserAgentInfo> userAgentCache; // 只在写入线程访问，LRU
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final AtomicLong accepted = new AtomicLong(); // 入队的事件数
+    private final AtomicLong sampledOut = new AtomicLong(); // 匿名采样丢弃的事件数
+    private final AtomicLong dropped = new AtomicLong(); // 队列满丢弃的事件数
+    private final AtomicLong written = new AtomicLong(); // 写入成功的行数
+    private final AtomicLong failed = new AtomicLong(); // 写入失败丢弃的行数
+    private long reportedDrops;
+    private long lastDropReport = System.nanoTime();
+
+    public SearchLogPipeline(Consumer<List<SearchLogRow>> writer, Function<String, UserAgentInfo> userAgentParser,
+                             int queueCapacity, int batchSize, Duration flushInterval, double anonymousSampleRate,
+                             int userAgentCacheSize) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.writer = writer;
+        this.userAgentParser = userAgentParser;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        double sampleRate = Math.min(1.0, Math.max(0.0, anonymousSampleRate));
+        this.anonymousSampleThreshold = (int) Math.round(sampleRate * SAMPLE_SCALE);
+        int cacheSize = Math.max(1, userAgentCacheSize);
+        this.userAgentCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserAgentInfo> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.worker = new Thread(this::run, "search-log-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    // 提交一次检索事件，返回是否入队；不阻塞
+    public boolean offer(SearchEvent event) {
+        if (!event.authenticated() && !sampled(event)) {
+            sampledOut.incrementAndGet();
+            return false;
+        }
+        if (!running || !queue.offer(event)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        accepted.incrementAndGet();
+        return true;
+    }
+
+    // 停止接收并写完队列中剩余的事件
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("检索日志管道已关闭，累计入队{}条，采样丢弃{}条，队列满丢弃{}条，写入{}行，写入失败{}行",
+                accepted.get(), sampledOut.get(), dropped.get(), written.get(), failed.get());
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    public long getSampledOut() {
+        return sampledOut.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    // 按会话采样，同一会话的检索要么全部保留要么全部丢弃，search_sequence_number等会话分析不被打散
+    private boolean sampled(SearchEvent event) {
+        if (anonymousSampleThreshold >= SAMPLE_SCALE) {
+            return true;
+        }
+        String key = event.sessionId() != null ? event.sessionId() : event.ipAddress();
+        int bucket = key != null ? mix(key.hashCode()) & (SAMPLE_SCALE - 1)
+                : ThreadLocalRandom.current().nextInt(SAMPLE_SCALE);
+        return bucket < anonymousSampleThreshold;
+    }
+
+    private void run() {
+        List<SearchEvent> events = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(events);
+                if (!events.isEmpty()) {
+                    write(events);
+                }
+                reportDrops();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("检索日志管道异常", e);
+            } finally {
+                events.clear();
+            }
+        }
+    }
+
+    // 攒一批：等第一条事件，之后在flushInterval内继续收取直到攒满
+    private void collect(List<SearchEvent> events) throws InterruptedException {
+        SearchEvent first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        events.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (events.size() < batchSize && running) {
+            queue.drainTo(events, batchSize - events.size());
+            long remaining = deadline - System.nanoTime();
+            if (events.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            SearchEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            events.add(next);
+        }
+        if (!running) {
+            queue.drainTo(events, batchSize - events.size());
+        }
+    }
+
+    private void write(List<SearchEvent> events) {
+        List<SearchLogRow> rows = new ArrayList<>(events.size());
+        for (SearchEvent event : events) {
+            rows.add(enrich(event));
+        }
+        try {
+            writer.accept(rows);
+            written.addAndGet(rows.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(rows.size());
+            log.error("写入检索日志失败，丢弃{}行", rows.size(), e);
+        }
+    }
+
+    private SearchLogRow enrich(SearchEvent event) {
+        String normalized = event.normalizedKeyword() != null ? event.normalizedKeyword()
+                : TextAnalyzer.normalizeQuery(event.keyword(), MAX_KEYWORD_CHARS);
+        UserAgentInfo userAgent = UserAgentInfo.UNKNOWN;
+        if (event.userAgent() != null) {
+            userAgent = userAgentCache.get(event.userAgent());
+            if (userAgent == null) {
+                userAgent = parseQuietly(event.userAgent());
+                userAgentCache.put(event.userAgent(), userAgent);
+            }
+        }
+        return new SearchLogRow(event, normalized, userAgent);
+    }
+
+    private UserAgentInfo parseQuietly(String userAgent) {
+        try {
+            return userAgentParser.apply(userAgent);
+        } catch (RuntimeException e) {
+            return UserAgentInfo.UNKNOWN;
+        }
+    }
+
+    // 队列满丢弃时每分钟最多告警一次
+    private void reportDrops() {
+        long now = System.nanoTime();
+        if (now - lastDropReport < DROP_REPORT_INTERVAL_NANOS) {
+            return;
+        }
+        long total = dropped.get();
+        if (total > reportedDrops) {
+            log.warn("检索日志队列已满，最近丢弃{}条，累计丢弃{}条", total - reportedDrops, total);
+            reportedDrops = total;
+        }
+        lastDropReport = now;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * SearchLogRow类
+ * search_logs的一行，由检索事件补全而来
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.log;
+
+// search_logs行 - 关键词已规范化、User-Agent已解析，按列宽截断由写入方负责
+public record SearchLogRow(SearchEvent event, String normalizedKeyword, UserAgentInfo userAgent) {
+}
@@ -0,0 +1,31 @@
+/**
+ * UserAgentInfo类
+ * 用户代理解析结果
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.log;
+
+import cn.hutool.http.useragent.UserAgent;
+import cn.hutool.http.useragent.UserAgentUtil;
+
+// 用户代理解析结果 - deviceType取值与search_logs.device_type一致：desktop、mobile、tablet
+public record UserAgentInfo(String deviceType, String browser, String os) {
+
+    public static final UserAgentInfo UNKNOWN = new UserAgentInfo(null, null, null);
+
+    // 用Hutool解析User-Agent头，无法识别时返回UNKNOWN
+    public static UserAgentInfo parse(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return UNKNOWN;
+        }
+        UserAgent parsed = UserAgentUtil.parse(userAgent);
+        if (parsed == null) {
+            return UNKNOWN;
+        }
+        String deviceType = parsed.getPlatform().isIPad() ? "tablet" : parsed.isMobile() ? "mobile" : "desktop";
+        return new UserAgentInfo(deviceType, parsed.getBrowser().getName(), parsed.getOs().getName());
+    }
+}
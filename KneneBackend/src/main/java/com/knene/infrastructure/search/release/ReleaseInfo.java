@@ -0,0 +1,15 @@
+/**
+ * ReleaseInfo类
+ * 发布名解析结果，对应torrent_files的技术参数列
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.release;
+
+// 发布名解析结果 - 未识别的字段为null，qualityLevel按torrent_files约定取1-5
+public record ReleaseInfo(String title, Integer year, String resolution, String sourceType, String processingType,
+                          String videoCodec, String audioCodec, String hdrFormat, String releaseGroup,
+                          String containerFormat, int qualityLevel) {
+}
@@ -0,0 +1,430 @@
+/**
+ * ReleaseNameParser类
+ * 发布名解析器，单遍扫描提取torrent_files的技术参数
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.release;
+
+// 发布名解析器 - 切词只记录起止下标并顺带算出词哈希，词典查找不拷贝字符，整个过程只为结果字段分配字符串
+// 无状态且线程安全，爬虫入库和重建索引直接调用静态方法
+public final class ReleaseNameParser {
+
+    static final int MAX_NAME_LENGTH = 512; // 超出部分不参与解析
+    static final int MAX_TOKENS = 64;
+    private static final int MAX_JOIN = 3; // 词典匹配最多拼接的相邻词数，覆盖DTS-HD.MA、TrueHD.7.1等写法
+
+    private static final int TYPE_COUNT = ReleaseTokenType.values().length;
+    private static final int[] POWERS = new int[ReleaseTokenDictionary.MAX_KEY_LENGTH + 1]; // 31的幂，拼接词哈希用
+    private static final boolean[] TOKEN_CHARS = new boolean[128];
+
+    static {
+        POWERS[0] = 1;
+        for (int i = 1; i < POWERS.length; i++) {
+            POWERS[i] = POWERS[i - 1] * 31;
+        }
+        for (char c = 0; c < 128; c++) {
+            TOKEN_CHARS[c] = Character.isLetterOrDigit(c) || c == '+' || c == '@' || c == '\'';
+        }
+    }
+
+    private static final ReleaseInfo EMPTY = new ReleaseInfo(null, null, null, null, null, null, null, null, null,
+            null, 1);
+
+    private ReleaseNameParser() {
+    }
+
+    public static ReleaseInfo parse(CharSequence name) {
+        if (name == null || name.isEmpty()) {
+            return EMPTY;
+        }
+        Parse parse = new Parse(name);
+        return parse.count > 0 ? parse.run() : EMPTY;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return c < 128 ? TOKEN_CHARS[c] : Character.isLetterOrDigit(c);
+    }
+
+    // 单次解析的状态，随解析结束丢弃
+    private static final class Parse {
+
+        private final ReleaseTokenDictionary dictionary = ReleaseTokenDictionary.DEFAULT;
+        private final CharSequence name;
+        private final char[] lower; // 小写化的原文，仅转换ASCII字母
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] hashes; // 每个词小写形式的哈希，拼接查找时按31的幂合并
+        private int count;
+
+        private final int[] best = new int[TYPE_COUNT]; // 各类别当前取值，编码为(词项 << 1 | 类别位置) + 1，0表示未命中
+        private final int[] bestRank = new int[TYPE_COUNT];
+        private boolean atmos;
+        private boolean dolbyVision;
+        private int anchor = -1; // 第一个技术词或剧集标记的下标，标题和年份都在它之前
+
+        // 切词只记录起止下标并顺带计算词哈希；词字符为字母、数字及+ @ '，超过MAX_TOKENS的尾部词被忽略
+        Parse(CharSequence name) {
+            this.name = name;
+            int length = Math.min(name.length(), MAX_NAME_LENGTH);
+            this.lower = new char[length];
+            int capacity = Math.min(MAX_TOKENS, (length + 1) / 2); // 词之间至少隔一个分隔符
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+            this.hashes = new int[capacity];
+            if (name instanceof String string) {
+                string.getChars(0, length, lower, 0);
+            } else {
+                for (int p = 0; p < length; p++) {
+                    lower[p] = name.charAt(p);
+                }
+            }
+            int i = 0;
+            while (i < length && count < capacity) {
+                while (!isTokenChar(lower[i])) {
+                    if (++i == length) {
+                        return;
+                    }
+                }
+                starts[count] = i;
+                int hash = 0;
+                char c;
+                while (i < length && isTokenChar(c = lower[i])) {
+                    if (c >= 'A' && c <= 'Z') {
+                        c = (char) (c + ('a' - 'A'));
+                        lower[i] = c;
+                    }
+                    hash = 31 * hash + c;
+                    i++;
+                }
+                hashes[count] = hash;
+                ends[count++] = i;
+            }
+        }
+
+        ReleaseInfo run() {
+            // 1. 末尾紧跟在点号之后的容器词视为扩展名
+            String container = null;
+            int last = count - 1;
+            if (last > 0 && ends[last] == name.length() && lower[starts[last] - 1] == '.') {
+                int entry = lookup(last, 1);
+                if (entry >= 0 && dictionary.types(entry)[0] == ReleaseTokenType.CONTAINER) {
+                    container = dictionary.values(entry)[0];
+                    count--;
+                }
+            }
+
+            // 2. 末尾以连字符引出且不是技术词的视为发布组，如-FraMeSToR、-CMCT@HDSky、" - YIFY"
+            String group = null;
+            int groupIndex = count - 1;
+            if (groupIndex > 0 && dashBefore(starts[groupIndex]) && !endsWithTechToken(groupIndex)) {
+                group = text(groupIndex);
+                count--;
+            }
+
+            // 3. 以方括号开头的字幕组发布，括号内容作为发布组，标题从括号之后开始
+            int titleStart = 0;
+            if (name.charAt(0) == '[') {
+                int close = indexOf(']', 1);
+                if (close > 0 && count > 1 && ends[0] <= close) {
+                    int first = 0;
+                    while (first < count && ends[first] <= close) {
+                        first++;
+                    }
+                    if (first < count) {
+                        if (group == null) {
+                            group = name.subSequence(starts[0], ends[first - 1]).toString();
+                        }
+                        titleStart = first;
+                    }
+                }
+            }
+
+            // 4. 逐词做最长匹配，技术词按类别取rank最高的值
+            int i = titleStart;
+            while (i < count) {
+                if (anchor < 0 && (isEpisodeMarker(i) || titleStart > 0 && isEpisodeNumber(i))) {
+                    anchor = i;
+                    i++;
+                    continue;
+                }
+                int consumed = matchAt(i);
+                i += consumed > 0 ? consumed : 1;
+            }
+
+            // 5. 年份取标题区最后一个19xx/20xx，且不能是第一个词，避免把《2012》这类片名当成年份
+            int titleEnd = anchor >= 0 ? anchor : count;
+            Integer year = null;
+            for (int j = titleEnd - 1; j > titleStart; j--) {
+                int value = yearAt(j);
+                if (value > 0) {
+                    year = value;
+                    titleEnd = j;
+                    break;
+                }
+            }
+            if (container == null) {
+                container = value(ReleaseTokenType.CONTAINER);
+            }
+            return new ReleaseInfo(title(titleStart, titleEnd), year, value(ReleaseTokenType.RESOLUTION),
+                    value(ReleaseTokenType.SOURCE), value(ReleaseTokenType.PROCESSING),
+                    value(ReleaseTokenType.VIDEO_CODEC), audio(), hdr(), group, container, qualityLevel());
+        }
+
+        // 在位置i尝试先长后短的拼接匹配，返回消耗的词数，未命中返回0
+        private int matchAt(int i) {
+            for (int n = Math.min(MAX_JOIN, count - i); n >= 1; n--) {
+                int entry = lookup(i, n);
+                if (entry < 0 || !accept(entry, i, n)) {
+                    continue;
+                }
+                ReleaseTokenType[] types = dictionary.types(entry);
+                for (int t = 0; t < types.length; t++) {
+                    record(types[t], entry, t);
+                }
+                if (anchor < 0 && isAnchor(types[0])) {
+                    anchor = i;
+                }
+                return n;
+            }
+            return 0;
+        }
+
+        // 标题区内的短纯字母词（如CAM、WEB、DD、DV）和声道、标记词容易与片名冲突，出现锚点前不采纳
+        private boolean accept(int entry, int i, int n) {
+            if (anchor >= 0) {
+                return true;
+            }
+            ReleaseTokenType type = dictionary.types(entry)[0];
+            if (type == ReleaseTokenType.CHANNELS || type == ReleaseTokenType.MARKER) {
+                return false;
+            }
+            if (i == 0 && count > 1) {
+                return false; // 首词总是片名的一部分
+            }
+            int length = ends[i + n - 1] - starts[i];
+            if (length > 3) {
+                return true;
+            }
+            for (int p = starts[i]; p < ends[i + n - 1]; p++) {
+                if (isAsciiDigit(lower[p])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isAnchor(ReleaseTokenType type) {
+            return type != ReleaseTokenType.CHANNELS && type != ReleaseTokenType.MARKER;
+        }
+
+        // 命中只记录词项下标，字符串在生成结果时才取出
+        private void record(ReleaseTokenType type, int entry, int position) {
+            switch (type) {
+                case ATMOS -> atmos = true;
+                case HDR -> {
+                    if ("DV".equals(dictionary.values(entry)[position])) {
+                        dolbyVision = true;
+                        return;
+                    }
+                    keepBest(type, entry, position);
+                }
+                case CHANNELS, MARKER -> {
+                }
+                default -> keepBest(type, entry, position);
+            }
+        }
+
+        private void keepBest(ReleaseTokenType type, int entry, int position) {
+            int slot = type.ordinal();
+            int rank = dictionary.rank(entry);
+            if (best[slot] == 0 || rank > bestRank[slot]) {
+                best[slot] = (entry << 1 | position) + 1;
+                bestRank[slot] = rank;
+            }
+        }
+
+        private String value(ReleaseTokenType type) {
+            int encoded = best[type.ordinal()] - 1;
+            return encoded >= 0 ? dictionary.values(encoded >> 1)[encoded & 1] : null;
+        }
+
+        // 以第i个词起的n个词去掉分隔符后的小写形式查词典，哈希由各词哈希合并得到，不逐字符重算
+        private int lookup(int i, int n) {
+            int length = 0;
+            int hash = 0;
+            for (int t = i; t < i + n; t++) {
+                int tokenLength = ends[t] - starts[t];
+                length += tokenLength;
+                if (length > ReleaseTokenDictionary.MAX_KEY_LENGTH) {
+                    return -1;
+                }
+                hash = hash * POWERS[tokenLength] + hashes[t];
+            }
+            return dictionary.find(lower, starts, ends, i, n, length, hash);
+        }
+
+        // 判断以第i个词结尾的1-3个词是否构成技术词，用于区分-GROUP与WEB-DL、DTS-HD这类写法
+        private boolean endsWithTechToken(int i) {
+            for (int n = 1; n <= Math.min(MAX_JOIN, i + 1); n++) {
+                if (lookup(i - n + 1, n) >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 剧集标记：S01、S01E02、E05、EP12
+        private boolean isEpisodeMarker(int i) {
+            int p = starts[i];
+            int end = ends[i];
+            char first = lower[p];
+            if (first != 's' && first != 'e') {
+                return false;
+            }
+            p++;
+            if (first == 'e' && p < end && lower[p] == 'p') {
+                p++;
+            }
+            int digits = 0;
+            while (p < end && isAsciiDigit(lower[p])) {
+                p++;
+                digits++;
+            }
+            if (digits == 0 || digits > 3) {
+                return false;
+            }
+            if (p == end) {
+                return true;
+            }
+            if (first != 's' || lower[p] != 'e') {
+                return false;
+            }
+            p++;
+            digits = 0;
+            while (p < end && isAsciiDigit(lower[p])) {
+                p++;
+                digits++;
+            }
+            return digits > 0 && digits <= 4 && p == end;
+        }
+
+        private boolean dashBefore(int start) {
+            if (lower[start - 1] == '-') {
+                return true;
+            }
+            return start >= 3 && lower[start - 1] == ' ' && lower[start - 2] == '-' && lower[start - 3] == ' ';
+        }
+
+        // 字幕组命名中" - 01"形式的集数
+        private boolean isEpisodeNumber(int i) {
+            int start = starts[i];
+            if (start < 2 || lower[start - 1] != ' ' || lower[start - 2] != '-') {
+                return false;
+            }
+            int length = ends[i] - start;
+            if (length > 4 || yearAt(i) > 0) {
+                return false;
+            }
+            for (int p = start; p < ends[i]; p++) {
+                if (!isAsciiDigit(lower[p])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int yearAt(int i) {
+            if (ends[i] - starts[i] != 4) {
+                return 0;
+            }
+            int value = 0;
+            for (int p = starts[i]; p < ends[i]; p++) {
+                char c = lower[p];
+                if (!isAsciiDigit(c)) {
+                    return 0;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value >= 1900 && value <= 2099 ? value : 0;
+        }
+
+        // 取原文中标题词的区间，点号和下划线还原为空格并合并连续空白，遇到方括号截断
+        private String title(int from, int to) {
+            if (from >= to) {
+                return null;
+            }
+            char[] buffer = new char[ends[to - 1] - starts[from]];
+            int end = 0;
+            for (int p = starts[from]; p < ends[to - 1]; p++) {
+                char c = name.charAt(p);
+                if (c == '[') {
+                    break;
+                }
+                if (c == '.' || c == '_') {
+                    c = ' ';
+                }
+                if (c != ' ' || buffer[end - 1] != ' ') {
+                    buffer[end++] = c;
+                }
+            }
+            while (end > 0 && (buffer[end - 1] == ' ' || buffer[end - 1] == '-')) {
+                end--;
+            }
+            return end > 0 ? new String(buffer, 0, end) : null;
+        }
+
+        private String audio() {
+            String codec = value(ReleaseTokenType.AUDIO);
+            if (!atmos) {
+                return codec;
+            }
+            return codec != null ? codec + " Atmos" : "Atmos";
+        }
+
+        // 杜比视界常与HDR10双层封装，合并为"DV HDR10"
+        private String hdr() {
+            String format = value(ReleaseTokenType.HDR);
+            if (!dolbyVision) {
+                return format;
+            }
+            return format != null && !"SDR".equals(format) ? "DV " + format : "DV";
+        }
+
+        // 1-普通，2-高清，3-超清，4-4K，5-蓝光原盘或Remux
+        private int qualityLevel() {
+            String processing = value(ReleaseTokenType.PROCESSING);
+            if ("Remux".equals(processing) || "Disc".equals(processing)) {
+                return 5;
+            }
+            int rank = bestRank[ReleaseTokenType.RESOLUTION.ordinal()];
+            if (rank >= 5) {
+                return 4;
+            }
+            if (rank >= 3) {
+                return 3;
+            }
+            return rank == 2 ? 2 : 1;
+        }
+
+        private String text(int i) {
+            return name.subSequence(starts[i], ends[i]).toString();
+        }
+
+        private int indexOf(char c, int from) {
+            int limit = Math.min(name.length(), MAX_NAME_LENGTH);
+            for (int p = from; p < limit; p++) {
+                if (name.charAt(p) == c) {
+                    return p;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean isAsciiDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/**
+ * ReleaseTokenDictionary类
+ * 发布名技术词典，启动时预编译为开放寻址哈希表
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.release;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 发布名技术词典 - 键为去掉分隔符的小写形式，如WEB-DL、H.264、DTS-HD.MA分别记为webdl、h264、dtshdma
+// 查找直接比较解析器缓冲区中的字符，不创建字符串；一个词项可同时带出两个类别，如x265表示HEVC编码和压制
+final class ReleaseTokenDictionary {
+
+    static final int MAX_KEY_LENGTH = 24;
+
+    static final ReleaseTokenDictionary DEFAULT = createDefault();
+
+    private final char[][] keys;
+    private final ReleaseTokenType[][] types;
+    private final String[][] values;
+    private final int[] ranks; // 同类别多次命中时取rank最高的值
+    private final int[] table; // 槽位存词项下标 + 1，0表示空槽
+    private final int mask;
+    private final int shift;
+
+    private ReleaseTokenDictionary(List<Entry> entries) {
+        int size = entries.size();
+        this.keys = new char[size][];
+        this.types = new ReleaseTokenType[size][];
+        this.values = new String[size][];
+        this.ranks = new int[size];
+        int capacity = Integer.highestOneBit(Math.max(16, size * 4) - 1) << 1; // 负载因子不超过0.25，探测链很短
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfLeadingZeros(mask);
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries.get(i);
+            keys[i] = entry.key.toCharArray();
+            types[i] = entry.types;
+            values[i] = entry.values;
+            ranks[i] = entry.rank;
+            int slot = slot(hash(keys[i], keys[i].length));
+            while (table[slot] != 0) {
+                if (equals(keys[table[slot] - 1], keys[i], keys[i].length)) {
+                    throw new IllegalStateException("发布名词典键重复：" + entry.key);
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+    }
+
+    // 查找text中第from个起的count个词拼接成的键，词区间由starts/ends给出；hash为拼接后逐字符31进制累计值
+    // 未命中返回-1，多数查找在第一个空槽即结束，不触碰字符
+    int find(char[] text, int[] starts, int[] ends, int from, int count, int length, int hash) {
+        int slot = slot(hash);
+        int index;
+        while ((index = table[slot]) != 0) {
+            char[] key = keys[index - 1];
+            if (key.length == length && matches(key, text, starts, ends, from, count)) {
+                return index - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    ReleaseTokenType[] types(int entry) {
+        return types[entry];
+    }
+
+    String[] values(int entry) {
+        return values[entry];
+    }
+
+    int rank(int entry) {
+        return ranks[entry];
+    }
+
+    static int hash(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h;
+    }
+
+    // 短键的31进制哈希集中在低位区间，乘法散列取高位打散，避免线性探测形成长簇
+    private int slot(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private static boolean matches(char[] key, char[] text, int[] starts, int[] ends, int from, int count) {
+        int k = 0;
+        for (int t = from; t < from + count; t++) {
+            for (int p = starts[t]; p < ends[t]; p++) {
+                if (key[k++] != text[p]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(char[] key, char[] buffer, int length) {
+        for (int i = 0; i < length; i++) {
+            if (key[i] != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Entry(String key, ReleaseTokenType[] types, String[] values, int rank) {
+    }
+
+    // 默认词典，覆盖常见PT站和场景发布的命名习惯
+    private static ReleaseTokenDictionary createDefault() {
+        Builder builder = new Builder();
+
+        builder.add(ReleaseTokenType.RESOLUTION, "4320p", 6, "4320p", "8k");
+        builder.add(ReleaseTokenType.RESOLUTION, "2160p", 5, "2160p", "4k", "uhd4k");
+        builder.add(ReleaseTokenType.RESOLUTION, "1080p", 4, "1080p");
+        builder.add(ReleaseTokenType.RESOLUTION, "1080i", 3, "1080i");
+        builder.add(ReleaseTokenType.RESOLUTION, "720p", 2, "720p");
+        builder.add(ReleaseTokenType.RESOLUTION, "576p", 1, "576p");
+        builder.add(ReleaseTokenType.RESOLUTION, "480p", 1, "480p");
+
+        builder.add(ReleaseTokenType.SOURCE, "UHD BluRay", 9, "uhdbluray", "uhdbd");
+        builder.add(ReleaseTokenType.SOURCE, "BluRay", 8, "bluray", "bd", "bdrip25", "blurayrip");
+        builder.add(ReleaseTokenType.SOURCE, "WEB-DL", 7, "webdl");
+        builder.add(ReleaseTokenType.SOURCE, "WEBRip", 6, "webrip");
+        builder.add(ReleaseTokenType.SOURCE, "WEB", 5, "web");
+        builder.add(ReleaseTokenType.SOURCE, "HDTV", 4, "hdtv", "pdtv");
+        builder.add(ReleaseTokenType.SOURCE, "DVD", 3, "dvd", "dvd5", "dvd9", "ntsc", "pal");
+        builder.add(ReleaseTokenType.SOURCE, "HDRip", 2, "hdrip");
+        builder.add(ReleaseTokenType.SOURCE, "CAM", 1, "cam", "hdcam", "telesync", "hdts");
+        builder.addPair(ReleaseTokenType.SOURCE, "BluRay", ReleaseTokenType.PROCESSING, "Encode", 8, "bdrip", "brrip");
+        builder.addPair(ReleaseTokenType.SOURCE, "DVD", ReleaseTokenType.PROCESSING, "Encode", 3, "dvdrip");
+
+        builder.addPair(ReleaseTokenType.SOURCE, "UHD BluRay", ReleaseTokenType.PROCESSING, "Disc", 9, "completeuhdbluray");
+        builder.addPair(ReleaseTokenType.SOURCE, "BluRay", ReleaseTokenType.PROCESSING, "Disc", 8, "completebluray",
+                "fullbluray");
+        builder.add(ReleaseTokenType.PROCESSING, "Disc", 3, "bdmv", "bdiso");
+        builder.add(ReleaseTokenType.PROCESSING, "Remux", 2, "remux", "bdremux");
+
+        builder.add(ReleaseTokenType.VIDEO_CODEC, "HEVC", 3, "hevc", "h265");
+        builder.add(ReleaseTokenType.VIDEO_CODEC, "AV1", 3, "av1");
+        builder.add(ReleaseTokenType.VIDEO_CODEC, "AVC", 2, "avc", "h264");
+        builder.add(ReleaseTokenType.VIDEO_CODEC, "VC-1", 2, "vc1");
+        builder.add(ReleaseTokenType.VIDEO_CODEC, "MPEG-2", 1, "mpeg2");
+        builder.add(ReleaseTokenType.VIDEO_CODEC, "VP9", 1, "vp9");
+        builder.add(ReleaseTokenType.VIDEO_CODEC, "XviD", 1, "xvid");
+        builder.add(ReleaseTokenType.VIDEO_CODEC, "DivX", 1, "divx");
+        builder.addPair(ReleaseTokenType.VIDEO_CODEC, "HEVC", ReleaseTokenType.PROCESSING, "Encode", 3, "x265");
+        builder.addPair(ReleaseTokenType.VIDEO_CODEC, "AVC", ReleaseTokenType.PROCESSING, "Encode", 2, "x264");
+
+        // 音频编码连同常见声道写法一起登记，如DDP5.1、AAC2.0、TrueHD7.1
+        builder.addAudio("TrueHD", 10, "truehd");
+        builder.addAudio("DTS:X", 9, "dtsx");
+        builder.addAudio("DTS-HD MA", 8, "dtshdma", "dtsma");
+        builder.addAudio("DTS-HD", 7, "dtshd", "dtshdhra");
+        builder.addAudio("LPCM", 7, "lpcm", "pcm");
+        builder.addAudio("FLAC", 6, "flac");
+        builder.addAudio("DD+", 5, "ddp", "dd+", "eac3", "ddplus");
+        builder.addAudio("DTS", 4, "dts");
+        builder.addAudio("DD", 3, "dd", "ac3", "dolbydigital");
+        builder.addAudio("AAC", 2, "aac");
+        builder.addAudio("Opus", 2, "opus");
+        builder.addAudio("MP3", 1, "mp3");
+        builder.add(ReleaseTokenType.ATMOS, "Atmos", 1, "atmos");
+
+        builder.add(ReleaseTokenType.HDR, "DV", 5, "dv", "dovi", "dolbyvision");
+        builder.add(ReleaseTokenType.HDR, "HDR10+", 4, "hdr10+", "hdr10plus");
+        builder.add(ReleaseTokenType.HDR, "HDR10", 3, "hdr10", "hdr");
+        builder.add(ReleaseTokenType.HDR, "HLG", 2, "hlg");
+        builder.add(ReleaseTokenType.HDR, "SDR", 1, "sdr");
+
+        builder.add(ReleaseTokenType.CONTAINER, "mkv", 1, "mkv");
+        builder.add(ReleaseTokenType.CONTAINER, "mp4", 1, "mp4");
+        builder.add(ReleaseTokenType.CONTAINER, "avi", 1, "avi");
+        builder.add(ReleaseTokenType.CONTAINER, "m2ts", 1, "m2ts");
+        builder.add(ReleaseTokenType.CONTAINER, "iso", 1, "iso");
+        builder.add(ReleaseTokenType.CONTAINER, "wmv", 1, "wmv");
+
+        builder.add(ReleaseTokenType.CHANNELS, null, 0, "10", "20", "51", "71", "2ch", "6ch", "8ch");
+        builder.add(ReleaseTokenType.MARKER, null, 0, "proper", "repack", "rerip", "internal", "limited",
+                "extended", "unrated", "remastered", "imax", "hybrid", "10bit", "8bit", "hi10p", "multi", "dubbed",
+                "subbed", "60fps", "120fps", "3d", "hsbs", "amzn", "nf", "dsnp", "hmax", "atvp", "itunes", "hulu",
+                "criterion", "directorscut", "uncut", "国语", "粤语", "国英双语", "国粤双语", "中字", "中英字幕",
+                "简繁字幕", "简繁英字幕", "内封字幕", "特效字幕");
+        return builder.build();
+    }
+
+    private static final class Builder {
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        void add(ReleaseTokenType type, String value, int rank, String... keys) {
+            for (String key : keys) {
+                entries.add(new Entry(key, new ReleaseTokenType[]{type}, new String[]{value}, rank));
+            }
+        }
+
+        void addPair(ReleaseTokenType type, String value, ReleaseTokenType secondType, String secondValue, int rank,
+                     String... keys) {
+            for (String key : keys) {
+                entries.add(new Entry(key, new ReleaseTokenType[]{type, secondType},
+                        new String[]{value, secondValue}, rank));
+            }
+        }
+
+        void addAudio(String value, int rank, String... keys) {
+            for (String key : keys) {
+                add(ReleaseTokenType.AUDIO, value, rank, key, key + "10", key + "20", key + "51", key + "71");
+            }
+        }
+
+        ReleaseTokenDictionary build() {
+            for (Entry entry : entries) {
+                if (entry.key.length() > MAX_KEY_LENGTH) {
+                    throw new IllegalStateException("发布名词典键过长：" + entry.key);
+                }
+            }
+            return new ReleaseTokenDictionary(entries);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * ReleaseTokenType枚举
+ * 发布名词典中的词项类别
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.release;
+
+// 发布名词项类别 - 每个词典项只属于一个类别，同类别多次出现时按词典中的优先级取最高者
+enum ReleaseTokenType {
+
+    RESOLUTION,
+    SOURCE,
+    PROCESSING,
+    VIDEO_CODEC,
+    ENCODER, // x264、x265等编码器名，同时说明视频编码和“压制”处理
+    AUDIO,
+    ATMOS,
+    HDR,
+    CONTAINER,
+    CHANNELS, // 声道数，只用于识别技术段，不输出
+    MARKER // 其他常见技术标记，如PROPER、REPACK、多语言等，只用于确定标题结束位置
+}
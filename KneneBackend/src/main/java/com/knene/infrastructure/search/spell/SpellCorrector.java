@@ -0,0 +1,98 @@
+/**
+ * SpellCorrector类
+ * 搜索关键词拼写纠错服务，持有当前纠错词典并负责后台重建
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.spell;
+
+import com.knene.infrastructure.search.TextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// 拼写纠错服务 - 按规范化后的词逐个纠正，中文、纯数字和过短的词不纠正；短词最多只允许一处编辑
+// 词典整体重建后一次性替换引用，重建失败时保留旧词典，首次构建完成前不做纠正
+public class SpellCorrector {
+
+    private static final Logger log = LoggerFactory.getLogger(SpellCorrector.class);
+
+    private static final int MAX_QUERY_LENGTH = 500;
+
+    private final Supplier<SpellDictionary> dictionaryLoader;
+    private final int maxEditDistance;
+    private final int minTermLength;
+    private final int shortTermLength; // 不超过该长度的词最多纠正一处编辑
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile SpellDictionary dictionary;
+
+    public SpellCorrector(Supplier<SpellDictionary> dictionaryLoader, int maxEditDistance, int minTermLength,
+                          int shortTermLength) {
+        this.dictionaryLoader = dictionaryLoader;
+        this.maxEditDistance = maxEditDistance;
+        this.minTermLength = minTermLength;
+        this.shortTermLength = shortTermLength;
+    }
+
+    // 返回纠正后的规范化关键词，无需纠正、无法纠正或词典未就绪时返回null
+    public String correct(String keyword) {
+        SpellDictionary current = dictionary;
+        if (current == null || current.size() == 0 || keyword == null) {
+            return null;
+        }
+        String normalized = TextAnalyzer.normalizeQuery(keyword, MAX_QUERY_LENGTH);
+        String[] words = normalized.split(" ");
+        boolean changed = false;
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            if (word.length() < minTermLength || !SpellDictionary.Builder.isPlainTerm(word) || isNumber(word)) {
+                continue;
+            }
+            int allowed = word.length() <= shortTermLength ? Math.min(1, maxEditDistance) : maxEditDistance;
+            String corrected = current.lookup(word, allowed);
+            if (corrected != null && !corrected.equals(word)) {
+                words[i] = corrected;
+                changed = true;
+            }
+        }
+        return changed ? String.join(" ", words) : null;
+    }
+
+    // 重新加载词汇并构建词典，上一次重建未结束时跳过；返回是否完成了替换
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("拼写纠错词典正在重建，跳过本次");
+            return false;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            SpellDictionary rebuilt = dictionaryLoader.get();
+            dictionary = rebuilt;
+            log.info("拼写纠错词典重建完成，{}个词项，{}个删除变体，耗时{}ms", rebuilt.size(), rebuilt.variantCount(),
+                    System.currentTimeMillis() - startedAt);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("拼写纠错词典重建失败，继续使用旧词典", e);
+            return false;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public SpellDictionary getDictionary() {
+        return dictionary;
+    }
+
+    private static boolean isNumber(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) < '0' || word.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * SpellDictionary类
+ * 对称删除拼写纠错词典，词项和删除变体全部存放在基本类型数组中
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.spell;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// 对称删除纠错词典 - 构建时为每个词项前缀生成删除至多maxEditDistance个字符的变体，查询时对输入做同样的删除
+// 两边变体相同的词项即候选，再用受限的Damerau-Levenshtein距离校验；只处理小写拉丁字母和数字词项
+// 词项拼接存放在一个char数组中，变体表为按39位哈希排序的long数组，哈希高20位建目录，查询时只在目录桶内二分
+public final class SpellDictionary {
+
+    public static final int MAX_TERMS = 1 << 24; // 变体表低24位存词项序号
+
+    private static final int ORDINAL_BITS = 24;
+    private static final long ORDINAL_MASK = (1L << ORDINAL_BITS) - 1;
+    private static final int HASH_BITS = 39;
+    private static final int BUCKET_BITS = 20;
+
+    private final char[] pool; // 全部词项首尾相接
+    private final int[] termStart; // 词项序号 -> 在pool中的起点，长度为词项数+1
+    private final int[] frequencies;
+    private final long[] variantKeys; // 去重后的变体哈希，升序
+    private final int[] bucketStart; // 哈希高BUCKET_BITS位 -> 在variantKeys中的起点
+    private final int[] variantStart; // 变体 -> 在variantTerms中的起点，长度为变体数+1
+    private final int[] variantTerms;
+    private final int maxEditDistance;
+    private final int prefixLength;
+    private final int longestTerm;
+
+    private SpellDictionary(char[] pool, int[] termStart, int[] frequencies, long[] variantKeys, int[] variantStart,
+                            int[] variantTerms, int maxEditDistance, int prefixLength) {
+        this.pool = pool;
+        this.termStart = termStart;
+        this.frequencies = frequencies;
+        this.variantKeys = variantKeys;
+        this.variantStart = variantStart;
+        this.variantTerms = variantTerms;
+        this.maxEditDistance = maxEditDistance;
+        this.prefixLength = prefixLength;
+        this.bucketStart = new int[(1 << BUCKET_BITS) + 1];
+        for (long key : variantKeys) {
+            bucketStart[(int) (key >>> (HASH_BITS - BUCKET_BITS)) + 1]++;
+        }
+        for (int i = 0; i < 1 << BUCKET_BITS; i++) {
+            bucketStart[i + 1] += bucketStart[i];
+        }
+        int longest = 0;
+        for (int i = 0; i < frequencies.length; i++) {
+            longest = Math.max(longest, termStart[i + 1] - termStart[i]);
+        }
+        this.longestTerm = longest;
+    }
+
+    public static Builder builder(int maxEditDistance, int prefixLength, int maxTermLength) {
+        return new Builder(maxEditDistance, prefixLength, maxTermLength);
+    }
+
+    // 查找与word编辑距离不超过maxDistance的最佳词项：距离最小优先，距离相同取词频高的
+    // word本身是词项时原样返回，找不到时返回null；word须为小写
+    public String lookup(String word, int maxDistance) {
+        int distanceLimit = Math.min(maxDistance, maxEditDistance);
+        if (word.isEmpty() || word.length() > longestTerm + distanceLimit) {
+            return null;
+        }
+
+        // 1. 收集输入前缀全部删除变体命中的候选序号
+        int[] candidates = new int[32];
+        int count = 0;
+        char[] chars = word.toCharArray();
+        int prefix = Math.min(chars.length, prefixLength);
+        long[] hashes = variantHashes(chars, prefix, distanceLimit);
+        for (long hash : hashes) {
+            int bucket = (int) (hash >>> (HASH_BITS - BUCKET_BITS));
+            int index = Arrays.binarySearch(variantKeys, bucketStart[bucket], bucketStart[bucket + 1], hash);
+            if (index < 0) {
+                continue;
+            }
+            for (int i = variantStart[index]; i < variantStart[index + 1]; i++) {
+                if (count == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, count * 2);
+                }
+                candidates[count++] = variantTerms[i];
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+
+        // 2. 逐个校验完整距离，距离为0说明输入本身就是词项
+        int[] rows = new int[3 * (longestTerm + 1)];
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int ordinal = candidates[i];
+            if (i > 0 && ordinal == candidates[i - 1]) {
+                continue;
+            }
+            int start = termStart[ordinal];
+            int length = termStart[ordinal + 1] - start;
+            if (Math.abs(length - chars.length) > distanceLimit) {
+                continue;
+            }
+            int distance = distance(chars, pool, start, length, Math.min(distanceLimit, bestDistance), rows);
+            if (distance == 0) {
+                return word;
+            }
+            if (distance > distanceLimit) {
+                continue;
+            }
+            if (distance < bestDistance || (distance == bestDistance && frequencies[ordinal] > frequencies[best])) {
+                best = ordinal;
+                bestDistance = distance;
+            }
+        }
+        return best >= 0 ? new String(pool, termStart[best], termStart[best + 1] - termStart[best]) : null;
+    }
+
+    public boolean contains(String word) {
+        return word.equals(lookup(word, 0));
+    }
+
+    public int size() {
+        return frequencies.length;
+    }
+
+    public int variantCount() {
+        return variantKeys.length;
+    }
+
+    // 前prefix个字符删除0到maxDeletes个字符后的全部变体哈希，已去重并升序
+    static long[] variantHashes(char[] chars, int prefix, int maxDeletes) {
+        int capacity = 1 + prefix + (maxDeletes >= 2 ? prefix * (prefix - 1) / 2 : 0);
+        long[] hashes = new long[capacity];
+        int count = 0;
+        hashes[count++] = hash(chars, prefix, -1, -1);
+        if (maxDeletes >= 1) {
+            for (int i = 0; i < prefix; i++) {
+                hashes[count++] = hash(chars, prefix, i, -1);
+                if (maxDeletes >= 2) {
+                    for (int j = i + 1; j < prefix; j++) {
+                        hashes[count++] = hash(chars, prefix, i, j);
+                    }
+                }
+            }
+        }
+        Arrays.sort(hashes, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || hashes[i] != hashes[i - 1]) {
+                hashes[unique++] = hashes[i];
+            }
+        }
+        return unique == hashes.length ? hashes : Arrays.copyOf(hashes, unique);
+    }
+
+    // 跳过skip1和skip2位置后的39位哈希，与24位序号打包后仍为非负数
+    // 冲突只会多出几个候选，最终由距离校验排除
+    private static long hash(char[] chars, int length, int skip1, int skip2) {
+        long h = 0xCBF29CE484222325L;
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (i != skip1 && i != skip2) {
+                h = (h ^ chars[i]) * 0x100000001B3L;
+                kept++;
+            }
+        }
+        h ^= kept;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h >>> (64 - HASH_BITS);
+    }
+
+    // 受限Damerau-Levenshtein距离（相邻换位算一次编辑），超过limit时提前返回limit+1
+    // rows为调用方提供的三行滚动缓冲，长度至少3 * (length + 1)
+    static int distance(char[] a, char[] pool, int start, int length, int limit, int[] rows) {
+        int width = length + 1;
+        int previous2 = 0; // 三行在rows中的起点，逐行轮换
+        int previous = width;
+        int current = 2 * width;
+        for (int j = 0; j <= length; j++) {
+            rows[previous + j] = j;
+        }
+        for (int i = 1; i <= a.length; i++) {
+            char ca = a[i - 1];
+            rows[current] = i;
+            int rowMin = i;
+            for (int j = 1; j <= length; j++) {
+                char cb = pool[start + j - 1];
+                int value = Math.min(Math.min(rows[previous + j], rows[current + j - 1]) + 1,
+                        rows[previous + j - 1] + (ca == cb ? 0 : 1));
+                if (i > 1 && j > 1 && ca == pool[start + j - 2] && a[i - 2] == cb) {
+                    value = Math.min(value, rows[previous2 + j - 2] + 1);
+                }
+                rows[current + j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(rows[previous + length], limit + 1);
+    }
+
+    // 词典构建器 - 非线程安全，词频按词项累加，build时丢弃低频词项（多为拼写错误本身）
+    public static final class Builder {
+
+        static final int MAX_TERM_LENGTH = 64;
+
+        private final int maxEditDistance;
+        private final int prefixLength;
+        private final int maxTermLength;
+        private final Map<String, long[]> counts = new HashMap<>();
+
+        private Builder(int maxEditDistance, int prefixLength, int maxTermLength) {
+            if (maxEditDistance < 0 || maxEditDistance > 2 || prefixLength < maxEditDistance + 1
+                    || maxTermLength < 1 || maxTermLength > MAX_TERM_LENGTH) {
+                throw new IllegalArgumentException("纠错词典参数不合法：maxEditDistance=" + maxEditDistance
+                        + "，prefixLength=" + prefixLength + "，maxTermLength=" + maxTermLength);
+            }
+            this.maxEditDistance = maxEditDistance;
+            this.prefixLength = prefixLength;
+            this.maxTermLength = maxTermLength;
+        }
+
+        // 登记词项，非小写字母数字组成或超长的词项忽略；返回是否登记
+        public boolean add(String term, long count) {
+            if (count <= 0 || term.isEmpty() || term.length() > maxTermLength || !isPlainTerm(term)) {
+                return false;
+            }
+            counts.computeIfAbsent(term, t -> new long[1])[0] += count;
+            return true;
+        }
+
+        public int size() {
+            return counts.size();
+        }
+
+        public SpellDictionary build(long minFrequency) {
+            // 1. 筛掉低频词项，拼接进字符池
+            String[] terms = counts.entrySet().stream()
+                    .filter(e -> e.getValue()[0] >= minFrequency)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toArray(String[]::new);
+            if (terms.length > MAX_TERMS) {
+                throw new IllegalStateException("纠错词典词项数超过上限：" + terms.length);
+            }
+            int[] termStart = new int[terms.length + 1];
+            int[] frequencies = new int[terms.length];
+            int poolLength = 0;
+            for (int i = 0; i < terms.length; i++) {
+                termStart[i] = poolLength;
+                poolLength += terms[i].length();
+                frequencies[i] = (int) Math.min(Integer.MAX_VALUE, counts.get(terms[i])[0]);
+            }
+            termStart[terms.length] = poolLength;
+            char[] pool = new char[poolLength];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i].getChars(0, terms[i].length(), pool, termStart[i]);
+            }
+
+            // 2. 变体哈希与词项序号打包成long后整体排序，相同哈希的序号自然相邻
+            long[] packed = new long[Math.max(16, terms.length * 8)];
+            int size = 0;
+            for (int ordinal = 0; ordinal < terms.length; ordinal++) {
+                char[] chars = terms[ordinal].toCharArray();
+                for (long hash : variantHashes(chars, Math.min(chars.length, prefixLength), maxEditDistance)) {
+                    if (size == packed.length) {
+                        packed = Arrays.copyOf(packed, size * 2);
+                    }
+                    packed[size++] = (hash << ORDINAL_BITS) | ordinal;
+                }
+            }
+            Arrays.sort(packed, 0, size);
+
+            // 3. 拆成去重变体表和连续的词项序号表
+            long[] keys = new long[size];
+            int[] starts = new int[size + 1];
+            int[] ordinals = new int[size];
+            int distinct = 0;
+            long previous = -1L;
+            for (int i = 0; i < size; i++) {
+                long hash = packed[i] >>> ORDINAL_BITS;
+                if (hash != previous) {
+                    keys[distinct] = hash;
+                    starts[distinct++] = i;
+                    previous = hash;
+                }
+                ordinals[i] = (int) (packed[i] & ORDINAL_MASK);
+            }
+            starts[distinct] = size;
+            return new SpellDictionary(pool, termStart, frequencies, Arrays.copyOf(keys, distinct),
+                    Arrays.copyOf(starts, distinct + 1), ordinals, maxEditDistance, prefixLength);
+        }
+
+        static boolean isPlainTerm(CharSequence term) {
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
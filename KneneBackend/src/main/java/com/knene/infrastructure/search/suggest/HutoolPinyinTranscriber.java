@@ -0,0 +1,44 @@
+/**
+ * HutoolPinyinTranscriber类
+ * 基于Hutool PinyinUtil的汉字转拼音实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.suggest;
+
+import cn.hutool.extra.pinyin.PinyinUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+// 汉字转拼音实现 - 拼音引擎由Hutool按类路径自动选择（默认TinyPinyin），多音字取引擎给出的常用读音
+public final class HutoolPinyinTranscriber implements PinyinTranscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(HutoolPinyinTranscriber.class);
+
+    private HutoolPinyinTranscriber() {
+    }
+
+    // 类路径上没有拼音引擎时返回null，联想退化为只按原文前缀匹配
+    public static HutoolPinyinTranscriber createOrNull() {
+        try {
+            PinyinUtil.getEngine();
+            return new HutoolPinyinTranscriber();
+        } catch (RuntimeException e) {
+            log.warn("未找到拼音引擎，搜索联想不支持拼音和首字母匹配：{}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public String pinyin(char c) {
+        if (!PinyinUtil.isChinese(c)) {
+            return null;
+        }
+        String pinyin = PinyinUtil.getPinyin(c);
+        return pinyin == null || pinyin.isEmpty() ? null : pinyin.toLowerCase(Locale.ROOT);
+    }
+}
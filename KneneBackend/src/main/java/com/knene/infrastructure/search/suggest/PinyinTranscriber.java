@@ -0,0 +1,17 @@
+/**
+ * PinyinTranscriber类
+ * 汉字转拼音接口
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.suggest;
+
+// 汉字转拼音接口 - 只在构建联想索引和校验超长前缀时调用，不在按键路径上逐字转换
+@FunctionalInterface
+public interface PinyinTranscriber {
+
+    // 单个汉字的拼音，小写且不带声调；不是汉字或无法转换时返回null
+    String pinyin(char c);
+}
@@ -0,0 +1,13 @@
+/**
+ * SuggestCandidate类
+ * 联想候选词
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.suggest;
+
+// 联想候选词 - 来自种子标题或热门搜索词，规范化后相同的候选在构建索引时合并权重
+public record SuggestCandidate(String text, double weight) {
+}
@@ -0,0 +1,378 @@
+/**
+ * SuggestIndex类
+ * 不可变搜索联想索引，紧凑前缀树且每个节点预存前k条补全
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.suggest;
+
+import com.knene.infrastructure.search.TextAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 不可变联想索引 - 节点按层序编号，同一父节点的子节点连续存放，按键只做逐字二分查找，不做子树遍历
+// 候选按权重降序编号，序号越小越靠前，节点的前k条补全即子树中最小的k个候选序号
+// 每个候选登记原文、拼音全拼和首字母三种键，键超过maxKeyLength的部分截断，更长的前缀查询时再校验
+public final class SuggestIndex {
+
+    public static final SuggestIndex EMPTY = build(List.of(), null, 1, 1);
+
+    private static final int MAX_TEXT_LENGTH = 100; // 展示文本规范化后的长度上限
+
+    private final Suggestion[] suggestions; // 候选序号 -> 联想结果
+    private final String[] normalizedTexts; // 候选序号 -> 规范化文本，超长前缀校验时使用
+    private final char[] labels; // 节点 -> 入边字符，根节点不使用
+    private final int[] childStart; // 节点 -> 首个子节点编号，子节点区间为[childStart[n], childStart[n + 1])
+    private final int[] topOffset; // 节点 -> 前k条补全在tops中的起点，单链节点与其子节点共用同一段
+    private final byte[] topLength;
+    private final int[] tops;
+    private final int topK;
+    private final int maxKeyLength;
+    private final PinyinTranscriber transcriber;
+
+    private SuggestIndex(Suggestion[] suggestions, String[] normalizedTexts, char[] labels, int[] childStart,
+                         int[] topOffset, byte[] topLength, int[] tops, int topK, int maxKeyLength,
+                         PinyinTranscriber transcriber) {
+        this.suggestions = suggestions;
+        this.normalizedTexts = normalizedTexts;
+        this.labels = labels;
+        this.childStart = childStart;
+        this.topOffset = topOffset;
+        this.topLength = topLength;
+        this.tops = tops;
+        this.topK = topK;
+        this.maxKeyLength = maxKeyLength;
+        this.transcriber = transcriber;
+    }
+
+    // 构建索引，transcriber为null时不登记拼音键；topK不超过127
+    public static SuggestIndex build(Collection<SuggestCandidate> candidates, PinyinTranscriber transcriber,
+                                     int topK, int maxKeyLength) {
+        if (topK < 1 || topK > Byte.MAX_VALUE || maxKeyLength < 1) {
+            throw new IllegalArgumentException("联想索引参数不合法：topK=" + topK + "，maxKeyLength=" + maxKeyLength);
+        }
+
+        // 1. 按规范化文本合并候选，展示文本取单次权重最高的写法
+        Map<String, Merged> merged = new HashMap<>();
+        for (SuggestCandidate candidate : candidates) {
+            String normalized = TextAnalyzer.normalizeQuery(candidate.text(), MAX_TEXT_LENGTH);
+            if (normalized.isEmpty() || !(candidate.weight() > 0)) {
+                continue;
+            }
+            Merged entry = merged.computeIfAbsent(normalized, Merged::new);
+            entry.weight += candidate.weight();
+            if (candidate.weight() > entry.bestWeight) {
+                entry.bestWeight = candidate.weight();
+                entry.display = candidate.text().strip();
+            }
+        }
+
+        // 2. 按权重降序编号，权重相同按文本排序保证构建结果稳定
+        Merged[] ordered = merged.values().toArray(new Merged[0]);
+        Arrays.sort(ordered, (a, b) -> a.weight != b.weight ? Double.compare(b.weight, a.weight)
+                : a.normalized.compareTo(b.normalized));
+        Suggestion[] suggestions = new Suggestion[ordered.length];
+        String[] normalizedTexts = new String[ordered.length];
+        List<String> keys = new ArrayList<>(ordered.length * 3);
+        List<Integer> keyOrdinals = new ArrayList<>(ordered.length * 3);
+        for (int i = 0; i < ordered.length; i++) {
+            suggestions[i] = new Suggestion(ordered[i].display, ordered[i].weight);
+            normalizedTexts[i] = ordered[i].normalized;
+            for (String key : keys(ordered[i].normalized, transcriber)) {
+                keys.add(key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key);
+                keyOrdinals.add(i);
+            }
+        }
+
+        // 3. 键排序后顺序插入，新键只会沿最右路径分叉，子节点天然按字符有序
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+        TrieBuilder builder = new TrieBuilder(Math.max(16, keys.size() * 4));
+        int[] path = new int[maxKeyLength + 1];
+        String previous = "";
+        for (int index : order) {
+            String key = keys.get(index);
+            int common = commonPrefix(previous, key);
+            int node = path[common];
+            for (int depth = common; depth < key.length(); depth++) {
+                node = builder.addChild(node, key.charAt(depth));
+                path[depth + 1] = node;
+            }
+            builder.addTerminal(path[key.length()], keyOrdinals.get(index));
+            previous = key;
+        }
+        return builder.freeze(suggestions, normalizedTexts, topK, maxKeyLength, transcriber);
+    }
+
+    // 按前缀取联想，prefix须已经过TextAnalyzer.normalizeQuery规范化；limit超过topK时按topK返回
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int node = find(prefix);
+        if (node < 0 && prefix.indexOf(' ') >= 0) {
+            // 拼音和首字母键不含空格，"liu lang"这类输入去掉空格再查一次
+            String compact = prefix.replace(" ", "");
+            node = find(compact);
+            prefix = compact;
+        }
+        if (node < 0) {
+            return List.of();
+        }
+
+        int offset = topOffset[node];
+        int length = topLength[node];
+        int wanted = Math.min(limit, topK);
+        List<Suggestion> result = new ArrayList<>(Math.min(wanted, length));
+        for (int i = 0; i < length && result.size() < wanted; i++) {
+            int ordinal = tops[offset + i];
+            if (prefix.length() <= maxKeyLength || matchesFully(ordinal, prefix)) {
+                result.add(suggestions[ordinal]);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    // 沿前缀逐字下行，超过键长上限的部分不再下行；不存在时返回-1
+    private int find(String prefix) {
+        int node = 0;
+        int depth = Math.min(prefix.length(), maxKeyLength);
+        for (int i = 0; i < depth && node >= 0; i++) {
+            node = child(node, prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char label) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = labels[mid];
+            if (c < label) {
+                low = mid + 1;
+            } else if (c > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // 前缀超过键长上限时，重新生成候选的完整键逐一校验
+    private boolean matchesFully(int ordinal, String prefix) {
+        for (String key : keys(normalizedTexts[ordinal], transcriber)) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 候选的全部键：原文，以及含汉字时的拼音全拼和首字母（均去掉空格，非汉字字符原样保留）
+    static List<String> keys(String normalized, PinyinTranscriber transcriber) {
+        if (transcriber == null) {
+            return List.of(normalized);
+        }
+        StringBuilder full = null;
+        StringBuilder initials = null;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            String pinyin = transcriber.pinyin(c);
+            if (pinyin != null && full == null) {
+                full = new StringBuilder(normalized.length() * 4);
+                initials = new StringBuilder(normalized.length());
+                for (int j = 0; j < i; j++) {
+                    appendPlain(normalized.charAt(j), full, initials);
+                }
+            }
+            if (full == null) {
+                continue;
+            }
+            if (pinyin != null) {
+                full.append(pinyin);
+                initials.append(pinyin.charAt(0));
+            } else {
+                appendPlain(c, full, initials);
+            }
+        }
+        if (full == null) {
+            return List.of(normalized);
+        }
+        return full.length() == initials.length() ? List.of(normalized, full.toString())
+                : List.of(normalized, full.toString(), initials.toString());
+    }
+
+    private static void appendPlain(char c, StringBuilder full, StringBuilder initials) {
+        if (c != ' ') {
+            full.append(c);
+            initials.append(c);
+        }
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Merged {
+
+        private final String normalized;
+        private String display;
+        private double weight;
+        private double bestWeight;
+
+        private Merged(String normalized) {
+            this.normalized = normalized;
+        }
+    }
+
+    // 构建期可变前缀树 - 子节点用首子/兄弟链表，冻结时转为层序连续存放
+    private static final class TrieBuilder {
+
+        private char[] labels;
+        private int[] firstChild;
+        private int[] lastChild;
+        private int[] nextSibling;
+        private int[] terminalHead; // 节点 -> 终止于该节点的候选链表头
+        private int size;
+        private int[] terminalOrdinals = new int[16];
+        private int[] terminalNext = new int[16];
+        private int terminalSize;
+
+        private TrieBuilder(int capacity) {
+            labels = new char[capacity];
+            firstChild = new int[capacity];
+            lastChild = new int[capacity];
+            nextSibling = new int[capacity];
+            terminalHead = new int[capacity];
+            newNode((char) 0);
+        }
+
+        private int newNode(char label) {
+            if (size == labels.length) {
+                int capacity = size * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                lastChild = Arrays.copyOf(lastChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                terminalHead = Arrays.copyOf(terminalHead, capacity);
+            }
+            labels[size] = label;
+            firstChild[size] = -1;
+            lastChild[size] = -1;
+            nextSibling[size] = -1;
+            terminalHead[size] = -1;
+            return size++;
+        }
+
+        // 键已排序，新子节点总是排在已有子节点之后
+        private int addChild(int parent, char label) {
+            int node = newNode(label);
+            if (lastChild[parent] < 0) {
+                firstChild[parent] = node;
+            } else {
+                nextSibling[lastChild[parent]] = node;
+            }
+            lastChild[parent] = node;
+            return node;
+        }
+
+        private void addTerminal(int node, int ordinal) {
+            if (terminalSize == terminalOrdinals.length) {
+                terminalOrdinals = Arrays.copyOf(terminalOrdinals, terminalSize * 2);
+                terminalNext = Arrays.copyOf(terminalNext, terminalSize * 2);
+            }
+            terminalOrdinals[terminalSize] = ordinal;
+            terminalNext[terminalSize] = terminalHead[node];
+            terminalHead[node] = terminalSize++;
+        }
+
+        private SuggestIndex freeze(Suggestion[] suggestions, String[] normalizedTexts, int topK, int maxKeyLength,
+                                    PinyinTranscriber transcriber) {
+            // 1. 层序重新编号，同一父节点的子节点连续
+            int[] bfs = new int[size]; // 新编号 -> 构建期编号
+            int[] childStart = new int[size + 1];
+            char[] frozenLabels = new char[size];
+            int tail = 1;
+            for (int head = 0; head < size; head++) {
+                int node = bfs[head];
+                frozenLabels[head] = labels[node];
+                childStart[head] = tail;
+                for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                    bfs[tail++] = child;
+                }
+            }
+            childStart[size] = tail;
+
+            // 2. 自底向上合并子树的前k条，单链且非终止的节点直接复用子节点的结果
+            int[] topOffset = new int[size];
+            byte[] topLength = new byte[size];
+            int[] tops = new int[Math.max(16, size)];
+            int topsSize = 0;
+            int[] scratch = new int[topK * 4];
+            for (int n = size - 1; n >= 0; n--) {
+                int node = bfs[n];
+                int first = childStart[n];
+                int children = childStart[n + 1] - first;
+                if (children == 1 && terminalHead[node] < 0) {
+                    topOffset[n] = topOffset[first];
+                    topLength[n] = topLength[first];
+                    continue;
+                }
+                int count = 0;
+                for (int t = terminalHead[node]; t >= 0; t = terminalNext[t]) {
+                    scratch = ensure(scratch, count + 1);
+                    scratch[count++] = terminalOrdinals[t];
+                }
+                for (int c = first; c < first + children; c++) {
+                    scratch = ensure(scratch, count + topLength[c]);
+                    System.arraycopy(tops, topOffset[c], scratch, count, topLength[c]);
+                    count += topLength[c];
+                }
+                Arrays.sort(scratch, 0, count);
+                if (topsSize + topK > tops.length) {
+                    tops = Arrays.copyOf(tops, Math.max(tops.length * 2, topsSize + topK));
+                }
+                topOffset[n] = topsSize;
+                int length = 0;
+                for (int i = 0; i < count && length < topK; i++) {
+                    if (i == 0 || scratch[i] != scratch[i - 1]) {
+                        tops[topsSize++] = scratch[i];
+                        length++;
+                    }
+                }
+                topLength[n] = (byte) length;
+            }
+            return new SuggestIndex(suggestions, normalizedTexts, frozenLabels, childStart, topOffset, topLength,
+                    Arrays.copyOf(tops, topsSize), topK, maxKeyLength, transcriber);
+        }
+
+        private static int[] ensure(int[] array, int capacity) {
+            return capacity <= array.length ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * SuggestService类
+ * 搜索联想服务，持有当前联想索引并负责后台重建
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.suggest;
+
+import com.knene.infrastructure.search.TextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// 搜索联想服务 - 索引整体重建后一次性替换引用，按键查询始终读到完整的新索引或旧索引
+// 重建失败时保留旧索引继续服务，首次构建完成前返回空联想
+public class SuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    private static final int MAX_PREFIX_LENGTH = 100;
+
+    private final Supplier<List<SuggestCandidate>> candidateSource;
+    private final PinyinTranscriber transcriber; // 为null时不支持拼音匹配
+    private final int topK;
+    private final int maxKeyLength;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile SuggestIndex index = SuggestIndex.EMPTY;
+
+    public SuggestService(Supplier<List<SuggestCandidate>> candidateSource, PinyinTranscriber transcriber,
+                          int topK, int maxKeyLength) {
+        this.candidateSource = candidateSource;
+        this.transcriber = transcriber;
+        this.topK = topK;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    // 按用户输入取联想，输入按检索关键词同样的规则规范化
+    public List<Suggestion> suggest(String input, int limit) {
+        return index.suggest(TextAnalyzer.normalizeQuery(input, MAX_PREFIX_LENGTH), limit);
+    }
+
+    // 重新加载候选并构建索引，上一次重建未结束时跳过；返回是否完成了替换
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("搜索联想索引正在重建，跳过本次");
+            return false;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            List<SuggestCandidate> candidates = candidateSource.get();
+            SuggestIndex rebuilt = SuggestIndex.build(candidates, transcriber, topK, maxKeyLength);
+            index = rebuilt;
+            log.info("搜索联想索引重建完成，{}个候选，{}个节点，耗时{}ms", rebuilt.size(), rebuilt.nodeCount(),
+                    System.currentTimeMillis() - startedAt);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("搜索联想索引重建失败，继续使用旧索引", e);
+            return false;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public SuggestIndex getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * Suggestion类
+ * 单条搜索联想
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.suggest;
+
+// 单条搜索联想 - text为展示文本，weight为合并后的热度权重
+public record Suggestion(String text, double weight) {
+}
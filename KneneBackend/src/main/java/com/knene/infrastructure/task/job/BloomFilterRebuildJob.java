@@ -0,0 +1,32 @@
+/**
+ * BloomFilterRebuildJob类
+ * 布隆过滤器重建任务，启动后首次构建并按间隔全量重建
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.task.job;
+
+import com.knene.infrastructure.cache.strategy.IdExistenceFilterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 布隆过滤器重建任务 - 定期重建以清除已删除的ID，并按数据增长重新分配容量
+@Component
+@ConditionalOnProperty(prefix = "app.cache.bloom-filter", name = "enabled", havingValue = "true")
+public class BloomFilterRebuildJob {
+
+    private final IdExistenceFilterRegistry idExistenceFilterRegistry;
+
+    public BloomFilterRebuildJob(IdExistenceFilterRegistry idExistenceFilterRegistry) {
+        this.idExistenceFilterRegistry = idExistenceFilterRegistry;
+    }
+
+    // 启动后立即首次构建，之后按间隔执行；构建完成前过滤器一律放行
+    @Scheduled(fixedDelayString = "${app.cache.bloom-filter.rebuild-interval:PT6H}")
+    public void rebuild() {
+        idExistenceFilterRegistry.rebuildAll();
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * HotSearchSnapshotJob类
+ * 热门搜索快照任务，定期把各视图的热搜写入Redis
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.task.job;
+
+import com.knene.infrastructure.cache.MultiLevelCache;
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+import com.knene.infrastructure.config.properties.SearchProperties;
+import com.knene.infrastructure.search.hot.HotSearch;
+import com.knene.infrastructure.search.hot.HotSearchSnapshot;
+import com.knene.infrastructure.search.hot.HotSearchTracker;
+import com.knene.infrastructure.search.hot.RedisHotSearchSnapshots;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 热门搜索快照任务 - 同时刷新hot-search缓存（search:hot:daily）中的全站热搜词，读取方无需改动
+@Component
+@ConditionalOnProperty(prefix = "app.search.hot", name = "enabled", havingValue = "true")
+public class HotSearchSnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSearchSnapshotJob.class);
+
+    private final HotSearchTracker tracker;
+    private final RedisHotSearchSnapshots snapshots;
+    private final ObjectProvider<MultiLevelCacheManager> cacheManagerProvider;
+    private final int snapshotSize;
+
+    public HotSearchSnapshotJob(HotSearchTracker tracker, RedisHotSearchSnapshots snapshots,
+                                ObjectProvider<MultiLevelCacheManager> cacheManagerProvider,
+                                SearchProperties properties) {
+        this.tracker = tracker;
+        this.snapshots = snapshots;
+        this.cacheManagerProvider = cacheManagerProvider;
+        this.snapshotSize = properties.getHot().getSnapshotSize();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.hot.snapshot-interval:PT30S}")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void snapshot() {
+        HotSearchSnapshot snapshot = tracker.snapshot(snapshotSize);
+        try {
+            snapshots.save(snapshot);
+        } catch (RuntimeException e) {
+            log.warn("写入热门搜索快照失败", e);
+        }
+
+        List<HotSearch> top = snapshot.views().getOrDefault(HotSearchSnapshot.ALL_VIEW, List.of());
+        MultiLevelCacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        if (cacheManager == null || top.isEmpty()) {
+            return;
+        }
+        MultiLevelCache<ArrayList> cache = cacheManager.getCache("hot-search", ArrayList.class);
+        ArrayList<String> keywords = new ArrayList<>(top.size());
+        top.forEach(entry -> keywords.add(entry.keyword()));
+        cache.put(keywords);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * PartitionMaintenanceJob类
+ * 日志表分区维护任务，启动时和每天定时预建未来分区并删除过期分区
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.task.job;
+
+import com.knene.infrastructure.config.properties.PartitioningProperties;
+import com.knene.infrastructure.persistence.partition.PartitionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+
+// 分区维护任务 - 预建周期数大于1，单次执行失败不会导致写入落入兜底分区
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.partitioning", name = "enabled", havingValue = "true")
+public class PartitionMaintenanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+    private final PartitionManager partitionManager;
+    private final PartitioningProperties properties;
+
+    public PartitionMaintenanceJob(PartitionManager partitionManager, PartitioningProperties properties) {
+        this.partitionManager = partitionManager;
+        this.properties = properties;
+    }
+
+    // 启动完成后先补齐一次，覆盖停机期间错过的定时执行
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.datasource.partitioning.maintenance-cron:0 10 0 * * ?}")
+    public void maintain() {
+        LocalDate today = LocalDate.now(ZoneId.of(properties.getZone()));
+        for (Map.Entry<String, PartitioningProperties.Table> entry : properties.getTables().entrySet()) {
+            PartitioningProperties.Table table = entry.getValue();
+            try {
+                partitionManager.maintain(entry.getKey(), table.getGranularity(), table.getRetention(),
+                        table.getPrecreate(), today);
+            } catch (Exception e) {
+                // 单表失败不影响其他表，下次执行会继续补齐
+                log.error("表{}分区维护失败", entry.getKey(), e);
+            }
+        }
+    }
+}
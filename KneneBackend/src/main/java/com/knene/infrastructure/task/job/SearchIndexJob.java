@@ -0,0 +1,55 @@
+/**
+ * SearchIndexJob类
+ * 内嵌检索索引任务，启动后全量重建，之后增量同步并定时refresh
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.task.job;
+
+import com.knene.infrastructure.search.EmbeddedSearchIndex;
+import com.knene.infrastructure.search.indexer.SearchIndexer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 内嵌检索索引任务 - 全量重建在异步线程执行，不阻塞启动；首次重建完成前检索结果为空，增量同步不启动
+@Component
+@ConditionalOnProperty(prefix = "app.search.embedded", name = "enabled", havingValue = "true")
+public class SearchIndexJob {
+
+    private final EmbeddedSearchIndex searchIndex;
+    private final SearchIndexer searchIndexer;
+
+    public SearchIndexJob(EmbeddedSearchIndex searchIndex, SearchIndexer searchIndexer) {
+        this.searchIndex = searchIndex;
+        this.searchIndexer = searchIndexer;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        searchIndexer.fullReindex();
+    }
+
+    // 定时全量重建，兜底增量同步漏掉的变更
+    @Async
+    @Scheduled(cron = "${app.search.indexer.full-reindex-cron:0 30 4 * * ?}")
+    public void reindex() {
+        searchIndexer.fullReindex();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.indexer.poll-interval:PT1S}")
+    public void pollChanges() {
+        searchIndexer.poll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.embedded.refresh-interval:PT1S}")
+    public void refresh() {
+        searchIndex.refresh();
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * SpellDictionaryJob类
+ * 拼写纠错词典重建任务，启动后首次构建并按间隔全量重建
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.task.job;
+
+import com.knene.infrastructure.search.spell.SpellCorrector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 拼写纠错词典重建任务 - 新词典在后台线程构建完成后整体替换，重建期间继续使用旧词典
+@Component
+@ConditionalOnProperty(prefix = "app.search.spell", name = "enabled", havingValue = "true")
+public class SpellDictionaryJob {
+
+    private final SpellCorrector spellCorrector;
+
+    public SpellDictionaryJob(SpellCorrector spellCorrector) {
+        this.spellCorrector = spellCorrector;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.spell.rebuild-interval:PT1H}")
+    public void rebuild() {
+        spellCorrector.rebuild();
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * SuggestIndexJob类
+ * 搜索联想索引重建任务，启动后首次构建并按间隔全量重建
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.task.job;
+
+import com.knene.infrastructure.search.suggest.SuggestService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 搜索联想索引重建任务 - 新索引在后台线程构建完成后整体替换，重建期间继续使用旧索引
+@Component
+@ConditionalOnProperty(prefix = "app.search.suggest", name = "enabled", havingValue = "true")
+public class SuggestIndexJob {
+
+    private final SuggestService suggestService;
+
+    public SuggestIndexJob(SuggestService suggestService) {
+        this.suggestService = suggestService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.suggest.rebuild-interval:PT10M}")
+    public void rebuild() {
+        suggestService.rebuild();
+    }
+}
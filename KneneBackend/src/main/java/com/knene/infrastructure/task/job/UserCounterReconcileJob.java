@@ -0,0 +1,54 @@
+/**
+ * UserCounterReconcileJob类
+ * 用户计数聚合对账任务，定期按用户表校正增量计数
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.task.job;
+
+import com.knene.domain.user.repository.UserCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// 用户计数对账任务 - 兜底修正触发器之外的直接改库、回滚残留等造成的偏差
+@Component
+public class UserCounterReconcileJob {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCounterReconcileJob.class);
+
+    private final UserCounterRepository userCounterRepository;
+    private final int reconcileDays; // 每次校正最近多少天的注册日计数
+
+    public UserCounterReconcileJob(UserCounterRepository userCounterRepository,
+                                   @Value("${app.user-counter.reconcile-days:7}") int reconcileDays) {
+        this.userCounterRepository = userCounterRepository;
+        this.reconcileDays = reconcileDays;
+    }
+
+    // 定时对账 - 默认每天凌晨3点30分执行
+    @Scheduled(cron = "${app.user-counter.reconcile-cron:0 30 3 * * ?}")
+    public void reconcile() {
+        try {
+            // 1. 校正状态计数
+            int statusFixed = userCounterRepository.reconcileStatusCounters();
+
+            // 2. 校正最近若干天的注册日计数，更早的桶已经稳定
+            LocalDate today = LocalDate.now();
+            int bucketsFixed = userCounterRepository.reconcileDailyRegistrations(today.minusDays(reconcileDays), today);
+
+            if (statusFixed > 0) {
+                log.warn("用户状态计数存在偏差，已校正{}个状态", statusFixed);
+            }
+            log.info("用户计数对账完成，状态校正{}行，注册日计数校正{}行", statusFixed, bucketsFixed);
+        } catch (Exception e) {
+            log.error("用户计数对账失败", e);
+        }
+    }
+}
@@ -51,7 +51,9 @@ public class UserManagementController {
             @Parameter(description = "开始时间")
             @RequestParam(required = false) String startTime,
             @Parameter(description = "结束时间")
-            @RequestParam(required = false) String endTime) {
+            @RequestParam(required = false) String endTime,
+            @Parameter(description = "分页游标，取自上一页响应的next_cursor，非空白时忽略page，空白视为第一页")
+            @RequestParam(required = false) String cursor) {
 
         // 构建查询对象
         UserApplicationService.GetUserListQuery query = new UserApplicationService.GetUserListQuery();
@@ -85,19 +87,21 @@ public class UserManagementController {
             }
         }
 
+        // 空白游标与未传游标相同，按page分页
+        boolean cursorPaging = cursor != null && !cursor.isBlank();
         query.setOffset(page * size);
         query.setLimit(size);
+        query.setCursor(cursorPaging ? cursor : null);
 
         // 执行查询
         UserListResult result = userApplicationService.getUserList(query);
 
         if (result.isSuccess()) {
-            UserListResponse response = new UserListResponse(
-                    result.getUsers(),
-                    result.getTotalCount(),
-                    page,
-                    size
-            );
+            UserListResponse response = cursorPaging
+                    ? UserListResponse.ofCursor(result.getUsers(), result.getTotalCount(), result.getCurrentPage(),
+                            size, result.getNextCursor())
+                    : new UserListResponse(result.getUsers(), result.getTotalCount(), page, size,
+                            result.getNextCursor());
             return ResponseEntity.ok(ApiResponse.success(response));
         } else {
             return ResponseEntity.badRequest()
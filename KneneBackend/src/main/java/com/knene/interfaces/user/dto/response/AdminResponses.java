@@ -26,8 +26,13 @@ public class UserListResponse {
     private final int totalPages;
     private final boolean hasNext;
     private final boolean hasPrevious;
+    private final String nextCursor; // 下一页游标，深分页时使用
 
     public UserListResponse(List<UserDto> users, long totalCount, int currentPage, int pageSize) {
+        this(users, totalCount, currentPage, pageSize, null);
+    }
+
+    public UserListResponse(List<UserDto> users, long totalCount, int currentPage, int pageSize, String nextCursor) {
         this.users = users.stream()
                 .map(UserSummaryDto::fromDto)
                 .toList();
@@ -37,6 +42,27 @@ public class UserListResponse {
         this.totalPages = (int) Math.ceil((double) totalCount / pageSize);
         this.hasNext = currentPage < totalPages - 1;
         this.hasPrevious = currentPage > 0;
+        this.nextCursor = hasNext ? nextCursor : null;
+    }
+
+    private UserListResponse(List<UserDto> users, long totalCount, String nextCursor, int currentPage,
+                             int pageSize) {
+        this.users = users.stream()
+                .map(UserSummaryDto::fromDto)
+                .toList();
+        this.totalCount = totalCount;
+        this.currentPage = Math.max(0, currentPage); // 页码由游标携带
+        this.pageSize = pageSize;
+        this.totalPages = (int) Math.ceil((double) totalCount / pageSize);
+        this.hasNext = nextCursor != null;
+        this.hasPrevious = this.currentPage > 0;
+        this.nextCursor = nextCursor;
+    }
+
+    // 游标分页响应 - 是否有下一页由游标决定，页码取自游标
+    public static UserListResponse ofCursor(List<UserDto> users, long totalCount, int currentPage, int pageSize,
+                                            String nextCursor) {
+        return new UserListResponse(users, totalCount, nextCursor, currentPage, pageSize);
     }
 
     public List<UserSummaryDto> getUsers() { return users; }
@@ -58,6 +84,9 @@ public class UserListResponse {
 
     @JsonProperty("has_previous")
     public boolean isHasPrevious() { return hasPrevious; }
+
+    @JsonProperty("next_cursor")
+    public String getNextCursor() { return nextCursor; }
 }
 
 // 用户摘要DTO
@@ -0,0 +1,127 @@
+-- ====================================================================
+-- 影视资源下载网站 - 用户计数聚合表创建脚本
+-- ====================================================================
+-- 版本：V3.4.1
+-- 描述：创建用户计数聚合表（user_status_counters, user_registration_daily_counters）及维护触发器
+-- 作者：数据库团队
+-- 日期：2026-10-18
+-- 依赖：V1.1.1
+-- ====================================================================
+
+-- 设置SQL模式
+SET NAMES utf8mb4;
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- ====================================================================
+-- 1. 创建用户状态计数表 (user_status_counters)
+-- ====================================================================
+CREATE TABLE user_status_counters (
+    -- 主键字段：每个状态一行，状态取值与users.status保持一致
+    status ENUM('active', 'inactive', 'suspended', 'deleted') NOT NULL COMMENT '账户状态',
+
+    -- 计数字段：由触发器增量维护，由对账任务定期校正
+    user_count BIGINT NOT NULL DEFAULT 0 COMMENT '该状态用户数',
+
+    -- 审计字段
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+
+    -- 主键约束
+    PRIMARY KEY (status)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户状态计数表';
+
+-- ====================================================================
+-- 2. 创建用户每日注册计数表 (user_registration_daily_counters)
+-- ====================================================================
+CREATE TABLE user_registration_daily_counters (
+    -- 主键字段：按注册日期分桶，范围统计只需对桶求和
+    stat_date DATE NOT NULL COMMENT '注册日期',
+
+    -- 计数字段：只统计未软删除的用户
+    registered_count BIGINT NOT NULL DEFAULT 0 COMMENT '当日注册用户数',
+
+    -- 审计字段
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+
+    -- 主键约束
+    PRIMARY KEY (stat_date)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户每日注册计数表';
+
+-- ====================================================================
+-- 3. 初始化计数数据
+-- ====================================================================
+INSERT INTO user_status_counters (status, user_count)
+VALUES ('active', 0), ('inactive', 0), ('suspended', 0), ('deleted', 0);
+
+UPDATE user_status_counters c
+JOIN (SELECT status, COUNT(*) AS user_count FROM users GROUP BY status) s ON s.status = c.status
+SET c.user_count = s.user_count;
+
+INSERT INTO user_registration_daily_counters (stat_date, registered_count)
+SELECT DATE(created_at), COUNT(*)
+FROM users
+WHERE deleted_at IS NULL
+GROUP BY DATE(created_at);
+
+-- ====================================================================
+-- 4. 创建计数维护触发器
+-- ====================================================================
+
+-- 用户插入后：状态计数和注册日计数加一
+DELIMITER $$
+CREATE TRIGGER tr_users_after_insert
+AFTER INSERT ON users
+FOR EACH ROW
+BEGIN
+    UPDATE user_status_counters SET user_count = user_count + 1 WHERE status = NEW.status;
+
+    IF NEW.deleted_at IS NULL THEN
+        INSERT INTO user_registration_daily_counters (stat_date, registered_count)
+        VALUES (DATE(NEW.created_at), 1)
+        ON DUPLICATE KEY UPDATE registered_count = registered_count + 1;
+    END IF;
+END$$
+DELIMITER ;
+
+-- 用户更新后：只有状态或软删除标记变化时才调整计数
+DELIMITER $$
+CREATE TRIGGER tr_users_after_update
+AFTER UPDATE ON users
+FOR EACH ROW
+BEGIN
+    IF NOT (OLD.status <=> NEW.status) THEN
+        UPDATE user_status_counters SET user_count = user_count - 1 WHERE status = OLD.status;
+        UPDATE user_status_counters SET user_count = user_count + 1 WHERE status = NEW.status;
+    END IF;
+
+    IF OLD.deleted_at IS NULL AND NEW.deleted_at IS NOT NULL THEN
+        UPDATE user_registration_daily_counters
+        SET registered_count = registered_count - 1
+        WHERE stat_date = DATE(OLD.created_at);
+    ELSEIF OLD.deleted_at IS NOT NULL AND NEW.deleted_at IS NULL THEN
+        INSERT INTO user_registration_daily_counters (stat_date, registered_count)
+        VALUES (DATE(NEW.created_at), 1)
+        ON DUPLICATE KEY UPDATE registered_count = registered_count + 1;
+    END IF;
+END$$
+DELIMITER ;
+
+-- 用户物理删除后：撤销该行贡献的计数
+DELIMITER $$
+CREATE TRIGGER tr_users_after_delete
+AFTER DELETE ON users
+FOR EACH ROW
+BEGIN
+    UPDATE user_status_counters SET user_count = user_count - 1 WHERE status = OLD.status;
+
+    IF OLD.deleted_at IS NULL THEN
+        UPDATE user_registration_daily_counters
+        SET registered_count = registered_count - 1
+        WHERE stat_date = DATE(OLD.created_at);
+    END IF;
+END$$
+DELIMITER ;
+
+-- 恢复外键检查
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,39 @@
+-- ====================================================================
+-- 影视资源下载网站 - 雪花ID节点号租约表创建脚本
+-- ====================================================================
+-- 版本：V3.4.2
+-- 描述：创建雪花ID节点号租约表（id_node_leases），应用实例启动时从中租用集群内唯一的节点号
+-- 作者：数据库团队
+-- 日期：2026-10-18
+-- 依赖：无
+-- ====================================================================
+
+-- 设置SQL模式
+SET NAMES utf8mb4;
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- ====================================================================
+-- 1. 创建节点号租约表 (id_node_leases)
+-- ====================================================================
+CREATE TABLE id_node_leases (
+    -- 主键字段：节点号取值0-1023，对应雪花ID中的10位节点段
+    node_id SMALLINT UNSIGNED NOT NULL COMMENT '雪花节点号',
+
+    -- 租约字段：到期时间统一取数据库时间，过期后可被其他实例接管
+    instance_id VARCHAR(64) NOT NULL COMMENT '当前持有实例标识',
+    acquired_at DATETIME(3) NOT NULL COMMENT '获取租约时间',
+    lease_expires_at DATETIME(3) NOT NULL COMMENT '租约到期时间',
+
+    -- 时钟保护字段：新持有者从该时间戳之后开始发号，防止跨实例时钟回拨产生重复ID
+    last_timestamp BIGINT NOT NULL DEFAULT 0 COMMENT '最后发号时间戳（毫秒）',
+
+    -- 主键约束
+    PRIMARY KEY (node_id),
+
+    -- 索引：按到期时间查找可接管的租约
+    KEY idx_id_node_leases_lease_expires_at (lease_expires_at)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='雪花ID节点号租约表';
+
+-- 恢复外键检查
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,69 @@
+-- ====================================================================
+-- 影视资源下载网站 - 高写入日志表按时间分区脚本
+-- ====================================================================
+-- 版本：V3.4.3
+-- 描述：operation_logs, search_logs, browse_history, login_attempts, user_login_history 改为按created_at的RANGE分区
+-- 作者：数据库团队
+-- 日期：2026-10-18
+-- 依赖：V1.1.1, V1.1.3, V2.1.1, V2.1.5, V3.3.1
+-- 说明：
+--   1. InnoDB分区表不支持外键，且分区键须包含在主键中，因此删除外键、主键改为(id, created_at)
+--   2. TIMESTAMP列只能以UNIX_TIMESTAMP(created_at)分区，边界为Asia/Shanghai零点的秒级时间戳
+--   3. 本脚本只建兜底分区p_future，不写死日期边界；PartitionMaintenanceJob启动后首次执行时按当天日期
+--      把p_future拆分为p_history（当前周期之前的存量数据）、当前及预建的日/月分区和新的p_future，之后滚动维护
+--   4. 修改主键会重建表，大表请在低峰期执行
+-- ====================================================================
+
+-- 设置SQL模式
+SET NAMES utf8mb4;
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- ====================================================================
+-- 1. 操作日志表 (operation_logs) - 按天分区
+-- ====================================================================
+ALTER TABLE operation_logs DROP FOREIGN KEY fk_op_logs_user_id;
+ALTER TABLE operation_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+ALTER TABLE operation_logs PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- ====================================================================
+-- 2. 搜索日志表 (search_logs) - 按天分区
+-- ====================================================================
+ALTER TABLE search_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+ALTER TABLE search_logs PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- ====================================================================
+-- 3. 浏览历史表 (browse_history) - 按天分区
+-- ====================================================================
+ALTER TABLE browse_history DROP FOREIGN KEY fk_browse_history_user_id_users_id;
+ALTER TABLE browse_history DROP FOREIGN KEY fk_browse_history_created_by_users_id;
+ALTER TABLE browse_history DROP FOREIGN KEY fk_browse_history_updated_by_users_id;
+ALTER TABLE browse_history MODIFY `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+ALTER TABLE browse_history DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+ALTER TABLE browse_history PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- ====================================================================
+-- 4. 登录尝试记录表 (login_attempts) - 按天分区
+-- ====================================================================
+ALTER TABLE login_attempts DROP FOREIGN KEY fk_login_attempts_user_id_users_id;
+ALTER TABLE login_attempts DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+ALTER TABLE login_attempts PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- ====================================================================
+-- 5. 用户登录历史表 (user_login_history) - 按月分区
+-- ====================================================================
+ALTER TABLE user_login_history DROP FOREIGN KEY fk_user_login_history_user_id;
+ALTER TABLE user_login_history DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+ALTER TABLE user_login_history PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- 恢复外键检查
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,99 @@
+-- ====================================================================
+-- 影视资源下载网站 - 冷数据归档表创建脚本
+-- ====================================================================
+-- 版本：V3.4.4
+-- 描述：为torrent_files, download_history, search_history创建压缩归档表，存放软删除和超龄的历史数据
+-- 作者：数据库团队
+-- 日期：2026-10-18
+-- 依赖：V2.1.5, V3.1.1
+-- 说明：
+--   1. 归档表以源表为模板创建（LIKE不复制外键），新增archived_at记录归档时间
+--   2. 归档表使用ROW_FORMAT=COMPRESSED，只保留主键和回查所需的少量索引
+--   3. 源表唯一键在归档表中降为普通索引，同一业务键可被多次删除归档
+--   4. 数据由ArchiveJob分批搬迁，源表和归档表的列按名称对齐，源表新增列后需同步到归档表
+-- ====================================================================
+
+-- 设置SQL模式
+SET NAMES utf8mb4;
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- ====================================================================
+-- 1. 种子文件归档表 (torrent_files_archive)
+-- ====================================================================
+CREATE TABLE IF NOT EXISTS torrent_files_archive LIKE torrent_files;
+ALTER TABLE torrent_files_archive
+    DROP INDEX uk_pt_site_torrent,
+    DROP INDEX idx_imdb_id,
+    DROP INDEX idx_douban_id,
+    DROP INDEX idx_category_id,
+    DROP INDEX idx_quality_level,
+    DROP INDEX idx_file_size,
+    DROP INDEX idx_upload_time,
+    DROP INDEX idx_seed_count,
+    DROP INDEX idx_download_count,
+    DROP INDEX idx_health_score,
+    DROP INDEX idx_status,
+    DROP INDEX idx_is_dead,
+    DROP INDEX idx_hot_level,
+    DROP INDEX idx_is_downloaded,
+    DROP INDEX idx_crawl_time,
+    DROP INDEX idx_site_quality_size,
+    DROP INDEX idx_category_upload_time,
+    DROP INDEX idx_status_seed_count,
+    ADD INDEX idx_torrent_files_archive_site_torrent (pt_site_id, site_torrent_id),
+    ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+    ADD INDEX idx_torrent_files_archive_archived_at (archived_at),
+    ROW_FORMAT = COMPRESSED,
+    KEY_BLOCK_SIZE = 8,
+    COMMENT = '种子文件归档表';
+
+-- ====================================================================
+-- 2. 下载历史归档表 (download_history_archive)
+-- ====================================================================
+CREATE TABLE IF NOT EXISTS download_history_archive LIKE download_history;
+ALTER TABLE download_history_archive
+    DROP INDEX idx_download_history_resource_id,
+    DROP INDEX idx_download_history_torrent_id,
+    DROP INDEX idx_download_history_download_id,
+    DROP INDEX idx_download_history_download_type,
+    DROP INDEX idx_download_history_download_status,
+    DROP INDEX idx_download_history_progress_percentage,
+    DROP INDEX idx_download_history_download_speed,
+    DROP INDEX idx_download_history_priority,
+    DROP INDEX idx_download_history_started_at,
+    DROP INDEX idx_download_history_completed_at,
+    ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+    ADD INDEX idx_download_history_archive_archived_at (archived_at),
+    ROW_FORMAT = COMPRESSED,
+    KEY_BLOCK_SIZE = 8,
+    COMMENT = '下载历史归档表';
+
+-- ====================================================================
+-- 3. 搜索历史归档表 (search_history_archive)
+-- ====================================================================
+CREATE TABLE IF NOT EXISTS search_history_archive LIKE search_history;
+ALTER TABLE search_history_archive
+    DROP INDEX idx_search_history_session_id,
+    DROP INDEX idx_search_history_search_query,
+    DROP INDEX idx_search_history_search_type,
+    DROP INDEX idx_search_history_search_category,
+    DROP INDEX idx_search_history_search_sort,
+    DROP INDEX idx_search_history_search_results_count,
+    DROP INDEX idx_search_history_clicked_result_id,
+    DROP INDEX idx_search_history_search_success,
+    DROP INDEX idx_search_history_is_voice_search,
+    DROP INDEX idx_search_history_search_intent,
+    ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+    ADD INDEX idx_search_history_archive_archived_at (archived_at),
+    ROW_FORMAT = COMPRESSED,
+    KEY_BLOCK_SIZE = 8,
+    COMMENT = '搜索历史归档表';
+
+-- ====================================================================
+-- 4. 源表补充软删除时间索引，归档扫描按deleted_at范围定位
+-- ====================================================================
+ALTER TABLE download_history ADD INDEX idx_download_history_deleted_at (deleted_at);
+ALTER TABLE search_history ADD INDEX idx_search_history_deleted_at (deleted_at);
+
+-- 恢复外键检查
+SET FOREIGN_KEY_CHECKS = 1;
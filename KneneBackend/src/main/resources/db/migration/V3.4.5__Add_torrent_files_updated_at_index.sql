@@ -0,0 +1,18 @@
+-- ====================================================================
+-- 影视资源下载网站 - 种子表变更捕获索引脚本
+-- ====================================================================
+-- 版本：V3.4.5
+-- 描述：为torrent_files增加(updated_at, id)复合索引，检索索引增量同步按该顺序追踪变更
+-- 作者：数据库团队
+-- 日期：2026-10-18
+-- 依赖：V3.1.1__Create_pt_site_tables.sql
+-- ====================================================================
+
+-- 设置SQL模式
+SET NAMES utf8mb4;
+
+-- ====================================================================
+-- 1. 变更追踪索引：按(updated_at, id)游标分页读取上次同步之后的变更
+-- ====================================================================
+ALTER TABLE torrent_files
+    ADD KEY idx_torrent_files_updated_at_id (updated_at, id) COMMENT '复合索引：更新时间和ID，检索索引增量同步';
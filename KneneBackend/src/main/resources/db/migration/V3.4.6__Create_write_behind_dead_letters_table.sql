@@ -0,0 +1,43 @@
+-- ====================================================================
+-- 影视资源下载网站 - 写后缓冲死信表创建脚本
+-- ====================================================================
+-- 版本：V3.4.6
+-- 描述：创建写后缓冲死信表（write_behind_dead_letters），保存连续刷盘失败后不再重试的更新
+-- 作者：数据库团队
+-- 日期：2026-10-18
+-- 依赖：无
+-- 说明：
+--   1. 每行对应一个键合并后的最终值，键和值以JSON保存，排查原因后可按buffer_name人工重放
+--   2. 重放完成后填写replayed_at，未重放的死信按(buffer_name, replayed_at)查找
+-- ====================================================================
+
+-- 设置SQL模式
+SET NAMES utf8mb4;
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- ====================================================================
+-- 1. 创建写后缓冲死信表 (write_behind_dead_letters)
+-- ====================================================================
+CREATE TABLE write_behind_dead_letters (
+    -- 主键字段
+    id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+
+    -- 死信内容字段
+    buffer_name VARCHAR(64) NOT NULL COMMENT '写后缓冲区名称',
+    entry_key VARCHAR(512) NOT NULL COMMENT '条目键（JSON）',
+    entry_value JSON NOT NULL COMMENT '合并后的待写入值',
+
+    -- 时间字段
+    created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '转入死信时间',
+    replayed_at DATETIME(3) NULL COMMENT '人工重放时间',
+
+    -- 主键约束
+    PRIMARY KEY (id),
+
+    -- 索引：按缓冲区查找未重放的死信
+    KEY idx_write_behind_dead_letters_buffer_replayed (buffer_name, replayed_at)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='写后缓冲死信表';
+
+-- 恢复外键检查
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,97 @@
+-- ====================================================================
+-- 影视资源下载网站 - 用户状态计数排除软删除脚本
+-- ====================================================================
+-- 版本：V3.4.7
+-- 描述：用户状态计数改为只统计未软删除的用户，与countUsersByStatus和注册日计数口径一致
+-- 作者：数据库团队
+-- 日期：2026-10-18
+-- 依赖：V3.4.1__Create_user_counter_tables.sql
+-- 说明：
+--   1. 软删除（deleted_at由空变为非空）从原状态计数中减一，恢复时加回当前状态
+--   2. 物理删除只撤销未软删除行的计数，已软删除的行此前已经扣除
+--   3. 新增(status, deleted_at)复合索引，对账任务按状态计数时只扫描索引
+-- ====================================================================
+
+-- 设置SQL模式
+SET NAMES utf8mb4;
+
+-- ====================================================================
+-- 1. 状态计数索引：按状态统计未软删除用户时覆盖查询
+-- ====================================================================
+ALTER TABLE users
+    ADD KEY idx_users_status_deleted_at (status, deleted_at) COMMENT '复合索引：状态和删除时间，状态计数对账';
+
+-- ====================================================================
+-- 2. 重建计数维护触发器
+-- ====================================================================
+DROP TRIGGER IF EXISTS tr_users_after_insert;
+DROP TRIGGER IF EXISTS tr_users_after_update;
+DROP TRIGGER IF EXISTS tr_users_after_delete;
+
+-- 用户插入后：未软删除的行计入状态计数和注册日计数
+DELIMITER $$
+CREATE TRIGGER tr_users_after_insert
+AFTER INSERT ON users
+FOR EACH ROW
+BEGIN
+    IF NEW.deleted_at IS NULL THEN
+        UPDATE user_status_counters SET user_count = user_count + 1 WHERE status = NEW.status;
+
+        INSERT INTO user_registration_daily_counters (stat_date, registered_count)
+        VALUES (DATE(NEW.created_at), 1)
+        ON DUPLICATE KEY UPDATE registered_count = registered_count + 1;
+    END IF;
+END$$
+DELIMITER ;
+
+-- 用户更新后：状态或软删除标记变化时，先撤销旧行的贡献，再计入新行的贡献
+DELIMITER $$
+CREATE TRIGGER tr_users_after_update
+AFTER UPDATE ON users
+FOR EACH ROW
+BEGIN
+    IF NOT (OLD.status <=> NEW.status) OR NOT ((OLD.deleted_at IS NULL) <=> (NEW.deleted_at IS NULL)) THEN
+        IF OLD.deleted_at IS NULL THEN
+            UPDATE user_status_counters SET user_count = user_count - 1 WHERE status = OLD.status;
+        END IF;
+        IF NEW.deleted_at IS NULL THEN
+            UPDATE user_status_counters SET user_count = user_count + 1 WHERE status = NEW.status;
+        END IF;
+    END IF;
+
+    IF OLD.deleted_at IS NULL AND NEW.deleted_at IS NOT NULL THEN
+        UPDATE user_registration_daily_counters
+        SET registered_count = registered_count - 1
+        WHERE stat_date = DATE(OLD.created_at);
+    ELSEIF OLD.deleted_at IS NOT NULL AND NEW.deleted_at IS NULL THEN
+        INSERT INTO user_registration_daily_counters (stat_date, registered_count)
+        VALUES (DATE(NEW.created_at), 1)
+        ON DUPLICATE KEY UPDATE registered_count = registered_count + 1;
+    END IF;
+END$$
+DELIMITER ;
+
+-- 用户物理删除后：撤销未软删除行贡献的计数
+DELIMITER $$
+CREATE TRIGGER tr_users_after_delete
+AFTER DELETE ON users
+FOR EACH ROW
+BEGIN
+    IF OLD.deleted_at IS NULL THEN
+        UPDATE user_status_counters SET user_count = user_count - 1 WHERE status = OLD.status;
+
+        UPDATE user_registration_daily_counters
+        SET registered_count = registered_count - 1
+        WHERE stat_date = DATE(OLD.created_at);
+    END IF;
+END$$
+DELIMITER ;
+
+-- ====================================================================
+-- 3. 按新口径重算状态计数
+-- ====================================================================
+UPDATE user_status_counters c
+LEFT JOIN (
+    SELECT status, COUNT(*) AS user_count FROM users WHERE deleted_at IS NULL GROUP BY status
+) s ON s.status = c.status
+SET c.user_count = COALESCE(s.user_count, 0);
@@ -0,0 +1,128 @@
+-- ====================================================================
+-- 影视资源下载网站 - 分库浏览历史物理表创建脚本
+-- ====================================================================
+-- 版本：V1.0.1
+-- 描述：在每个分库中创建浏览历史物理表browse_history_0至browse_history_3
+-- 作者：数据库团队
+-- 日期：2026-10-18
+-- 依赖：无
+-- 说明：
+--   1. 本目录（db/sharding）的脚本由ShardingDataSourceConfig对每个分库数据源分别执行，不在主库执行
+--   2. 表数量对应app.datasource.sharding.tables-per-data-source=4，调整每库表数时须同步增加脚本
+--   3. 主键由分片感知ID生成器产生，ID低位即槽号，不使用自增；users表在主库，分库表不建外键
+-- ====================================================================
+
+-- 设置SQL模式
+SET NAMES utf8mb4;
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- ====================================================================
+-- 1. 浏览历史物理表 (browse_history_0)
+-- ====================================================================
+CREATE TABLE `browse_history_0` (
+    `id` BIGINT UNSIGNED NOT NULL COMMENT '主键ID，分片感知ID',
+    `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID，分片键',
+    `session_id` VARCHAR(128) DEFAULT NULL COMMENT '会话ID',
+    `resource_id` BIGINT UNSIGNED DEFAULT NULL COMMENT '资源ID，关联resources表',
+    `content_type` VARCHAR(50) DEFAULT NULL COMMENT '内容类型：movie-电影，tv-电视剧，anime-动漫，documentary-纪录片，variety-综艺，other-其他',
+    `browse_type` VARCHAR(20) NOT NULL COMMENT '浏览类型：detail-详情页，play-播放页，download-下载页，category-分类页，search-搜索页等',
+    `browse_url` VARCHAR(500) NOT NULL COMMENT '浏览的URL',
+    `page_title` VARCHAR(255) DEFAULT NULL COMMENT '页面标题',
+    `referrer_url` VARCHAR(500) DEFAULT NULL COMMENT '来源页面URL',
+    `duration_seconds` INT UNSIGNED DEFAULT 0 COMMENT '停留时长（秒）',
+    `device_type` VARCHAR(20) DEFAULT NULL COMMENT '设备类型：desktop-桌面端，mobile-手机，tablet-平板，tv-电视等',
+    `ip_address` VARCHAR(45) DEFAULT NULL COMMENT 'IP地址',
+    `created_by` BIGINT UNSIGNED NOT NULL COMMENT '创建人ID',
+    `updated_by` BIGINT UNSIGNED DEFAULT NULL COMMENT '更新人ID',
+    `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    `deleted_at` TIMESTAMP NULL DEFAULT NULL COMMENT '软删除时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_browse_history_0_user_id_id` (`user_id`, `id`) COMMENT '复合索引：用户最近浏览记录',
+    KEY `idx_browse_history_0_resource_id` (`resource_id`),
+    KEY `idx_browse_history_0_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='浏览历史表分片0';
+
+-- ====================================================================
+-- 2. 浏览历史物理表 (browse_history_1)
+-- ====================================================================
+CREATE TABLE `browse_history_1` (
+    `id` BIGINT UNSIGNED NOT NULL COMMENT '主键ID，分片感知ID',
+    `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID，分片键',
+    `session_id` VARCHAR(128) DEFAULT NULL COMMENT '会话ID',
+    `resource_id` BIGINT UNSIGNED DEFAULT NULL COMMENT '资源ID，关联resources表',
+    `content_type` VARCHAR(50) DEFAULT NULL COMMENT '内容类型：movie-电影，tv-电视剧，anime-动漫，documentary-纪录片，variety-综艺，other-其他',
+    `browse_type` VARCHAR(20) NOT NULL COMMENT '浏览类型：detail-详情页，play-播放页，download-下载页，category-分类页，search-搜索页等',
+    `browse_url` VARCHAR(500) NOT NULL COMMENT '浏览的URL',
+    `page_title` VARCHAR(255) DEFAULT NULL COMMENT '页面标题',
+    `referrer_url` VARCHAR(500) DEFAULT NULL COMMENT '来源页面URL',
+    `duration_seconds` INT UNSIGNED DEFAULT 0 COMMENT '停留时长（秒）',
+    `device_type` VARCHAR(20) DEFAULT NULL COMMENT '设备类型：desktop-桌面端，mobile-手机，tablet-平板，tv-电视等',
+    `ip_address` VARCHAR(45) DEFAULT NULL COMMENT 'IP地址',
+    `created_by` BIGINT UNSIGNED NOT NULL COMMENT '创建人ID',
+    `updated_by` BIGINT UNSIGNED DEFAULT NULL COMMENT '更新人ID',
+    `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    `deleted_at` TIMESTAMP NULL DEFAULT NULL COMMENT '软删除时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_browse_history_1_user_id_id` (`user_id`, `id`) COMMENT '复合索引：用户最近浏览记录',
+    KEY `idx_browse_history_1_resource_id` (`resource_id`),
+    KEY `idx_browse_history_1_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='浏览历史表分片1';
+
+-- ====================================================================
+-- 3. 浏览历史物理表 (browse_history_2)
+-- ====================================================================
+CREATE TABLE `browse_history_2` (
+    `id` BIGINT UNSIGNED NOT NULL COMMENT '主键ID，分片感知ID',
+    `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID，分片键',
+    `session_id` VARCHAR(128) DEFAULT NULL COMMENT '会话ID',
+    `resource_id` BIGINT UNSIGNED DEFAULT NULL COMMENT '资源ID，关联resources表',
+    `content_type` VARCHAR(50) DEFAULT NULL COMMENT '内容类型：movie-电影，tv-电视剧，anime-动漫，documentary-纪录片，variety-综艺，other-其他',
+    `browse_type` VARCHAR(20) NOT NULL COMMENT '浏览类型：detail-详情页，play-播放页，download-下载页，category-分类页，search-搜索页等',
+    `browse_url` VARCHAR(500) NOT NULL COMMENT '浏览的URL',
+    `page_title` VARCHAR(255) DEFAULT NULL COMMENT '页面标题',
+    `referrer_url` VARCHAR(500) DEFAULT NULL COMMENT '来源页面URL',
+    `duration_seconds` INT UNSIGNED DEFAULT 0 COMMENT '停留时长（秒）',
+    `device_type` VARCHAR(20) DEFAULT NULL COMMENT '设备类型：desktop-桌面端，mobile-手机，tablet-平板，tv-电视等',
+    `ip_address` VARCHAR(45) DEFAULT NULL COMMENT 'IP地址',
+    `created_by` BIGINT UNSIGNED NOT NULL COMMENT '创建人ID',
+    `updated_by` BIGINT UNSIGNED DEFAULT NULL COMMENT '更新人ID',
+    `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    `deleted_at` TIMESTAMP NULL DEFAULT NULL COMMENT '软删除时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_browse_history_2_user_id_id` (`user_id`, `id`) COMMENT '复合索引：用户最近浏览记录',
+    KEY `idx_browse_history_2_resource_id` (`resource_id`),
+    KEY `idx_browse_history_2_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='浏览历史表分片2';
+
+-- ====================================================================
+-- 4. 浏览历史物理表 (browse_history_3)
+-- ====================================================================
+CREATE TABLE `browse_history_3` (
+    `id` BIGINT UNSIGNED NOT NULL COMMENT '主键ID，分片感知ID',
+    `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID，分片键',
+    `session_id` VARCHAR(128) DEFAULT NULL COMMENT '会话ID',
+    `resource_id` BIGINT UNSIGNED DEFAULT NULL COMMENT '资源ID，关联resources表',
+    `content_type` VARCHAR(50) DEFAULT NULL COMMENT '内容类型：movie-电影，tv-电视剧，anime-动漫，documentary-纪录片，variety-综艺，other-其他',
+    `browse_type` VARCHAR(20) NOT NULL COMMENT '浏览类型：detail-详情页，play-播放页，download-下载页，category-分类页，search-搜索页等',
+    `browse_url` VARCHAR(500) NOT NULL COMMENT '浏览的URL',
+    `page_title` VARCHAR(255) DEFAULT NULL COMMENT '页面标题',
+    `referrer_url` VARCHAR(500) DEFAULT NULL COMMENT '来源页面URL',
+    `duration_seconds` INT UNSIGNED DEFAULT 0 COMMENT '停留时长（秒）',
+    `device_type` VARCHAR(20) DEFAULT NULL COMMENT '设备类型：desktop-桌面端，mobile-手机，tablet-平板，tv-电视等',
+    `ip_address` VARCHAR(45) DEFAULT NULL COMMENT 'IP地址',
+    `created_by` BIGINT UNSIGNED NOT NULL COMMENT '创建人ID',
+    `updated_by` BIGINT UNSIGNED DEFAULT NULL COMMENT '更新人ID',
+    `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    `deleted_at` TIMESTAMP NULL DEFAULT NULL COMMENT '软删除时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_browse_history_3_user_id_id` (`user_id`, `id`) COMMENT '复合索引：用户最近浏览记录',
+    KEY `idx_browse_history_3_resource_id` (`resource_id`),
+    KEY `idx_browse_history_3_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='浏览历史表分片3';
+
+-- 恢复外键检查
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,73 @@
+/**
+ * UserListCursorTest类
+ * UserListCursorTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.application.user.dto;
+
+import com.knene.domain.user.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 用户列表游标单元测试类
+class UserListCursorTest {
+
+    @Test
+    @DisplayName("状态游标编码后应能还原")
+    void shouldRoundTripStatusCursor() {
+        // Given
+        UserListCursor cursor = UserListCursor.forStatus(User.UserStatus.ACTIVE, 12345L, 3);
+
+        // When
+        UserListCursor decoded = UserListCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+        assertEquals(12345L, decoded.getId());
+        assertEquals(3, decoded.getPage());
+        assertTrue(decoded.matchesStatus(User.UserStatus.ACTIVE));
+        assertFalse(decoded.matchesStatus(User.UserStatus.SUSPENDED));
+    }
+
+    @Test
+    @DisplayName("时间范围游标应绑定筛选条件")
+    void shouldBindCreatedTimeCursorToRange() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime lastCreatedAt = LocalDateTime.of(2025, 3, 15, 8, 30, 12);
+        UserListCursor cursor = UserListCursor.forCreatedTime(start, null, lastCreatedAt, 99L, 1);
+
+        // When
+        UserListCursor decoded = UserListCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(lastCreatedAt, decoded.getCreatedAt());
+        assertEquals(99L, decoded.getId());
+        assertTrue(decoded.matchesCreatedTimeRange(start, null));
+        assertFalse(decoded.matchesCreatedTimeRange(null, null));
+        assertFalse(decoded.matchesStatus(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("篡改或格式错误的游标应该抛出游标异常")
+    void shouldRejectMalformedCursor() {
+        // Given
+        String negativePage = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("v2|STATUS|ACTIVE|-|1|-1".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThrows(UserListCursor.InvalidCursorException.class, () -> UserListCursor.decode("not-a-cursor!"));
+        assertThrows(UserListCursor.InvalidCursorException.class,
+                () -> UserListCursor.decode("djF8U1RBVFVTfEFDVElWRQ"));
+        assertThrows(UserListCursor.InvalidCursorException.class, () -> UserListCursor.decode(negativePage));
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * UserCountServiceTest类
+ * UserCountServiceTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.application.user.service;
+
+import com.knene.domain.user.entity.User;
+import com.knene.domain.user.repository.UserCounterRepository;
+import com.knene.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// 用户计数应用服务单元测试类
+@ExtendWith(MockitoExtension.class)
+class UserCountServiceTest {
+
+    @Mock
+    private UserCounterRepository userCounterRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserCountService userCountService;
+
+    @Test
+    @DisplayName("整天范围只对日计数桶求和，不扫描用户表")
+    void shouldSumBucketsForWholeDays() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 2, 1, 0, 0);
+        when(userCounterRepository.sumDailyRegistrations(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)))
+                .thenReturn(310L);
+
+        // When
+        long count = userCountService.countRegisteredBetween(start, end);
+
+        // Then
+        assertEquals(310L, count);
+        verify(userRepository, never()).countUsersByCreatedTimeRange(any(), any());
+    }
+
+    @Test
+    @DisplayName("非整天边界只对首尾残段做范围计数")
+    void shouldCountPartialEdgeDaysSeparately() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 10, 6, 0);
+        when(userRepository.countUsersByCreatedTimeRange(start, LocalDateTime.of(2025, 1, 2, 0, 0))).thenReturn(3L);
+        when(userRepository.countUsersByCreatedTimeRange(LocalDateTime.of(2025, 1, 10, 0, 0), end)).thenReturn(4L);
+        when(userCounterRepository.sumDailyRegistrations(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 9)))
+                .thenReturn(80L);
+
+        // When
+        long count = userCountService.countRegisteredBetween(start, end);
+
+        // Then
+        assertEquals(87L, count);
+    }
+
+    @Test
+    @DisplayName("总用户数不包含已删除状态")
+    void shouldExcludeDeletedUsersFromTotal() {
+        // Given
+        Map<User.UserStatus, Long> counts = new EnumMap<>(User.UserStatus.class);
+        counts.put(User.UserStatus.ACTIVE, 100L);
+        counts.put(User.UserStatus.INACTIVE, 20L);
+        counts.put(User.UserStatus.SUSPENDED, 5L);
+        counts.put(User.UserStatus.DELETED, 50L);
+        when(userCounterRepository.getAllStatusCounts()).thenReturn(counts);
+
+        // When & Then
+        assertEquals(125L, userCountService.countTotal());
+    }
+}
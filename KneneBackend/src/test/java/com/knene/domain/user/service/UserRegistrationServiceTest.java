@@ -46,6 +46,7 @@ class UserRegistrationServiceTest {
     private static final String VALID_NICKNAME = "测试用户";
     private static final String IP_ADDRESS = "192.168.1.1";
     private static final String USER_AGENT = "Mozilla/5.0";
+    private static final Long USER_ID = 1234567890123456789L;
 
     @Nested
     @DisplayName("用户注册测试")
@@ -57,6 +58,7 @@ class UserRegistrationServiceTest {
             // Given
             when(userRepository.existsByUsername(VALID_USERNAME)).thenReturn(false);
             when(userRepository.existsByEmail(VALID_EMAIL)).thenReturn(false);
+            when(userRepository.nextId()).thenReturn(USER_ID);
             when(userRepository.save(any(User.class))).thenReturn(createMockUser());
             when(userRepository.saveEmailVerification(any(EmailVerification.class))).thenReturn(createMockEmailVerification());
             doNothing().when(emailService).sendEmail(anyString(), anyString(), anyString());
@@ -69,7 +71,7 @@ class UserRegistrationServiceTest {
             // Then
             assertTrue(result.isSuccess());
             assertEquals("注册成功，请查收验证邮件", result.getMessage());
-            assertNotNull(result.getUserId());
+            assertEquals(USER_ID, result.getUserId());
 
             // 验证方法调用
             verify(userRepository).existsByUsername(VALID_USERNAME);
@@ -185,6 +187,7 @@ class UserRegistrationServiceTest {
             // Given
             when(userRepository.existsByUsername(VALID_USERNAME)).thenReturn(false);
             when(userRepository.existsByEmail(VALID_EMAIL)).thenReturn(false);
+            when(userRepository.nextId()).thenReturn(USER_ID);
             when(userRepository.save(any(User.class))).thenReturn(createMockUser());
             when(userRepository.saveEmailVerification(any(EmailVerification.class))).thenReturn(createMockEmailVerification());
             doNothing().when(emailService).sendEmail(anyString(), anyString(), anyString());
@@ -0,0 +1,159 @@
+/**
+ * MultiLevelCacheTest类
+ * MultiLevelCacheTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.knene.infrastructure.cache.redis.CacheObjectMapperFactory;
+import com.knene.infrastructure.cache.strategy.CacheProtectionPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 两级缓存单元测试类 - 不连接Redis，验证本地缓存层的读写和失效
+class MultiLevelCacheTest {
+
+    private MultiLevelCache<String> cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new MultiLevelCache<>("user-info", new CacheKeyTemplate("user:info:{id}:v1"),
+                Caffeine.newBuilder().maximumSize(100).build(), null, "knene:cache", Duration.ofMinutes(1),
+                CacheObjectMapperFactory.create(), CacheObjectMapperFactory.create().constructType(String.class), null,
+                CacheProtectionPolicy.none());
+    }
+
+    @Test
+    @DisplayName("键模板按参数展开并保留版本段")
+    void shouldResolveVersionedKey() {
+        assertEquals("user:info:42:v1", new CacheKeyTemplate("user:info:{id}:v1").resolve(42L));
+        assertThrows(IllegalArgumentException.class, () -> new CacheKeyTemplate("user:info:{id}:v1").resolve());
+    }
+
+    @Test
+    @DisplayName("命中后不再回源，失效后重新加载")
+    void shouldLoadOnceUntilEvicted() {
+        // When
+        String first = cache.get(() -> "alice-" + loads.incrementAndGet(), 1L);
+        String second = cache.get(() -> "alice-" + loads.incrementAndGet(), 1L);
+        cache.evict(1L);
+        String third = cache.get(() -> "alice-" + loads.incrementAndGet(), 1L);
+
+        // Then
+        assertEquals("alice-1", first);
+        assertEquals("alice-1", second);
+        assertEquals("alice-2", third);
+    }
+
+    @Test
+    @DisplayName("数据源返回空时不缓存")
+    void shouldNotCacheNull() {
+        // When
+        cache.get(() -> { loads.incrementAndGet(); return null; }, 2L);
+        cache.get(() -> { loads.incrementAndGet(); return null; }, 2L);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("并发未命中只回源一次")
+    void shouldCollapseConcurrentLoads() throws Exception {
+        // Given
+        int threads = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < threads; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return cache.get(() -> {
+                    loads.incrementAndGet();
+                    sleepQuietly(100);
+                    return "bob";
+                }, 3L);
+            }));
+        }
+        start.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("bob", result.get());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, cache.inFlightCount());
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("一直命中一级缓存的键按访问次数升为热点，一级缓存被淘汰后仍由热点副本命中")
+    void shouldPromoteKeyHitInLocalCache() {
+        // Given
+        Cache<String, CacheEntry<String>> local = Caffeine.newBuilder().maximumSize(100).build();
+        MultiLevelCache<String> hotCache = new MultiLevelCache<>("user-info",
+                new CacheKeyTemplate("user:info:{id}:v1"), local, null, "knene:cache", Duration.ofMinutes(1), CacheObjectMapperFactory.create(),
+                CacheObjectMapperFactory.create().constructType(String.class), null,
+                new CacheProtectionPolicy(0L, 1.0, 3, Duration.ofSeconds(60), Runnable::run));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            hotCache.get(() -> "carol-" + loads.incrementAndGet(), 4L);
+        }
+        local.invalidateAll();
+        String afterEviction = hotCache.get(() -> "carol-" + loads.incrementAndGet(), 4L);
+
+        // Then
+        assertEquals("carol-1", afterEviction);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("提前刷新只在存活超过比例后触发，过期时必定触发")
+    void shouldRefreshEarlyAfterRatio() {
+        // Given
+        CacheProtectionPolicy policy = new CacheProtectionPolicy(0L, 0.8, 0, Duration.ofSeconds(60), Runnable::run);
+        long now = System.currentTimeMillis();
+
+        // When & Then
+        assertFalse(policy.shouldRefreshEarly(new CacheEntry<>("v", now - 500, 1000), now));
+        assertTrue(policy.shouldRefreshEarly(new CacheEntry<>("v", now - 1000, 1000), now));
+    }
+
+    @Test
+    @DisplayName("TTL抖动落在[ttl, ttl + jitter]区间")
+    void shouldJitterTtlWithinBounds() {
+        CacheProtectionPolicy policy = new CacheProtectionPolicy(300_000L, 1.0, 0, Duration.ofSeconds(60), Runnable::run);
+        for (int i = 0; i < 100; i++) {
+            long ttl = policy.jitteredTtlMillis(Duration.ofSeconds(3600));
+            assertTrue(ttl >= 3_600_000L && ttl <= 3_900_000L);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
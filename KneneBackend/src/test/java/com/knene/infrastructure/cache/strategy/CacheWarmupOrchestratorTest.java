@@ -0,0 +1,61 @@
+/**
+ * CacheWarmupOrchestratorTest类
+ * CacheWarmupOrchestratorTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.infrastructure.cache.MultiLevelCacheManager;
+import com.knene.infrastructure.config.properties.AppCacheProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 缓存预热编排器单元测试类
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupOrchestratorTest {
+
+    @Mock
+    private MultiLevelCacheManager cacheManager;
+
+    @Test
+    @DisplayName("全部预热项结束后报告就绪，失败和缺失的预热项分别记录")
+    void shouldCompleteAfterAllItemsFinish() {
+        // Given
+        AppCacheProperties properties = new AppCacheProperties();
+        properties.getWarmup().setItems(List.of("system-config", "dictionary-data", "hot-search"));
+        CacheWarmupOrchestrator orchestrator = new CacheWarmupOrchestrator(cacheManager, properties, List.of(
+                CacheWarmer.of("system-config", m -> 12),
+                CacheWarmer.of("dictionary-data", m -> {
+                    throw new IllegalStateException("数据库不可用");
+                })));
+        assertFalse(orchestrator.isCompleted());
+
+        // When
+        orchestrator.warmUpAll();
+
+        // Then
+        assertTrue(orchestrator.isCompleted());
+        assertEquals("SUCCESS", orchestrator.getResults().get("system-config").getStatus());
+        assertEquals(12, orchestrator.getResults().get("system-config").getEntries());
+        assertEquals("FAILED", orchestrator.getResults().get("dictionary-data").getStatus());
+        assertEquals("SKIPPED", orchestrator.getResults().get("hot-search").getStatus());
+    }
+
+    @Test
+    @DisplayName("关闭预热时直接就绪")
+    void shouldBeReadyWhenDisabled() {
+        AppCacheProperties properties = new AppCacheProperties();
+        properties.getWarmup().setEnabled(false);
+        assertTrue(new CacheWarmupOrchestrator(cacheManager, properties, List.of()).isCompleted());
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * IdExistenceFilterTest类
+ * IdExistenceFilterTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import com.knene.infrastructure.cache.redis.CacheInvalidationBroadcaster;
+import com.knene.infrastructure.config.properties.BloomFilterProperties;
+import com.knene.infrastructure.persistence.mapper.IdScanMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ID存在性过滤器单元测试类
+class IdExistenceFilterTest {
+
+    @Test
+    @DisplayName("首次构建完成前一律放行")
+    void shouldPassThroughBeforeFirstBuild() {
+        IdExistenceFilter filter = new IdExistenceFilter("users", 0.01);
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightExist(123L));
+    }
+
+    @Test
+    @DisplayName("构建后已存在ID必定命中，误判率接近配置值")
+    void shouldNeverRejectExistingIds() {
+        // Given
+        IdExistenceFilter filter = new IdExistenceFilter("users", 0.01);
+
+        // When
+        filter.rebuild(10_000, sink -> {
+            for (long id = 1; id <= 10_000; id++) {
+                sink.accept(id);
+            }
+        });
+
+        // Then
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightExist(id));
+        }
+        int falsePositives = 0;
+        for (long id = 10_001; id <= 20_000; id++) {
+            if (filter.mightExist(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300);
+    }
+
+    @Test
+    @DisplayName("重建期间新增的ID在新过滤器中保留")
+    void shouldKeepIdsAddedDuringRebuild() {
+        // Given
+        IdExistenceFilter filter = new IdExistenceFilter("users", 0.01);
+        filter.rebuild(1000, sink -> sink.accept(1L));
+
+        // When
+        filter.rebuild(1000, sink -> {
+            sink.accept(1L);
+            filter.add(999_999L); // 模拟扫描过程中提交的插入
+        });
+
+        // Then
+        assertTrue(filter.mightExist(999_999L));
+    }
+
+    @Test
+    @DisplayName("雪花ID表按行数估算容量，重建后已存在ID必定命中")
+    void shouldSizeBySnowflakeRowCount() {
+        // Given
+        List<Long> ids = List.of(1_846_000_000_000_000_001L, 1_846_000_000_000_000_002L, Long.MAX_VALUE - 1);
+        BloomFilterProperties.Filter config = new BloomFilterProperties.Filter();
+        config.setTable("users");
+        config.setExpectedInsertions(1_000L);
+        BloomFilterProperties properties = new BloomFilterProperties();
+        properties.getFilters().put("users", config);
+        IdExistenceFilterRegistry registry = new IdExistenceFilterRegistry(properties, new IdScanMapper() {
+            @Override
+            public long selectCount(String table) {
+                return ids.size();
+            }
+
+            @Override
+            public List<Long> selectIdsAfter(String table, String idColumn, long afterId, int limit) {
+                return ids.stream().filter(id -> id > afterId).limit(limit).toList();
+            }
+        });
+
+        // When
+        registry.rebuildAll();
+
+        // Then
+        IdExistenceFilter filter = registry.getFilters().get("users");
+        assertTrue(filter.isReady());
+        ids.forEach(id -> assertTrue(registry.mightExist("users", id)));
+        assertTrue(filter.expectedFpp() < 0.01);
+    }
+
+    @Test
+    @DisplayName("新增ID广播到其他节点，其他节点无需等待重建即可命中")
+    void shouldApplyInsertsBroadcastByOtherNodes() {
+        // Given
+        List<String> published = new ArrayList<>();
+        StringRedisTemplate redis = new StringRedisTemplate() {
+            @Override
+            public Long convertAndSend(String channel, Object message) {
+                published.add((String) message);
+                return 1L;
+            }
+        };
+        CacheInvalidationBroadcaster senderChannel = new CacheInvalidationBroadcaster(redis, "invalidation");
+        CacheInvalidationBroadcaster receiverChannel = new CacheInvalidationBroadcaster(redis, "invalidation");
+        IdExistenceFilterRegistry sender = emptyRegistry(senderChannel);
+        IdExistenceFilterRegistry receiver = emptyRegistry(receiverChannel);
+        IdExistenceFilterListener listener = new IdExistenceFilterListener(receiverChannel, receiver);
+        long id = 1_846_000_000_000_000_042L;
+        assertFalse(receiver.mightExist("users", id));
+
+        // When
+        sender.recordInsert("users", id);
+        published.forEach(message -> listener.onMessage(
+                new DefaultMessage("invalidation".getBytes(StandardCharsets.UTF_8),
+                        message.getBytes(StandardCharsets.UTF_8)), null));
+
+        // Then
+        assertEquals(1, published.size());
+        assertTrue(sender.mightExist("users", id));
+        assertTrue(receiver.mightExist("users", id));
+        assertFalse(receiver.applyRemoteInsert("userInfo", "42"));
+    }
+
+    // 已完成一次空表构建的注册表
+    private static IdExistenceFilterRegistry emptyRegistry(CacheInvalidationBroadcaster broadcaster) {
+        BloomFilterProperties.Filter config = new BloomFilterProperties.Filter();
+        config.setTable("users");
+        config.setExpectedInsertions(1_000L);
+        BloomFilterProperties properties = new BloomFilterProperties();
+        properties.getFilters().put("users", config);
+        IdExistenceFilterRegistry registry = new IdExistenceFilterRegistry(properties, new IdScanMapper() {
+            @Override
+            public long selectCount(String table) {
+                return 0L;
+            }
+
+            @Override
+            public List<Long> selectIdsAfter(String table, String idColumn, long afterId, int limit) {
+                return List.of();
+            }
+        }, broadcaster);
+        registry.rebuildAll();
+        return registry;
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * WriteBehindBufferTest类
+ * WriteBehindBufferTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.cache.strategy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 写后缓冲区单元测试类
+class WriteBehindBufferTest {
+
+    @Test
+    @DisplayName("同一键的多次更新合并为一行写入")
+    void shouldCoalesceUpdatesForSameKey() {
+        // Given
+        List<List<Map.Entry<Long, Long>>> batches = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<Long, Long> buffer = new WriteBehindBuffer<>("test", Long::sum,
+                batch -> batches.add(new ArrayList<>(batch)), 100, 10_000, Duration.ofHours(1));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            buffer.submit(1L, 1L);
+        }
+        buffer.submit(2L, 3L);
+        int flushed = buffer.flush();
+
+        // Then
+        assertEquals(2, flushed);
+        assertEquals(1, batches.size());
+        assertTrue(batches.get(0).contains(Map.entry(1L, 5L)));
+        assertTrue(batches.get(0).contains(Map.entry(2L, 3L)));
+        assertEquals(6L, buffer.getAccepted());
+        buffer.close();
+    }
+
+    @Test
+    @DisplayName("积压超过批大小时拆分为多批写入")
+    void shouldSplitIntoBatches() {
+        // Given
+        List<Integer> sizes = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<Long, Long> buffer = new WriteBehindBuffer<>("test", Long::sum,
+                batch -> sizes.add(batch.size()), 2, 10_000, Duration.ofHours(1));
+        for (long i = 0; i < 5; i++) {
+            buffer.submit(i, 1L);
+        }
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertEquals(List.of(2, 2, 1), sizes);
+        buffer.close();
+    }
+
+    @Test
+    @DisplayName("写入失败的批次与新更新重新合并，下次刷盘重试")
+    void shouldRequeueFailedBatch() {
+        // Given
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<Map.Entry<Long, Long>> written = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<Long, Long> buffer = new WriteBehindBuffer<>("test", Long::sum, batch -> {
+            if (failing.get()) {
+                throw new IllegalStateException("db down");
+            }
+            written.addAll(batch);
+        }, 100, 10_000, Duration.ofHours(1));
+        buffer.submit(1L, 2L);
+
+        // When
+        assertEquals(0, buffer.flush());
+        buffer.submit(1L, 3L);
+        failing.set(false);
+        buffer.flush();
+
+        // Then
+        assertEquals(List.of(Map.entry(1L, 5L)), written);
+        assertEquals(0, buffer.pendingSize());
+        buffer.close();
+    }
+
+    @Test
+    @DisplayName("批次失败时二分定位坏行，只有坏行计入失败次数并在达到上限后转入死信")
+    void shouldIsolateBadRowAndDeadLetterAfterMaxAttempts() {
+        // Given
+        List<Map.Entry<Long, Long>> written = new CopyOnWriteArrayList<>();
+        List<Map.Entry<Long, Long>> dead = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<Long, Long> buffer = new WriteBehindBuffer<>("test", Long::sum, batch -> {
+            if (batch.stream().anyMatch(entry -> entry.getKey() == 3L)) {
+                throw new IllegalStateException("bad row");
+            }
+            written.addAll(batch);
+        }, 100, 10_000, Duration.ofHours(1), 3, dead::addAll);
+        for (long key = 1; key <= 8; key++) {
+            buffer.submit(key, 1L);
+        }
+
+        // When
+        int first = buffer.flush();
+        for (int i = 0; i < 4; i++) {
+            buffer.flush();
+        }
+
+        // Then
+        assertEquals(7, first);
+        assertEquals(7, written.size());
+        assertTrue(written.stream().noneMatch(entry -> entry.getKey() == 3L));
+        assertEquals(List.of(Map.entry(3L, 1L)), dead);
+        assertEquals(1L, buffer.getDeadLettered());
+        assertEquals(0, buffer.pendingSize());
+        buffer.close();
+    }
+
+    @Test
+    @DisplayName("瞬时异常整批放回且不计失败次数，不逐行探测也不转入死信")
+    void shouldRequeueWholeBatchOnTransientFailure() {
+        // Given
+        List<Integer> attempts = new CopyOnWriteArrayList<>();
+        List<Map.Entry<Long, Long>> dead = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<Long, Long> buffer = new WriteBehindBuffer<>("test", Long::sum, batch -> {
+            attempts.add(batch.size());
+            throw new TransientDataAccessResourceException("db down");
+        }, 100, 10_000, Duration.ofHours(1), 2, dead::addAll);
+        buffer.submit(1L, 1L);
+        buffer.submit(2L, 1L);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            buffer.flush();
+        }
+
+        // Then
+        assertEquals(List.of(2, 2, 2, 2, 2), attempts);
+        assertTrue(dead.isEmpty());
+        assertEquals(2, buffer.pendingSize());
+    }
+
+    @Test
+    @DisplayName("刷盘期间到达的新值不会被失败重放的旧值覆盖")
+    void shouldKeepUpdateOrderWhenRequeued() {
+        // Given
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<Map.Entry<Long, String>> written = new CopyOnWriteArrayList<>();
+        AtomicReference<WriteBehindBuffer<Long, String>> self = new AtomicReference<>();
+        WriteBehindBuffer<Long, String> buffer = new WriteBehindBuffer<>("test", (older, newer) -> newer, batch -> {
+            if (failing.getAndSet(false)) {
+                self.get().submit(1L, "new");
+                throw new IllegalStateException("db down");
+            }
+            written.addAll(batch);
+        }, 100, 10_000, Duration.ofHours(1));
+        self.set(buffer);
+        buffer.submit(1L, "old");
+
+        // When
+        buffer.flush();
+        buffer.flush();
+
+        // Then
+        assertEquals(List.of(Map.entry(1L, "new")), written);
+        buffer.close();
+    }
+
+    @Test
+    @DisplayName("关闭时排空全部积压")
+    void shouldDrainOnClose() {
+        // Given
+        List<Map.Entry<Long, Long>> written = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<Long, Long> buffer = new WriteBehindBuffer<>("test", Long::sum,
+                written::addAll, 100, 10_000, Duration.ofHours(1));
+        buffer.submit(7L, 1L);
+
+        // When
+        buffer.close();
+
+        // Then
+        assertEquals(List.of(Map.entry(7L, 1L)), written);
+        assertEquals(1L, buffer.getWritten());
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * SqlFingerprintTest类
+ * SqlFingerprintTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.monitor.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// SQL指纹与延迟直方图单元测试类
+class SqlFingerprintTest {
+
+    @Test
+    @DisplayName("字面量替换为占位符，空白压缩，关键字小写")
+    void shouldNormalizeLiteralsAndWhitespace() {
+        // When
+        String fingerprint = SqlFingerprint.of("SELECT  id,\n name FROM users WHERE status = 'active' AND id > 100");
+
+        // Then
+        assertEquals("select id, name from users where status = ? and id > ?", fingerprint);
+    }
+
+    @Test
+    @DisplayName("不同长度的IN列表和多行VALUES归为同一指纹")
+    void shouldCollapsePlaceholderLists() {
+        // When
+        String in2 = SqlFingerprint.of("SELECT * FROM users WHERE id IN (?, ?)");
+        String in5 = SqlFingerprint.of("SELECT * FROM users WHERE id IN (?,?,?,?,?)");
+        String rows = SqlFingerprint.of("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)");
+
+        // Then
+        assertEquals(in2, in5);
+        assertEquals("insert into t (a, b) values (?+)", rows);
+    }
+
+    @Test
+    @DisplayName("标识符中的数字保留，转义引号不截断字符串")
+    void shouldKeepDigitsInIdentifiers() {
+        // When
+        String fingerprint = SqlFingerprint.of("SELECT * FROM browse_history_3 WHERE note = 'it''s 1' LIMIT 10");
+
+        // Then
+        assertEquals("select * from browse_history_3 where note = ? limit ?", fingerprint);
+    }
+
+    @Test
+    @DisplayName("直方图分位数落在真实值的一个子桶误差内")
+    void shouldEstimatePercentiles() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        // When
+        long p99 = histogram.percentileMicros(0.99);
+
+        // Then
+        assertTrue(p99 >= 990_000L && p99 <= 990_000L * 5 / 4, "p99=" + p99);
+        assertEquals(1_000_000L, histogram.getMaxMicros());
+        assertEquals(1000L, histogram.getCount());
+    }
+}
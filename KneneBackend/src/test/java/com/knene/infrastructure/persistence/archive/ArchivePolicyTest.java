@@ -0,0 +1,75 @@
+/**
+ * ArchivePolicyTest类
+ * ArchivePolicyTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.archive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 单表归档策略单元测试类
+class ArchivePolicyTest {
+
+    @Test
+    @DisplayName("软删除和超龄两类条件分别按各自索引列扫描")
+    void shouldBuildCriteriaForSoftDeletedAndAgedRows() {
+        // Given
+        ArchivePolicy policy = new ArchivePolicy("download_history", Duration.ofDays(7), "created_at",
+                Duration.ofDays(365));
+
+        // When
+        List<ArchivePolicy.Criterion> criteria = policy.criteria();
+
+        // Then
+        assertEquals(2, criteria.size());
+        assertEquals("SELECT id FROM download_history WHERE deleted_at IS NOT NULL AND deleted_at < NOW() - INTERVAL ? SECOND"
+                + " ORDER BY deleted_at LIMIT ? FOR UPDATE SKIP LOCKED", policy.lockBatchSql(criteria.get(0)));
+        assertEquals(604800L, criteria.get(0).olderThanSeconds());
+        assertEquals("SELECT id FROM download_history WHERE created_at < NOW() - INTERVAL ? SECOND"
+                + " ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED", policy.lockBatchSql(criteria.get(1)));
+    }
+
+    @Test
+    @DisplayName("未配置保留期时只归档软删除行")
+    void shouldSkipAgeCriterionWithoutMaxAge() {
+        // Given
+        ArchivePolicy policy = new ArchivePolicy("torrent_files", Duration.ofDays(7), null, null);
+
+        // When & Then
+        assertEquals(1, policy.criteria().size());
+        assertEquals("torrent_files_archive", policy.getArchiveTable());
+    }
+
+    @Test
+    @DisplayName("复制和删除语句按批大小生成占位符并按列名对齐")
+    void shouldBuildCopyAndDeleteStatements() {
+        // Given
+        ArchivePolicy policy = new ArchivePolicy("search_history", null, null, Duration.ofDays(180));
+
+        // When
+        String copy = policy.copySql(List.of("id", "user_id", "search_query"), 3);
+        String delete = policy.deleteSql(3);
+
+        // Then
+        assertEquals("INSERT INTO search_history_archive (id, user_id, search_query) SELECT id, user_id, search_query"
+                + " FROM search_history WHERE id IN (?, ?, ?)", copy);
+        assertEquals("DELETE FROM search_history WHERE id IN (?, ?, ?)", delete);
+    }
+
+    @Test
+    @DisplayName("非法表名直接拒绝")
+    void shouldRejectInvalidTableName() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArchivePolicy("users; DROP TABLE users", Duration.ofDays(1), null, null));
+    }
+}
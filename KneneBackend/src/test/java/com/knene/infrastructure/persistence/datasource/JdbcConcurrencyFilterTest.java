@@ -0,0 +1,133 @@
+/**
+ * JdbcConcurrencyFilterTest类
+ * JdbcConcurrencyFilterTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.DruidPooledConnection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+// JDBC并发闸门单元测试类
+@ExtendWith(MockitoExtension.class)
+class JdbcConcurrencyFilterTest {
+
+    @Mock
+    private FilterChain chain;
+
+    @Mock
+    private DruidDataSource dataSource;
+
+    @Test
+    @DisplayName("许可用尽时等待超时并抛出异常，不再进入连接池")
+    void shouldTimeOutWhenPermitsExhausted() throws SQLException {
+        // Given
+        JdbcConcurrencyFilter filter = new JdbcConcurrencyFilter(1);
+        when(chain.dataSource_connect(eq(dataSource), anyLong())).thenReturn(mock(DruidPooledConnection.class));
+        filter.dataSource_getConnection(chain, dataSource, 10L);
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class,
+                () -> filter.dataSource_getConnection(chain, dataSource, 10L));
+        verify(chain, times(1)).dataSource_connect(eq(dataSource), anyLong());
+    }
+
+    @Test
+    @DisplayName("连接归还后释放许可，重复归还不多释放")
+    void shouldReleasePermitOnceWhenConnectionRecycled() throws SQLException {
+        // Given
+        JdbcConcurrencyFilter filter = new JdbcConcurrencyFilter(2);
+        DruidPooledConnection connection = mock(DruidPooledConnection.class);
+        when(chain.dataSource_connect(eq(dataSource), anyLong())).thenReturn(connection);
+        filter.dataSource_getConnection(chain, dataSource, 10L);
+        assertEquals(1, filter.getInUse());
+
+        // When
+        filter.dataSource_releaseConnection(chain, connection);
+        filter.dataSource_releaseConnection(chain, connection);
+
+        // Then
+        assertEquals(0, filter.getInUse());
+        verify(chain, times(2)).dataSource_recycle(connection);
+    }
+
+    @Test
+    @DisplayName("连接池取连接失败时归还许可")
+    void shouldReleasePermitWhenConnectFails() throws SQLException {
+        // Given
+        JdbcConcurrencyFilter filter = new JdbcConcurrencyFilter(1);
+        when(chain.dataSource_connect(eq(dataSource), anyLong())).thenThrow(new SQLException("pool exhausted"));
+
+        // When
+        assertThrows(SQLException.class, () -> filter.dataSource_getConnection(chain, dataSource, 10L));
+
+        // Then
+        assertEquals(0, filter.getInUse());
+    }
+
+    @Test
+    @DisplayName("排队等待许可的时间从maxWait中扣除，连接池只拿到剩余预算")
+    void shouldPassRemainingBudgetToPool() throws Exception {
+        // Given
+        JdbcConcurrencyFilter filter = new JdbcConcurrencyFilter(1);
+        DruidPooledConnection held = mock(DruidPooledConnection.class);
+        when(chain.dataSource_connect(eq(dataSource), anyLong())).thenReturn(held);
+        filter.dataSource_getConnection(chain, dataSource, 2000L);
+        Thread releaser = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(300L);
+                filter.dataSource_releaseConnection(chain, held);
+            } catch (InterruptedException | SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // When
+        filter.dataSource_getConnection(chain, dataSource, 2000L);
+        releaser.join();
+
+        // Then
+        ArgumentCaptor<Long> budgets = ArgumentCaptor.forClass(Long.class);
+        verify(chain, times(2)).dataSource_connect(eq(dataSource), budgets.capture());
+        long remaining = budgets.getAllValues().get(1);
+        assertTrue(remaining >= 1L && remaining <= 1750L, "剩余预算：" + remaining);
+    }
+
+    @Test
+    @DisplayName("被连接池回收或禁用的连接不经过归还，排队前清理并归还其许可")
+    void shouldReclaimPermitOfAbandonedConnection() throws SQLException {
+        // Given
+        JdbcConcurrencyFilter filter = new JdbcConcurrencyFilter(1);
+        DruidPooledConnection abandoned = mock(DruidPooledConnection.class);
+        DruidPooledConnection next = mock(DruidPooledConnection.class);
+        when(chain.dataSource_connect(eq(dataSource), anyLong())).thenReturn(abandoned, next);
+        filter.dataSource_getConnection(chain, dataSource, 10L);
+        when(abandoned.isAbandonded()).thenReturn(true);
+
+        // When
+        DruidPooledConnection connection = filter.dataSource_getConnection(chain, dataSource, 10L);
+
+        // Then
+        assertSame(next, connection);
+        assertEquals(1, filter.getInUse());
+        filter.dataSource_releaseConnection(chain, abandoned);
+        assertEquals(1, filter.getInUse());
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * ReplicaLoadBalancerTest类
+ * ReplicaLoadBalancerTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 从库负载均衡器单元测试类
+class ReplicaLoadBalancerTest {
+
+    @Test
+    @DisplayName("轮询算法依次选择健康从库")
+    void shouldRoundRobinAcrossCandidates() {
+        // Given
+        ReplicaLoadBalancer balancer = new ReplicaLoadBalancer("round_robin", Map.of());
+        List<String> candidates = List.of("slave1", "slave2");
+
+        // When & Then
+        assertEquals("slave1", balancer.choose(candidates));
+        assertEquals("slave2", balancer.choose(candidates));
+        assertEquals("slave1", balancer.choose(candidates));
+    }
+
+    @Test
+    @DisplayName("加权算法不会选中被摘除的从库")
+    void shouldOnlyChooseFromCandidates() {
+        // Given
+        ReplicaLoadBalancer balancer = new ReplicaLoadBalancer("weighted", Map.of("slave1", 100, "slave2", 1));
+        List<String> candidates = List.of("slave2", "slave3");
+
+        // When
+        Map<String, Integer> hits = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            hits.merge(balancer.choose(candidates), 1, Integer::sum);
+        }
+
+        // Then
+        assertFalse(hits.containsKey("slave1"));
+        assertEquals(1000, hits.get("slave2") + hits.get("slave3"));
+    }
+
+    @Test
+    @DisplayName("未知算法名称直接报错")
+    void shouldRejectUnknownAlgorithm() {
+        assertThrows(IllegalArgumentException.class, () -> new ReplicaLoadBalancer("least_conn", Map.of()));
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * SnowflakeIdGeneratorTest类
+ * SnowflakeIdGeneratorTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 雪花ID生成器单元测试类
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH + 1_000_000L;
+
+    @Test
+    @DisplayName("ID中可解析出节点号和生成时间")
+    void shouldEncodeNodeIdAndTimestamp() {
+        // Given
+        ManualClockGenerator generator = new ManualClockGenerator(37, 1000L, NOW);
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertEquals(37, SnowflakeIdGenerator.nodeIdOf(id));
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(id).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("同一毫秒内序列号用尽后借用下一毫秒，ID保持递增")
+    void shouldBorrowNextMillisecondWhenSequenceExhausted() {
+        // Given
+        ManualClockGenerator generator = new ManualClockGenerator(1, 1000L, NOW);
+
+        // When
+        long previous = 0L;
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+
+        // Then
+        assertEquals(NOW + 1, SnowflakeIdGenerator.timestampOf(previous).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("容忍范围内的时钟回拨沿用逻辑时钟继续发号")
+    void shouldKeepIssuingWithinTolerableClockRegression() {
+        // Given
+        ManualClockGenerator generator = new ManualClockGenerator(1, 1000L, NOW);
+        long before = generator.nextId();
+
+        // When
+        generator.clock.set(NOW - 500);
+        long after = generator.nextId();
+
+        // Then
+        assertTrue(after > before);
+    }
+
+    @Test
+    @DisplayName("超过容忍值的时钟回拨拒绝发号")
+    void shouldRejectLargeClockRegression() {
+        // Given
+        ManualClockGenerator generator = new ManualClockGenerator(1, 1000L, NOW);
+        generator.nextId();
+
+        // When
+        generator.clock.set(NOW - 5000);
+
+        // Then
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    @DisplayName("新持有者从上一任最后时间戳之后开始发号")
+    void shouldStartAfterPreviousHolderTimestamp() {
+        // Given
+        ManualClockGenerator generator = new ManualClockGenerator(1, 1000L, NOW, NOW + 200);
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertTrue(SnowflakeIdGenerator.timestampOf(id).toEpochMilli() > NOW + 200);
+    }
+
+    @Test
+    @DisplayName("租约失效后拒绝发号")
+    void shouldRejectAfterLeaseDeadline() {
+        // Given
+        ManualClockGenerator generator = new ManualClockGenerator(1, 1000L, NOW);
+        generator.setLeaseDeadline(NOW);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    @DisplayName("多线程并发发号无重复")
+    void shouldGenerateUniqueIdsConcurrently() throws Exception {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, 1000L);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<long[]>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                long[] ids = new long[50_000];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        Set<Long> unique = new HashSet<>();
+        for (Future<long[]> future : futures) {
+            for (long id : future.get()) {
+                unique.add(id);
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(400_000, unique.size());
+    }
+
+    // 可手动拨动时钟的生成器
+    private static class ManualClockGenerator extends SnowflakeIdGenerator {
+
+        private final AtomicLong clock;
+
+        ManualClockGenerator(int nodeId, long maxBackwardMillis, long now) {
+            this(nodeId, maxBackwardMillis, now, 0L);
+        }
+
+        ManualClockGenerator(int nodeId, long maxBackwardMillis, long now, long lastTimestamp) {
+            super(nodeId, maxBackwardMillis, lastTimestamp);
+            this.clock = new AtomicLong(now);
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return clock.get();
+        }
+    }
+}
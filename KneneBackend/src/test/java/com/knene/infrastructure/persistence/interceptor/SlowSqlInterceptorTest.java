@@ -0,0 +1,116 @@
+/**
+ * SlowSqlInterceptorTest类
+ * SlowSqlInterceptorTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.interceptor;
+
+import com.knene.infrastructure.monitor.sql.SlowSqlRecorder;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 慢SQL拦截器单元测试类，H2内存库上分别以简单执行器和批处理执行器执行
+class SlowSqlInterceptorTest {
+
+    private static final String INSERT_ID = TagMapper.class.getName() + ".insert";
+
+    private SlowSqlRecorder recorder;
+    private SqlSessionFactory sessionFactory;
+
+    // 测试用Mapper
+    interface TagMapper {
+        @Insert("INSERT INTO tag (name) VALUES (#{name})")
+        int insert(@Param("name") String name);
+    }
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(dataSource).execute(
+                "CREATE TABLE tag (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(32))");
+        // 阈值为0，每次执行都记为慢SQL；不传数据源，不做EXPLAIN
+        recorder = new SlowSqlRecorder(null, Duration.ZERO, false, 100, 16, Duration.ofMinutes(1), 4);
+        Configuration configuration = new Configuration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(TagMapper.class);
+        configuration.addInterceptor(new SlowSqlInterceptor(recorder));
+        sessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    @Test
+    @DisplayName("简单执行器每次执行记录一次")
+    void shouldRecordEachSimpleExecution() {
+        // Given
+        try (SqlSession session = sessionFactory.openSession(ExecutorType.SIMPLE, true)) {
+            TagMapper mapper = session.getMapper(TagMapper.class);
+
+            // When
+            mapper.insert("a");
+            mapper.insert("b");
+        }
+
+        // Then
+        assertEquals(2L, statsOf(INSERT_ID).get("count"));
+        assertEquals(2L, statsOf(INSERT_ID).get("slowCount"));
+    }
+
+    @Test
+    @DisplayName("批处理执行器在刷出时按executeBatch计时，addBatch不计入")
+    void shouldRecordBatchOnFlush() {
+        // Given
+        try (SqlSession session = sessionFactory.openSession(ExecutorType.BATCH)) {
+            TagMapper mapper = session.getMapper(TagMapper.class);
+            mapper.insert("a");
+            mapper.insert("b");
+            mapper.insert("c");
+            assertTrue(recorder.topByTotalTime(10).isEmpty());
+
+            // When
+            session.commit();
+        }
+
+        // Then
+        Map<String, Object> stats = statsOf(INSERT_ID);
+        assertEquals(1L, stats.get("count"));
+        assertEquals("INSERT INTO tag (name) VALUES (?)", stats.get("sampleSql"));
+        List<Map<String, Object>> samples = recorder.recentSlow();
+        assertEquals(1, samples.size());
+        assertEquals(INSERT_ID, samples.get(0).get("statementId"));
+    }
+
+    private Map<String, Object> statsOf(String statementId) {
+        return recorder.topByTotalTime(10).stream()
+                .filter(stats -> statementId.equals(stats.get("statementId")))
+                .findFirst()
+                .orElseThrow();
+    }
+}
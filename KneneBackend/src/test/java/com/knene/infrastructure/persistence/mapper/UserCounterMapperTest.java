@@ -0,0 +1,102 @@
+/**
+ * UserCounterMapperTest类
+ * UserCounterMapperTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.mapper;
+
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 用户计数Mapper单元测试类，H2内存库上执行状态计数对账语句
+class UserCounterMapperTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SqlSessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, status VARCHAR(16) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, deleted_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE user_status_counters (status VARCHAR(16) PRIMARY KEY, "
+                + "user_count BIGINT NOT NULL DEFAULT 0)");
+        jdbcTemplate.execute("INSERT INTO user_status_counters (status, user_count) "
+                + "VALUES ('active', 0), ('inactive', 0), ('suspended', 0), ('deleted', 0)");
+        Configuration configuration = new Configuration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(UserCounterMapper.class);
+        sessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @Test
+    @DisplayName("软删除的用户从状态计数中扣除，恢复后重新计入")
+    void shouldExcludeSoftDeletedUsers() {
+        // Given
+        jdbcTemplate.update("INSERT INTO users (id, status) VALUES (1, 'active'), (2, 'active'), (3, 'inactive')");
+        assertEquals(2, reconcile());
+        assertEquals(2L, statusCount("active"));
+
+        // When
+        jdbcTemplate.update("UPDATE users SET deleted_at = CURRENT_TIMESTAMP WHERE id = 1");
+
+        // Then
+        assertEquals(1, reconcile());
+        assertEquals(1L, statusCount("active"));
+        assertEquals(1L, statusCount("inactive"));
+
+        // When
+        jdbcTemplate.update("UPDATE users SET deleted_at = NULL WHERE id = 1");
+
+        // Then
+        assertEquals(1, reconcile());
+        assertEquals(2L, statusCount("active"));
+    }
+
+    @Test
+    @DisplayName("已软删除用户的状态变化不影响计数，计数无偏差时不改写")
+    void shouldIgnoreStatusChangeOfSoftDeletedUser() {
+        // Given
+        jdbcTemplate.update("INSERT INTO users (id, status, deleted_at) VALUES (1, 'active', CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO users (id, status) VALUES (2, 'active')");
+        assertEquals(1, reconcile());
+
+        // When
+        jdbcTemplate.update("UPDATE users SET status = 'deleted' WHERE id = 1");
+
+        // Then
+        assertEquals(0, reconcile());
+        assertEquals(1L, statusCount("active"));
+        assertEquals(0L, statusCount("deleted"));
+    }
+
+    private int reconcile() {
+        try (SqlSession session = sessionFactory.openSession(true)) {
+            return session.getMapper(UserCounterMapper.class).reconcileStatusCounters();
+        }
+    }
+
+    private long statusCount(String status) {
+        try (SqlSession session = sessionFactory.openSession(true)) {
+            return session.getMapper(UserCounterMapper.class).selectStatusCount(status);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * PartitionPlannerTest类
+ * PartitionPlannerTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.partition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 时间分区规划器单元测试类
+class PartitionPlannerTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    @Test
+    @DisplayName("从历史分区上界起按天补齐到预建范围")
+    void shouldPrecreateDailyPartitionsFromLastBound() {
+        // Given
+        List<PartitionPlanner.Partition> existing = List.of(
+                new PartitionPlanner.Partition("p_history", 1792339200L),
+                new PartitionPlanner.Partition("p_future", PartitionPlanner.MAXVALUE));
+
+        // When
+        PartitionPlanner.Plan plan = PartitionPlanner.plan(existing, PartitionGranularity.DAY, 30, 2,
+                ZONE, LocalDate.of(2026, 10, 19));
+
+        // Then
+        assertEquals(List.of(
+                new PartitionPlanner.Partition("p20261019", 1792425600L),
+                new PartitionPlanner.Partition("p20261020", 1792512000L),
+                new PartitionPlanner.Partition("p20261021", 1792598400L)), plan.create());
+        assertTrue(plan.drop().isEmpty());
+    }
+
+    @Test
+    @DisplayName("只有兜底分区时按当天日期拆出历史分区和预建分区")
+    void shouldSplitCatchAllOnFirstRun() {
+        // Given
+        List<PartitionPlanner.Partition> existing = List.of(
+                new PartitionPlanner.Partition("p_future", PartitionPlanner.MAXVALUE));
+
+        // When
+        PartitionPlanner.Plan plan = PartitionPlanner.plan(existing, PartitionGranularity.MONTH, 24, 1,
+                ZONE, LocalDate.of(2026, 11, 15));
+
+        // Then
+        assertEquals(List.of(
+                new PartitionPlanner.Partition(PartitionPlanner.HISTORY, 1793462400L),
+                new PartitionPlanner.Partition("p202611", 1796054400L),
+                new PartitionPlanner.Partition("p202612", 1798732800L)), plan.create());
+        assertTrue(plan.drop().isEmpty());
+        assertEquals("ALTER TABLE user_login_history REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p_history VALUES LESS THAN (1793462400), "
+                + "PARTITION p202611 VALUES LESS THAN (1796054400), "
+                + "PARTITION p202612 VALUES LESS THAN (1798732800), "
+                + "PARTITION p_future VALUES LESS THAN MAXVALUE)",
+                PartitionManager.reorganizeSql("user_login_history", "p_future", plan.create()));
+    }
+
+    @Test
+    @DisplayName("预建范围已覆盖时不再新建分区")
+    void shouldNotCreateWhenHorizonCovered() {
+        // Given
+        List<PartitionPlanner.Partition> existing = List.of(
+                new PartitionPlanner.Partition("p20261019", 1792425600L),
+                new PartitionPlanner.Partition("p20261020", 1792512000L),
+                new PartitionPlanner.Partition("p_future", PartitionPlanner.MAXVALUE));
+
+        // When
+        PartitionPlanner.Plan plan = PartitionPlanner.plan(existing, PartitionGranularity.DAY, 0, 1,
+                ZONE, LocalDate.of(2026, 10, 19));
+
+        // Then
+        assertTrue(plan.isEmpty());
+    }
+
+    @Test
+    @DisplayName("上界早于保留起点的分区被删除，兜底分区保留")
+    void shouldDropExpiredPartitionsOnly() {
+        // Given
+        List<PartitionPlanner.Partition> existing = List.of(
+                new PartitionPlanner.Partition("p_history", 1792339200L),
+                new PartitionPlanner.Partition("p20261019", 1792425600L),
+                new PartitionPlanner.Partition("p20261020", 1792512000L),
+                new PartitionPlanner.Partition("p_future", PartitionPlanner.MAXVALUE));
+
+        // When
+        PartitionPlanner.Plan plan = PartitionPlanner.plan(existing, PartitionGranularity.DAY, 1, 0,
+                ZONE, LocalDate.of(2026, 10, 20));
+
+        // Then
+        assertEquals(List.of("p_history"), plan.drop());
+        assertTrue(plan.create().isEmpty());
+    }
+
+    @Test
+    @DisplayName("按月分区以月初零点为边界并按月命名")
+    void shouldPlanMonthlyPartitions() {
+        // Given
+        List<PartitionPlanner.Partition> existing = List.of(
+                new PartitionPlanner.Partition("p_history", 1793462400L),
+                new PartitionPlanner.Partition("p_future", PartitionPlanner.MAXVALUE));
+
+        // When
+        PartitionPlanner.Plan plan = PartitionPlanner.plan(existing, PartitionGranularity.MONTH, 24, 1,
+                ZONE, LocalDate.of(2026, 10, 18));
+
+        // Then
+        assertEquals(List.of(new PartitionPlanner.Partition("p202611",
+                PartitionPlanner.epochSecond(LocalDate.of(2026, 12, 1), ZONE))), plan.create());
+        assertTrue(plan.drop().isEmpty());
+    }
+
+    @Test
+    @DisplayName("拆分兜底分区时保留兜底分区定义")
+    void shouldBuildReorganizeStatement() {
+        // Given
+        List<PartitionPlanner.Partition> create = List.of(new PartitionPlanner.Partition("p20261019", 1792425600L));
+
+        // When
+        String sql = PartitionManager.reorganizeSql("search_logs", "p_future", create);
+
+        // Then
+        assertEquals("ALTER TABLE search_logs REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p20261019 VALUES LESS THAN (1792425600), "
+                + "PARTITION p_future VALUES LESS THAN MAXVALUE)", sql);
+    }
+}
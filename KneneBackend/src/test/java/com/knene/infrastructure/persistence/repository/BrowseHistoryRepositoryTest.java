@@ -0,0 +1,140 @@
+/**
+ * BrowseHistoryRepositoryTest类
+ * BrowseHistoryRepositoryTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import com.knene.infrastructure.persistence.repository.BrowseHistoryRepository.BrowseRecord;
+import com.knene.infrastructure.persistence.sharding.ShardAwareIdGenerator;
+import com.knene.infrastructure.persistence.sharding.ShardTemplate;
+import com.knene.infrastructure.persistence.sharding.UserShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 浏览历史分片存储单元测试类，两个H2内存库各建4张物理表模拟分库分表
+class BrowseHistoryRepositoryTest {
+
+    private static final List<String> NAMES = List.of("ds_0", "ds_1");
+    private static final int TABLES_PER_DATABASE = 4;
+
+    private UserShardRouter router;
+    private Map<String, DataSource> dataSources;
+    private ShardTemplate shardTemplate;
+    private BrowseHistoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        router = new UserShardRouter(NAMES, TABLES_PER_DATABASE);
+        dataSources = new LinkedHashMap<>();
+        for (String name : NAMES) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:browse_" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            for (int table = 0; table < TABLES_PER_DATABASE; table++) {
+                jdbc.execute("CREATE TABLE browse_history_" + table + " (id BIGINT PRIMARY KEY, "
+                        + "user_id BIGINT NOT NULL, resource_id BIGINT, browse_type VARCHAR(20) NOT NULL, "
+                        + "browse_url VARCHAR(500) NOT NULL, page_title VARCHAR(255), "
+                        + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, created_by BIGINT, updated_by BIGINT, "
+                        + "deleted_at TIMESTAMP)");
+            }
+            dataSources.put(name, dataSource);
+        }
+        shardTemplate = new ShardTemplate(router, Set.of("browse_history"), dataSources,
+                Executors.newFixedThreadPool(2), Duration.ofSeconds(5));
+        repository = new BrowseHistoryRepository(shardTemplate, new ShardAwareIdGenerator(router, 1, 1000L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSources.values().forEach(ds -> new JdbcTemplate(ds).execute("DROP ALL OBJECTS"));
+        shardTemplate.close();
+    }
+
+    @Test
+    @DisplayName("写入落在用户所在分片的物理表，按用户和按主键都能查回")
+    void shouldWriteAndReadOnUserShard() {
+        // Given
+        long userId = 13L;
+        long first = repository.record(userId, 100L, "detail", "/movie/100", "Dune");
+        long second = repository.record(userId, 101L, "play", "/movie/101/play", "Dune 2");
+
+        // When
+        List<BrowseRecord> recent = repository.findRecentByUser(userId, 10);
+
+        // Then
+        assertEquals(List.of(second, first), recent.stream().map(BrowseRecord::id).toList());
+        assertEquals(2, countRows("ds_1", "browse_history_2"));
+        assertEquals("Dune", repository.findById(first).orElseThrow().pageTitle());
+        assertTrue(repository.findRecentByUser(14L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("清空浏览历史只影响当前用户")
+    void shouldClearOnlyOwnHistory() {
+        // Given
+        long id = repository.record(1L, null, "search", "/search?q=dune", null);
+        repository.record(9L, null, "search", "/search?q=dune", null);
+
+        // When
+        int cleared = repository.clearByUser(1L);
+
+        // Then
+        assertEquals(1, cleared);
+        assertTrue(repository.findById(id).isEmpty());
+        assertEquals(1, repository.findRecentByUser(9L, 10).size());
+    }
+
+    @Test
+    @DisplayName("管理端查询跨分片按时间倒序归并并截断，计数为各分片之和")
+    void shouldScatterGatherAcrossShards() {
+        // Given
+        long last = 0L;
+        for (long userId = 1; userId <= 16; userId++) {
+            last = repository.record(userId, userId, "detail", "/movie/" + userId, null);
+        }
+
+        // When
+        List<BrowseRecord> recent = repository.findRecent(5);
+
+        // Then
+        assertEquals(16L, repository.countAll());
+        assertEquals(5, recent.size());
+        assertEquals(last, recent.get(0).id());
+        for (int i = 1; i < recent.size(); i++) {
+            assertTrue(recent.get(i - 1).id() > recent.get(i).id());
+        }
+    }
+
+    @Test
+    @DisplayName("未配置为分片表的逻辑表不经分片路由")
+    void shouldRejectTableNotConfiguredAsSharded() {
+        assertTrue(shardTemplate.isSharded("browse_history"));
+        assertFalse(shardTemplate.isSharded("favorites"));
+        assertThrows(IllegalArgumentException.class,
+                () -> shardTemplate.executeForUser("favorites", 1L, (route, jdbc) -> route.table("favorites")));
+    }
+
+    private int countRows(String dataSourceName, String table) {
+        Integer count = new JdbcTemplate(dataSources.get(dataSourceName))
+                .queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * UserWriteBehindStoreTest类
+ * UserWriteBehindStoreTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 用户写后存储单元测试类，H2内存库以MySQL模式执行批量插入或更新语句
+class UserWriteBehindStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UserWriteBehindStore store;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:write_behind;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE user_settings (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "user_id BIGINT NOT NULL UNIQUE, theme VARCHAR(20) DEFAULT 'light', "
+                + "language VARCHAR(10) DEFAULT 'zh-CN', "
+                + "created_by BIGINT NOT NULL, updated_by BIGINT, deleted_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE user_profiles_detailed (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "user_id BIGINT NOT NULL UNIQUE, profile_views INT DEFAULT 0, created_by BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE write_behind_dead_letters (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "buffer_name VARCHAR(64) NOT NULL, entry_key VARCHAR(512) NOT NULL, "
+                + "entry_value VARCHAR(2048) NOT NULL, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+                + "replayed_at TIMESTAMP)");
+        store = new UserWriteBehindStore(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                new WriteBehindDeadLetterStore(jdbcTemplate), 100, 10_000, Duration.ofHours(1), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("尚无设置行的用户插入新行，已有设置行的用户只更新修改的列")
+    void shouldUpsertSettings() {
+        // Given
+        jdbcTemplate.update("INSERT INTO user_settings (user_id, theme, language, created_by) "
+                + "VALUES (1, 'light', 'en', 1)");
+
+        // When
+        store.updateSettings(1L, Map.of("theme", "dark"));
+        store.updateSettings(2L, Map.of("theme", "dark"));
+        store.updateSettings(2L, Map.of("language", "ja"));
+        store.flushAll();
+
+        // Then
+        assertEquals(Map.of("THEME", "dark", "LANGUAGE", "en", "UPDATED_BY", 1L), settingsOf(1L));
+        Map<String, Object> inserted = settingsOf(2L);
+        assertEquals("dark", inserted.get("THEME"));
+        assertEquals("ja", inserted.get("LANGUAGE"));
+        assertNull(inserted.get("UPDATED_BY"));
+    }
+
+    @Test
+    @DisplayName("浏览计数合并后累加，尚无详细资料行的用户自动建行")
+    void shouldUpsertProfileViews() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            store.incrementProfileViews(5L);
+        }
+        assertEquals(3L, store.pendingProfileViews(5L));
+        store.flushAll();
+        store.incrementProfileViews(5L);
+        store.flushAll();
+
+        // Then
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT profile_views FROM user_profiles_detailed WHERE user_id = 5", Integer.class));
+        assertEquals(0L, store.pendingProfileViews(5L));
+    }
+
+    @Test
+    @DisplayName("同批中的坏行单独转入死信表，其余行照常落库")
+    void shouldDeadLetterOnlyBadRow() {
+        // Given
+        store.updateSettings(1L, Map.of("theme", "dark"));
+        store.updateSettings(2L, Map.of("theme", "x".repeat(40)));
+        store.updateSettings(3L, Map.of("theme", "dark"));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            store.flushAll();
+        }
+
+        // Then
+        assertEquals("dark", settingsOf(1L).get("THEME"));
+        assertEquals("dark", settingsOf(3L).get("THEME"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_settings WHERE user_id = 2", Integer.class));
+        assertEquals(Map.of("BUFFER_NAME", "user-settings", "ENTRY_KEY", "2",
+                        "ENTRY_VALUE", "{\"theme\":\"" + "x".repeat(40) + "\"}"),
+                jdbcTemplate.queryForMap("SELECT buffer_name, entry_key, entry_value FROM write_behind_dead_letters"));
+        assertTrue(store.pendingSettings(2L).isEmpty());
+    }
+
+    private Map<String, Object> settingsOf(long userId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT theme, language, updated_by FROM user_settings WHERE user_id = ?", userId);
+    }
+}
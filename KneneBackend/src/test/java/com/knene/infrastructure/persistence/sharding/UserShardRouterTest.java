@@ -0,0 +1,72 @@
+/**
+ * UserShardRouterTest类
+ * UserShardRouterTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 用户分片路由单元测试类
+class UserShardRouterTest {
+
+    private final UserShardRouter router = new UserShardRouter(List.of("ds_0", "ds_1"), 4);
+
+    @Test
+    @DisplayName("按用户ID路由到固定的库和物理表")
+    void shouldRouteUserToFixedShard() {
+        // When
+        ShardRoute route = router.routeByUserId(13L);
+
+        // Then
+        assertEquals(5, route.getSlot());
+        assertEquals("ds_1", route.getDataSourceName());
+        assertEquals("browse_history_2", route.table("browse_history"));
+    }
+
+    @Test
+    @DisplayName("分片感知ID与所属用户路由到同一分片且不重复")
+    void shouldGenerateIdsOnUserShard() {
+        // Given
+        ShardAwareIdGenerator generator = new ShardAwareIdGenerator(router, 3, 1000L);
+        Set<Long> ids = new HashSet<>();
+
+        // When & Then
+        for (long userId = 1; userId <= 5000; userId++) {
+            long id = generator.nextId(userId);
+            assertTrue(id > 0);
+            assertTrue(ids.add(id));
+            assertEquals(router.routeByUserId(userId), router.routeById(id));
+        }
+    }
+
+    @Test
+    @DisplayName("槽数不是2的幂时拒绝创建")
+    void shouldRejectNonPowerOfTwoSlots() {
+        assertThrows(IllegalArgumentException.class, () -> new UserShardRouter(List.of("ds_0", "ds_1", "ds_2"), 4));
+    }
+
+    @Test
+    @DisplayName("跨分片结果按全局顺序归并并截断")
+    void shouldMergeSortedPartials() {
+        // Given
+        List<List<Integer>> partials = List.of(List.of(9, 5, 1), List.of(8, 7), List.of(), List.of(6, 2));
+
+        // When
+        List<Integer> merged = ShardTemplate.mergeSorted(partials, Comparator.reverseOrder(), 4);
+
+        // Then
+        assertEquals(List.of(9, 8, 7, 6), merged);
+    }
+}
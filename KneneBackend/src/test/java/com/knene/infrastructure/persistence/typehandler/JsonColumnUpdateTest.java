@@ -0,0 +1,184 @@
+/**
+ * JsonColumnUpdateTest类
+ * JsonColumnUpdateTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.persistence.typehandler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// JSON列类型处理器及局部更新单元测试类
+@ExtendWith(MockitoExtension.class)
+class JsonColumnUpdateTest {
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Test
+    @DisplayName("多个局部操作嵌套为一个表达式，值以参数绑定")
+    void shouldNestOperationsIntoOneExpression() {
+        // When
+        JsonColumnUpdate update = JsonColumnUpdate.of("score_details")
+                .set("$.grade", "A")
+                .increment("$.views", 1)
+                .remove("$.obsolete");
+
+        // Then
+        String graded = "JSON_SET(COALESCE(score_details, JSON_OBJECT()), '$.grade', CAST(? AS JSON))";
+        assertEquals("score_details = JSON_REMOVE(JSON_SET(" + graded + ", '$.views', "
+                + "COALESCE(JSON_EXTRACT(score_details, '$.views'), 0) + ?), '$.obsolete')", update.toSetClause());
+        assertEquals(List.of("\"A\"", 1L), update.getParameters());
+    }
+
+    @Test
+    @DisplayName("同一路径的操作先合并，每个路径只生成一个JSON_SET")
+    void shouldMergeOperationsOnSamePath() {
+        // When
+        JsonColumnUpdate counted = JsonColumnUpdate.of("stats")
+                .increment("$.views", 1)
+                .increment("$.likes", 1)
+                .increment("$.views", 2);
+        JsonColumnUpdate folded = JsonColumnUpdate.of("stats")
+                .set("$.views", 10)
+                .increment("$.views", 1)
+                .increment("$.views", 2);
+        JsonColumnUpdate reset = JsonColumnUpdate.of("stats")
+                .remove("$.views")
+                .increment("$.views", 5);
+
+        // Then
+        String views = "JSON_SET(COALESCE(stats, JSON_OBJECT()), '$.views', "
+                + "COALESCE(JSON_EXTRACT(stats, '$.views'), 0) + ?)";
+        assertEquals("stats = JSON_SET(" + views + ", '$.likes', COALESCE(JSON_EXTRACT(stats, '$.likes'), 0) + ?)",
+                counted.toSetClause());
+        assertEquals(List.of(3L, 1L), counted.getParameters());
+        assertEquals("stats = JSON_SET(COALESCE(stats, JSON_OBJECT()), '$.views', CAST(? AS JSON))",
+                folded.toSetClause());
+        assertEquals(List.of("13"), folded.getParameters());
+        assertEquals(folded.toSetClause(), reset.toSetClause());
+        assertEquals(List.of("5"), reset.getParameters());
+    }
+
+    @Test
+    @DisplayName("表达式和参数随操作数线性增长")
+    void shouldGrowLinearlyWithOperations() {
+        // Given
+        JsonColumnUpdate update = JsonColumnUpdate.of("stats");
+
+        // When
+        for (int i = 0; i < 64; i++) {
+            update.increment("$.c" + (i % 8), 1).set("$.s" + i, i);
+        }
+
+        // Then
+        assertEquals(8 + 64, update.getParameters().size());
+        assertEquals(8, update.toSetClause().split("JSON_EXTRACT", -1).length - 1);
+    }
+
+    @Test
+    @DisplayName("覆盖父路径后子路径上的旧操作被丢弃，无法确定旧值的累加直接拒绝")
+    void shouldDropOverwrittenChildrenAndRejectAmbiguousIncrement() {
+        // When
+        JsonColumnUpdate update = JsonColumnUpdate.of("extra")
+                .set("$.a.b", 1)
+                .set("$.a", Map.of("b", 2));
+
+        // Then
+        assertEquals("extra = JSON_SET(COALESCE(extra, JSON_OBJECT()), '$.a', CAST(? AS JSON))",
+                update.toSetClause());
+        assertThrows(IllegalStateException.class, () -> update.increment("$.a.b", 1));
+        assertThrows(IllegalStateException.class,
+                () -> JsonColumnUpdate.of("extra").mergePatch(Map.of("n", 1)).increment("$.n", 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> JsonColumnUpdate.of("extra").set("$.n", "x").increment("$.n", 1));
+    }
+
+    @Test
+    @DisplayName("嵌套路径先补齐缺失的对象父节点，数组下标及其后的父节点不自动创建")
+    void shouldCreateMissingParentsForNestedPath() {
+        // When
+        JsonColumnUpdate nested = JsonColumnUpdate.of("extra").set("$.a.b.c", true);
+        JsonColumnUpdate counted = JsonColumnUpdate.of("extra").increment("$.stats.views", 1);
+        JsonColumnUpdate indexed = JsonColumnUpdate.of("extra").set("$.meta.list[0].name", "x");
+
+        // Then
+        assertEquals("extra = JSON_SET(JSON_INSERT(JSON_INSERT(COALESCE(extra, JSON_OBJECT()), "
+                + "'$.a', JSON_OBJECT()), '$.a.b', JSON_OBJECT()), '$.a.b.c', CAST(? AS JSON))", nested.toSetClause());
+        assertEquals("extra = JSON_SET(JSON_INSERT(COALESCE(extra, JSON_OBJECT()), '$.stats', JSON_OBJECT()), "
+                + "'$.stats.views', COALESCE(JSON_EXTRACT(extra, '$.stats.views'), 0) + ?)", counted.toSetClause());
+        assertEquals("extra = JSON_SET(JSON_INSERT(COALESCE(extra, JSON_OBJECT()), '$.meta', JSON_OBJECT()), "
+                + "'$.meta.list[0].name', CAST(? AS JSON))", indexed.toSetClause());
+    }
+
+    @Test
+    @DisplayName("合并补丁序列化为JSON片段")
+    void shouldSerializeMergePatch() {
+        // When
+        JsonColumnUpdate update = JsonColumnUpdate.of("crawl_config").mergePatch(Map.of("timeout", 30));
+
+        // Then
+        assertEquals("crawl_config = JSON_MERGE_PATCH(COALESCE(crawl_config, JSON_OBJECT()), CAST(? AS JSON))",
+                update.toSetClause());
+        assertEquals(List.of("{\"timeout\":30}"), update.getParameters());
+    }
+
+    @Test
+    @DisplayName("拒绝非法列名和路径，防止拼接注入")
+    void shouldRejectUnsafeIdentifiers() {
+        assertThrows(IllegalArgumentException.class, () -> JsonColumnUpdate.of("a; DROP TABLE users"));
+        assertThrows(IllegalArgumentException.class, () -> JsonColumnUpdate.of("tags").set("$.a') OR ('1", 1));
+    }
+
+    @Test
+    @DisplayName("类型处理器按子类泛型读写强类型记录")
+    void shouldRoundTripTypedRecord() throws SQLException {
+        // Given
+        TorrentFileStructureTypeHandler handler = new TorrentFileStructureTypeHandler();
+        String json = "{\"files\":[{\"path\":\"a/b.mkv\",\"size\":42}],\"totalSize\":42,\"extra\":true}";
+        when(resultSet.getBytes("file_structure")).thenReturn(json.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        TorrentFileStructure structure = handler.getNullableResult(resultSet, "file_structure");
+        handler.setNonNullParameter(preparedStatement, 1, structure, null);
+
+        // Then
+        assertEquals(List.of(new TorrentFileStructure.FileEntry("a/b.mkv", 42L)), structure.files());
+        verify(preparedStatement).setString(1, "{\"files\":[{\"path\":\"a/b.mkv\",\"size\":42}],\"totalSize\":42}");
+    }
+
+    @Test
+    @DisplayName("字符串数组以JSON数组形式读写")
+    void shouldMapStringListAsArray() throws SQLException {
+        // Given
+        JsonStringListTypeHandler handler = new JsonStringListTypeHandler();
+        when(resultSet.getBytes(1)).thenReturn("[\"4K\",\"HDR\"]".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        JsonStringList tags = handler.getNullableResult(resultSet, 1);
+        handler.setNonNullParameter(preparedStatement, 2, tags, null);
+
+        // Then
+        assertEquals(List.of("4K", "HDR"), tags.values());
+        verify(preparedStatement).setString(2, "[\"4K\",\"HDR\"]");
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * EmbeddedSearchIndexTest类
+ * EmbeddedSearchIndexTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import com.knene.infrastructure.search.facet.FacetField;
+import com.knene.infrastructure.search.facet.FacetFilter;
+import com.knene.infrastructure.search.facet.FacetIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 内嵌检索引擎单元测试类
+class EmbeddedSearchIndexTest {
+
+    private EmbeddedSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmbeddedSearchIndex(1.2f, 0.75f, Map.of(), 1024, 1000, 2, 1_000_000);
+        index.index(new TorrentSearchDocument(1L, "The.Matrix.1999.1080p.BluRay", "黑客帝国", null, List.of("科幻"), 1));
+        index.index(new TorrentSearchDocument(2L, "The.Matrix.Reloaded.2003.720p", "黑客帝国2", null, List.of(), 1));
+        index.index(new TorrentSearchDocument(3L, "Inception.2010.2160p", "盗梦空间", "matrix", List.of("科幻"), 2));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("标题命中的得分高于只在描述中命中")
+    void shouldRankTitleMatchesAboveDescriptionMatches() {
+        // When
+        SearchHits hits = index.search(SearchQuery.of("matrix", 0, 10));
+
+        // Then
+        assertEquals(3L, hits.total());
+        assertEquals(3L, hits.hits().get(2).id());
+    }
+
+    @Test
+    @DisplayName("requireAll要求全部查询词命中")
+    void shouldRequireAllTermsWhenRequested() {
+        // When
+        SearchHits hits = index.search(new SearchQuery("matrix 1080p", null, true, 0, 10));
+
+        // Then
+        assertEquals(1L, hits.total());
+        assertEquals(1L, hits.hits().get(0).id());
+    }
+
+    @Test
+    @DisplayName("中文查询按二元组匹配并支持分类过滤")
+    void shouldMatchCjkQueryWithCategoryFilter() {
+        // When
+        SearchHits all = index.search(SearchQuery.of("科幻", 0, 10));
+        SearchHits filtered = index.search(new SearchQuery("科幻", 2, false, 0, 10));
+
+        // Then
+        assertEquals(2L, all.total());
+        assertEquals(List.of(new SearchHit(3L, filtered.hits().get(0).score())), filtered.hits());
+    }
+
+    @Test
+    @DisplayName("属性筛选条件只过滤不影响得分，未启用筛选索引时拒绝带条件的检索")
+    void shouldFilterByFacetIndex() {
+        // Given
+        FacetFilter filter = FacetFilter.ALL.with(FacetField.RESOLUTION, "1080p", "2160p");
+        SearchQuery query = new SearchQuery("matrix", null, false, filter, 0, 10);
+        assertThrows(IllegalStateException.class, () -> index.search(query));
+        FacetIndex facets = new FacetIndex();
+        facets.index(facetDocument(1L, "1080p"));
+        facets.index(facetDocument(2L, "720p"));
+        facets.index(facetDocument(3L, "2160p"));
+        index.setFacetIndex(facets);
+
+        // When
+        SearchHits all = index.search(SearchQuery.of("matrix", 0, 10));
+        SearchHits filtered = index.search(query);
+
+        // Then
+        assertEquals(2L, filtered.total());
+        assertEquals(all.hits().stream().filter(hit -> hit.id() != 2L).toList(), filtered.hits());
+    }
+
+    @Test
+    @DisplayName("更新和删除在refresh后生效，段合并后结果不变")
+    void shouldApplyUpdatesDeletesAndMerges() {
+        // Given
+        index.index(new TorrentSearchDocument(1L, "Interstellar.2014.2160p", "星际穿越", null, List.of(), 2));
+        index.delete(2L);
+        index.refresh();
+        index.index(new TorrentSearchDocument(4L, "The.Matrix.Resurrections.2021", null, null, List.of(), 1));
+        index.refresh();
+
+        // When
+        index.forceMerge();
+        SearchHits hits = index.search(new SearchQuery("the matrix", null, true, 0, 10));
+
+        // Then
+        assertEquals(1, index.segmentCount());
+        assertEquals(3L, index.liveDocs());
+        assertEquals(List.of(4L), hits.hits().stream().map(SearchHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("分页按得分顺序跳过前from条")
+    void shouldPageThroughRankedHits() {
+        // When
+        SearchHits first = index.search(SearchQuery.of("matrix", 0, 1));
+        SearchHits second = index.search(SearchQuery.of("matrix", 1, 1));
+
+        // Then
+        assertEquals(3L, second.total());
+        assertNotEquals(first.hits().get(0).id(), second.hits().get(0).id());
+    }
+
+    @Test
+    @DisplayName("检索字段未变化的更新不通知分类变化，检索字段或分类变化时通知新旧分类")
+    void shouldNotifyOnlyWhenIndexedFieldsChange() {
+        // Given
+        List<Set<Integer>> notified = new ArrayList<>();
+        index.setChangeListener(notified::add);
+
+        // When
+        index.index(new TorrentSearchDocument(1L, "The.Matrix.1999.1080p.BluRay", "黑客帝国", null, List.of("科幻"), 1));
+        index.refresh();
+
+        // Then
+        assertTrue(notified.isEmpty());
+        assertEquals(1L, index.search(SearchQuery.of("1080p", 0, 10)).total());
+
+        // When
+        index.index(new TorrentSearchDocument(1L, "The.Matrix.1999.2160p.BluRay", "黑客帝国", null, List.of("科幻"), 1));
+        index.index(new TorrentSearchDocument(3L, "Inception.2010.2160p", "盗梦空间", "matrix", List.of("科幻"), 5));
+        index.refresh();
+
+        // Then
+        assertEquals(List.of(Set.of(1, 2, 5)), notified);
+        assertEquals(2L, index.search(SearchQuery.of("2160p", 0, 10)).total());
+    }
+
+    private static TorrentSearchDocument facetDocument(long id, String resolution) {
+        return new TorrentSearchDocument(id, "title " + id, null, null, List.of(), 1,
+                new TorrentFacets(null, resolution, null, false, false));
+    }
+}
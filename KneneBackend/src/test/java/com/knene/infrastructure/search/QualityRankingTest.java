@@ -0,0 +1,123 @@
+/**
+ * QualityRankingTest类
+ * QualityRankingTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 质量感知排序单元测试类
+class QualityRankingTest {
+
+    private static final TorrentSignals LOW = new TorrentSignals(0.0, 0.0, 0, 0);
+    private static final TorrentSignals HIGH = new TorrentSignals(100.0, 100.0, 100, 2);
+
+    private EmbeddedSearchIndex index;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    @Test
+    @DisplayName("先验分为各信号归一化后的加权平均，未评分按中间值计入")
+    void shouldComputePriorFromSignals() {
+        // Given
+        QualityRanking ranking = ranking(QualityRanking.Fusion.MULTIPLY, 1f, 10);
+
+        // When
+        float low = ranking.prior(LOW);
+        float high = ranking.prior(HIGH);
+        float unscored = ranking.prior(TorrentSignals.NONE);
+        float saturated = ranking.prior(new TorrentSignals(0.0, 0.0, 100_000, 0));
+
+        // Then
+        assertEquals(0f, low, 1e-6);
+        assertEquals(1f, high, 1e-6);
+        assertEquals(0.4f * 0.5f + 0.3f * 0.5f, unscored, 1e-6);
+        assertEquals(0.2f, saturated, 1e-6);
+    }
+
+    @Test
+    @DisplayName("相关度相同时质量高的排前")
+    void shouldPromoteHigherQualityAmongEqualRelevance() {
+        // Given
+        index = newIndex(ranking(QualityRanking.Fusion.MULTIPLY, 0.3f, 10));
+        index.index(document(1L, "Dune.2021.1080p", HIGH));
+        index.index(document(2L, "Dune.2021.1080p", LOW));
+        index.refresh();
+
+        // When
+        List<SearchHit> hits = index.search(SearchQuery.of("dune", 0, 10)).hits();
+
+        // Then
+        assertEquals(List.of(1L, 2L), hits.stream().map(SearchHit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("只重排相关度前window名，窗口外的命中保持原顺序，分页结果一致")
+    void shouldRerankOnlyTopWindow() {
+        // Given
+        index = newIndex(ranking(QualityRanking.Fusion.MULTIPLY, 10f, 2));
+        index.index(document(10L, "Dune", LOW));
+        index.refresh();
+        index.index(document(11L, "Dune 2021", HIGH));
+        index.refresh();
+        index.index(document(12L, "Dune 2021 1080p BluRay x264 DTS", HIGH));
+        index.forceMerge();
+
+        // When
+        List<Long> all = index.search(SearchQuery.of("dune", 0, 10)).hits().stream().map(SearchHit::id).toList();
+        List<SearchHit> second = index.search(SearchQuery.of("dune", 1, 1)).hits();
+        List<SearchHit> third = index.search(SearchQuery.of("dune", 2, 1)).hits();
+
+        // Then
+        assertEquals(1, index.segmentCount());
+        assertEquals(List.of(11L, 10L, 12L), all);
+        assertEquals(10L, second.get(0).id());
+        assertEquals(12L, third.get(0).id());
+    }
+
+    @Test
+    @DisplayName("线性融合按窗口内最高相关度归一化后与先验分加权")
+    void shouldFuseLinearlyWithNormalizedRelevance() {
+        // Given
+        QualityRanking ranking = ranking(QualityRanking.Fusion.LINEAR, 0.25f, 10);
+
+        // When
+        float top = ranking.fuse(8f, 8f, 0f);
+        float lower = ranking.fuse(4f, 8f, 1f);
+
+        // Then
+        assertEquals(0.75f, top, 1e-6);
+        assertEquals(0.75f * 0.5f + 0.25f, lower, 1e-6);
+    }
+
+    private static QualityRanking ranking(QualityRanking.Fusion fusion, float weight, int window) {
+        return new QualityRanking(0.4f, 0.3f, 0.2f, 0.1f, 100, fusion, weight, window);
+    }
+
+    private static EmbeddedSearchIndex newIndex(QualityRanking ranking) {
+        EmbeddedSearchIndex index = new EmbeddedSearchIndex(1.2f, 0.75f, Map.of(), 1024, 1000, 2, 1_000_000);
+        index.setRanking(ranking);
+        return index;
+    }
+
+    private static TorrentSearchDocument document(long id, String title, TorrentSignals signals) {
+        return new TorrentSearchDocument(id, title, null, null, List.of(), 1, TorrentFacets.NONE, signals);
+    }
+}
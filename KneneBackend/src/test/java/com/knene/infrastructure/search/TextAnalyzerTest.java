@@ -0,0 +1,60 @@
+/**
+ * TextAnalyzerTest类
+ * TextAnalyzerTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 中英文混合分词器单元测试类
+class TextAnalyzerTest {
+
+    @Test
+    @DisplayName("发布名按点和连字符切分并转小写")
+    void shouldSplitReleaseNameIntoLowercaseTerms() {
+        // When
+        List<String> tokens = TextAnalyzer.tokens("The.Matrix.1999.1080p.BluRay.x264-SPARKS");
+
+        // Then
+        assertEquals(List.of("the", "matrix", "1999", "1080p", "bluray", "x264", "sparks"), tokens);
+    }
+
+    @Test
+    @DisplayName("连续中文输出二元组，孤立单字输出单字")
+    void shouldEmitBigramsForCjkRuns() {
+        // When
+        List<String> tokens = TextAnalyzer.tokens("黑客帝国 三 Matrix");
+
+        // Then
+        assertEquals(List.of("黑客", "客帝", "帝国", "三", "matrix"), tokens);
+    }
+
+    @Test
+    @DisplayName("全角字母数字转为半角")
+    void shouldFoldFullWidthCharacters() {
+        // When
+        List<String> tokens = TextAnalyzer.tokens("ＢｌｕＲａｙ　１０８０Ｐ");
+
+        // Then
+        assertEquals(List.of("bluray", "1080p"), tokens);
+    }
+
+    @Test
+    @DisplayName("查询词去重并保持顺序")
+    void shouldDeduplicateQueryTerms() {
+        // When
+        List<String> terms = TextAnalyzer.queryTerms("帝国 帝国 matrix MATRIX");
+
+        // Then
+        assertEquals(List.of("帝国", "matrix"), terms);
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * SearchResultCacheTest类
+ * SearchResultCacheTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.knene.infrastructure.cache.CacheKeyTemplate;
+import com.knene.infrastructure.cache.MultiLevelCache;
+import com.knene.infrastructure.cache.redis.CacheObjectMapperFactory;
+import com.knene.infrastructure.cache.strategy.CacheProtectionPolicy;
+import com.knene.infrastructure.search.SearchHit;
+import com.knene.infrastructure.search.SearchHits;
+import com.knene.infrastructure.search.SearchQuery;
+import com.knene.infrastructure.search.facet.FacetField;
+import com.knene.infrastructure.search.facet.FacetFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 检索结果缓存单元测试类 - 不连接Redis，检索引擎用固定结果集替代
+class SearchResultCacheTest {
+
+    private static final int TOTAL = 95;
+
+    private final List<Integer> requestedWindows = new CopyOnWriteArrayList<>();
+    private SearchGenerations generations;
+    private SearchResultCache resultCache;
+
+    @BeforeEach
+    void setUp() {
+        MultiLevelCache<CachedResultIds> cache = new MultiLevelCache<>("search-result",
+                new CacheKeyTemplate("search:result:{query_hash}:v1"), Caffeine.newBuilder().maximumSize(100).build(),
+                null, "knene:cache", Duration.ofMinutes(30), CacheObjectMapperFactory.create(),
+                CacheObjectMapperFactory.create().constructType(CachedResultIds.class), null,
+                CacheProtectionPolicy.none());
+        generations = new SearchGenerations(null, "knene:search:generation", Duration.ofSeconds(1));
+        resultCache = new SearchResultCache(cache, generations, this::search, 20, 60, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resultCache.close();
+    }
+
+    @Test
+    @DisplayName("关键词大小写、全角和过滤条件顺序不同的查询共用缓存键")
+    void shouldCanonicalizeEquivalentQueries() {
+        // Given
+        SearchQuery first = new SearchQuery("  The  MATRIX, 1999 ", 1, false, 0, 20);
+        SearchQuery second = new SearchQuery("the matrix　１９９９", 1, false, 40, 20);
+
+        // When
+        SearchCacheKey a = SearchCacheKey.of(first, Map.of("free", 1, "vip", 0), "Relevance", null);
+        SearchCacheKey b = SearchCacheKey.of(second, Map.of("vip", 0, "free", 1), null, "DESC");
+
+        // Then
+        assertEquals("the matrix 1999", a.normalizedKeyword());
+        assertEquals(a.canonical(), b.canonical());
+        assertEquals(a.hash(), b.hash());
+        assertNotEquals(a.hash(), SearchCacheKey.of(new SearchQuery("the matrix 1999", 2, false, 0, 20)).hash());
+    }
+
+    @Test
+    @DisplayName("属性筛选条件计入缓存键，取值顺序和大小写不影响")
+    void shouldIncludeFacetFilterInKey() {
+        // Given
+        FacetFilter hd = FacetFilter.ALL.with(FacetField.RESOLUTION, "2160p", "1080P").with(FacetField.FREELEECH, "1");
+        FacetFilter same = FacetFilter.ALL.with(FacetField.FREELEECH, "1")
+                .with(FacetField.RESOLUTION, "1080p", "2160p");
+
+        // When
+        SearchCacheKey a = SearchCacheKey.of(new SearchQuery("matrix", null, false, hd, 0, 20));
+        SearchCacheKey b = SearchCacheKey.of(new SearchQuery("matrix", null, false, same, 20, 20));
+
+        // Then
+        assertEquals(a.hash(), b.hash());
+        assertTrue(a.canonical().contains("facet.freeleech:1,facet.resolution:1080p|2160p,"));
+        assertNotEquals(a.hash(), SearchCacheKey.of(SearchQuery.of("matrix", 0, 20)).hash());
+    }
+
+    @Test
+    @DisplayName("前缀内的各页直接从缓存截取")
+    void shouldServePagesFromCachedPrefix() {
+        // When
+        SearchResultPage page1 = resultCache.search(new SearchQuery("matrix", null, false, 0, 5));
+        SearchResultPage page2 = resultCache.search(new SearchQuery("matrix", null, false, 5, 5));
+
+        // Then
+        assertFalse(page1.cacheHit());
+        assertTrue(page2.cacheHit());
+        assertEquals(List.of(20), requestedWindows);
+        assertEquals(TOTAL, page2.hits().total());
+        assertEquals(List.of(6L, 7L, 8L, 9L, 10L), page2.hits().hits().stream().map(SearchHit::id).toList());
+        assertEquals(page1.cacheKey(), page2.cacheKey());
+        assertTrue(page1.cacheKey().startsWith("search:result:"));
+    }
+
+    @Test
+    @DisplayName("翻到前缀末页时后台预取下一页")
+    void shouldPrefetchNextPageAsynchronously() throws InterruptedException {
+        // When
+        resultCache.search(new SearchQuery("matrix", null, false, 10, 10));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (requestedWindows.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        SearchResultPage next = resultCache.search(new SearchQuery("matrix", null, false, 20, 10));
+
+        // Then
+        assertEquals(List.of(20, 30), requestedWindows.subList(0, 2));
+        assertTrue(next.cacheHit());
+        assertEquals(21L, next.hits().hits().get(0).id());
+    }
+
+    @Test
+    @DisplayName("分类代数推进后重新回源，其他分类不受影响")
+    void shouldInvalidateByCategoryGeneration() {
+        // Given
+        SearchQuery movies = new SearchQuery("matrix", 1, false, 0, 5);
+        SearchQuery music = new SearchQuery("matrix", 2, false, 0, 5);
+        resultCache.search(movies);
+        resultCache.search(music);
+
+        // When
+        generations.bump(Set.of(1));
+        SearchResultPage moviesAgain = resultCache.search(movies);
+        SearchResultPage musicAgain = resultCache.search(music);
+        SearchResultPage all = resultCache.search(new SearchQuery("matrix", null, false, 0, 5));
+
+        // Then
+        assertFalse(moviesAgain.cacheHit());
+        assertTrue(musicAgain.cacheHit());
+        assertFalse(all.cacheHit());
+        assertEquals(4, requestedWindows.size());
+    }
+
+    @Test
+    @DisplayName("超出缓存窗口的深分页直接回源且不产生缓存键")
+    void shouldBypassCacheBeyondMaxWindow() {
+        // When
+        SearchResultPage page = resultCache.search(new SearchQuery("matrix", null, false, 60, 10));
+
+        // Then
+        assertNull(page.cacheKey());
+        assertFalse(page.cacheHit());
+        assertEquals(61L, page.hits().hits().get(0).id());
+    }
+
+    @Test
+    @DisplayName("首页无结果时用纠正后的关键词重试")
+    void shouldRetryWithCorrectedKeyword() {
+        // Given
+        resultCache.setCorrector(keyword -> keyword.equalsIgnoreCase("matirx") ? "matrix" : null);
+
+        // When
+        SearchResultPage corrected = resultCache.search(new SearchQuery("Matirx", null, false, 0, 5));
+        SearchResultPage uncorrectable = resultCache.search(new SearchQuery("nothing", null, false, 0, 5));
+
+        // Then
+        assertEquals("matirx", corrected.normalizedKeyword());
+        assertEquals("matrix", corrected.correctedKeyword());
+        assertEquals(TOTAL, corrected.hits().total());
+        assertNull(uncorrectable.correctedKeyword());
+        assertEquals(0L, uncorrectable.hits().total());
+    }
+
+    @Test
+    @DisplayName("每次检索返回前回调监听器，监听器异常不影响检索")
+    void shouldNotifyListenersAfterSearch() {
+        // Given
+        List<String> keywords = new ArrayList<>();
+        resultCache.addListener((query, page, elapsed) -> {
+            throw new IllegalStateException("listener failed");
+        });
+        resultCache.addListener((query, page, elapsed) -> keywords.add(page.normalizedKeyword() + "@" + query.from()));
+
+        // When
+        resultCache.search(new SearchQuery("The Matrix", null, false, 0, 10));
+        SearchResultPage page = resultCache.search(new SearchQuery("The Matrix", null, false, 10, 10));
+
+        // Then
+        assertEquals(List.of("the matrix@0", "the matrix@10"), keywords);
+        assertEquals(10, page.hits().hits().size());
+    }
+
+    // 固定返回ID为1..TOTAL、得分递减的结果，关键词matirx和nothing没有结果
+    private SearchHits search(SearchQuery query) {
+        if (query.text().equals("Matirx") || query.text().equals("nothing")) {
+            return SearchHits.EMPTY;
+        }
+        if (query.from() == 0) {
+            requestedWindows.add(query.size());
+        }
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = query.from(); i < Math.min(TOTAL, query.from() + query.size()); i++) {
+            hits.add(new SearchHit(i + 1, TOTAL - i));
+        }
+        return new SearchHits(TOTAL, hits);
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * FacetIndexTest类
+ * FacetIndexTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.facet;
+
+import com.knene.infrastructure.search.TorrentFacets;
+import com.knene.infrastructure.search.TorrentSearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 属性筛选索引单元测试类
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex();
+        index.index(document(1L, 401, 4, "2160p", "BluRay", true));
+        index.index(document(2L, 401, 3, "1080p", "WEB-DL", false));
+        index.index(document(3L, 402, 3, "1080P", "BluRay", false));
+        index.index(document(4L, 402, 2, "720p", "HDTV", true));
+    }
+
+    @Test
+    @DisplayName("同一字段多个取值为或，不同字段之间为与，取值不区分大小写")
+    void shouldCombineFiltersWithOrWithinFieldAndAcrossFields() {
+        // Given
+        FacetFilter filter = FacetFilter.ALL.with(FacetField.RESOLUTION, "1080p", "2160P")
+                .with(FacetField.SOURCE, "bluray");
+
+        // When
+        long[] ids = index.filter(filter).toArray();
+
+        // Then
+        assertArrayEquals(new long[]{1L, 3L}, ids);
+        assertEquals(4L, index.filter(FacetFilter.ALL).getLongCardinality());
+    }
+
+    @Test
+    @DisplayName("字段计数忽略该字段自身的条件")
+    void shouldCountFacetsExcludingOwnSelection() {
+        // Given
+        FacetFilter filter = FacetFilter.ALL.with(FacetField.CATEGORY, "401").with(FacetField.FREELEECH, "1");
+
+        // When
+        FacetCounts counts = index.count(filter, EnumSet.of(FacetField.CATEGORY, FacetField.QUALITY));
+
+        // Then
+        assertEquals(1L, counts.total());
+        assertEquals(Map.of("401", 1L, "402", 1L), counts.counts().get(FacetField.CATEGORY));
+        assertEquals(Map.of("4", 1L), counts.counts().get(FacetField.QUALITY));
+    }
+
+    @Test
+    @DisplayName("更新后文档从旧取值移到新取值，删除后不再命中")
+    void shouldMoveUpdatedDocumentsAndDropDeletedOnes() {
+        // Given
+        index.index(document(2L, 401, 4, "2160p", "WEB-DL", true));
+        index.delete(4L);
+
+        // When
+        FacetCounts counts = index.count(FacetFilter.ALL, EnumSet.of(FacetField.QUALITY, FacetField.FREELEECH));
+
+        // Then
+        assertEquals(3L, counts.total());
+        assertEquals(Map.of("4", 2L, "3", 1L), counts.counts().get(FacetField.QUALITY));
+        assertEquals(List.of("1", "0"), List.copyOf(counts.counts().get(FacetField.FREELEECH).keySet()));
+        assertTrue(index.filter(FacetFilter.ALL.with(FacetField.SOURCE, "hdtv")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("全量重建的索引整体替换当前内容")
+    void shouldSwapInStagingIndex() {
+        // Given
+        FacetIndex staging = new FacetIndex();
+        staging.index(document(9L, 403, 5, "2160p", "Remux", false));
+
+        // When
+        index.swapFrom(staging);
+
+        // Then
+        assertEquals(1L, index.size());
+        assertArrayEquals(new long[]{9L}, index.filter(FacetFilter.ALL.with(FacetField.CATEGORY, "403")).toArray());
+    }
+
+    @Test
+    @DisplayName("超出32位的ID同样进入索引，筛选和计数不丢失")
+    void shouldIndexIdsBeyond32Bits() {
+        // Given
+        long snowflakeId = 1_845_000_000_000_000_000L;
+        index.index(document(snowflakeId, 401, 4, "2160p", "BluRay", true));
+
+        // When
+        long[] ids = index.filter(FacetFilter.ALL.with(FacetField.RESOLUTION, "2160p")).toArray();
+        FacetFilter freeleech = FacetFilter.ALL.with(FacetField.FREELEECH, "1");
+        FacetCounts counts = index.count(freeleech, EnumSet.of(FacetField.SOURCE));
+
+        // Then
+        assertArrayEquals(new long[]{1L, snowflakeId}, ids);
+        assertEquals(3L, counts.total());
+        assertEquals(Map.of("bluray", 2L, "hdtv", 1L), counts.counts().get(FacetField.SOURCE));
+        index.delete(snowflakeId);
+        assertEquals(4L, index.size());
+    }
+
+    @Test
+    @DisplayName("按条件列表浏览时按ID倒序分页")
+    void shouldListMatchesNewestFirst() {
+        // Given
+        FacetFilter filter = FacetFilter.ALL.with(FacetField.RESOLUTION, "1080p", "720p", "2160p");
+
+        // When
+        List<Long> first = index.list(filter, 0, 2);
+        List<Long> second = index.list(filter, 2, 2);
+
+        // Then
+        assertEquals(List.of(4L, 3L), first);
+        assertEquals(List.of(2L, 1L), second);
+        assertEquals(List.of(), index.list(filter, 4, 2));
+    }
+
+    private static TorrentSearchDocument document(long id, int categoryId, int quality, String resolution,
+                                                  String source, boolean freeleech) {
+        return new TorrentSearchDocument(id, "title " + id, null, null, List.of(), categoryId,
+                new TorrentFacets(quality, resolution, source, freeleech, false));
+    }
+}
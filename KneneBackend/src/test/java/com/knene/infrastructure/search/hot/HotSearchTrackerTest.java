@@ -0,0 +1,126 @@
+/**
+ * HotSearchTrackerTest类
+ * HotSearchTrackerTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.hot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 热门搜索统计单元测试类
+class HotSearchTrackerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private HotSearchTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new HotSearchTracker(Duration.ofHours(1), 10, 1024, 256, 4, 2, clock::get);
+    }
+
+    @Test
+    @DisplayName("长尾关键词远多于容量时仍能找出高频词")
+    void shouldFindHeavyHittersAmongLongTail() {
+        // Given
+        for (int i = 0; i < 2_000; i++) {
+            tracker.record("tail " + i, null);
+            if (i % 10 == 0) {
+                tracker.record("Dune", null);
+            }
+            if (i % 20 == 0) {
+                tracker.record("Oppenheimer", null);
+            }
+        }
+
+        // When
+        List<HotSearch> top = tracker.top(null, 2);
+
+        // Then
+        assertEquals(List.of("dune", "oppenheimer"), top.stream().map(HotSearch::keyword).toList());
+        assertEquals(200.0, top.get(0).score(), 20.0);
+    }
+
+    @Test
+    @DisplayName("热度按半衰期衰减，近期搜索超过更早的更多搜索")
+    void shouldDecayOlderSearches() {
+        // Given
+        record("dune", null, 8);
+        clock.addAndGet(Duration.ofHours(3).toMillis());
+        record("oppenheimer", null, 2);
+
+        // When
+        List<HotSearch> top = tracker.top(null, 2);
+
+        // Then
+        assertEquals("oppenheimer", top.get(0).keyword());
+        assertEquals(1.0, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("分类视图只统计该分类的搜索，超出分类上限的只计入全站")
+    void shouldKeepPerCategoryViews() {
+        // Given
+        record("dune", 401, 3);
+        record("friends", 402, 2);
+        record("naruto", 403, 5);
+
+        // When
+        List<HotSearch> movies = tracker.top(401, 10);
+
+        // Then
+        assertEquals(List.of(new HotSearch("dune", 3.0)), movies);
+        assertEquals(List.of(), tracker.top(403, 10));
+        assertEquals("naruto", tracker.top(null, 1).get(0).keyword());
+    }
+
+    @Test
+    @DisplayName("长时间运行整体缩放后热度不变")
+    void shouldKeepScoresAcrossRescale() {
+        // Given
+        HotSearchTracker fast = new HotSearchTracker(Duration.ofSeconds(1), 10, 1024, 256, 4, 2, clock::get);
+        fast.record("dune", null);
+        clock.addAndGet(60_000L);
+        fast.record("dune", null);
+        fast.record("dune", null);
+
+        // When
+        List<HotSearch> top = fast.top(null, 1);
+
+        // Then
+        assertEquals(2.0, top.get(0).score(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("快照恢复后热度按快照以来的时长衰减")
+    void shouldRestoreSnapshotWithDecay() {
+        // Given
+        record("dune", 401, 4);
+        HotSearchSnapshot snapshot = tracker.snapshot(10);
+        clock.addAndGet(Duration.ofHours(1).toMillis());
+        HotSearchTracker restored = new HotSearchTracker(Duration.ofHours(1), 10, 1024, 256, 4, 2, clock::get);
+
+        // When
+        restored.restore(snapshot);
+
+        // Then
+        assertEquals(2.0, restored.top(null, 1).get(0).score(), 1e-9);
+        assertEquals(2.0, restored.top(401, 1).get(0).score(), 1e-9);
+    }
+
+    private void record(String keyword, Integer categoryId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(keyword, categoryId);
+        }
+    }
+}
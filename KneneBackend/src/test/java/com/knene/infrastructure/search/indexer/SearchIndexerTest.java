@@ -0,0 +1,201 @@
+/**
+ * SearchIndexerTest类
+ * SearchIndexerTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.indexer;
+
+import com.knene.infrastructure.search.EmbeddedSearchIndex;
+import com.knene.infrastructure.search.SearchQuery;
+import com.knene.infrastructure.search.TorrentSearchDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 检索索引同步器单元测试类
+class SearchIndexerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    private FakeChangeSource source;
+    private EmbeddedSearchIndex index;
+    private SearchIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        source = new FakeChangeSource();
+        index = newIndex();
+        indexer = new SearchIndexer(source, index, SearchIndexerTest::newIndex, 2, 10, 1, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("首次全量重建前不做增量同步，重建后整体切换并设置位点")
+    void shouldSwapInFullReindexAndSetCursor() {
+        // Given
+        source.upsert(1L, "The.Matrix.1999.1080p");
+        source.upsert(2L, "Inception.2010.2160p");
+
+        // When
+        int beforeReindex = indexer.poll();
+        long loaded = indexer.fullReindex();
+        index.refresh();
+
+        // Then
+        assertEquals(0, beforeReindex);
+        assertEquals(2L, loaded);
+        assertEquals(1L, total("matrix"));
+        assertEquals(source.position(), indexer.getCursor());
+    }
+
+    @Test
+    @DisplayName("增量同步按文档去重并处理删除")
+    void shouldApplyDedupedChangesAndDeletes() {
+        // Given
+        source.upsert(1L, "The.Matrix.1999.1080p");
+        source.upsert(2L, "Inception.2010.2160p");
+        indexer.fullReindex();
+        source.upsert(3L, "Interstellar.2014.2160p");
+        source.upsert(3L, "Interstellar.2014.Remux");
+        source.delete(2L);
+
+        // When
+        int applied = indexer.poll();
+        index.refresh();
+
+        // Then
+        assertEquals(2, applied);
+        assertEquals(1L, total("remux"));
+        assertEquals(0L, total("2160p"));
+        assertEquals(source.position(), indexer.getCursor());
+        assertEquals(0, indexer.poll());
+    }
+
+    @Test
+    @DisplayName("写入失败时重试，重试用尽后位点不推进并在下次轮询重读")
+    void shouldKeepCursorWhenApplyFails() throws Exception {
+        // Given
+        FailingIndex failingIndex = new FailingIndex(3);
+        SearchIndexer failing = new SearchIndexer(source, failingIndex, SearchIndexerTest::newIndex, 2, 10, 1,
+                Duration.ZERO);
+        failing.fullReindex();
+        ChangeCursor before = failing.getCursor();
+        source.upsert(1L, "The.Matrix.1999.1080p");
+
+        // When
+        int firstPoll = failing.poll();
+        ChangeCursor afterFailure = failing.getCursor();
+        int secondPoll = failing.poll();
+        failingIndex.refresh();
+
+        // Then
+        assertEquals(0, firstPoll);
+        assertEquals(before, afterFailure);
+        assertEquals(1, secondPoll);
+        assertEquals(source.position(), failing.getCursor());
+        assertEquals(1L, failingIndex.search(SearchQuery.of("matrix", 0, 10)).total());
+        failingIndex.close();
+    }
+
+    @Test
+    @DisplayName("全量重建期间的变更在切换后重放")
+    void shouldReplayChangesMadeDuringReindex() {
+        // Given
+        source.upsert(1L, "The.Matrix.1999.1080p");
+        source.onStream = () -> source.upsert(2L, "Inception.2010.2160p");
+
+        // When
+        indexer.fullReindex();
+        int replayed = indexer.poll();
+        index.refresh();
+
+        // Then
+        assertEquals(1, replayed);
+        assertEquals(1L, total("inception"));
+    }
+
+    private long total(String keyword) {
+        return index.search(SearchQuery.of(keyword, 0, 10)).total();
+    }
+
+    private static EmbeddedSearchIndex newIndex() {
+        return new EmbeddedSearchIndex(1.2f, 0.75f, Map.of(), 1024, 1000, 2, 1_000_000);
+    }
+
+    // 前failures次写入抛出异常的索引
+    private static class FailingIndex extends EmbeddedSearchIndex {
+
+        private int failures;
+
+        FailingIndex(int failures) {
+            super(1.2f, 0.75f, Map.of(), 1024, 1000, 2, 1_000_000);
+            this.failures = failures;
+        }
+
+        @Override
+        public void index(TorrentSearchDocument document) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("index unavailable");
+            }
+            super.index(document);
+        }
+    }
+
+    // 内存变更来源，每次变更位点前进一秒
+    private static class FakeChangeSource implements ChangeSource {
+
+        private final List<DocumentChange> log = new ArrayList<>();
+        private final Map<Long, TorrentSearchDocument> rows = new LinkedHashMap<>();
+        private Runnable onStream;
+
+        void upsert(long id, String title) {
+            TorrentSearchDocument document = new TorrentSearchDocument(id, title, null, null, List.of(), 1);
+            rows.put(id, document);
+            log.add(new DocumentChange(id, new ChangeCursor(BASE.plusSeconds(log.size() + 1), id), document));
+        }
+
+        void delete(long id) {
+            rows.remove(id);
+            log.add(new DocumentChange(id, new ChangeCursor(BASE.plusSeconds(log.size() + 1), id), null));
+        }
+
+        @Override
+        public ChangeCursor position() {
+            return log.isEmpty() ? new ChangeCursor(BASE, 0L) : log.get(log.size() - 1).cursor();
+        }
+
+        @Override
+        public List<DocumentChange> fetchAfter(ChangeCursor cursor, int limit) {
+            return log.stream().filter(change -> change.cursor().compareTo(cursor) > 0).limit(limit).toList();
+        }
+
+        @Override
+        public long streamAll(Consumer<TorrentSearchDocument> consumer) {
+            List<TorrentSearchDocument> snapshot = List.copyOf(rows.values());
+            if (onStream != null) {
+                onStream.run();
+            }
+            snapshot.forEach(consumer);
+            return snapshot.size();
+        }
+    }
+}
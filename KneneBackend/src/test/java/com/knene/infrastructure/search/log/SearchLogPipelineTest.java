@@ -0,0 +1,151 @@
+/**
+ * SearchLogPipelineTest类
+ * SearchLogPipelineTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.log;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 检索日志管道单元测试类
+class SearchLogPipelineTest {
+
+    private final List<List<SearchLogRow>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger parsed = new AtomicInteger();
+    private SearchLogPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    @DisplayName("匿名检索按采样率丢弃，登录用户全量保留")
+    void shouldSampleOnlyAnonymousSearches() {
+        // Given
+        pipeline = newPipeline(batches::add, 100, 10, 0.0);
+
+        // When
+        boolean anonymous = pipeline.offer(event(null, "s-1", "Dune", "Mozilla/5.0"));
+        boolean authenticated = pipeline.offer(event(42L, "s-2", "Dune", "Mozilla/5.0"));
+        pipeline.close();
+
+        // Then
+        assertFalse(anonymous);
+        assertTrue(authenticated);
+        assertEquals(1, pipeline.getSampledOut());
+        assertEquals(1, pipeline.getWritten());
+        assertEquals(Long.valueOf(42L), batches.get(0).get(0).event().userId());
+    }
+
+    @Test
+    @DisplayName("事件按批写入，补全规范化关键词并缓存User-Agent解析结果")
+    void shouldWriteEnrichedBatches() {
+        // Given
+        pipeline = newPipeline(batches::add, 100, 3, 1.0);
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            pipeline.offer(event(null, "s-" + i, "  The  MATRIX ", "Mozilla/5.0"));
+        }
+        pipeline.close();
+
+        // Then
+        assertEquals(7, pipeline.getWritten());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 3));
+        assertEquals(7, batches.stream().mapToInt(List::size).sum());
+        SearchLogRow row = batches.get(0).get(0);
+        assertEquals("the matrix", row.normalizedKeyword());
+        assertEquals("mobile", row.userAgent().deviceType());
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    @DisplayName("写入阻塞导致队列满时直接丢弃并计数")
+    void shouldDropWhenQueueIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = newPipeline(rows -> {
+            writing.countDown();
+            await(release);
+            batches.add(rows);
+        }, 2, 1, 1.0);
+        pipeline.offer(event(1L, "s-1", "dune", null));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // When
+        int accepted = 0;
+        for (int i = 0; i < 5; i++) {
+            accepted += pipeline.offer(event(1L, "s-1", "dune", null)) ? 1 : 0;
+        }
+        release.countDown();
+        pipeline.close();
+
+        // Then
+        assertEquals(2, accepted);
+        assertEquals(3, pipeline.getDropped());
+        assertEquals(3, pipeline.getWritten());
+    }
+
+    @Test
+    @DisplayName("写入失败的批次计入失败数，不影响后续批次")
+    void shouldCountFailedBatches() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        pipeline = newPipeline(rows -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new IllegalStateException("数据库不可用");
+            }
+            batches.add(rows);
+        }, 100, 1, 1.0);
+
+        // When
+        pipeline.offer(event(1L, "s-1", "dune", null));
+        pipeline.offer(event(1L, "s-1", "oppenheimer", null));
+        pipeline.close();
+
+        // Then
+        assertEquals(1, pipeline.getFailed());
+        assertEquals(1, pipeline.getWritten());
+        assertEquals("oppenheimer", batches.get(0).get(0).normalizedKeyword());
+    }
+
+    private SearchLogPipeline newPipeline(Consumer<List<SearchLogRow>> writer, int queueCapacity, int batchSize,
+                                          double anonymousSampleRate) {
+        return new SearchLogPipeline(writer, userAgent -> {
+            parsed.incrementAndGet();
+            return new UserAgentInfo("mobile", "Chrome", "Android");
+        }, queueCapacity, batchSize, Duration.ofMillis(50), anonymousSampleRate, 16);
+    }
+
+    private static SearchEvent event(Long userId, String sessionId, String keyword, String userAgent) {
+        return new SearchEvent(System.currentTimeMillis(), userId, userId != null, sessionId, "127.0.0.1", userAgent,
+                null, keyword, null, null, null, 0, 20, 5, 1_000_000L, false, null, 0L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * ReleaseNameParserBenchmarkTest类
+ * ReleaseNameParserBenchmarkTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.release;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 发布名解析器吞吐基准 - 默认构建不执行，mvn -B test -Pbenchmark 单独运行
+// 语料由金标语料原文和固定种子组合生成的发布名组成，覆盖分隔符、剧集标记、中文片名和标签顺序的常见变化
+// 单线程解析，预热后取多轮的中位数；目标吞吐可用-Drelease.benchmark.target调整
+@Tag("benchmark")
+class ReleaseNameParserBenchmarkTest {
+
+    private static final String CORPUS = "/release/release-names.tsv";
+    private static final int GENERATED = 500_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 7;
+    private static final long TARGET = Long.getLong("release.benchmark.target", 1_000_000L); // 每秒解析条数
+
+    private static final String[] TITLES = {"The Matrix", "Interstellar", "Inception", "Spirited Away",
+            "Crouching Tiger Hidden Dragon", "The Lord of the Rings The Return of the King", "Blade Runner 2049",
+            "Mad Max Fury Road", "Parasite", "Amelie", "Oppenheimer", "Dune Part Two", "Web of DD", "Up",
+            "流浪地球", "让子弹飞", "霸王别姬", "无间道", "千与千寻", "Wolf Warrior 2", "Top Gun Maverick",
+            "The Good the Bad and the Ugly", "Seven Samurai", "2001 A Space Odyssey", "1917", "Alien", "Her"};
+    private static final String[] SERIES = {"The Office US", "Breaking Bad", "Game of Thrones", "Dark",
+            "Chernobyl", "甄嬛传", "The Mandalorian", "Better Call Saul"};
+    private static final String[] RESOLUTIONS = {"480p", "576p", "720p", "1080p", "1080i", "2160p", "4K", "UHD"};
+    private static final String[] SOURCES = {"BluRay", "Blu-ray", "UHD.BluRay", "BDRip", "BRRip", "WEB-DL",
+            "WEBRip", "WEB", "HDTV", "DVDRip", "HDRip", "AMZN.WEB-DL", "NF.WEBRip"};
+    private static final String[] PROCESSING = {"", "", "", "REMUX", "REPACK", "PROPER", "Hybrid"};
+    private static final String[] HDR = {"", "", "", "HDR", "HDR10", "HDR10+", "DV", "DoVi", "DV.HDR10"};
+    private static final String[] VIDEO = {"x264", "x265", "H.264", "H.265", "HEVC", "AVC", "XviD",
+            "x265.10bit", "HEVC.10bit"};
+    private static final String[] AUDIO = {"", "AAC", "AAC2.0", "AC3", "DD5.1", "DDP5.1", "DDP5.1.Atmos",
+            "DTS", "DTS-HD.MA.5.1", "TrueHD.7.1.Atmos", "FLAC", "LPCM", "MP3"};
+    private static final String[] GROUPS = {"FGT", "CHD@HDSky", "FraMeSToR", "SPARKS", "RARBG", "YTS",
+            "NTb", "TOPAZ", "FiCO", "beAst", "CMCT", "FRDS", "GROUP", ""};
+    private static final String[] CONTAINERS = {"", "", "", "", ".mkv", ".mp4", ".avi", ".ts"};
+    private static final char[] SEPARATORS = {'.', '.', '.', ' ', '_'};
+
+    @Test
+    @DisplayName("单线程解析吞吐达到目标")
+    void shouldParseAtTargetThroughput() throws IOException {
+        // Given
+        String[] corpus = buildCorpus();
+
+        // When
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += parseAll(corpus);
+        }
+        double[] rates = new double[MEASURE_ROUNDS];
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            checksum += parseAll(corpus);
+            rates[i] = corpus.length * 1e9 / (System.nanoTime() - start);
+        }
+        Arrays.sort(rates);
+        double median = rates[MEASURE_ROUNDS / 2];
+
+        // Then
+        System.out.printf("ReleaseNameParser: %d titles, median %.0f titles/s (min %.0f, max %.0f), "
+                        + "target %d, checksum %d%n",
+                corpus.length, median, rates[0], rates[MEASURE_ROUNDS - 1], TARGET, checksum);
+        assertTrue(median >= TARGET, () -> String.format("吞吐%.0f条/秒低于目标%d条/秒，差距%.1f%%",
+                median, TARGET, (TARGET - median) * 100.0 / TARGET));
+    }
+
+    // 解析全部语料，返回依赖解析结果的校验值，防止JIT消除解析调用
+    private static long parseAll(String[] corpus) {
+        long checksum = 0;
+        for (String name : corpus) {
+            ReleaseInfo info = ReleaseNameParser.parse(name);
+            checksum += info.qualityLevel();
+            if (info.resolution() != null) {
+                checksum += info.resolution().length();
+            }
+        }
+        return checksum;
+    }
+
+    private static String[] buildCorpus() throws IOException {
+        List<String> names = readGoldenNames();
+        Random random = new Random(20261018L);
+        StringBuilder name = new StringBuilder(160);
+        for (int i = 0; i < GENERATED; i++) {
+            name.setLength(0);
+            char separator = pick(random, SEPARATORS);
+            boolean series = random.nextInt(10) < 3;
+            append(name, separator, series ? pick(random, SERIES) : pick(random, TITLES));
+            if (series) {
+                append(name, separator, String.format("S%02dE%02d", 1 + random.nextInt(12), 1 + random.nextInt(24)));
+            } else {
+                append(name, separator, String.valueOf(1927 + random.nextInt(99)));
+            }
+            String resolution = pick(random, RESOLUTIONS);
+            String source = pick(random, SOURCES);
+            if (random.nextBoolean()) {
+                append(name, separator, resolution);
+                append(name, separator, source);
+            } else {
+                append(name, separator, source);
+                append(name, separator, resolution);
+            }
+            append(name, separator, pick(random, PROCESSING));
+            append(name, separator, pick(random, HDR));
+            String video = pick(random, VIDEO);
+            String audio = pick(random, AUDIO);
+            if (random.nextInt(4) == 0) {
+                append(name, separator, audio);
+                append(name, separator, video);
+            } else {
+                append(name, separator, video);
+                append(name, separator, audio);
+            }
+            String group = pick(random, GROUPS);
+            if (!group.isEmpty()) {
+                name.append('-').append(group);
+            }
+            name.append(pick(random, CONTAINERS));
+            names.add(name.toString());
+        }
+        return names.toArray(String[]::new);
+    }
+
+    private static void append(StringBuilder name, char separator, String part) {
+        if (part.isEmpty()) {
+            return;
+        }
+        if (!name.isEmpty()) {
+            name.append(separator);
+        }
+        name.append(separator == '.' ? part : part.replace('.', separator));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static char pick(Random random, char[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static List<String> readGoldenNames() throws IOException {
+        List<String> names = new ArrayList<>();
+        try (InputStream in = Objects.requireNonNull(
+                ReleaseNameParserBenchmarkTest.class.getResourceAsStream(CORPUS));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    names.add(line.substring(0, line.indexOf('\t')));
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * ReleaseNameParserTest类
+ * ReleaseNameParserTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.release;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 发布名解析器单元测试类 - 主体用例来自金标语料release/release-names.tsv
+class ReleaseNameParserTest {
+
+    private static final String CORPUS = "/release/release-names.tsv";
+
+    @Test
+    @DisplayName("金标语料逐行解析结果与期望一致")
+    void shouldMatchGoldenCorpus() throws IOException {
+        // Given
+        List<String[]> cases = readCorpus();
+
+        // When
+        List<String> mismatches = new ArrayList<>();
+        for (String[] fields : cases) {
+            String actual = format(ReleaseNameParser.parse(fields[0]));
+            String expected = String.join("\t", List.of(fields).subList(1, fields.length));
+            if (!expected.equals(actual)) {
+                mismatches.add(fields[0] + "\n  期望：" + expected + "\n  实际：" + actual);
+            }
+        }
+
+        // Then
+        assertTrue(cases.size() >= 100, "金标语料不应少于100条");
+        assertTrue(mismatches.isEmpty(), () -> String.join("\n", mismatches));
+    }
+
+    @Test
+    @DisplayName("空输入返回全空结果且质量等级为普通")
+    void shouldReturnEmptyInfoForBlankInput() {
+        // When
+        ReleaseInfo nullInfo = ReleaseNameParser.parse(null);
+        ReleaseInfo blankInfo = ReleaseNameParser.parse(" .-[] ");
+
+        // Then
+        assertNull(nullInfo.title());
+        assertNull(blankInfo.resolution());
+        assertEquals(1, blankInfo.qualityLevel());
+    }
+
+    @Test
+    @DisplayName("片名中的短技术词不被误识别")
+    void shouldNotTreatShortTitleWordsAsTechTokens() {
+        // When
+        ReleaseInfo info = ReleaseNameParser.parse("Web.of.DD.2019.1080p.WEB-DL.x264-GROUP");
+
+        // Then
+        assertEquals("Web of DD", info.title());
+        assertEquals(2019, info.year());
+        assertEquals("WEB-DL", info.sourceType());
+        assertNull(info.audioCodec());
+    }
+
+    @Test
+    @DisplayName("超长发布名只解析前缀且不抛异常")
+    void shouldTruncateOverlongNames() {
+        // Given
+        String name = "A.".repeat(ReleaseNameParser.MAX_NAME_LENGTH) + "2019.1080p.BluRay.x264-GROUP";
+
+        // When
+        ReleaseInfo info = ReleaseNameParser.parse(name);
+
+        // Then
+        assertNull(info.resolution());
+        assertNull(info.releaseGroup());
+    }
+
+    private static List<String[]> readCorpus() throws IOException {
+        List<String[]> cases = new ArrayList<>();
+        try (InputStream in = Objects.requireNonNull(ReleaseNameParserTest.class.getResourceAsStream(CORPUS));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    cases.add(line.split("\t", -1));
+                }
+            }
+        }
+        return cases;
+    }
+
+    private static String format(ReleaseInfo info) {
+        return String.join("\t", text(info.title()), text(info.year()), text(info.resolution()),
+                text(info.sourceType()), text(info.processingType()), text(info.videoCodec()),
+                text(info.audioCodec()), text(info.hdrFormat()), text(info.releaseGroup()),
+                text(info.containerFormat()), String.valueOf(info.qualityLevel()));
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : "-";
+    }
+}
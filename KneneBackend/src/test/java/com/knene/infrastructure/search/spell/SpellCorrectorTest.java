@@ -0,0 +1,95 @@
+/**
+ * SpellCorrectorTest类
+ * SpellCorrectorTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.spell;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 拼写纠错单元测试类 - 词典直接由固定词频构建，不连接数据库
+class SpellCorrectorTest {
+
+    private static final Map<String, Long> VOCABULARY = Map.of("matrix", 120L, "mandalorian", 40L,
+            "avengers", 300L, "interstellar", 80L, "metric", 5L, "remux", 60L, "bluray", 200L, "typo", 1L);
+
+    private static SpellDictionary dictionary(Map<String, Long> vocabulary) {
+        SpellDictionary.Builder builder = SpellDictionary.builder(2, 7, 24);
+        vocabulary.forEach(builder::add);
+        return builder.build(2);
+    }
+
+    @Test
+    @DisplayName("替换、换位、多字符和缺字符都能纠正到最近的词项")
+    void shouldCorrectSingleWords() {
+        // Given
+        SpellDictionary dictionary = dictionary(VOCABULARY);
+
+        // Then
+        assertEquals("matrix", dictionary.lookup("matrix", 2));
+        assertEquals("matrix", dictionary.lookup("matirx", 2));
+        assertEquals("avengers", dictionary.lookup("avangers", 2));
+        assertEquals("avengers", dictionary.lookup("avenegrs", 2));
+        assertEquals("interstellar", dictionary.lookup("intrestelar", 2));
+        assertEquals("bluray", dictionary.lookup("blurray", 2));
+        assertEquals("mandalorian", dictionary.lookup("mandalorain", 2));
+        assertNull(dictionary.lookup("matrices", 1));
+        assertNull(dictionary.lookup("zzzzzz", 2));
+    }
+
+    @Test
+    @DisplayName("距离相同时取词频高的词项，低频词项不收入词典")
+    void shouldPreferFrequentTermsAndDropRareOnes() {
+        // Given
+        SpellDictionary dictionary = dictionary(Map.of("matrix", 120L, "matrox", 3L, "typo", 1L));
+
+        // Then
+        assertEquals("matrix", dictionary.lookup("matrux", 2));
+        assertFalse(dictionary.contains("typo"));
+        assertTrue(dictionary.contains("matrox"));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("按词纠正查询串，中文、数字和短词保持原样")
+    void shouldCorrectQueryWordByWord() {
+        // Given
+        SpellCorrector corrector = new SpellCorrector(() -> dictionary(VOCABULARY), 2, 3, 4);
+        corrector.rebuild();
+
+        // Then
+        assertEquals("the matrix 1999 bluray", corrector.correct("The Matirx 1999 BluRey"));
+        assertEquals("黑客帝国 remux", corrector.correct("黑客帝国 remix"));
+        assertNull(corrector.correct("matrix 2160p"));
+        assertNull(corrector.correct("mx"));
+        assertNull(corrector.correct(null));
+    }
+
+    @Test
+    @DisplayName("重建失败时保留旧词典，首次构建前不纠正")
+    void shouldKeepOldDictionaryWhenRebuildFails() {
+        // Given
+        AtomicReference<Map<String, Long>> vocabulary = new AtomicReference<>(VOCABULARY);
+        SpellCorrector corrector = new SpellCorrector(() -> dictionary(vocabulary.get()), 2, 3, 4);
+        assertNull(corrector.correct("matirx"));
+
+        // When
+        boolean built = corrector.rebuild();
+        vocabulary.set(null);
+        boolean failed = corrector.rebuild();
+
+        // Then
+        assertTrue(built);
+        assertFalse(failed);
+        assertEquals("matrix", corrector.correct("matirx"));
+    }
+}
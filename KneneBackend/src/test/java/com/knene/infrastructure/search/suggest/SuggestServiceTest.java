@@ -0,0 +1,116 @@
+/**
+ * SuggestServiceTest类
+ * SuggestServiceTest相关实现
+ *
+ * @author 相笑与春风
+ * @version 1.0
+ */
+
+package com.knene.infrastructure.search.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 搜索联想服务单元测试类 - 拼音用固定字表代替真实引擎
+class SuggestServiceTest {
+
+    private static final Map<Character, String> PINYIN = Map.of('流', "liu", '浪', "lang", '地', "di", '球', "qiu",
+            '黑', "hei", '客', "ke", '帝', "di", '国', "guo");
+    private static final PinyinTranscriber TRANSCRIBER = c -> PINYIN.get(c);
+
+    private final AtomicReference<List<SuggestCandidate>> source = new AtomicReference<>(List.of(
+            new SuggestCandidate("The Matrix", 50),
+            new SuggestCandidate("The Matrix Reloaded", 30),
+            new SuggestCandidate("the matrix", 25),
+            new SuggestCandidate("The Mandalorian", 60),
+            new SuggestCandidate("Thor", 10),
+            new SuggestCandidate("流浪地球2", 80),
+            new SuggestCandidate("流浪地球", 40),
+            new SuggestCandidate("黑客帝国", 45)));
+
+    private SuggestService newService(int topK, int maxKeyLength) {
+        SuggestService service = new SuggestService(source::get, TRANSCRIBER, topK, maxKeyLength);
+        service.rebuild();
+        return service;
+    }
+
+    @Test
+    @DisplayName("按前缀返回权重最高的补全，规范化相同的候选合并权重")
+    void shouldReturnTopCompletionsByWeight() {
+        // Given
+        SuggestService service = newService(10, 32);
+
+        // When
+        List<Suggestion> suggestions = service.suggest("THE ma", 10);
+
+        // Then
+        assertEquals(List.of("The Matrix", "The Mandalorian", "The Matrix Reloaded"), texts(suggestions));
+        assertEquals(75.0, suggestions.get(0).weight());
+        assertEquals(List.of("The Matrix"), texts(service.suggest("the matrix", 1)));
+        assertTrue(service.suggest("xyz", 10).isEmpty());
+        assertTrue(service.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("中文片名支持汉字、拼音全拼和首字母前缀")
+    void shouldMatchPinyinAndInitials() {
+        // Given
+        SuggestService service = newService(10, 32);
+
+        // Then
+        assertEquals(List.of("流浪地球2", "流浪地球"), texts(service.suggest("流浪", 10)));
+        assertEquals(List.of("流浪地球2", "流浪地球"), texts(service.suggest("liulangd", 10)));
+        assertEquals(List.of("流浪地球2", "流浪地球"), texts(service.suggest("liu lang", 10)));
+        assertEquals(List.of("流浪地球2"), texts(service.suggest("lldq2", 10)));
+        assertEquals(List.of("黑客帝国"), texts(service.suggest("hkdg", 10)));
+    }
+
+    @Test
+    @DisplayName("每个节点只保留前k条，超过键长上限的前缀按完整文本校验")
+    void shouldLimitTopKAndVerifyLongPrefixes() {
+        // Given
+        SuggestService service = newService(2, 5);
+
+        // When
+        List<Suggestion> shortPrefix = service.suggest("the", 10);
+        List<Suggestion> longPrefix = service.suggest("the mand", 10);
+
+        // Then
+        assertEquals(List.of("The Matrix", "The Mandalorian"), texts(shortPrefix));
+        assertEquals(List.of("The Mandalorian"), texts(longPrefix));
+        assertEquals(List.of("The Matrix"), texts(service.suggest("the matrix", 10)));
+    }
+
+    @Test
+    @DisplayName("重建完成后整体替换索引，失败时保留旧索引")
+    void shouldSwapIndexAtomically() {
+        // Given
+        SuggestService service = newService(10, 32);
+        SuggestIndex before = service.getIndex();
+
+        // When
+        List<SuggestCandidate> updated = new ArrayList<>(source.get());
+        updated.add(new SuggestCandidate("Thunderbolts", 100));
+        source.set(updated);
+        boolean rebuilt = service.rebuild();
+        source.set(null);
+        boolean failed = service.rebuild();
+
+        // Then
+        assertTrue(rebuilt);
+        assertFalse(failed);
+        assertNotSame(before, service.getIndex());
+        assertEquals(List.of("Thunderbolts", "The Matrix"), texts(service.suggest("th", 2)));
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}